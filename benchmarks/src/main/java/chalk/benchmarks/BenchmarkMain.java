@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.benchmarks;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the JMH command line options.
+ * <p>
+ * Unless other options are specified the allocation rate is measured with the
+ * GC profiler and the results are written as JSON to {@link #DEFAULT_RESULT_FILE},
+ * the result files of two commits can then be compared. Use e.g.
+ * <code>-rff results-abc123.json</code> to choose another file, <code>-l</code>
+ * to list the benchmarks and a regular expression to select benchmarks.
+ */
+public class BenchmarkMain {
+
+  public static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+  public static void main(String[] args) throws CommandLineOptionException,
+      RunnerException, IOException {
+
+    CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+    if (commandLineOptions.shouldHelp()) {
+      commandLineOptions.showHelp();
+      return;
+    }
+
+    if (commandLineOptions.shouldList()) {
+      new Runner(commandLineOptions).list();
+      return;
+    }
+
+    ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+
+    if (!commandLineOptions.getResultFormat().hasValue())
+      options.resultFormat(ResultFormatType.JSON);
+
+    if (!commandLineOptions.getResult().hasValue())
+      options.result(DEFAULT_RESULT_FILE);
+
+    if (commandLineOptions.getProfilers().isEmpty())
+      options.addProfiler(GCProfiler.class);
+
+    new Runner(options.build()).run();
+  }
+}
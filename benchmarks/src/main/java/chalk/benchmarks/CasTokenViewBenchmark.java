@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.benchmarks;
+
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.uima.UIMAFramework;
+import org.apache.uima.cas.CAS;
+import org.apache.uima.cas.Type;
+import org.apache.uima.cas.text.AnnotationFS;
+import org.apache.uima.resource.ResourceInitializationException;
+import org.apache.uima.resource.metadata.TypeSystemDescription;
+import org.apache.uima.util.CasCreationUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import chalk.uima.util.AnnotationComboIterator;
+import chalk.uima.util.AnnotationIteratorPair;
+import chalk.uima.util.CasTokenView;
+
+/**
+ * Measures how the UIMA annotators read the tokens of a large CAS, with the
+ * {@link CasTokenView} and with the {@link AnnotationComboIterator}. One
+ * operation reads the token texts of all sentences of the CAS.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CasTokenViewBenchmark {
+
+  @Param({"1000", "10000"})
+  private int sentenceCount;
+
+  private CAS cas;
+
+  private Type sentenceType;
+
+  private Type tokenType;
+
+  private CasTokenView tokenView;
+
+  @Setup
+  public void setup() throws IOException, ResourceInitializationException {
+    TypeSystemDescription typeSystem =
+        UIMAFramework.getResourceSpecifierFactory().createTypeSystemDescription();
+
+    typeSystem.addType("bench.Sentence", "", CAS.TYPE_NAME_ANNOTATION);
+    typeSystem.addType("bench.Token", "", CAS.TYPE_NAME_ANNOTATION);
+
+    cas = CasCreationUtils.createCas(typeSystem, null, null);
+    sentenceType = cas.getTypeSystem().getType("bench.Sentence");
+    tokenType = cas.getTypeSystem().getType("bench.Token");
+
+    String[][] sentences = new TextGenerator().tokens(20, sentenceCount);
+
+    StringBuilder text = new StringBuilder();
+    int[][] tokenBegins = new int[sentenceCount][];
+
+    for (int s = 0; s < sentenceCount; s++) {
+      tokenBegins[s] = new int[sentences[s].length];
+
+      for (int t = 0; t < sentences[s].length; t++) {
+        if (text.length() > 0)
+          text.append(' ');
+        tokenBegins[s][t] = text.length();
+        text.append(sentences[s][t]);
+      }
+    }
+
+    cas.setDocumentText(text.toString());
+
+    for (int s = 0; s < sentenceCount; s++) {
+      int last = sentences[s].length - 1;
+      cas.addFsToIndexes(cas.createAnnotation(sentenceType, tokenBegins[s][0],
+          tokenBegins[s][last] + sentences[s][last].length()));
+
+      for (int t = 0; t < sentences[s].length; t++) {
+        cas.addFsToIndexes(cas.createAnnotation(tokenType, tokenBegins[s][t],
+            tokenBegins[s][t] + sentences[s][t].length()));
+      }
+    }
+
+    tokenView = new CasTokenView(sentenceType, tokenType);
+  }
+
+  @Benchmark
+  public void tokenView(Blackhole blackhole) {
+    tokenView.load(cas);
+
+    for (int si = 0; si < tokenView.getSentenceCount(); si++) {
+      blackhole.consume(tokenView.getTokens(si));
+    }
+
+    tokenView.clear();
+  }
+
+  @Benchmark
+  public void comboIterator(Blackhole blackhole) {
+    for (AnnotationIteratorPair pair : new AnnotationComboIterator(cas, sentenceType, tokenType)) {
+      List<AnnotationFS> tokenAnnotations = new LinkedList<AnnotationFS>();
+      List<String> tokens = new LinkedList<String>();
+
+      for (AnnotationFS token : pair.getSubIterator()) {
+        tokenAnnotations.add(token);
+        tokens.add(token.getCoveredText());
+      }
+
+      blackhole.consume(tokenAnnotations);
+      blackhole.consume(tokens.toArray(new String[tokens.size()]));
+    }
+  }
+}
@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import chalk.tools.chunker.ChunkSample;
+import chalk.tools.chunker.ChunkSampleStream;
+import chalk.tools.chunker.ChunkerFactory;
+import chalk.tools.chunker.ChunkerME;
+import chalk.tools.chunker.ChunkerModel;
+import chalk.tools.namefind.NameFinderME;
+import chalk.tools.namefind.NameSample;
+import chalk.tools.namefind.NameSampleDataStream;
+import chalk.tools.namefind.TokenNameFinderModel;
+import chalk.tools.parser.Parse;
+import chalk.tools.parser.ParseSampleStream;
+import chalk.tools.parser.ParserModel;
+import chalk.tools.parser.lang.en.HeadRules;
+import chalk.tools.postag.POSModel;
+import chalk.tools.postag.POSSample;
+import chalk.tools.postag.POSTaggerFactory;
+import chalk.tools.postag.POSTaggerME;
+import chalk.tools.postag.WordTagSampleStream;
+import chalk.tools.sentdetect.SentenceDetectorFactory;
+import chalk.tools.sentdetect.SentenceDetectorME;
+import chalk.tools.sentdetect.SentenceModel;
+import chalk.tools.sentdetect.SentenceSample;
+import chalk.tools.sentdetect.SentenceSampleStream;
+import chalk.tools.tokenize.TokenSample;
+import chalk.tools.tokenize.TokenSampleStream;
+import chalk.tools.tokenize.TokenizerFactory;
+import chalk.tools.tokenize.TokenizerME;
+import chalk.tools.tokenize.TokenizerModel;
+import chalk.tools.util.CollectionObjectStream;
+import chalk.tools.util.ObjectStream;
+import chalk.tools.util.PlainTextByLineStream;
+import chalk.tools.util.TrainingParameters;
+import chalk.tools.util.model.BaseModel;
+import chalk.tools.util.model.ModelUtil;
+
+/**
+ * The models used by the benchmarks.
+ * <p>
+ * The models are small and trained from the test corpora of chalk when they
+ * are first requested, with fixed training parameters. The training is
+ * deterministic, every benchmark run therefore measures the same models.
+ * A model is trained once per benchmark fork.
+ */
+public final class Fixtures {
+
+  private static final int ITERATIONS = 100;
+
+  private static final int CUTOFF = 0;
+
+  private static TokenizerModel tokenizerModel;
+
+  private static SentenceModel sentenceModel;
+
+  private static POSModel posModel;
+
+  private static TokenNameFinderModel nameFinderModel;
+
+  private static ChunkerModel chunkerModel;
+
+  private static ParserModel chunkingParserModel;
+
+  private Fixtures() {
+  }
+
+  private static TrainingParameters trainingParameters() {
+    return ModelUtil.createTrainingParameters(ITERATIONS, CUTOFF);
+  }
+
+  /**
+   * The parser trains several models, each reads its parameters from its own namespace.
+   */
+  private static TrainingParameters parserTrainingParameters() {
+    TrainingParameters params = new TrainingParameters();
+
+    for (String namespace : new String[] {"build", "check", "chunker", "tagger"}) {
+      params.put(namespace, TrainingParameters.ITERATIONS_PARAM, Integer.toString(ITERATIONS));
+      params.put(namespace, TrainingParameters.CUTOFF_PARAM, Integer.toString(CUTOFF));
+    }
+    params.put("dict", TrainingParameters.CUTOFF_PARAM, Integer.toString(CUTOFF));
+
+    return params;
+  }
+
+  private static ObjectStream<String> openCorpus(String name, String encoding)
+      throws IOException {
+    InputStream in = Fixtures.class.getResourceAsStream("/chalk/tools/" + name);
+
+    if (in == null)
+      throw new IOException("Missing test corpus: " + name);
+
+    return new PlainTextByLineStream(new InputStreamReader(in, encoding));
+  }
+
+  /**
+   * Reads all samples into memory, some trainers read the samples more than once.
+   */
+  private static <T> ObjectStream<T> readAll(ObjectStream<T> samples) throws IOException {
+    List<T> list = new ArrayList<T>();
+
+    T sample;
+    while ((sample = samples.read()) != null) {
+      list.add(sample);
+    }
+
+    samples.close();
+
+    return new CollectionObjectStream<T>(list);
+  }
+
+  public static synchronized TokenizerModel tokenizerModel() throws IOException {
+    if (tokenizerModel == null) {
+      ObjectStream<TokenSample> samples = readAll(
+          new TokenSampleStream(openCorpus("tokenize/token.train", "UTF-8")));
+
+      tokenizerModel = TokenizerME.train(samples,
+          new TokenizerFactory("en", null, true, null), trainingParameters());
+    }
+    return tokenizerModel;
+  }
+
+  public static synchronized SentenceModel sentenceModel() throws IOException {
+    if (sentenceModel == null) {
+      ObjectStream<SentenceSample> samples = readAll(
+          new SentenceSampleStream(openCorpus("sentdetect/Sentences.txt", "UTF-8")));
+
+      sentenceModel = SentenceDetectorME.train("en", samples,
+          new SentenceDetectorFactory("en", true, null, null), trainingParameters());
+    }
+    return sentenceModel;
+  }
+
+  public static synchronized POSModel posModel() throws IOException {
+    if (posModel == null) {
+      ObjectStream<POSSample> samples = readAll(
+          new WordTagSampleStream(openCorpus("postag/AnnotatedSentences.txt", "UTF-8")));
+
+      posModel = POSTaggerME.train("en", samples, trainingParameters(), new POSTaggerFactory());
+    }
+    return posModel;
+  }
+
+  public static synchronized TokenNameFinderModel nameFinderModel() throws IOException {
+    if (nameFinderModel == null) {
+      ObjectStream<NameSample> samples = readAll(new NameSampleDataStream(
+          openCorpus("namefind/AnnotatedSentences.txt", "ISO-8859-1")));
+
+      nameFinderModel = NameFinderME.train("en", "default", samples, trainingParameters(),
+          (byte[]) null, Collections.<String, Object>emptyMap());
+    }
+    return nameFinderModel;
+  }
+
+  public static synchronized ChunkerModel chunkerModel() throws IOException {
+    if (chunkerModel == null) {
+      ObjectStream<ChunkSample> samples = readAll(
+          new ChunkSampleStream(openCorpus("chunker/test.txt", "UTF-8")));
+
+      chunkerModel = ChunkerME.train("en", samples, trainingParameters(), new ChunkerFactory());
+    }
+    return chunkerModel;
+  }
+
+  private static HeadRules headRules() throws IOException {
+    InputStream in = Fixtures.class.getResourceAsStream("/chalk/tools/parser/en_head_rules");
+
+    try {
+      return new HeadRules(new BufferedReader(new InputStreamReader(in, "UTF-8")));
+    }
+    finally {
+      in.close();
+    }
+  }
+
+  private static ObjectStream<Parse> parseSamples() throws IOException {
+    return readAll(new ParseSampleStream(openCorpus("parser/parser.train", "UTF-8")));
+  }
+
+  public static synchronized ParserModel chunkingParserModel() throws IOException {
+    if (chunkingParserModel == null) {
+      chunkingParserModel = chalk.tools.parser.chunking.Parser.train("en",
+          parseSamples(), headRules(), parserTrainingParameters());
+    }
+    return chunkingParserModel;
+  }
+
+  /**
+   * @return the serialized form of the model, as it is stored in a model file
+   */
+  public static byte[] serialize(BaseModel model) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    model.serialize(out);
+    return out.toByteArray();
+  }
+}
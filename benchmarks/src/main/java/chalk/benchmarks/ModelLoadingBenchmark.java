@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import chalk.tools.chunker.ChunkerModel;
+import chalk.tools.namefind.TokenNameFinderModel;
+import chalk.tools.parser.ParserModel;
+import chalk.tools.postag.POSModel;
+import chalk.tools.sentdetect.SentenceModel;
+import chalk.tools.tokenize.TokenizerModel;
+
+/**
+ * Measures the loading of the models from their serialized form, the models
+ * are read from memory to exclude the file system.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModelLoadingBenchmark {
+
+  private byte[] tokenizerModel;
+
+  private byte[] sentenceModel;
+
+  private byte[] posModel;
+
+  private byte[] nameFinderModel;
+
+  private byte[] chunkerModel;
+
+  private byte[] parserModel;
+
+  @Setup
+  public void setup() throws IOException {
+    tokenizerModel = Fixtures.serialize(Fixtures.tokenizerModel());
+    sentenceModel = Fixtures.serialize(Fixtures.sentenceModel());
+    posModel = Fixtures.serialize(Fixtures.posModel());
+    nameFinderModel = Fixtures.serialize(Fixtures.nameFinderModel());
+    chunkerModel = Fixtures.serialize(Fixtures.chunkerModel());
+    parserModel = Fixtures.serialize(Fixtures.chunkingParserModel());
+  }
+
+  @Benchmark
+  public TokenizerModel tokenizerModel() throws IOException {
+    return new TokenizerModel(new ByteArrayInputStream(tokenizerModel));
+  }
+
+  @Benchmark
+  public SentenceModel sentenceModel() throws IOException {
+    return new SentenceModel(new ByteArrayInputStream(sentenceModel));
+  }
+
+  @Benchmark
+  public POSModel posModel() throws IOException {
+    return new POSModel(new ByteArrayInputStream(posModel));
+  }
+
+  @Benchmark
+  public TokenNameFinderModel nameFinderModel() throws IOException {
+    return new TokenNameFinderModel(new ByteArrayInputStream(nameFinderModel));
+  }
+
+  @Benchmark
+  public ChunkerModel chunkerModel() throws IOException {
+    return new ChunkerModel(new ByteArrayInputStream(chunkerModel));
+  }
+
+  @Benchmark
+  public ParserModel parserModel() throws IOException {
+    return new ParserModel(new ByteArrayInputStream(parserModel));
+  }
+}
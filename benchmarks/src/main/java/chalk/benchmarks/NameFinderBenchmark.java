@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.benchmarks;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import chalk.tools.namefind.DefaultNameContextGenerator;
+import chalk.tools.namefind.NameFinderME;
+import chalk.tools.util.featuregen.AdaptiveFeatureGenerator;
+
+/**
+ * Measures the name finder and its context generator alone, one operation
+ * is one sentence. The adaptive data is cleared after every document of
+ * {@link #SENTENCES} sentences.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NameFinderBenchmark {
+
+  private static final int SENTENCES = 100;
+
+  @Param({"5", "20", "50"})
+  private int sentenceLength;
+
+  private String[][] sentences;
+
+  private String[][] outcomes;
+
+  private NameFinderME nameFinder;
+
+  private DefaultNameContextGenerator contextGenerator;
+
+  @Setup
+  public void setup() throws IOException {
+    sentences = new TextGenerator().tokens(sentenceLength, SENTENCES);
+
+    outcomes = new String[SENTENCES][sentenceLength];
+    for (String[] sentenceOutcomes : outcomes) {
+      Arrays.fill(sentenceOutcomes, NameFinderME.OTHER);
+    }
+
+    nameFinder = new NameFinderME(Fixtures.nameFinderModel());
+
+    // the default features, like the name finder of the model
+    contextGenerator = new DefaultNameContextGenerator((AdaptiveFeatureGenerator[]) null);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SENTENCES)
+  public void find(Blackhole blackhole) {
+    for (String[] sentence : sentences) {
+      blackhole.consume(nameFinder.find(sentence));
+    }
+    nameFinder.clearAdaptiveData();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SENTENCES)
+  public void contextGenerator(Blackhole blackhole) {
+    for (int s = 0; s < sentences.length; s++) {
+      for (int i = 0; i < sentences[s].length; i++) {
+        blackhole.consume(contextGenerator.getContext(i, sentences[s], outcomes[s], null));
+      }
+    }
+    contextGenerator.clearAdaptiveData();
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import chalk.tools.postag.DefaultPOSContextGenerator;
+import chalk.tools.postag.POSModel;
+import chalk.tools.postag.POSTaggerME;
+import chalk.tools.util.BeamSearch;
+
+/**
+ * Measures the POS tagger, the {@link BeamSearch} alone and the context
+ * generator alone. One operation is the tagging of one sentence.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class POSTaggerBenchmark {
+
+  private static final int SENTENCES = 100;
+
+  @Param({"5", "20", "50"})
+  private int sentenceLength;
+
+  private String[][] sentences;
+
+  private String[][] tags;
+
+  private POSTaggerME tagger;
+
+  private DefaultPOSContextGenerator contextGenerator;
+
+  private BeamSearch<String> beamSearch;
+
+  @Setup
+  public void setup() throws IOException {
+    TextGenerator generator = new TextGenerator();
+    sentences = generator.tokens(sentenceLength, SENTENCES);
+    tags = generator.tags(sentenceLength, SENTENCES);
+
+    POSModel model = Fixtures.posModel();
+
+    tagger = new POSTaggerME(model);
+
+    // without a cache, otherwise only the first iteration computes contexts
+    contextGenerator = new DefaultPOSContextGenerator(0, model.getNgramDictionary());
+
+    beamSearch = new BeamSearch<String>(POSTaggerME.DEFAULT_BEAM_SIZE, contextGenerator,
+        model.getPosModel());
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SENTENCES)
+  public void tag(Blackhole blackhole) {
+    for (String[] sentence : sentences) {
+      blackhole.consume(tagger.tag(sentence));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SENTENCES)
+  public void beamSearch(Blackhole blackhole) {
+    for (String[] sentence : sentences) {
+      blackhole.consume(beamSearch.bestSequence(sentence, null));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SENTENCES)
+  public void contextGenerator(Blackhole blackhole) {
+    for (int s = 0; s < sentences.length; s++) {
+      for (int i = 0; i < sentences[s].length; i++) {
+        blackhole.consume(contextGenerator.getContext(i, sentences[s], tags[s], null));
+      }
+    }
+  }
+}
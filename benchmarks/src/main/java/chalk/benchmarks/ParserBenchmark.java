@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import chalk.tools.parser.AbstractBottomUpParser;
+import chalk.tools.parser.Parse;
+import chalk.tools.parser.Parser;
+import chalk.tools.parser.ParserFactory;
+import chalk.tools.util.Span;
+
+/**
+ * Measures the chunking parser, one operation is the parse of one sentence.
+ * <p>
+ * The tree insert parser is not measured, its trainer cannot build a model
+ * from the small test corpus.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ParserBenchmark {
+
+  private static final int SENTENCES = 10;
+
+  @Param({"5", "20"})
+  private int sentenceLength;
+
+  private String[][] sentences;
+
+  private Parser parser;
+
+  @Setup
+  public void setup() throws IOException {
+    sentences = new TextGenerator().tokens(sentenceLength, SENTENCES);
+
+    parser = ParserFactory.create(Fixtures.chunkingParserModel());
+  }
+
+  /**
+   * Creates the incomplete parse which is passed to the parser, the parser
+   * modifies it, it is therefore created for every parse.
+   */
+  private static Parse createTokenParse(String[] tokens) {
+    StringBuilder text = new StringBuilder();
+    for (String token : tokens) {
+      if (text.length() > 0)
+        text.append(' ');
+      text.append(token);
+    }
+
+    String sentence = text.toString();
+
+    Parse parse = new Parse(sentence, new Span(0, sentence.length()),
+        AbstractBottomUpParser.INC_NODE, 0, 0);
+
+    int start = 0;
+    for (int i = 0; i < tokens.length; i++) {
+      parse.insert(new Parse(sentence, new Span(start, start + tokens[i].length()),
+          AbstractBottomUpParser.TOK_NODE, 0, i));
+      start += tokens[i].length() + 1;
+    }
+
+    return parse;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SENTENCES)
+  public void parse(Blackhole blackhole) {
+    for (String[] sentence : sentences) {
+      blackhole.consume(parser.parse(createTokenParse(sentence)));
+    }
+  }
+}
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import chalk.tools.postag.POSSample;
+import chalk.tools.postag.WordTagSampleStream;
+import chalk.tools.util.ObjectStream;
+import chalk.tools.util.PlainTextByLineStream;
+
+/**
+ * Generates synthetic sentences of a fixed length.
+ * <p>
+ * A sentence is a window of consecutive tagged tokens of the POS test
+ * corpus, which starts at a random position and wraps around at the end of
+ * the corpus, followed by a final period. The sentences therefore have the
+ * local structure of real text, but any length. The generator is seeded,
+ * the same arguments always create the same sentences.
+ */
+public class TextGenerator {
+
+  private static final long SEED = 42;
+
+  private final String[] words;
+
+  private final String[] tags;
+
+  /**
+   * Initializes the current instance with the POS test corpus.
+   */
+  public TextGenerator() throws IOException {
+    InputStream in = TextGenerator.class.getResourceAsStream(
+        "/chalk/tools/postag/AnnotatedSentences.txt");
+
+    if (in == null)
+      throw new IOException("Missing POS test corpus!");
+
+    List<String> wordList = new ArrayList<String>();
+    List<String> tagList = new ArrayList<String>();
+
+    ObjectStream<POSSample> samples = new WordTagSampleStream(
+        new PlainTextByLineStream(new InputStreamReader(in, "UTF-8")));
+
+    try {
+      POSSample sample;
+      while ((sample = samples.read()) != null) {
+        for (int i = 0; i < sample.getSentence().length; i++) {
+          // the periods are only added at the end of the generated sentences
+          if (!".".equals(sample.getSentence()[i])) {
+            wordList.add(sample.getSentence()[i]);
+            tagList.add(sample.getTags()[i]);
+          }
+        }
+      }
+    }
+    finally {
+      samples.close();
+    }
+
+    words = wordList.toArray(new String[wordList.size()]);
+    tags = tagList.toArray(new String[tagList.size()]);
+  }
+
+  private int[] starts(int count) {
+    Random random = new Random(SEED);
+
+    int[] starts = new int[count];
+    for (int i = 0; i < count; i++) {
+      starts[i] = random.nextInt(words.length);
+    }
+    return starts;
+  }
+
+  private static String[] window(String[] source, int start, int length, String last) {
+    String[] window = new String[length];
+
+    for (int i = 0; i < length - 1; i++) {
+      window[i] = source[(start + i) % source.length];
+    }
+    window[length - 1] = last;
+
+    return window;
+  }
+
+  /**
+   * @param length the number of tokens of a sentence, including the final period
+   * @param count the number of sentences
+   *
+   * @return the tokens of the sentences
+   */
+  public String[][] tokens(int length, int count) {
+    int[] starts = starts(count);
+
+    String[][] sentences = new String[count][];
+    for (int i = 0; i < count; i++) {
+      sentences[i] = window(words, starts[i], length, ".");
+    }
+    return sentences;
+  }
+
+  /**
+   * @param length the number of tokens of a sentence, including the final period
+   * @param count the number of sentences
+   *
+   * @return the POS tags of the sentences created by {@link #tokens(int, int)}
+   */
+  public String[][] tags(int length, int count) {
+    int[] starts = starts(count);
+
+    String[][] sentences = new String[count][];
+    for (int i = 0; i < count; i++) {
+      sentences[i] = window(tags, starts[i], length, ".");
+    }
+    return sentences;
+  }
+
+  /**
+   * Detokenizes a sentence, the punctuation is attached to the previous token.
+   *
+   * @param tokens the tokens of the sentence
+   *
+   * @return the text of the sentence
+   */
+  public static String text(String[] tokens) {
+    StringBuilder text = new StringBuilder();
+
+    for (String token : tokens) {
+      if (text.length() > 0 && !isPunctuation(token))
+        text.append(' ');
+
+      text.append(token);
+    }
+
+    return text.toString();
+  }
+
+  /**
+   * Detokenizes sentences into one text, the sentences are separated by a space.
+   *
+   * @param sentences the tokens of the sentences
+   *
+   * @return the text
+   */
+  public static String text(String[][] sentences) {
+    StringBuilder text = new StringBuilder();
+
+    for (String[] sentence : sentences) {
+      if (text.length() > 0)
+        text.append(' ');
+
+      text.append(text(sentence));
+    }
+
+    return text.toString();
+  }
+
+  private static boolean isPunctuation(String token) {
+    return token.equals(".") || token.equals(",") || token.equals(":") || token.equals(";")
+        || token.startsWith("'");
+  }
+}
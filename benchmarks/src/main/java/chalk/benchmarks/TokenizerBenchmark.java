@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import chalk.tools.tokenize.SimpleTokenizer;
+import chalk.tools.tokenize.TokenizerME;
+import chalk.tools.tokenize.WhitespaceTokenizer;
+
+/**
+ * Measures the tokenizers, one operation is the tokenization of one sentence.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TokenizerBenchmark {
+
+  private static final int SENTENCES = 100;
+
+  @Param({"5", "20", "50"})
+  private int sentenceLength;
+
+  private String[] sentences;
+
+  private TokenizerME tokenizer;
+
+  @Setup
+  public void setup() throws IOException {
+    String[][] tokens = new TextGenerator().tokens(sentenceLength, SENTENCES);
+
+    sentences = new String[SENTENCES];
+    for (int i = 0; i < SENTENCES; i++) {
+      sentences[i] = TextGenerator.text(tokens[i]);
+    }
+
+    tokenizer = new TokenizerME(Fixtures.tokenizerModel());
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SENTENCES)
+  public void simpleTokenizer(Blackhole blackhole) {
+    for (String sentence : sentences) {
+      blackhole.consume(SimpleTokenizer.INSTANCE.tokenizePos(sentence));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SENTENCES)
+  public void whitespaceTokenizer(Blackhole blackhole) {
+    for (String sentence : sentences) {
+      blackhole.consume(WhitespaceTokenizer.INSTANCE.tokenizePos(sentence));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SENTENCES)
+  public void tokenizerME(Blackhole blackhole) {
+    for (String sentence : sentences) {
+      blackhole.consume(tokenizer.tokenizePos(sentence));
+    }
+  }
+}
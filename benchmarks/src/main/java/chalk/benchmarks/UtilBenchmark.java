@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import chalk.tools.dictionary.Dictionary;
+import chalk.tools.util.Cache;
+import chalk.tools.util.StringList;
+
+/**
+ * Measures the {@link Cache}, {@link Dictionary#contains(StringList)} and
+ * {@link StringList#hashCode()}, one operation is one lookup.
+ * <p>
+ * The keys are the unigrams and bigrams of generated text, the dictionary
+ * contains the unigrams and every second bigram of a part of the text.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UtilBenchmark {
+
+  private static final int KEYS = 1000;
+
+  private static final int CACHE_SIZE = 100;
+
+  private StringList[] keys;
+
+  private Dictionary dictionary;
+
+  private Cache cache;
+
+  @Setup
+  public void setup() throws IOException {
+    String[][] sentences = new TextGenerator().tokens(20, KEYS / 20);
+
+    keys = new StringList[KEYS];
+    dictionary = new Dictionary(false);
+
+    int k = 0;
+    for (String[] sentence : sentences) {
+      for (int i = 0; i < sentence.length && k < KEYS; i++) {
+        if (i % 2 == 0 || i + 1 == sentence.length)
+          keys[k] = new StringList(sentence[i]);
+        else
+          keys[k] = new StringList(sentence[i], sentence[i + 1]);
+
+        if (k < KEYS / 2 && (keys[k].size() == 1 || k % 4 == 1))
+          dictionary.put(keys[k]);
+
+        k++;
+      }
+    }
+
+    cache = new Cache(CACHE_SIZE);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(KEYS)
+  public void cache(Blackhole blackhole) {
+    for (StringList key : keys) {
+      Object value = cache.get(key);
+
+      if (value == null)
+        cache.put(key, key);
+
+      blackhole.consume(value);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(KEYS)
+  public void dictionaryContains(Blackhole blackhole) {
+    for (StringList key : keys) {
+      blackhole.consume(dictionary.contains(key));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(KEYS)
+  public void stringListHashCode(Blackhole blackhole) {
+    for (StringList key : keys) {
+      blackhole.consume(key.hashCode());
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.jfr;
+
+import jdk.jfr.EventType;
+
+import chalk.tools.util.metrics.TraceEvent;
+import chalk.tools.util.metrics.Tracer;
+import chalk.tools.util.metrics.Tracing;
+
+/**
+ * A {@link Tracer} which emits Java Flight Recorder events.
+ * <p>
+ * The tracer is installed by {@link Tracing} if this module is on the class
+ * path. The events are named chalk.Tool and chalk.ModelLoad and are enabled,
+ * e.g. with a threshold, through the settings of a recording. While no
+ * recording has them enabled the tracer does not create any events.
+ */
+public class JfrTracer implements Tracer {
+
+  private static final EventType TOOL_EVENT = EventType.getEventType(ToolEvent.class);
+
+  private static final EventType MODEL_LOAD_EVENT = EventType.getEventType(ModelLoadEvent.class);
+
+  public TraceEvent beginTool(String tool, String model, int inputLength, int beamSize) {
+    if (!TOOL_EVENT.isEnabled())
+      return null;
+
+    ToolEvent event = new ToolEvent();
+    event.tool = tool;
+    event.model = model;
+    event.inputLength = inputLength;
+    event.beamSize = beamSize;
+    event.begin();
+
+    return event;
+  }
+
+  public TraceEvent beginModelLoad(String model) {
+    if (!MODEL_LOAD_EVENT.isEnabled())
+      return null;
+
+    ModelLoadEvent event = new ModelLoadEvent();
+    event.model = model;
+    event.begin();
+
+    return event;
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import chalk.tools.util.metrics.TraceEvent;
+
+/**
+ * The Flight Recorder event of a model load.
+ */
+@Name("chalk.ModelLoad")
+@Label("Model Load")
+@Category("Chalk")
+@Description("A model was loaded")
+@StackTrace(false)
+class ModelLoadEvent extends Event implements TraceEvent {
+
+  @Label("Model")
+  @Description("The name of the component of the model")
+  String model;
+
+  @Label("Artifacts")
+  int artifacts;
+
+  public void end(long count) {
+    artifacts = (int) count;
+    commit();
+  }
+}
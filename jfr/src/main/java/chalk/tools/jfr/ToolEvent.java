@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import chalk.tools.util.metrics.TraceEvent;
+
+/**
+ * The Flight Recorder event of a tool invocation, e.g. a beam search of the
+ * POS tagger or the parse of a sentence.
+ */
+@Name("chalk.Tool")
+@Label("Tool Invocation")
+@Category("Chalk")
+@Description("A tool processed one input, e.g. a sentence")
+@StackTrace(false)
+class ToolEvent extends Event implements TraceEvent {
+
+  @Label("Tool")
+  String tool;
+
+  @Label("Model")
+  @Description("The identity of the model")
+  String model;
+
+  @Label("Input Length")
+  @Description("The length of the input, in tokens or characters")
+  int inputLength;
+
+  @Label("Beam Size")
+  @Description("The beam size, or -1 if the tool has no beam")
+  int beamSize;
+
+  @Label("Hypotheses")
+  @Description("The number of expanded hypotheses")
+  long hypotheses;
+
+  public void end(long count) {
+    hypotheses = count;
+    commit();
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.jfr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.Test;
+
+import chalk.tools.util.metrics.TraceEvent;
+import chalk.tools.util.metrics.Tracing;
+
+/**
+ * Tests for the {@link JfrTracer} class.
+ */
+public class JfrTracerTest {
+
+  @Test
+  public void testInstalled() {
+    assertTrue(Tracing.getTracer() instanceof JfrTracer);
+  }
+
+  @Test
+  public void testNotRecording() {
+    assertNull(new JfrTracer().beginTool("POSTaggerME", "model", 10, 3));
+  }
+
+  @Test
+  public void testEvents() throws Exception {
+    JfrTracer tracer = new JfrTracer();
+
+    File file = File.createTempFile("chalk", ".jfr");
+    try {
+      Recording recording = new Recording();
+      recording.enable("chalk.Tool");
+      recording.enable("chalk.ModelLoad");
+      recording.start();
+
+      TraceEvent event = tracer.beginTool("POSTaggerME", "model", 10, 3);
+      event.end(25);
+
+      tracer.beginModelLoad("POSTaggerME").end(2);
+
+      recording.stop();
+      recording.dump(file.toPath());
+      recording.close();
+
+      List<RecordedEvent> events = RecordingFile.readAllEvents(file.toPath());
+      assertEquals(2, events.size());
+
+      RecordedEvent tool = events.get(0);
+      assertEquals("chalk.Tool", tool.getEventType().getName());
+      assertEquals("POSTaggerME", tool.getString("tool"));
+      assertEquals(10, tool.getInt("inputLength"));
+      assertEquals(3, tool.getInt("beamSize"));
+      assertEquals(25, tool.getLong("hypotheses"));
+
+      RecordedEvent load = events.get(1);
+      assertEquals("chalk.ModelLoad", load.getEventType().getName());
+      assertEquals(2, load.getInt("artifacts"));
+    }
+    finally {
+      file.delete();
+    }
+  }
+}
@@ -0,0 +1,51 @@
+import sbt._
+import Keys._
+
+/**
+ * The settings of the chalk project itself are in build.sbt, this file only
+ * adds the benchmark and the Flight Recorder projects which are not aggregated
+ * by the root project.
+ */
+object ChalkBuild extends Build {
+
+  lazy val chalk = Project(id = "chalk", base = file("."))
+
+  val jmhVersion = "1.11.3"
+
+  // JMH microbenchmarks, e.g. run all with:
+  //   ./build "project chalk-benchmarks" "run -rff results.json"
+  lazy val benchmarks = Project(id = "chalk-benchmarks", base = file("benchmarks"),
+    settings = Defaults.defaultSettings ++ Seq(
+      name := "chalk-benchmarks",
+      organization := "org.scalanlp",
+      scalaVersion := "2.10.0",
+      crossPaths := false,
+      publishArtifact := false,
+      libraryDependencies ++= Seq(
+        "org.openjdk.jmh" % "jmh-core" % jmhVersion,
+        "org.openjdk.jmh" % "jmh-generator-annprocess" % jmhVersion,
+        "org.apache.uima" % "uimaj-core" % "2.3.1"
+      ),
+      // the fixture models are trained from the test corpora of chalk
+      unmanagedResourceDirectories in Compile <+= (baseDirectory in ThisBuild) {
+        _ / "src" / "test" / "resources"
+      },
+      mainClass in (Compile, run) := Some("chalk.benchmarks.BenchmarkMain"),
+      fork in run := true
+    )
+  ) dependsOn(chalk)
+
+  // Java Flight Recorder events of the tools, needs a JDK with jdk.jfr
+  // (8u262 or later), the root project itself stays on Java 6
+  lazy val jfr = Project(id = "chalk-jfr", base = file("jfr"),
+    settings = Defaults.defaultSettings ++ Seq(
+      name := "chalk-jfr",
+      organization := "org.scalanlp",
+      version := "1.1.1",
+      scalaVersion := "2.10.0",
+      crossPaths := false,
+      javacOptions ++= Seq("-source", "1.8", "-target", "1.8"),
+      libraryDependencies += "com.novocode" % "junit-interface" % "0.8" % "test->default"
+    )
+  ) dependsOn(chalk)
+}
@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import chalk.tools.cmdline.bench.BenchTool;
 import chalk.tools.cmdline.chunker.ChunkerConverterTool;
 import chalk.tools.cmdline.chunker.ChunkerCrossValidatorTool;
 import chalk.tools.cmdline.chunker.ChunkerEvaluatorTool;
@@ -37,6 +38,8 @@ import chalk.tools.cmdline.dictionary.DictionaryBuilderTool;
 import chalk.tools.cmdline.doccat.DoccatConverterTool;
 import chalk.tools.cmdline.doccat.DoccatTool;
 import chalk.tools.cmdline.doccat.DoccatTrainerTool;
+import chalk.tools.cmdline.langdetect.LanguageDetectorTool;
+import chalk.tools.cmdline.langdetect.LanguageDetectorTrainerTool;
 import chalk.tools.cmdline.namefind.CensusDictionaryCreatorTool;
 import chalk.tools.cmdline.namefind.TokenNameFinderConverterTool;
 import chalk.tools.cmdline.namefind.TokenNameFinderCrossValidatorTool;
@@ -84,6 +87,10 @@ public final class CLI {
     tools.add(new DoccatTrainerTool());
     tools.add(new DoccatConverterTool());
     
+    // Language Detector
+    tools.add(new LanguageDetectorTool());
+    tools.add(new LanguageDetectorTrainerTool());
+    
     // Dictionary Builder
     tools.add(new DictionaryBuilderTool());
     
@@ -139,6 +146,9 @@ public final class CLI {
     tools.add(new CoreferencerTrainerTool());
     tools.add(new CoreferenceConverterTool());
     
+    // Benchmark
+    tools.add(new BenchTool());
+    
     for (CmdLineTool tool : tools) {
       toolLookupMap.put(tool.getName(), tool);
     }
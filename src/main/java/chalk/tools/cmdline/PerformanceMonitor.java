@@ -24,12 +24,18 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
+import chalk.tools.util.metrics.Metrics;
+import chalk.tools.util.metrics.Timer;
+
 /**
  * The {@link PerformanceMonitor} measures increments to a counter.
  * During the computation it prints out current and average throughput
  * per second. After the computation is done it prints a final performance
  * report.
  * <p>
+ * The time between two increments is reported to the timer cli.&lt;unit&gt;
+ * of the {@link Metrics}, if they are enabled.
+ * <p>
  * <b>Note:</b>
  * This class is not thread safe. <br>
  * Do not use this class, internal use only!
@@ -48,10 +54,15 @@ public class PerformanceMonitor {
   private volatile int counter;
   
   private final PrintStream out;
+
+  private final Timer timer;
+
+  private long lastIncrement;
   
   public PerformanceMonitor(PrintStream out, String unit) {
     this.out = out;
     this.unit = unit;
+    this.timer = Metrics.timer("cli." + unit);
   }
 
   public PerformanceMonitor(String unit) {
@@ -71,6 +82,12 @@ public class PerformanceMonitor {
       throw new IllegalArgumentException("increment must be zero or positive but was " + increment + "!");
     
     counter += increment;
+
+    if (increment > 0) {
+      long now = timer.start();
+      timer.record((now - lastIncrement) / increment);
+      lastIncrement = now;
+    }
   }
   
   public void incrementCounter() {
@@ -83,6 +100,7 @@ public class PerformanceMonitor {
       throw new IllegalStateException("Already started!");
     
     startTime = System.currentTimeMillis();
+    lastIncrement = timer.start();
   }
   
   
@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.cmdline.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import chalk.tools.chunker.ChunkerME;
+import chalk.tools.chunker.ChunkerModel;
+import chalk.tools.cmdline.parser.ParserTool;
+import chalk.tools.namefind.NameFinderME;
+import chalk.tools.namefind.TokenNameFinderModel;
+import chalk.tools.parser.Parser;
+import chalk.tools.parser.ParserFactory;
+import chalk.tools.parser.ParserModel;
+import chalk.tools.postag.POSModel;
+import chalk.tools.postag.POSTaggerME;
+import chalk.tools.tokenize.Tokenizer;
+import chalk.tools.tokenize.TokenizerME;
+import chalk.tools.tokenize.TokenizerModel;
+import chalk.tools.tokenize.WhitespaceTokenizer;
+
+/**
+ * The models of the tools which are benchmarked together on each sentence.
+ * <p>
+ * The models are shared, the tools are not thread safe and each benchmark
+ * thread therefore creates its own tools with {@link #createTools()}.
+ */
+public class BenchPipeline {
+
+  /**
+   * The tools of one thread.
+   */
+  public class Tools {
+
+    private final Tokenizer tokenizer;
+
+    private final POSTaggerME tagger;
+
+    private final ChunkerME chunker;
+
+    private final NameFinderME[] nameFinders;
+
+    private final Parser parser;
+
+    private Tools() {
+      tokenizer = tokenizerModel != null ?
+          new TokenizerME(tokenizerModel) : WhitespaceTokenizer.INSTANCE;
+
+      tagger = posModel != null ? new POSTaggerME(posModel) : null;
+
+      chunker = chunkerModel != null ? new ChunkerME(chunkerModel) : null;
+
+      nameFinders = new NameFinderME[nameFinderModels.size()];
+      for (int i = 0; i < nameFinders.length; i++) {
+        nameFinders[i] = new NameFinderME(nameFinderModels.get(i));
+      }
+
+      parser = parserModel != null ? ParserFactory.create(parserModel) : null;
+    }
+
+    /**
+     * Runs all tools on the sentence.
+     *
+     * @param sentence the sentence, untokenized if there is a tokenizer model,
+     *     otherwise white space tokenized
+     *
+     * @return the number of tokens of the sentence
+     */
+    public int process(String sentence) {
+      String[] tokens = tokenizer.tokenize(sentence);
+
+      String[] tags = null;
+      if (tagger != null)
+        tags = tagger.tag(tokens);
+
+      if (chunker != null)
+        chunker.chunk(tokens, tags);
+
+      for (NameFinderME nameFinder : nameFinders) {
+        nameFinder.find(tokens);
+      }
+
+      if (parser != null && tokens.length > 0) {
+        StringBuilder line = new StringBuilder();
+        for (String token : tokens) {
+          if (line.length() > 0)
+            line.append(' ');
+          line.append(token);
+        }
+
+        ParserTool.parseLine(line.toString(), parser, 1);
+      }
+
+      return tokens.length;
+    }
+
+    /**
+     * Clears the adaptive data of the name finders, e.g. after a document.
+     */
+    public void clearAdaptiveData() {
+      for (NameFinderME nameFinder : nameFinders) {
+        nameFinder.clearAdaptiveData();
+      }
+    }
+  }
+
+  private TokenizerModel tokenizerModel;
+
+  private POSModel posModel;
+
+  private ChunkerModel chunkerModel;
+
+  private final List<TokenNameFinderModel> nameFinderModels =
+      new ArrayList<TokenNameFinderModel>();
+
+  private ParserModel parserModel;
+
+  private final List<String> toolNames = new ArrayList<String>();
+
+  public void setTokenizerModel(TokenizerModel model) {
+    tokenizerModel = model;
+    toolNames.add("tokenizer");
+  }
+
+  public void setPOSModel(POSModel model) {
+    posModel = model;
+    toolNames.add("pos");
+  }
+
+  public void setChunkerModel(ChunkerModel model) {
+    chunkerModel = model;
+    toolNames.add("chunker");
+  }
+
+  public void addNameFinderModel(TokenNameFinderModel model) {
+    nameFinderModels.add(model);
+    toolNames.add("namefinder");
+  }
+
+  public void setParserModel(ParserModel model) {
+    parserModel = model;
+    toolNames.add("parser");
+  }
+
+  /**
+   * @return true if the sentences must be untokenized
+   */
+  public boolean hasTokenizer() {
+    return tokenizerModel != null;
+  }
+
+  /**
+   * @return the names of the tools, in the order in which they were added
+   */
+  public List<String> getToolNames() {
+    return toolNames;
+  }
+
+  /**
+   * Creates the tools of a benchmark thread.
+   *
+   * @return the new tools
+   */
+  public Tools createTools() {
+    if (toolNames.isEmpty())
+      throw new IllegalStateException("At least one model is required!");
+
+    if (chunkerModel != null && posModel == null)
+      throw new IllegalStateException("The chunker requires a POS model!");
+
+    return new Tools();
+  }
+}
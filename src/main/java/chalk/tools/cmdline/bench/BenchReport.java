@@ -0,0 +1,312 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.cmdline.bench;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The results of a benchmark run, the throughput, the latency histograms per
+ * sentence length and the heap and allocation statistics.
+ * <p>
+ * Each benchmark thread records into its own report, the reports of the
+ * threads are then merged with {@link #add(BenchReport)}.
+ */
+public class BenchReport {
+
+  /**
+   * The names of the sentence length buckets, in tokens.
+   */
+  public static final String[] LENGTH_BUCKETS = {"1-10", "11-20", "21-40", "41-80", "81+"};
+
+  private static final int[] LENGTH_BUCKET_LIMITS = {10, 20, 40, 80};
+
+  private static final double[] PERCENTILES = {50, 95, 99, 99.9};
+
+  private final LatencyHistogram[] histograms = new LatencyHistogram[LENGTH_BUCKETS.length];
+
+  private long tokens;
+
+  // -1 if the virtual machine cannot measure the allocations of a thread
+  private long allocatedBytes;
+
+  private List<String> toolNames;
+
+  private int threads;
+
+  private long elapsedNanos;
+
+  private long gcCount;
+
+  private long gcMillis;
+
+  private long heapUsedStart;
+
+  private long heapUsedEnd;
+
+  private long heapMax;
+
+  public BenchReport() {
+    for (int i = 0; i < histograms.length; i++) {
+      histograms[i] = new LatencyHistogram();
+    }
+  }
+
+  /**
+   * @param tokens the number of tokens of a sentence
+   *
+   * @return the index of the length bucket of the sentence
+   */
+  static int lengthBucket(int tokens) {
+    for (int i = 0; i < LENGTH_BUCKET_LIMITS.length; i++) {
+      if (tokens <= LENGTH_BUCKET_LIMITS[i])
+        return i;
+    }
+    return LENGTH_BUCKET_LIMITS.length;
+  }
+
+  /**
+   * Records the latency of one sentence.
+   *
+   * @param tokens the number of tokens of the sentence
+   * @param nanos the time it took to process the sentence
+   */
+  public void record(int tokens, long nanos) {
+    histograms[lengthBucket(tokens)].record(nanos);
+    this.tokens += tokens;
+  }
+
+  /**
+   * Adds the sentences and allocations of another thread to this report.
+   *
+   * @param report the report of the other thread
+   */
+  public void add(BenchReport report) {
+    for (int i = 0; i < histograms.length; i++) {
+      histograms[i].add(report.histograms[i]);
+    }
+
+    tokens += report.tokens;
+
+    if (allocatedBytes < 0 || report.allocatedBytes < 0)
+      allocatedBytes = -1;
+    else
+      allocatedBytes += report.allocatedBytes;
+  }
+
+  void setAllocatedBytes(long allocatedBytes) {
+    this.allocatedBytes = allocatedBytes;
+  }
+
+  void setRun(List<String> toolNames, int threads, long elapsedNanos) {
+    this.toolNames = toolNames;
+    this.threads = threads;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  void setGarbageCollection(long gcCount, long gcMillis) {
+    this.gcCount = gcCount;
+    this.gcMillis = gcMillis;
+  }
+
+  void setHeap(long heapUsedStart, long heapUsedEnd, long heapMax) {
+    this.heapUsedStart = heapUsedStart;
+    this.heapUsedEnd = heapUsedEnd;
+    this.heapMax = heapMax;
+  }
+
+  /**
+   * @return the latencies of all sentences
+   */
+  public LatencyHistogram getLatencies() {
+    LatencyHistogram all = new LatencyHistogram();
+    for (LatencyHistogram histogram : histograms) {
+      all.add(histogram);
+    }
+    return all;
+  }
+
+  /**
+   * @param bucket the index of the length bucket
+   *
+   * @return the latencies of the sentences in the length bucket
+   */
+  public LatencyHistogram getLatencies(int bucket) {
+    return histograms[bucket];
+  }
+
+  /**
+   * @return the number of measured sentences
+   */
+  public long getSentences() {
+    return getLatencies().getCount();
+  }
+
+  /**
+   * @return the number of tokens of the measured sentences
+   */
+  public long getTokens() {
+    return tokens;
+  }
+
+  /**
+   * @return the bytes allocated by the benchmark threads, or -1 if
+   *     the virtual machine cannot measure them
+   */
+  public long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  private double perSecond(double value) {
+    return elapsedNanos > 0 ? value * 1000000000d / elapsedNanos : 0;
+  }
+
+  private static double micros(long nanos) {
+    return nanos / 1000d;
+  }
+
+  private static double megabytes(long bytes) {
+    return bytes / (1024d * 1024d);
+  }
+
+  private static String format(double value) {
+    return String.format(Locale.US, "%.1f", value);
+  }
+
+  private static void printLatencies(PrintStream out, String name, LatencyHistogram histogram) {
+    out.print(String.format(Locale.US, "%-8s %10d %10.1f", name, histogram.getCount(),
+        micros((long) histogram.getMean())));
+
+    for (double percentile : PERCENTILES) {
+      out.print(String.format(Locale.US, " %10.1f",
+          micros(histogram.getValueAtPercentile(percentile))));
+    }
+
+    out.println(String.format(Locale.US, " %10.1f", micros(histogram.getMax())));
+  }
+
+  /**
+   * Prints the report as text.
+   *
+   * @param out the stream to print to
+   */
+  public void printText(PrintStream out) {
+    long sentences = getSentences();
+
+    out.println("Tools:       " + toolNames);
+    out.println("Threads:     " + threads);
+    out.println("Duration:    " + format(elapsedNanos / 1000000000d) + " s");
+    out.println("Throughput:  " + format(perSecond(sentences)) + " sent/s, " +
+        format(perSecond(tokens)) + " tokens/s");
+    out.println();
+
+    out.println(String.format(Locale.US, "%-8s %10s %10s %10s %10s %10s %10s %10s",
+        "tokens", "sentences", "mean us", "p50 us", "p95 us", "p99 us", "p99.9 us", "max us"));
+
+    for (int i = 0; i < histograms.length; i++) {
+      printLatencies(out, LENGTH_BUCKETS[i], histograms[i]);
+    }
+    printLatencies(out, "all", getLatencies());
+    out.println();
+
+    out.println("Heap:        " + format(megabytes(heapUsedStart)) + " MB used at start, " +
+        format(megabytes(heapUsedEnd)) + " MB used at end, " +
+        format(megabytes(heapMax)) + " MB max");
+    out.println("GC:          " + gcCount + " collections, " + gcMillis + " ms");
+
+    if (allocatedBytes >= 0) {
+      out.println("Allocation:  " + format(megabytes((long) perSecond(allocatedBytes))) +
+          " MB/s, " + (sentences > 0 ? allocatedBytes / sentences : 0) + " bytes/sentence");
+    }
+    else {
+      out.println("Allocation:  not supported by this virtual machine");
+    }
+  }
+
+  private static void appendLatencies(StringBuilder json, LatencyHistogram histogram) {
+    json.append("{\"sentences\": ").append(histogram.getCount())
+        .append(", \"mean\": ").append(format(micros((long) histogram.getMean())));
+
+    for (double percentile : PERCENTILES) {
+      json.append(", \"p").append(percentile == (long) percentile ?
+          Long.toString((long) percentile) : Double.toString(percentile)).append("\": ")
+          .append(format(micros(histogram.getValueAtPercentile(percentile))));
+    }
+
+    json.append(", \"max\": ").append(format(micros(histogram.getMax()))).append('}');
+  }
+
+  /**
+   * Formats the report as a JSON object, the latencies are in microseconds.
+   *
+   * @return the JSON object
+   */
+  public String toJson() {
+    long sentences = getSentences();
+
+    StringBuilder json = new StringBuilder();
+
+    json.append("{\n  \"tools\": [");
+    for (int i = 0; i < toolNames.size(); i++) {
+      if (i > 0)
+        json.append(", ");
+      json.append('"').append(toolNames.get(i)).append('"');
+    }
+    json.append("],\n");
+
+    json.append("  \"threads\": ").append(threads).append(",\n");
+    json.append("  \"durationSeconds\": ").append(format(elapsedNanos / 1000000000d)).append(",\n");
+    json.append("  \"sentences\": ").append(sentences).append(",\n");
+    json.append("  \"tokens\": ").append(tokens).append(",\n");
+    json.append("  \"sentencesPerSecond\": ").append(format(perSecond(sentences))).append(",\n");
+    json.append("  \"tokensPerSecond\": ").append(format(perSecond(tokens))).append(",\n");
+
+    json.append("  \"latencyMicros\": {\n");
+    for (int i = 0; i < histograms.length; i++) {
+      json.append("    \"").append(LENGTH_BUCKETS[i]).append("\": ");
+      appendLatencies(json, histograms[i]);
+      json.append(",\n");
+    }
+    json.append("    \"all\": ");
+    appendLatencies(json, getLatencies());
+    json.append("\n  },\n");
+
+    json.append("  \"heap\": {\"usedStartBytes\": ").append(heapUsedStart)
+        .append(", \"usedEndBytes\": ").append(heapUsedEnd)
+        .append(", \"maxBytes\": ").append(heapMax).append("},\n");
+
+    json.append("  \"gc\": {\"collections\": ").append(gcCount)
+        .append(", \"millis\": ").append(gcMillis).append("},\n");
+
+    if (allocatedBytes >= 0) {
+      json.append("  \"allocation\": {\"bytes\": ").append(allocatedBytes)
+          .append(", \"bytesPerSecond\": ").append(format(perSecond(allocatedBytes)))
+          .append(", \"bytesPerSentence\": ").append(sentences > 0 ? allocatedBytes / sentences : 0)
+          .append("}\n");
+    }
+    else {
+      json.append("  \"allocation\": null\n");
+    }
+
+    json.append('}');
+
+    return json.toString();
+  }
+}
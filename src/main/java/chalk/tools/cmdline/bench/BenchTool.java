@@ -0,0 +1,412 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.cmdline.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import chalk.tools.cmdline.AbstractBasicCmdLineTool;
+import chalk.tools.cmdline.CLI;
+import chalk.tools.cmdline.CmdLineUtil;
+import chalk.tools.cmdline.TerminateToolException;
+import chalk.tools.cmdline.chunker.ChunkerModelLoader;
+import chalk.tools.cmdline.namefind.TokenNameFinderModelLoader;
+import chalk.tools.cmdline.parser.ParserModelLoader;
+import chalk.tools.cmdline.postag.POSModelLoader;
+import chalk.tools.cmdline.tokenizer.TokenizerModelLoader;
+import chalk.tools.util.ObjectStream;
+import chalk.tools.util.PlainTextByLineStream;
+
+/**
+ * Measures the throughput and the latency of the tools over a corpus or over
+ * generated sentences, with one or more threads.
+ * <p>
+ * The sentences are processed for a warm-up period first, then the latency of
+ * every sentence is recorded for the measured period. Each thread has its own
+ * tools, the models are shared.
+ */
+public class BenchTool extends AbstractBasicCmdLineTool {
+
+  private static final int GENERATED_SENTENCES_PER_LENGTH = 1000;
+
+  private static final String[] SYLLABLES = {"ka", "lo", "min", "te", "ra", "su",
+    "ver", "an", "do", "pi", "gen", "tor", "el", "ba", "ri", "os"};
+
+  public String getShortDescription() {
+    return "measures the throughput and latency of the tools";
+  }
+
+  public String getHelp() {
+    return "Usage: " + CLI.CMD + " " + getName() + " [-tokenizer model] [-pos model] " +
+        "[-chunker model] [-ner model[,model]] [-parser model] [-data sentences] " +
+        "[-lengths n[,n]] [-threads n] [-warmup s] [-duration s] [-format text|json]\n" +
+        "-tokenizer model: Tokenize the sentences with the model, otherwise they are " +
+        "white space tokenized.\n" +
+        "-pos model: Tag the sentences with the model.\n" +
+        "-chunker model: Chunk the sentences with the model, requires -pos.\n" +
+        "-ner model[,model]: Find names in the sentences with the models.\n" +
+        "-parser model: Parse the sentences with the model.\n" +
+        "-data sentences: Process the sentences of the file, one per line, " +
+        "otherwise sentences are generated.\n" +
+        "-lengths n[,n]: The token lengths of the generated sentences, default 5,20,50.\n" +
+        "-threads n: Process the sentences with n threads, default 1.\n" +
+        "-warmup s: The seconds before the measurement starts, default 10.\n" +
+        "-duration s: The measured seconds, default 30.\n" +
+        "-format text|json: The format of the report, default text.";
+  }
+
+  /**
+   * Generates sentences of random words, the same sentences for every run.
+   *
+   * @param lengths the numbers of tokens of the sentences, including the final period
+   * @param untokenized if true the final period is attached to the last word
+   *
+   * @return the sentences
+   */
+  static List<String> generateSentences(int[] lengths, boolean untokenized) {
+    Random random = new Random(42);
+
+    List<String> sentences = new ArrayList<String>();
+
+    for (int length : lengths) {
+      for (int s = 0; s < GENERATED_SENTENCES_PER_LENGTH; s++) {
+        StringBuilder sentence = new StringBuilder();
+
+        for (int t = 0; t < length - 1; t++) {
+          if (t > 0)
+            sentence.append(' ');
+
+          int start = sentence.length();
+
+          int syllables = 1 + random.nextInt(3);
+          for (int i = 0; i < syllables; i++) {
+            sentence.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+          }
+
+          if (t == 0)
+            sentence.setCharAt(start, Character.toUpperCase(sentence.charAt(start)));
+        }
+
+        if (!untokenized && length > 1)
+          sentence.append(' ');
+
+        sentence.append('.');
+
+        sentences.add(sentence.toString());
+      }
+    }
+
+    return sentences;
+  }
+
+  private static List<String> readSentences(File file) {
+    CmdLineUtil.checkInputFile("Data", file);
+
+    List<String> sentences = new ArrayList<String>();
+
+    try {
+      ObjectStream<String> lineStream =
+          new PlainTextByLineStream(CmdLineUtil.openInFile(file), "UTF-8");
+
+      try {
+        String line;
+        while ((line = lineStream.read()) != null) {
+          if (line.trim().length() > 0)
+            sentences.add(line);
+        }
+      }
+      finally {
+        lineStream.close();
+      }
+    }
+    catch (IOException e) {
+      throw new TerminateToolException(-1, "IO error while reading data file: " +
+          e.getMessage(), e);
+    }
+
+    if (sentences.isEmpty())
+      throw new TerminateToolException(1, "The data file contains no sentences: " + file);
+
+    return sentences;
+  }
+
+  private static int[] parseLengths(String lengths) {
+    String[] values = lengths.split(",");
+    int[] result = new int[values.length];
+
+    for (int i = 0; i < values.length; i++) {
+      try {
+        result[i] = Integer.parseInt(values[i].trim());
+      }
+      catch (NumberFormatException e) {
+        result[i] = 0;
+      }
+
+      if (result[i] < 1)
+        throw new TerminateToolException(1, "Invalid sentence length: " + values[i]);
+    }
+
+    return result;
+  }
+
+  private static int getIntParameter(String param, String[] args, int defaultValue) {
+    if (CmdLineUtil.getParameter(param, args) == null)
+      return defaultValue;
+
+    Integer value = CmdLineUtil.getIntParameter(param, args);
+    if (value == null || value < 0)
+      throw new TerminateToolException(1, "Invalid value for " + param + ": " +
+          CmdLineUtil.getParameter(param, args));
+
+    return value;
+  }
+
+  private static BenchPipeline loadPipeline(String[] args) {
+    BenchPipeline pipeline = new BenchPipeline();
+
+    String tokenizer = CmdLineUtil.getParameter("-tokenizer", args);
+    if (tokenizer != null)
+      pipeline.setTokenizerModel(new TokenizerModelLoader().load(new File(tokenizer)));
+
+    String pos = CmdLineUtil.getParameter("-pos", args);
+    if (pos != null)
+      pipeline.setPOSModel(new POSModelLoader().load(new File(pos)));
+
+    String chunker = CmdLineUtil.getParameter("-chunker", args);
+    if (chunker != null) {
+      if (pos == null)
+        throw new TerminateToolException(1, "The chunker requires a POS model, see -pos!");
+
+      pipeline.setChunkerModel(new ChunkerModelLoader().load(new File(chunker)));
+    }
+
+    String ner = CmdLineUtil.getParameter("-ner", args);
+    if (ner != null) {
+      for (String model : ner.split(",")) {
+        pipeline.addNameFinderModel(new TokenNameFinderModelLoader().load(new File(model)));
+      }
+    }
+
+    String parser = CmdLineUtil.getParameter("-parser", args);
+    if (parser != null)
+      pipeline.setParserModel(new ParserModelLoader().load(new File(parser)));
+
+    return pipeline;
+  }
+
+  /**
+   * @return the bytes allocated by the current thread, or -1 if the virtual
+   *     machine cannot measure them
+   */
+  private static long getAllocatedBytes() {
+    ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+    try {
+      if (threadBean instanceof com.sun.management.ThreadMXBean) {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threadBean;
+
+        if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled())
+          return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+      }
+    }
+    catch (LinkageError e) {
+      // the com.sun.management extension is not available on this virtual machine
+    }
+
+    return -1;
+  }
+
+  private static long[] getGarbageCollection() {
+    long[] gc = new long[2];
+
+    for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+      if (bean.getCollectionCount() > 0)
+        gc[0] += bean.getCollectionCount();
+
+      if (bean.getCollectionTime() > 0)
+        gc[1] += bean.getCollectionTime();
+    }
+
+    return gc;
+  }
+
+  /**
+   * Processes the sentences until the end of the measurement and records the
+   * latencies after the warm-up.
+   */
+  static BenchReport process(BenchPipeline.Tools tools, List<String> sentences, int first,
+      long measureStart, long measureEnd) {
+
+    BenchReport report = new BenchReport();
+
+    long allocatedStart = -1;
+    boolean measuring = false;
+
+    int index = first;
+    while (true) {
+      long start = System.nanoTime();
+
+      if (!measuring && start - measureStart >= 0) {
+        measuring = true;
+        allocatedStart = getAllocatedBytes();
+      }
+
+      if (start - measureEnd >= 0)
+        break;
+
+      if (index == sentences.size()) {
+        index = 0;
+        tools.clearAdaptiveData();
+      }
+
+      int tokens = tools.process(sentences.get(index++));
+
+      if (measuring)
+        report.record(tokens, System.nanoTime() - start);
+    }
+
+    long allocatedEnd = getAllocatedBytes();
+    report.setAllocatedBytes(allocatedStart >= 0 && allocatedEnd >= 0 ?
+        allocatedEnd - allocatedStart : -1);
+
+    return report;
+  }
+
+  public void run(String[] args) {
+    if (0 == args.length) {
+      System.out.println(getHelp());
+      return;
+    }
+
+    final int threads = Math.max(1, getIntParameter("-threads", args, 1));
+    int warmup = getIntParameter("-warmup", args, 10);
+    int duration = getIntParameter("-duration", args, 30);
+
+    String format = CmdLineUtil.getParameter("-format", args);
+    if (format == null)
+      format = "text";
+    if (!"text".equals(format) && !"json".equals(format))
+      throw new TerminateToolException(1, "Unknown report format: " + format);
+
+    final BenchPipeline pipeline = loadPipeline(args);
+    if (pipeline.getToolNames().isEmpty())
+      throw new TerminateToolException(1, "At least one model is required!");
+
+    final List<String> sentences;
+    String data = CmdLineUtil.getParameter("-data", args);
+    if (data != null) {
+      sentences = readSentences(new File(data));
+    }
+    else {
+      String lengths = CmdLineUtil.getParameter("-lengths", args);
+      sentences = generateSentences(parseLengths(lengths != null ? lengths : "5,20,50"),
+          pipeline.hasTokenizer());
+    }
+
+    final long measureStart = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmup);
+    final long measureEnd = measureStart + TimeUnit.SECONDS.toNanos(duration);
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+      public Thread newThread(Runnable r) {
+        Thread thread = new Thread(r, "Bench-worker");
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+
+    List<Future<BenchReport>> futures = new ArrayList<Future<BenchReport>>(threads);
+
+    BenchReport report = new BenchReport();
+    long[] gcStart;
+    long[] gcEnd;
+    MemoryUsage heapStart;
+    MemoryUsage heapEnd;
+    long end;
+
+    try {
+      for (int i = 0; i < threads; i++) {
+        // the threads start at different sentences
+        final int first = (int) ((long) i * sentences.size() / threads);
+
+        futures.add(executor.submit(new Callable<BenchReport>() {
+          public BenchReport call() {
+            return process(pipeline.createTools(), sentences, first, measureStart, measureEnd);
+          }
+        }));
+      }
+
+      long wait;
+      while ((wait = measureStart - System.nanoTime()) > 0) {
+        TimeUnit.NANOSECONDS.sleep(wait);
+      }
+
+      gcStart = getGarbageCollection();
+      heapStart = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+
+      for (Future<BenchReport> future : futures) {
+        report.add(future.get());
+      }
+
+      end = System.nanoTime();
+      gcEnd = getGarbageCollection();
+      heapEnd = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while benchmarking", e);
+    }
+    catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+
+      if (cause instanceof RuntimeException)
+        throw (RuntimeException) cause;
+
+      throw new IllegalStateException("Failed to benchmark the tools!", cause);
+    }
+    finally {
+      for (Future<BenchReport> future : futures) {
+        future.cancel(true);
+      }
+      executor.shutdown();
+    }
+
+    report.setRun(pipeline.getToolNames(), threads, end - measureStart);
+    report.setGarbageCollection(gcEnd[0] - gcStart[0], gcEnd[1] - gcStart[1]);
+    report.setHeap(heapStart.getUsed(), heapEnd.getUsed(), heapEnd.getMax());
+
+    if ("json".equals(format))
+      System.out.println(report.toJson());
+    else
+      report.printText(System.out);
+  }
+}
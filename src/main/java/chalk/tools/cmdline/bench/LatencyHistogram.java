@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.cmdline.bench;
+
+/**
+ * A histogram of latencies in nanoseconds with a bounded relative error.
+ * <p>
+ * Values below 32 are counted exactly. Larger values are counted in 32 buckets per
+ * power of two, a percentile is therefore reported at most about 3% too high.
+ * The histogram has a fixed size and recording a value does not allocate.
+ * <p>
+ * This class is not thread safe, each thread should record into its own
+ * histogram and the histograms are then merged.
+ */
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 5;
+
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+  private final long[] counts = new long[(64 - SUB_BUCKET_BITS) * SUB_BUCKETS];
+
+  private long count;
+
+  private long sum;
+
+  private long max;
+
+  static int bucket(long value) {
+    if (value < SUB_BUCKETS)
+      return (int) value;
+
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  /**
+   * @return the largest value which is counted in the bucket
+   */
+  static long highestValue(int bucket) {
+    if (bucket < SUB_BUCKETS)
+      return bucket;
+
+    int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+    long subBucket = bucket % SUB_BUCKETS;
+
+    return ((SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+  }
+
+  /**
+   * Records a value.
+   *
+   * @param value the value, must not be negative
+   */
+  public void record(long value) {
+    if (value < 0)
+      throw new IllegalArgumentException("value must not be negative: " + value);
+
+    counts[bucket(value)]++;
+    count++;
+    sum += value;
+
+    if (value > max)
+      max = value;
+  }
+
+  /**
+   * Adds the values of another histogram to this histogram.
+   *
+   * @param histogram the other histogram
+   */
+  public void add(LatencyHistogram histogram) {
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] += histogram.counts[i];
+    }
+
+    count += histogram.count;
+    sum += histogram.sum;
+    max = Math.max(max, histogram.max);
+  }
+
+  /**
+   * @return the number of recorded values
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * @return the largest recorded value, or zero if there is none
+   */
+  public long getMax() {
+    return max;
+  }
+
+  /**
+   * @return the mean of the recorded values, or zero if there is none
+   */
+  public double getMean() {
+    return count > 0 ? (double) sum / count : 0;
+  }
+
+  /**
+   * Retrieves the value below or at which the specified percentage of the
+   * recorded values are.
+   *
+   * @param percentile the percentile, between 0 and 100
+   *
+   * @return the value, or zero if there is none
+   */
+  public long getValueAtPercentile(double percentile) {
+    if (percentile < 0 || percentile > 100)
+      throw new IllegalArgumentException("percentile must be between 0 and 100: " + percentile);
+
+    if (count == 0)
+      return 0;
+
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+
+      if (seen >= rank)
+        return Math.min(highestValue(i), max);
+    }
+
+    return max;
+  }
+}
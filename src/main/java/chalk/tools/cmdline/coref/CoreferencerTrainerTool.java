@@ -18,8 +18,12 @@
 package chalk.tools.cmdline.coref;
 
 import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 import chalk.tools.cmdline.AbstractTrainerTool;
+import chalk.tools.cmdline.CmdLineUtil;
 import chalk.tools.cmdline.TerminateToolException;
 import chalk.tools.cmdline.coref.CoreferencerTrainerTool.TrainerToolParams;
 import chalk.tools.cmdline.params.TrainingToolParams;
@@ -41,12 +45,31 @@ public class CoreferencerTrainerTool extends AbstractTrainerTool<CorefSample, Tr
     
     super.run(format, args);
     
+    mlParams = CmdLineUtil.loadTrainingParameters(params.getParams(), false);
+    
+    // the models are trained concurrently if the params file specifies threads
+    ExecutorService executor = null;
+    
+    if (mlParams != null && mlParams.threads() > 1) {
+      executor = Executors.newFixedThreadPool(mlParams.threads(), new ThreadFactory() {
+        public Thread newThread(Runnable r) {
+          Thread thread = new Thread(r, "CorefTrainer-worker");
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    }
+    
     try {
-      CorefTrainer.train(params.getModel().toString(), sampleStream, true, true);
+      CorefTrainer.train(params.getModel().toString(), sampleStream, true, true, executor);
     } catch (IOException e) {
       throw new TerminateToolException(-1, "IO error while reading training data or indexing data: " +
           e.getMessage(), e);
     }
+    finally {
+      if (executor != null)
+        executor.shutdownNow();
+    }
   }
   
 }
@@ -20,6 +20,8 @@ package chalk.tools.cmdline.doccat;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
 
 import chalk.tools.cmdline.AbstractBasicCmdLineTool;
 import chalk.tools.cmdline.CLI;
@@ -28,6 +30,8 @@ import chalk.tools.cmdline.PerformanceMonitor;
 import chalk.tools.doccat.DoccatModel;
 import chalk.tools.doccat.DocumentCategorizerME;
 import chalk.tools.doccat.DocumentSample;
+import chalk.tools.doccat.ParallelDocumentCategorizer;
+import chalk.tools.doccat.ScoredCategory;
 import chalk.tools.util.ObjectStream;
 import chalk.tools.util.ParagraphStream;
 import chalk.tools.util.PlainTextByLineStream;
@@ -40,7 +44,24 @@ public class DoccatTool extends AbstractBasicCmdLineTool {
   }
   
   public String getHelp() {
-    return "Usage: " + CLI.CMD + " " + getName() + " model < documents";
+    return "Usage: " + CLI.CMD + " " + getName() + " [-threads n] model < documents\n" +
+        "-threads n: Categorize the documents with n threads.";
+  }
+
+  private static void categorizeBatch(List<String> documents, ParallelDocumentCategorizer doccat,
+      PerformanceMonitor perfMon) {
+
+    List<ScoredCategory[]> categories = doccat.categorizeAllText(documents, 1);
+
+    for (int i = 0; i < documents.size(); i++) {
+      DocumentSample sample = new DocumentSample(categories.get(i)[0].getCategory(),
+          documents.get(i));
+      System.out.println(sample.toString());
+
+      perfMon.incrementCounter();
+    }
+
+    documents.clear();
   }
 
   public void run(String[] args) {
@@ -49,9 +70,11 @@ public class DoccatTool extends AbstractBasicCmdLineTool {
       System.out.println(getHelp());
     } else {
 
-      DoccatModel model = new DoccatModelLoader().load(new File(args[0]));
+      DoccatModel model = new DoccatModelLoader().load(new File(args[args.length - 1]));
 
-      DocumentCategorizerME doccat = new DocumentCategorizerME(model);
+      Integer threads = CmdLineUtil.getIntParameter("-threads", args);
+      if (threads == null)
+        threads = 1;
 
       ObjectStream<String> documentStream = new ParagraphStream(
           new PlainTextByLineStream(new InputStreamReader(System.in)));
@@ -61,14 +84,36 @@ public class DoccatTool extends AbstractBasicCmdLineTool {
 
       try {
         String document;
-        while ((document = documentStream.read()) != null) {
-          double prob[] = doccat.categorize(document);
-          String category = doccat.getBestCategory(prob);
+        if (threads > 1) {
+          ParallelDocumentCategorizer doccat = new ParallelDocumentCategorizer(model, threads);
+
+          try {
+            List<String> documents =
+                new ArrayList<String>(ParallelDocumentCategorizer.DEFAULT_BATCH_SIZE);
+            while ((document = documentStream.read()) != null) {
+              documents.add(document);
+              if (documents.size() == ParallelDocumentCategorizer.DEFAULT_BATCH_SIZE) {
+                categorizeBatch(documents, doccat, perfMon);
+              }
+            }
+            categorizeBatch(documents, doccat, perfMon);
+          }
+          finally {
+            doccat.shutdown();
+          }
+        }
+        else {
+          DocumentCategorizerME doccat = new DocumentCategorizerME(model);
+
+          while ((document = documentStream.read()) != null) {
+            double prob[] = doccat.categorize(document);
+            String category = doccat.getBestCategory(prob);
 
-          DocumentSample sample = new DocumentSample(category, document);
-          System.out.println(sample.toString());
+            DocumentSample sample = new DocumentSample(category, document);
+            System.out.println(sample.toString());
 
-          perfMon.incrementCounter();
+            perfMon.incrementCounter();
+          }
         }
       }
       catch (IOException e) {
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.cmdline.langdetect;
+
+import java.io.File;
+import java.io.IOException;
+
+import chalk.tools.cmdline.AbstractTrainerTool;
+import chalk.tools.cmdline.ArgumentParser.OptionalParameter;
+import chalk.tools.cmdline.ArgumentParser.ParameterDescription;
+import chalk.tools.cmdline.CmdLineUtil;
+import chalk.tools.cmdline.TerminateToolException;
+import chalk.tools.cmdline.langdetect.LanguageDetectorTrainerTool.TrainerToolParams;
+import chalk.tools.doccat.DocumentSample;
+import chalk.tools.langdetect.LanguageDetectorME;
+import chalk.tools.langdetect.LanguageDetectorModel;
+
+/**
+ * Trains a language detector model, the category of a document sample is its language.
+ * The samples of several languages can be converted with the DoccatConverter
+ * into one file of the doccat format.
+ */
+public class LanguageDetectorTrainerTool
+    extends AbstractTrainerTool<DocumentSample, TrainerToolParams> {
+
+  interface TrainerToolParams {
+
+    @ParameterDescription(valueName = "modelFile", description = "output model file.")
+    File getModel();
+
+    @ParameterDescription(valueName = "num", description = "number of buckets the n-grams are hashed into.")
+    @OptionalParameter(defaultValue = "65536")
+    Integer getBuckets();
+
+    @ParameterDescription(valueName = "num", description = "maximal length of the character n-grams.")
+    @OptionalParameter(defaultValue = "3")
+    Integer getNgrams();
+  }
+
+  public LanguageDetectorTrainerTool() {
+    super(DocumentSample.class, TrainerToolParams.class);
+  }
+
+  public String getShortDescription() {
+    return "trainer for the character n-gram language detector";
+  }
+
+  public void run(String format, String[] args) {
+    super.run(format, args);
+
+    File modelOutFile = params.getModel();
+
+    CmdLineUtil.checkOutputFile("language detector model", modelOutFile);
+
+    LanguageDetectorModel model;
+    try {
+      model = LanguageDetectorME.train(sampleStream, params.getBuckets(), params.getNgrams());
+    } catch (IOException e) {
+      throw new TerminateToolException(-1, "IO error while reading training data: " +
+          e.getMessage(), e);
+    }
+    finally {
+      try {
+        sampleStream.close();
+      } catch (IOException e) {
+        // sorry that this can fail
+      }
+    }
+
+    CmdLineUtil.writeModel("language detector", modelOutFile, model);
+  }
+}
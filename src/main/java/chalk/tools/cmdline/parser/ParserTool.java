@@ -31,6 +31,7 @@ import chalk.tools.cmdline.CLI;
 import chalk.tools.cmdline.CmdLineUtil;
 import chalk.tools.cmdline.PerformanceMonitor;
 import chalk.tools.parser.AbstractBottomUpParser;
+import chalk.tools.parser.ParallelParser;
 import chalk.tools.parser.Parse;
 import chalk.tools.parser.ParserFactory;
 import chalk.tools.parser.ParserModel;
@@ -46,16 +47,31 @@ public final class ParserTool extends AbstractBasicCmdLineTool {
   }
   
   public String getHelp() {
-    return "Usage: " + CLI.CMD + " " + getName() + " [-bs n -ap n -k n] model < sentences \n" +
+    return "Usage: " + CLI.CMD + " " + getName() + " [-bs n -ap n -k n -threads n] model < sentences \n" +
         "-bs n: Use a beam size of n.\n" +
         "-ap f: Advance outcomes in with at least f% of the probability mass.\n" + 
-        "-k n: Show the top n parses.  This will also display their log-probablities.";
+        "-k n: Show the top n parses.  This will also display their log-probablities.\n" +
+        "-threads n: Parse the sentences with n threads.";
   }
 
+  private static final int BATCH_SIZE = 1000;
+
   private static Pattern untokenizedParenPattern1 = Pattern.compile("([^ ])([({)}])");
   private static Pattern untokenizedParenPattern2 = Pattern.compile("([({)}])([^ ])");
 
   public static Parse[] parseLine(String line, chalk.tools.parser.Parser parser, int numParses) {
+    Parse p = createTokenParse(line);
+    Parse[] parses;
+    if (numParses == 1) {
+      parses = new Parse[] { parser.parse(p)};
+    }
+    else {
+      parses = parser.parse(p,numParses);
+    }
+    return parses;
+  }
+
+  private static Parse createTokenParse(String line) {
     line = untokenizedParenPattern1.matcher(line).replaceAll("$1 $2");
     line = untokenizedParenPattern2.matcher(line).replaceAll("$1 $2");
     StringTokenizer str = new StringTokenizer(line);
@@ -75,14 +91,45 @@ public final class ParserTool extends AbstractBasicCmdLineTool {
       p.insert(new Parse(text, new Span(start, start + tok.length()), AbstractBottomUpParser.TOK_NODE, 0,i));
       start += tok.length() + 1;
     }
-    Parse[] parses;
-    if (numParses == 1) {
-      parses = new Parse[] { parser.parse(p)};
+    return p;
+  }
+
+  private static void printParses(Parse[] parses, boolean showTopK, PerformanceMonitor perfMon) {
+    for (int pi=0,pn=parses.length;pi<pn;pi++) {
+      if (showTopK) {
+        System.out.print(pi+" "+parses[pi].getProb()+" ");
+      }
+
+      parses[pi].show();
+
+      perfMon.incrementCounter();
     }
-    else {
-      parses = parser.parse(p,numParses);
+  }
+
+  /**
+   * Parses a batch of lines with the parallel parser and prints the parses
+   * in the order of the lines, empty lines are printed as empty lines.
+   */
+  private static void parseBatch(List<String> lines, ParallelParser parser, int numParses,
+      boolean showTopK, PerformanceMonitor perfMon) {
+    List<Parse> sentences = new ArrayList<Parse>(lines.size());
+    for (String line : lines) {
+      if (line.length() != 0) {
+        sentences.add(createTokenParse(line));
+      }
     }
-    return parses;
+
+    Iterator<Parse[]> parses = parser.parseAll(sentences, numParses).iterator();
+
+    for (String line : lines) {
+      if (line.length() == 0) {
+        System.out.println();
+      }
+      else {
+        printParses(parses.next(), showTopK, perfMon);
+      }
+    }
+    lines.clear();
   }
   
   public void run(String[] args) {
@@ -112,8 +159,9 @@ public final class ParserTool extends AbstractBasicCmdLineTool {
       if (advancePercentage == null)
         advancePercentage = AbstractBottomUpParser.defaultAdvancePercentage;
 
-      chalk.tools.parser.Parser parser =
-          ParserFactory.create(model, beamSize, advancePercentage);
+      Integer threads = CmdLineUtil.getIntParameter("-threads", args);
+      if (threads == null)
+        threads = 1;
 
       ObjectStream<String> lineStream =
         new PlainTextByLineStream(new InputStreamReader(System.in));
@@ -123,21 +171,31 @@ public final class ParserTool extends AbstractBasicCmdLineTool {
 
       try {
         String line;
-        while ((line = lineStream.read()) != null) {
-          if (line.length() == 0) {
-            System.out.println();
+        if (threads > 1) {
+          ParallelParser parser =
+              new ParallelParser(model, beamSize, advancePercentage, threads);
+
+          List<String> lines = new ArrayList<String>(BATCH_SIZE);
+          while ((line = lineStream.read()) != null) {
+            lines.add(line);
+            if (lines.size() == BATCH_SIZE) {
+              parseBatch(lines, parser, numParses, showTopK, perfMon);
+            }
           }
-          else {
-            Parse[] parses = parseLine(line, parser, numParses);
-
-            for (int pi=0,pn=parses.length;pi<pn;pi++) {
-              if (showTopK) {
-                System.out.print(pi+" "+parses[pi].getProb()+" ");
-              }
+          parseBatch(lines, parser, numParses, showTopK, perfMon);
 
-              parses[pi].show();
+          parser.shutdown();
+        }
+        else {
+          chalk.tools.parser.Parser parser =
+              ParserFactory.create(model, beamSize, advancePercentage);
 
-              perfMon.incrementCounter();
+          while ((line = lineStream.read()) != null) {
+            if (line.length() == 0) {
+              System.out.println();
+            }
+            else {
+              printParses(parseLine(line, parser, numParses), showTopK, perfMon);
             }
           }
         }
@@ -18,6 +18,14 @@
 package chalk.tools.coref;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import nak.maxent.GIS;
 
 import chalk.tools.coref.mention.HeadFinder;
 import chalk.tools.coref.mention.Mention;
@@ -27,6 +35,8 @@ import chalk.tools.coref.mention.Parse;
 import chalk.tools.coref.resolver.AbstractResolver;
 import chalk.tools.coref.sim.Gender;
 import chalk.tools.coref.sim.Number;
+import chalk.tools.util.metrics.TraceEvent;
+import chalk.tools.util.metrics.Tracing;
 
 
 /**
@@ -44,9 +54,6 @@ public abstract class AbstractLinker implements Linker {
   /** The mode in which this linker is running. */
   protected LinkerMode mode;
 
-  /** Instance used for for returning the same linker for subsequent getInstance requests. */
-  protected static Linker linker;
-
   /** The resolvers used by this Linker. */
   protected AbstractResolver[] resolvers;
   /** The names of the resolvers used by this Linker. */
@@ -73,6 +80,9 @@ public abstract class AbstractLinker implements Linker {
    */
   protected boolean removeUnresolvedMentions;
 
+  /** The executor which runs the resolvers of a mention concurrently, or null. */
+  private ExecutorService executor;
+
   /**
    * Creates a new linker using the models in the specified project directory and using the specified mode.
    * @param project The location of the models or other data needed by this linker.
@@ -97,6 +107,20 @@ public abstract class AbstractLinker implements Linker {
     removeUnresolvedMentions = true;
   }
 
+  /**
+   * Specifies the executor which runs the resolvers which can resolve a mention
+   * concurrently in {@link LinkerMode#TEST}. The resolvers only read the discourse
+   * model, they find the same entities as if they were run one after another.
+   * In {@link LinkerMode#TRAIN} the executor trains the models of the resolvers
+   * concurrently, each resolver trains from its own events, and the messages of
+   * the GIS trainer are turned off meanwhile.
+   *
+   * @param executor the executor, or null to run the resolvers one after another
+   */
+  public void setExecutor(ExecutorService executor) {
+    this.executor = executor;
+  }
+
   /**
    * Resolves the specified mention to an entity in the specified discourse model or creates a new entity for the mention.
    * @param mention The mention to resolve.
@@ -107,10 +131,22 @@ public abstract class AbstractLinker implements Linker {
     boolean validEntity = true; // true if we should add this entity to the dm
     boolean canResolve = false;
 
+    discourseModel.getFeatureCache().setMention(mention);
+
+    List<Future<DiscourseEntity>> futures = null;
+    if (mode == LinkerMode.TEST && executor != null) {
+      futures = submitResolvers(mention, discourseModel);
+    }
+
     for (int ri = 0; ri < resolvers.length; ri++) {
-      if (resolvers[ri].canResolve(mention)) {
+      if (futures != null ? futures.get(ri) != null : resolvers[ri].canResolve(mention)) {
         if (mode == LinkerMode.TEST) {
-          entities[ri] = resolvers[ri].resolve(mention, discourseModel);
+          if (futures != null) {
+            entities[ri] = getResolvedEntity(futures, ri);
+          }
+          else {
+            entities[ri] = resolvers[ri].resolve(mention, discourseModel);
+          }
           canResolve = true;
         }
         else if (mode == LinkerMode.TRAIN) {
@@ -145,6 +181,54 @@ public abstract class AbstractLinker implements Linker {
     }
   }
 
+  /**
+   * Submits the resolvers which can resolve the specified mention to the executor.
+   *
+   * @return the futures of the resolvers, null for resolvers which can not resolve the mention
+   */
+  private List<Future<DiscourseEntity>> submitResolvers(final MentionContext mention,
+      final DiscourseModel discourseModel) {
+    List<Future<DiscourseEntity>> futures = new ArrayList<Future<DiscourseEntity>>(resolvers.length);
+
+    for (final AbstractResolver resolver : resolvers) {
+      if (resolver.canResolve(mention)) {
+        futures.add(executor.submit(new Callable<DiscourseEntity>() {
+          public DiscourseEntity call() {
+            return resolver.resolve(mention, discourseModel);
+          }
+        }));
+      }
+      else {
+        futures.add(null);
+      }
+    }
+
+    return futures;
+  }
+
+  private static DiscourseEntity getResolvedEntity(List<Future<DiscourseEntity>> futures, int index) {
+    try {
+      return futures.get(index).get();
+    } catch (InterruptedException e) {
+      cancel(futures);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while resolving mention!", e);
+    } catch (ExecutionException e) {
+      cancel(futures);
+      if (e.getCause() instanceof RuntimeException)
+        throw (RuntimeException) e.getCause();
+      else
+        throw new IllegalStateException("Failed to resolve mention!", e.getCause());
+    }
+  }
+
+  private static void cancel(List<Future<DiscourseEntity>> futures) {
+    for (Future<DiscourseEntity> future : futures) {
+      if (future != null)
+        future.cancel(true);
+    }
+  }
+
   public HeadFinder getHeadFinder() {
     return headFinder;
   }
@@ -212,12 +296,26 @@ public abstract class AbstractLinker implements Linker {
   }
 
   public DiscourseEntity[] getEntities(Mention[] mentions) {
+    TraceEvent trace = Tracing.beginTool(getClass().getSimpleName(), corefProject,
+        mentions.length, -1);
+
     MentionContext[] extentContexts = this.constructMentionContexts(mentions);
     DiscourseModel dm = new DiscourseModel();
-    for (int ei = 0; ei < extentContexts.length; ei++) {
-      //System.err.println(ei+" "+extentContexts[ei].toText());
-      resolve(extentContexts[ei], dm);
+
+    try {
+      for (int ei = 0; ei < extentContexts.length; ei++) {
+        //System.err.println(ei+" "+extentContexts[ei].toText());
+        resolve(extentContexts[ei], dm);
+      }
+    }
+    finally {
+      // the entities refer to the model, release the cached features
+      dm.getFeatureCache().clear();
     }
+
+    if (trace != null)
+      trace.end(dm.getNumEntities());
+
     return (dm.getEntities());
   }
 
@@ -226,8 +324,48 @@ public abstract class AbstractLinker implements Linker {
   }
 
   public void train() throws IOException {
-    for (int ri = 0; ri < resolvers.length; ri++) {
-      resolvers[ri].train();
+    if (executor == null) {
+      for (int ri = 0; ri < resolvers.length; ri++) {
+        resolvers[ri].train();
+      }
+      return;
+    }
+
+    // the messages of the concurrently trained models would be interleaved
+    boolean printMessages = GIS.PRINT_MESSAGES;
+    GIS.PRINT_MESSAGES = false;
+
+    List<Future<Void>> futures = new ArrayList<Future<Void>>(resolvers.length);
+
+    for (final AbstractResolver resolver : resolvers) {
+      futures.add(executor.submit(new Callable<Void>() {
+        public Void call() throws IOException {
+          resolver.train();
+          return null;
+        }
+      }));
+    }
+
+    try {
+      for (Future<Void> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while training the resolvers!", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException)
+        throw (IOException) e.getCause();
+      else if (e.getCause() instanceof RuntimeException)
+        throw (RuntimeException) e.getCause();
+      else
+        throw new IllegalStateException("Failed to train the resolvers!", e.getCause());
+    }
+    finally {
+      for (Future<Void> future : futures) {
+        future.cancel(true);
+      }
+      GIS.PRINT_MESSAGES = printMessages;
     }
   }
 
@@ -17,22 +17,33 @@
 
 package chalk.tools.coref;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Stack;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import nak.io.SuffixSensitiveGISModelWriter;
+import nak.maxent.GIS;
+import nak.maxent.GISModel;
+import nak.model.EventStream;
+import nak.model.TwoPassDataIndexer;
 
 import chalk.tools.coref.mention.DefaultParse;
 import chalk.tools.coref.mention.Mention;
 import chalk.tools.coref.mention.MentionContext;
 import chalk.tools.coref.mention.MentionFinder;
-import chalk.tools.coref.resolver.MaxentResolver;
 import chalk.tools.coref.sim.GenderModel;
 import chalk.tools.coref.sim.NumberModel;
 import chalk.tools.coref.sim.SimilarityModel;
 import chalk.tools.coref.sim.TrainSimilarityModel;
 import chalk.tools.parser.Parse;
+import chalk.tools.util.EventSpool;
 import chalk.tools.util.ObjectStream;
 
 
@@ -85,8 +96,113 @@ public class CorefTrainer {
     return mentions.toArray(new Mention[mentions.size()]);
   }
   
+  /**
+   * Trains a maxent model from the spooled events and writes it to the specified
+   * file. The events are indexed with a {@link TwoPassDataIndexer} which reads
+   * them twice from the spool instead of keeping them in memory.
+   *
+   * @param events the training events
+   * @param iterations the number of training iterations
+   * @param cutoff the minimal number of times a feature must be seen
+   * @param smoothing true if the model should be smoothed
+   * @param modelFile the file the model is written to
+   *
+   * @throws IOException if reading the events or writing the model fails
+   */
+  public static void trainModel(EventSpool events, int iterations, int cutoff,
+      boolean smoothing, File modelFile) throws IOException {
+
+    long start = System.currentTimeMillis();
+
+    EventStream stream = events.openStream();
+
+    GISModel model = GIS.trainModel(iterations, new TwoPassDataIndexer(stream, cutoff),
+        GIS.PRINT_MESSAGES, smoothing, null, cutoff);
+
+    new SuffixSensitiveGISModelWriter(model, modelFile).persist();
+
+    System.err.println(modelFile.getName() + ": " + events.size() + " events, trained in " +
+        (System.currentTimeMillis() - start) + " ms");
+  }
+
+  private static void trainModels(ExecutorService executor, final TrainSimilarityModel... models)
+      throws IOException {
+
+    if (executor == null) {
+      for (TrainSimilarityModel model : models) {
+        model.trainModel();
+      }
+      return;
+    }
+
+    // the messages of the concurrently trained models would be interleaved
+    boolean printMessages = GIS.PRINT_MESSAGES;
+    GIS.PRINT_MESSAGES = false;
+
+    List<Future<Void>> futures = new ArrayList<Future<Void>>(models.length);
+
+    for (final TrainSimilarityModel model : models) {
+      futures.add(executor.submit(new Callable<Void>() {
+        public Void call() throws IOException {
+          model.trainModel();
+          return null;
+        }
+      }));
+    }
+
+    try {
+      for (Future<Void> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while training the similarity models!", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException)
+        throw (IOException) e.getCause();
+      else if (e.getCause() instanceof RuntimeException)
+        throw (RuntimeException) e.getCause();
+      else
+        throw new IllegalStateException("Failed to train the similarity models!", e.getCause());
+    }
+    finally {
+      for (Future<Void> future : futures) {
+        future.cancel(true);
+      }
+      GIS.PRINT_MESSAGES = printMessages;
+    }
+  }
+
   public static void train(String modelDirectory, ObjectStream<CorefSample> samples,
       boolean useTreebank, boolean useDiscourseModel) throws IOException {
+    train(modelDirectory, samples, useTreebank, useDiscourseModel, null);
+  }
+
+  /**
+   * Trains the coreference models. The training events are spooled to temporary
+   * files while the samples are read, afterwards the models are trained.
+   * <p>
+   * The similarity, gender and number models are trained first, since the
+   * training linker needs the similarity model, then the events of the resolvers
+   * are generated and their models are trained. If an executor is specified
+   * the models of each of the two steps are trained concurrently, and the
+   * messages of the GIS trainer are turned off meanwhile.
+   *
+   * @param modelDirectory the directory the models are written to
+   * @param samples the training samples, the stream is reset once
+   * @param useTreebank ignored, the treebank linker is always used
+   * @param useDiscourseModel true if coreferent mentions are combined into a single entity
+   * @param executor the executor which trains the models concurrently,
+   *     or null to train them one after another
+   *
+   * @throws IOException if reading the samples or writing the models fails
+   */
+  public static void train(String modelDirectory, ObjectStream<CorefSample> samples,
+      boolean useTreebank, boolean useDiscourseModel, ExecutorService executor)
+      throws IOException {
+
+    long start = System.currentTimeMillis();
+
     
     TrainSimilarityModel simTrain = SimilarityModel.trainModel(modelDirectory + "/coref/sim");
     TrainSimilarityModel genTrain = GenderModel.trainModel(modelDirectory + "/coref/gen");
@@ -114,13 +230,12 @@ public class CorefTrainer {
       numTrain.setExtents(extentContexts);
     }
     
-    simTrain.trainModel();
-    genTrain.trainModel();
-    numTrain.trainModel();
-    
-    MaxentResolver.setSimilarityModel(SimilarityModel.testModel(modelDirectory + "/coref"+"/sim"));
+    trainModels(executor, simTrain, genTrain, numTrain);
+
+    System.err.println("Similarity models trained in " +
+        (System.currentTimeMillis() - start) + " ms");
     
-    // Done with similarity training
+    // Done with similarity training, the training linker reads the similarity model
     
     // Now train the linkers
  
@@ -128,7 +243,9 @@ public class CorefTrainer {
     samples.reset();
     
     // Now train linkers
-    Linker trainLinker;
+    start = System.currentTimeMillis();
+
+    AbstractLinker trainLinker;
     if (useTreebank) {
       trainLinker = new TreebankLinker(modelDirectory + "/coref/", LinkerMode.TRAIN, useDiscourseModel);
     }
@@ -142,6 +259,10 @@ public class CorefTrainer {
       trainLinker.setEntities(mentions);
     }
     
+    trainLinker.setExecutor(executor);
     trainLinker.train();
+
+    System.err.println("Resolver models trained in " +
+        (System.currentTimeMillis() - start) + " ms");
   }
 }
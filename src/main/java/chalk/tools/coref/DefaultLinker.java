@@ -17,6 +17,7 @@
 
 package chalk.tools.coref;
 
+import java.io.File;
 import java.io.IOException;
 
 import chalk.tools.coref.mention.MentionContext;
@@ -25,10 +26,8 @@ import chalk.tools.coref.mention.ShallowParseMentionFinder;
 import chalk.tools.coref.resolver.AbstractResolver;
 import chalk.tools.coref.resolver.CommonNounResolver;
 import chalk.tools.coref.resolver.DefiniteNounResolver;
-import chalk.tools.coref.resolver.FixedNonReferentialResolver;
 import chalk.tools.coref.resolver.IsAResolver;
 import chalk.tools.coref.resolver.MaxentResolver;
-import chalk.tools.coref.resolver.NonReferentialResolver;
 import chalk.tools.coref.resolver.PerfectResolver;
 import chalk.tools.coref.resolver.PluralNounResolver;
 import chalk.tools.coref.resolver.PluralPronounResolver;
@@ -40,6 +39,7 @@ import chalk.tools.coref.sim.Gender;
 import chalk.tools.coref.sim.MaxentCompatibilityModel;
 import chalk.tools.coref.sim.Number;
 import chalk.tools.coref.sim.SimilarityModel;
+import chalk.tools.coref.sim.TestSimilarityModel;
 
 
 /**
@@ -50,6 +50,8 @@ import chalk.tools.coref.sim.SimilarityModel;
  */
 public class DefaultLinker extends AbstractLinker {
 
+  private static final String SIM_MODEL_EXTENSION = ".bin.gz";
+
   protected MaxentCompatibilityModel mcm;
 
   /**
@@ -96,6 +98,23 @@ public class DefaultLinker extends AbstractLinker {
     }
   }
 
+  /**
+   * Creates a new linker in {@link LinkerMode#TEST} which uses the specified models.
+   * The models are shared with all other linkers which are created from them, no
+   * files are read.
+   * @param models The models for this linker.
+   * @param useDiscourseModel Whether the model should use a discourse model or not.
+   */
+  public DefaultLinker(LinkerModels models, boolean useDiscourseModel) {
+    super(models.getModelDirectory(), LinkerMode.TEST, useDiscourseModel);
+    mcm = models.getCompatibilityModel();
+    initHeadFinder();
+    initMentionFinder();
+    SINGULAR_PRONOUN = 0;
+    resolvers = models.getResolvers();
+    entities = new DiscourseEntity[resolvers.length];
+  }
+
   /**
    * Initializes the resolvers used by this linker.
    * @param mode The mode in which this linker is being used.
@@ -109,36 +128,12 @@ public class DefaultLinker extends AbstractLinker {
     }
     SINGULAR_PRONOUN = 0;
     if (LinkerMode.TEST == mode || LinkerMode.EVAL == mode) {
-      if (fixedNonReferentialProbability < 0) {
-        resolvers = new MaxentResolver[] {
-            new SingularPronounResolver(corefProject, ResolverMode.TEST),
-            new ProperNounResolver(corefProject, ResolverMode.TEST),
-            new DefiniteNounResolver(corefProject, ResolverMode.TEST),
-            new IsAResolver(corefProject, ResolverMode.TEST),
-            new PluralPronounResolver(corefProject, ResolverMode.TEST),
-            new PluralNounResolver(corefProject, ResolverMode.TEST),
-            new CommonNounResolver(corefProject, ResolverMode.TEST),
-            new SpeechPronounResolver(corefProject, ResolverMode.TEST)
-        };
-      }
-      else {
-        NonReferentialResolver nrr = new FixedNonReferentialResolver(fixedNonReferentialProbability);
-        resolvers = new MaxentResolver[] {
-            new SingularPronounResolver(corefProject, ResolverMode.TEST,nrr),
-            new ProperNounResolver(corefProject, ResolverMode.TEST,nrr),
-            new DefiniteNounResolver(corefProject, ResolverMode.TEST,nrr),
-            new IsAResolver(corefProject, ResolverMode.TEST,nrr),
-            new PluralPronounResolver(corefProject, ResolverMode.TEST,nrr),
-            new PluralNounResolver(corefProject, ResolverMode.TEST,nrr),
-            new CommonNounResolver(corefProject, ResolverMode.TEST,nrr),
-            new SpeechPronounResolver(corefProject, ResolverMode.TEST,nrr)
-        };
-      }
+      resolvers = LinkerModels.createResolvers(corefProject, fixedNonReferentialProbability,
+          SimilarityModel.testModel(corefProject + "/sim"));
       if (LinkerMode.EVAL == mode) {
         //String[] names = {"Pronoun", "Proper", "Def-NP", "Is-a", "Plural Pronoun"};
         //eval = new Evaluation(names);
       }
-      MaxentResolver.setSimilarityModel(SimilarityModel.testModel(corefProject + "/sim"));
     }
     else if (LinkerMode.TRAIN == mode) {
       resolvers = new AbstractResolver[9];
@@ -151,6 +146,13 @@ public class DefaultLinker extends AbstractLinker {
       resolvers[6] = new CommonNounResolver(corefProject, ResolverMode.TRAIN);
       resolvers[7] = new SpeechPronounResolver(corefProject, ResolverMode.TRAIN);
       resolvers[8] = new PerfectResolver();
+      // the compatibility features use the similarity model once it is trained
+      if (new File(corefProject + "/sim" + SIM_MODEL_EXTENSION).exists()) {
+        TestSimilarityModel simModel = SimilarityModel.testModel(corefProject + "/sim");
+        for (int ri = 0; ri < 8; ri++) {
+          ((MaxentResolver) resolvers[ri]).setSimilarityModel(simModel);
+        }
+      }
     }
     else {
       System.err.println("DefaultLinker: Invalid Mode");
@@ -32,6 +32,14 @@ public class DiscourseEntity extends DiscourseElement {
   private NumberEnum number;
   private double numberProb;
 
+  /**
+   * The discourse model which contains this entity and the neighbours of this
+   * entity in its recency list, maintained by {@link DiscourseModel}.
+   */
+  DiscourseModel model;
+  DiscourseEntity previous;
+  DiscourseEntity next;
+
   /**
    * Creates a new entity based on the specified mention and its specified gender and number properties.
    *
@@ -60,6 +68,15 @@ public class DiscourseEntity extends DiscourseElement {
     number = NumberEnum.UNKNOWN;
   }
 
+  /**
+   * Returns the discourse model which contains this entity.
+   *
+   * @return the discourse model, or null if this entity is not part of a model.
+   */
+  public DiscourseModel getDiscourseModel() {
+    return model;
+  }
+
   /**
    * Returns the semantic category of this entity.
    * This field is used to associated named-entity categories with an entity.
@@ -17,27 +17,100 @@
 
 package chalk.tools.coref;
 
-import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.List;
 
 import chalk.tools.coref.mention.MentionContext;
+import chalk.tools.coref.resolver.FeatureCache;
 
 
 /**
  * Represents the elements which are part of a discourse.
+ * <p>
+ * The entities are kept in a doubly linked list which is ordered by recency,
+ * the most recently mentioned entity is at index zero. Mentioning, adding and
+ * removing an entity takes constant time. {@link #getEntity(int)} walks the list
+ * from the position of the previous call, the resolvers which access the
+ * entities one after another with increasing indexes therefore also take
+ * constant time per entity. Several threads may read the entities concurrently
+ * as long as the model is not modified.
+ * <p>
+ * The model also holds the {@link FeatureCache} which the resolvers use while
+ * the mentions of its document are resolved, so that linkers which resolve
+ * different documents concurrently never share cached features.
  */
 public class DiscourseModel {
 
-  private List<DiscourseEntity> entities;
+  private DiscourseEntity first;
+
+  private DiscourseEntity last;
+
+  private int size;
+
+  /**
+   * An entity and its index in the list.
+   */
+  private static class Cursor {
+    private final DiscourseEntity entity;
+    private final int index;
+
+    Cursor(DiscourseEntity entity, int index) {
+      this.entity = entity;
+      this.index = index;
+    }
+  }
+
+  /**
+   * The entity which was returned last by {@link #getEntity(int)},
+   * or null if the list was modified since.
+   */
+  private volatile Cursor cursor;
 
   int nextEntityId = 1;
 
+  private final FeatureCache featureCache = new FeatureCache();
+
   /**
    * Creates a new discourse model.
    */
   public DiscourseModel() {
-    entities = new ArrayList<DiscourseEntity>();
+  }
+
+  private void addFirst(DiscourseEntity e) {
+    e.model = this;
+    e.previous = null;
+    e.next = first;
+
+    if (first != null)
+      first.previous = e;
+    else
+      last = e;
+
+    first = e;
+    size++;
+    cursor = null;
+  }
+
+  private boolean remove(DiscourseEntity e) {
+    if (e.model != this)
+      return false;
+
+    if (e.previous != null)
+      e.previous.next = e.next;
+    else
+      first = e.next;
+
+    if (e.next != null)
+      e.next.previous = e.previous;
+    else
+      last = e.previous;
+
+    e.model = null;
+    e.previous = null;
+    e.next = null;
+    size--;
+    cursor = null;
+
+    return true;
   }
 
   /**
@@ -46,8 +119,8 @@ public class DiscourseModel {
    * @param e The entity which has been mentioned.
    */
   public void mentionEntity(DiscourseEntity e) {
-    if (entities.remove(e)) {
-      entities.add(0,e);
+    if (remove(e)) {
+      addFirst(e);
     }
     else {
       System.err.println("DiscourseModel.mentionEntity: failed to remove "+e);
@@ -60,7 +133,7 @@ public class DiscourseModel {
    * @return the number of entities in this discourse model.
    */
   public int getNumEntities() {
-    return entities.size();
+    return size;
   }
 
   /**
@@ -70,7 +143,38 @@ public class DiscourseModel {
    * @return the entity at the specified index.
    */
   public DiscourseEntity getEntity(int i) {
-    return entities.get(i);
+    if (i < 0 || i >= size)
+      throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+
+    Cursor cursor = this.cursor;
+
+    DiscourseEntity e;
+    int index;
+
+    if (cursor != null && cursor.index <= i && i - cursor.index <= size - 1 - i) {
+      e = cursor.entity;
+      index = cursor.index;
+    }
+    else if (i <= size - 1 - i) {
+      e = first;
+      index = 0;
+    }
+    else {
+      e = last;
+      index = size - 1;
+    }
+
+    for (; index < i; index++) {
+      e = e.next;
+    }
+
+    for (; index > i; index--) {
+      e = e.previous;
+    }
+
+    this.cursor = new Cursor(e, i);
+
+    return e;
   }
 
   /**
@@ -81,7 +185,10 @@ public class DiscourseModel {
   public void addEntity(DiscourseEntity e) {
     e.setId(nextEntityId);
     nextEntityId++;
-    entities.add(0,e);
+    // an entity can only be part of one model
+    if (e.model != null)
+      e.model.remove(e);
+    addFirst(e);
   }
 
   /**
@@ -96,7 +203,7 @@ public class DiscourseModel {
       e1.addMention(ei.next());
     }
     //System.err.println("DiscourseModel.mergeEntities: removing "+e2);
-    entities.remove(e2);
+    remove(e2);
   }
 
   /**
@@ -105,15 +212,30 @@ public class DiscourseModel {
    * @return the entities in the discourse model.
    */
   public DiscourseEntity[] getEntities() {
-    DiscourseEntity[] des = new DiscourseEntity[entities.size()];
-    entities.toArray(des);
+    DiscourseEntity[] des = new DiscourseEntity[size];
+    int i = 0;
+    for (DiscourseEntity e = first; e != null; e = e.next) {
+      des[i++] = e;
+    }
     return des;
   }
 
+  /**
+   * Returns the cache for the features of the mentions of this discourse model.
+   *
+   * @return the feature cache
+   */
+  public FeatureCache getFeatureCache() {
+    return featureCache;
+  }
+
   /**
    * Removes all elements from this discourse model.
    */
   public void clear() {
-    entities.clear();
+    while (first != null) {
+      remove(first);
+    }
+    featureCache.clear();
   }
 }
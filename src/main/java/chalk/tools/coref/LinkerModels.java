@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.coref;
+
+import java.io.IOException;
+
+import chalk.tools.coref.mention.DictionaryFactory;
+import chalk.tools.coref.resolver.CommonNounResolver;
+import chalk.tools.coref.resolver.DefiniteNounResolver;
+import chalk.tools.coref.resolver.FixedNonReferentialResolver;
+import chalk.tools.coref.resolver.IsAResolver;
+import chalk.tools.coref.resolver.MaxentResolver;
+import chalk.tools.coref.resolver.NonReferentialResolver;
+import chalk.tools.coref.resolver.PluralNounResolver;
+import chalk.tools.coref.resolver.PluralPronounResolver;
+import chalk.tools.coref.resolver.ProperNounResolver;
+import chalk.tools.coref.resolver.ResolverMode;
+import chalk.tools.coref.resolver.SingularPronounResolver;
+import chalk.tools.coref.resolver.SpeechPronounResolver;
+import chalk.tools.coref.sim.MaxentCompatibilityModel;
+import chalk.tools.coref.sim.SimilarityModel;
+import chalk.tools.coref.sim.TestSimilarityModel;
+
+/**
+ * The models which a {@link DefaultLinker} uses in {@link LinkerMode#TEST}: the
+ * resolver and non-referential models, the acronyms, and the similarity, gender
+ * and number models.
+ * <p>
+ * The models are read once and are not modified afterwards, instances are thread
+ * safe. Any number of linkers can be created from one instance, see
+ * {@link DefaultLinker#DefaultLinker(LinkerModels, boolean)}. Creating such a linker
+ * does not read any files, each linker only holds the state of the document it
+ * currently resolves and must be confined to one thread. The WordNet dictionary is
+ * shared by all linkers through the {@link DictionaryFactory}.
+ */
+public class LinkerModels {
+
+  private final String modelDirectory;
+
+  private final MaxentCompatibilityModel compatibilityModel;
+
+  private final TestSimilarityModel similarityModel;
+
+  private final MaxentResolver[] resolvers;
+
+  /**
+   * Reads the models from the specified directory.
+   *
+   * @param modelDirectory the directory where the models are kept
+   * @param fixedNonReferentialProbability the probability which resolvers are required
+   *     to exceed to posit a coreference relationship, or a negative value to use the
+   *     non-referential models
+   *
+   * @throws IOException if the models can not be read
+   */
+  public LinkerModels(String modelDirectory, double fixedNonReferentialProbability) throws IOException {
+    this.modelDirectory = modelDirectory;
+    compatibilityModel = new MaxentCompatibilityModel(modelDirectory);
+    similarityModel = SimilarityModel.testModel(modelDirectory + "/sim");
+    resolvers = createResolvers(modelDirectory, fixedNonReferentialProbability, similarityModel);
+  }
+
+  /**
+   * Reads the models from the specified directory.
+   *
+   * @param modelDirectory the directory where the models are kept
+   *
+   * @throws IOException if the models can not be read
+   */
+  public LinkerModels(String modelDirectory) throws IOException {
+    this(modelDirectory, -1);
+  }
+
+  /**
+   * Creates the resolvers of a {@link DefaultLinker} in {@link ResolverMode#TEST},
+   * the singular pronoun resolver is the first one.
+   */
+  static MaxentResolver[] createResolvers(String modelDirectory,
+      double fixedNonReferentialProbability, TestSimilarityModel similarityModel) throws IOException {
+
+    MaxentResolver[] resolvers;
+
+    if (fixedNonReferentialProbability < 0) {
+      resolvers = new MaxentResolver[] {
+          new SingularPronounResolver(modelDirectory, ResolverMode.TEST),
+          new ProperNounResolver(modelDirectory, ResolverMode.TEST),
+          new DefiniteNounResolver(modelDirectory, ResolverMode.TEST),
+          new IsAResolver(modelDirectory, ResolverMode.TEST),
+          new PluralPronounResolver(modelDirectory, ResolverMode.TEST),
+          new PluralNounResolver(modelDirectory, ResolverMode.TEST),
+          new CommonNounResolver(modelDirectory, ResolverMode.TEST),
+          new SpeechPronounResolver(modelDirectory, ResolverMode.TEST)
+      };
+    }
+    else {
+      NonReferentialResolver nrr = new FixedNonReferentialResolver(fixedNonReferentialProbability);
+      resolvers = new MaxentResolver[] {
+          new SingularPronounResolver(modelDirectory, ResolverMode.TEST,nrr),
+          new ProperNounResolver(modelDirectory, ResolverMode.TEST,nrr),
+          new DefiniteNounResolver(modelDirectory, ResolverMode.TEST,nrr),
+          new IsAResolver(modelDirectory, ResolverMode.TEST,nrr),
+          new PluralPronounResolver(modelDirectory, ResolverMode.TEST,nrr),
+          new PluralNounResolver(modelDirectory, ResolverMode.TEST,nrr),
+          new CommonNounResolver(modelDirectory, ResolverMode.TEST,nrr),
+          new SpeechPronounResolver(modelDirectory, ResolverMode.TEST,nrr)
+      };
+    }
+
+    for (MaxentResolver resolver : resolvers) {
+      resolver.setSimilarityModel(similarityModel);
+    }
+
+    return resolvers;
+  }
+
+  /**
+   * @return the directory the models were read from
+   */
+  public String getModelDirectory() {
+    return modelDirectory;
+  }
+
+  /**
+   * @return the model which computes the gender and number of mentions
+   */
+  public MaxentCompatibilityModel getCompatibilityModel() {
+    return compatibilityModel;
+  }
+
+  /**
+   * @return the model which computes the semantic compatibility of mentions
+   */
+  public TestSimilarityModel getSimilarityModel() {
+    return similarityModel;
+  }
+
+  /**
+   * Returns the resolvers, they are shared by all linkers which are created
+   * from these models and must not be modified.
+   */
+  MaxentResolver[] getResolvers() {
+    return resolvers.clone();
+  }
+}
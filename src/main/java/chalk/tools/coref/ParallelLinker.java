@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.coref;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import chalk.tools.coref.mention.Mention;
+
+/**
+ * Finds the entities of independent documents concurrently.
+ * <p>
+ * The {@link LinkerModels} and the WordNet dictionary of the
+ * {@link chalk.tools.coref.mention.DictionaryFactory} are shared by all threads,
+ * the discourse model of a document and the scratch state of a linker are thread
+ * confined. The lookups of the shared {@link chalk.tools.coref.mention.JWNLDictionary}
+ * are synchronized. Each call
+ * borrows a {@link DefaultLinker} from a pool, at most one linker per concurrently
+ * processed document is ever created.
+ * <p>
+ * The mentions of a document must be found with the mention finder of a linker
+ * which was created from the same models, e.g. a {@link TreebankLinker}.
+ */
+public class ParallelLinker {
+
+  private final LinkerModels models;
+
+  private final boolean useDiscourseModel;
+
+  private final ConcurrentLinkedQueue<Linker> linkers = new ConcurrentLinkedQueue<Linker>();
+
+  private final ExecutorService executor;
+
+  /**
+   * Initializes the current instance.
+   *
+   * @param models the models of the linkers
+   * @param useDiscourseModel whether coreferent mentions should be combined into a single entity
+   * @param executor the executor which runs {@link #getEntitiesAll(List)}
+   */
+  public ParallelLinker(LinkerModels models, boolean useDiscourseModel, ExecutorService executor) {
+    this.models = models;
+    this.useDiscourseModel = useDiscourseModel;
+    this.executor = executor;
+  }
+
+  /**
+   * Initializes the current instance with its own pool of daemon threads,
+   * coreferent mentions are combined into a single entity.
+   *
+   * @param models the models of the linkers
+   * @param threads the number of threads used by {@link #getEntitiesAll(List)}
+   */
+  public ParallelLinker(LinkerModels models, int threads) {
+    this(models, true, Executors.newFixedThreadPool(threads,
+        new ThreadFactory() {
+          public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "ParallelLinker-worker");
+            thread.setDaemon(true);
+            return thread;
+          }
+        }));
+  }
+
+  private Linker borrowLinker() {
+    Linker linker = linkers.poll();
+
+    if (linker == null)
+      linker = new DefaultLinker(models, useDiscourseModel);
+
+    return linker;
+  }
+
+  /**
+   * Finds the entities of one document, see {@link Linker#getEntities(Mention[])}.
+   * This method may be called concurrently.
+   *
+   * @param mentions the mentions of the document
+   *
+   * @return the entities of the document
+   */
+  public DiscourseEntity[] getEntities(Mention[] mentions) {
+    Linker linker = borrowLinker();
+    try {
+      return linker.getEntities(mentions);
+    }
+    finally {
+      linkers.add(linker);
+    }
+  }
+
+  /**
+   * Finds the entities of the specified documents concurrently.
+   *
+   * @param documents the mentions of each document
+   *
+   * @return the entities of each document, in the order of the documents
+   */
+  public List<DiscourseEntity[]> getEntitiesAll(List<Mention[]> documents) {
+
+    List<Future<DiscourseEntity[]>> futures =
+        new ArrayList<Future<DiscourseEntity[]>>(documents.size());
+
+    for (final Mention[] mentions : documents) {
+      futures.add(executor.submit(new Callable<DiscourseEntity[]>() {
+        public DiscourseEntity[] call() {
+          return getEntities(mentions);
+        }
+      }));
+    }
+
+    List<DiscourseEntity[]> entities = new ArrayList<DiscourseEntity[]>(documents.size());
+
+    try {
+      for (Future<DiscourseEntity[]> future : futures) {
+        entities.add(future.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while linking!", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException)
+        throw (RuntimeException) e.getCause();
+      else
+        throw new IllegalStateException("Failed to link!", e.getCause());
+    }
+    finally {
+      for (Future<DiscourseEntity[]> future : futures) {
+        future.cancel(true);
+      }
+    }
+
+    return entities;
+  }
+
+  /**
+   * Shuts down the executor of this linker, it must not be used afterwards.
+   */
+  public void shutdown() {
+    executor.shutdown();
+  }
+}
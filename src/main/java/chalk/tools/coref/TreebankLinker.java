@@ -45,6 +45,10 @@ public class TreebankLinker extends DefaultLinker {
     super(project,mode,useDiscourseModel,fixedNonReferentialProbability);
   }
 
+  public TreebankLinker(LinkerModels models, boolean useDiscourseModel) {
+    super(models,useDiscourseModel);
+  }
+
   @Override
   protected void initMentionFinder() {
     mentionFinder = PTBMentionFinder.getInstance(headFinder);
@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package chalk.tools.coref.mention;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A thread safe {@link Dictionary} which caches the results of another
+ * dictionary.
+ * <p>
+ * The mentions of a document repeat the same few head words, the lemmas, senses
+ * and hypernyms of a word are therefore looked up once and then answered from
+ * the cache. Each of the four caches holds at most the specified number of
+ * entries and drops the least recently used entry when it is full, so an
+ * instance can be kept for the whole life time of a linker. The dictionary
+ * is called outside of the cache locks and must be thread safe itself. Failed
+ * lookups are not cached.
+ */
+public class CachedDictionary implements Dictionary {
+
+  /**
+   * The default maximal number of entries of each cache.
+   */
+  public static final int DEFAULT_MAX_ENTRIES = 100000;
+
+  private final Dictionary dictionary;
+
+  /**
+   * A least recently used cache, all accesses must be synchronized on it.
+   */
+  private static class Cache<T> extends LinkedHashMap<String, T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int maxEntries;
+
+    Cache(int maxEntries) {
+      super(16, 0.75f, true);
+      this.maxEntries = maxEntries;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, T> eldest) {
+      return size() > maxEntries;
+    }
+  }
+
+  private final Cache<String[]> lemmas;
+
+  private final Cache<String> senseKeys;
+
+  private final Cache<Integer> numSenses;
+
+  private final Cache<String[]> parentSenseKeys;
+
+  /**
+   * Initializes the current instance.
+   *
+   * @param dictionary the thread safe dictionary whose results are cached
+   * @param maxEntries the maximal number of entries of each cache
+   */
+  public CachedDictionary(Dictionary dictionary, int maxEntries) {
+    if (maxEntries < 0)
+      throw new IllegalArgumentException("maxEntries must not be negative: " + maxEntries);
+
+    this.dictionary = dictionary;
+
+    lemmas = new Cache<String[]>(maxEntries);
+    senseKeys = new Cache<String>(maxEntries);
+    numSenses = new Cache<Integer>(maxEntries);
+    parentSenseKeys = new Cache<String[]>(maxEntries);
+  }
+
+  /**
+   * Initializes the current instance with {@link #DEFAULT_MAX_ENTRIES}.
+   *
+   * @param dictionary the thread safe dictionary whose results are cached
+   */
+  public CachedDictionary(Dictionary dictionary) {
+    this(dictionary, DEFAULT_MAX_ENTRIES);
+  }
+
+  private static String key(String word, String pos) {
+    return word + '\u0000' + pos;
+  }
+
+  private static String key(String lemma, String pos, int sense) {
+    return lemma + '\u0000' + pos + '\u0000' + sense;
+  }
+
+  private static <T> T get(Cache<T> cache, String key) {
+    synchronized (cache) {
+      return cache.get(key);
+    }
+  }
+
+  private static <T> void put(Cache<T> cache, String key, T value) {
+    if (value != null) {
+      synchronized (cache) {
+        cache.put(key, value);
+      }
+    }
+  }
+
+  public String[] getLemmas(String word, String tag) {
+    String key = key(word, tag);
+    String[] result = get(lemmas, key);
+
+    if (result == null) {
+      result = dictionary.getLemmas(word, tag);
+      put(lemmas, key, result);
+    }
+
+    return result != null ? result.clone() : null;
+  }
+
+  public String getSenseKey(String lemma, String pos, int sense) {
+    String key = key(lemma, pos, sense);
+    String result = get(senseKeys, key);
+
+    if (result == null) {
+      result = dictionary.getSenseKey(lemma, pos, sense);
+      put(senseKeys, key, result);
+    }
+
+    return result;
+  }
+
+  public int getNumSenses(String lemma, String pos) {
+    String key = key(lemma, pos);
+    Integer result = get(numSenses, key);
+
+    if (result == null) {
+      result = dictionary.getNumSenses(lemma, pos);
+      put(numSenses, key, result);
+    }
+
+    return result;
+  }
+
+  public String[] getParentSenseKeys(String lemma, String pos, int sense) {
+    String key = key(lemma, pos, sense);
+    String[] result = get(parentSenseKeys, key);
+
+    if (result == null) {
+      result = dictionary.getParentSenseKeys(lemma, pos, sense);
+      put(parentSenseKeys, key, result);
+    }
+
+    return result != null ? result.clone() : null;
+  }
+
+  /**
+   * Removes all cached entries.
+   */
+  public void clear() {
+    for (Cache<?> cache : new Cache<?>[] {lemmas, senseKeys, numSenses, parentSenseKeys}) {
+      synchronized (cache) {
+        cache.clear();
+      }
+    }
+  }
+
+  /**
+   * @return the dictionary whose results are cached
+   */
+  public Dictionary getDictionary() {
+    return dictionary;
+  }
+}
@@ -17,6 +17,7 @@
 
 package chalk.tools.coref.mention;
 
+import java.io.File;
 import java.io.IOException;
 
 import net.didion.jwnl.JWNLException;
@@ -30,12 +31,22 @@ public class DictionaryFactory {
 
   /**
    * Returns the default implementation of the Dictionary interface.
+   * The dictionary is created once and shared by all threads. If the
+   * system property WNINDEX names a {@link WordNetIndex} file it is mapped
+   * into memory, otherwise the WordNet database in the directory named by
+   * WNSEARCHDIR is read with JWNL. In both cases the lookups are cached.
    * @return the default implementation of the Dictionary interface.
    */
-  public static Dictionary getDictionary() {
+  public static synchronized Dictionary getDictionary() {
     if (dictionary == null) {
       try {
-        dictionary = new JWNLDictionary(System.getProperty("WNSEARCHDIR"));
+        String index = System.getProperty("WNINDEX");
+        if (index != null) {
+          dictionary = new CachedDictionary(WordNetIndex.map(new File(index)));
+        }
+        else {
+          dictionary = new CachedDictionary(new JWNLDictionary(System.getProperty("WNSEARCHDIR")));
+        }
       }
       catch(IOException e) {
         System.err.println(e);
@@ -47,9 +47,25 @@ import net.didion.jwnl.princeton.file.PrincetonRandomAccessDictionaryFile;
 
 /**
  * An implementation of the Dictionary interface using the JWNL library.
+ * <p>
+ * JWNL caches the results of its morphological processor in a map which is
+ * not thread safe, all lookups are therefore synchronized.
  */
 public class JWNLDictionary implements Dictionary {
 
+  /**
+   * The suffix detachment rules of the morphological processor, each rule is
+   * a suffix and its replacement.
+   */
+  static final String[][] NOUN_SUFFIXES = {{"s",""},{"ses","s"},{"xes","x"},{"zes","z"},{"ches","ch"},{"shes","sh"},{"men","man"},{"ies","y"}};
+  static final String[][] VERB_SUFFIXES = {{"s",""},{"ies","y"},{"es","e"},{"es",""},{"ed","e"},{"ed",""},{"ing","e"},{"ing",""}};
+  static final String[][] ADJECTIVE_SUFFIXES = {{"er",""},{"est",""},{"er","e"},{"est","e"}};
+
+  /**
+   * The delimiters at which the morphological processor splits collocations.
+   */
+  static final String[] DELIMITERS = {" ","-"};
+
   private net.didion.jwnl.dictionary.Dictionary dict;
   private MorphologicalProcessor morphy;
   private static String[] empty = new String[0];
@@ -59,12 +75,12 @@ public class JWNLDictionary implements Dictionary {
 	Adjective.initialize();
 	VerbFrame.initialize();
     Map<POS, String[][]> suffixMap = new HashMap<POS, String[][]>();
-    suffixMap.put(POS.NOUN,new String[][] {{"s",""},{"ses","s"},{"xes","x"},{"zes","z"},{"ches","ch"},{"shes","sh"},{"men","man"},{"ies","y"}});
-    suffixMap.put(POS.VERB,new String[][] {{"s",""},{"ies","y"},{"es","e"},{"es",""},{"ed","e"},{"ed",""},{"ing","e"},{"ing",""}});
-    suffixMap.put(POS.ADJECTIVE,new String[][] {{"er",""},{"est",""},{"er","e"},{"est","e"}});
+    suffixMap.put(POS.NOUN,NOUN_SUFFIXES);
+    suffixMap.put(POS.VERB,VERB_SUFFIXES);
+    suffixMap.put(POS.ADJECTIVE,ADJECTIVE_SUFFIXES);
     DetachSuffixesOperation tokDso = new DetachSuffixesOperation(suffixMap);
     tokDso.addDelegate(DetachSuffixesOperation.OPERATIONS,new Operation[] {new LookupIndexWordOperation(),new LookupExceptionsOperation()});
-    TokenizerOperation tokOp = new TokenizerOperation(new String[] {" ","-"});
+    TokenizerOperation tokOp = new TokenizerOperation(DELIMITERS);
     tokOp.addDelegate(TokenizerOperation.TOKEN_OPERATIONS,new Operation[] {new LookupIndexWordOperation(),new LookupExceptionsOperation(),tokDso});
     DetachSuffixesOperation morphDso = new DetachSuffixesOperation(suffixMap);
     morphDso.addDelegate(DetachSuffixesOperation.OPERATIONS,new Operation[] {new LookupIndexWordOperation(),new LookupExceptionsOperation()});
@@ -77,8 +93,15 @@ public class JWNLDictionary implements Dictionary {
     morphy = dict.getMorphologicalProcessor();
   }
 
+  /**
+   * @return the underlying JWNL dictionary
+   */
+  net.didion.jwnl.dictionary.Dictionary getWordNet() {
+    return dict;
+  }
+
   @SuppressWarnings("unchecked")
-  public String[] getLemmas(String word, String tag) {
+  public synchronized String[] getLemmas(String word, String tag) {
     try {
       POS pos;
       if (tag.startsWith("N") || tag.startsWith("n")) {
@@ -105,7 +128,7 @@ public class JWNLDictionary implements Dictionary {
     }
   }
 
-  public String getSenseKey(String lemma, String pos,int sense) {
+  public synchronized String getSenseKey(String lemma, String pos,int sense) {
     try {
       IndexWord iw = dict.getIndexWord(POS.NOUN,lemma);
       if (iw == null) {
@@ -120,7 +143,7 @@ public class JWNLDictionary implements Dictionary {
 
   }
 
-  public int getNumSenses(String lemma, String pos) {
+  public synchronized int getNumSenses(String lemma, String pos) {
     try {
       IndexWord iw = dict.getIndexWord(POS.NOUN,lemma);
       if (iw == null){
@@ -133,7 +156,7 @@ public class JWNLDictionary implements Dictionary {
     }
   }
 
-  private void getParents(Synset synset, List<String> parents) throws JWNLException {
+  static void getParents(Synset synset, List<String> parents) throws JWNLException {
     Pointer[] pointers = synset.getPointers();
     for (int pi=0,pn=pointers.length;pi<pn;pi++) {
       if (pointers[pi].getType() == PointerType.HYPERNYM) {
@@ -144,7 +167,7 @@ public class JWNLDictionary implements Dictionary {
     }
   }
 
-  public String[] getParentSenseKeys(String lemma, String pos, int sense) {
+  public synchronized String[] getParentSenseKeys(String lemma, String pos, int sense) {
     //System.err.println("JWNLDictionary.getParentSenseKeys: lemma="+lemma);
     try {
       IndexWord iw = dict.getIndexWord(POS.NOUN,lemma);
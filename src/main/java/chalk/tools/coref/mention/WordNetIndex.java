@@ -0,0 +1,843 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package chalk.tools.coref.mention;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.StringTokenizer;
+import java.util.TreeMap;
+
+import net.didion.jwnl.JWNLException;
+import net.didion.jwnl.data.Exc;
+import net.didion.jwnl.data.IndexWord;
+import net.didion.jwnl.data.POS;
+import net.didion.jwnl.data.Synset;
+import chalk.tools.util.InvalidFormatException;
+
+/**
+ * A read only WordNet {@link Dictionary} which is precompiled from the WordNet
+ * database files into one compact binary index.
+ * <p>
+ * The index contains the index words and the morphological exceptions of all
+ * parts of speech, the senses of the nouns and for every noun synset the
+ * transitive closure of its hypernyms. The lemmas are looked up with the same
+ * morphological operations and suffix rules as in the {@link JWNLDictionary},
+ * the parent sense keys are the hypernym closures computed by the
+ * {@link JWNLDictionary} when the index is compiled, therefore both dictionaries
+ * return the same results. A lookup is a binary search over the sorted UTF-8
+ * encoded keys, there is no file access and no parsing of database lines.
+ * <p>
+ * An index is compiled with {@link #compile(String, OutputStream)}, it can be read
+ * from a stream or mapped into memory with {@link #map(File)}. Instances are
+ * immutable and thread safe.
+ */
+public class WordNetIndex implements Dictionary {
+
+  private static final int MAGIC = 0x574E4931;
+
+  private static final int NOUN = 0;
+  private static final int VERB = 1;
+  private static final int ADJECTIVE = 2;
+  private static final int ADVERB = 3;
+
+  private static final POS[] PARTS_OF_SPEECH = {POS.NOUN, POS.VERB, POS.ADJECTIVE, POS.ADVERB};
+
+  private static final String[] EXCEPTION_FILES = {"noun.exc", "verb.exc", "adj.exc", "adv.exc"};
+
+  private static final String[][][] SUFFIXES = {JWNLDictionary.NOUN_SUFFIXES,
+      JWNLDictionary.VERB_SUFFIXES, JWNLDictionary.ADJECTIVE_SUFFIXES, null};
+
+  private static final String[] EMPTY = new String[0];
+
+  /**
+   * A sorted table of strings, the strings are UTF-8 encoded one char
+   * at a time, the byte order of the encoded strings is therefore the
+   * order of {@link String#compareTo(String)}.
+   */
+  private static class StringTable {
+
+    private final IntBuffer offsets;
+
+    private final ByteBuffer bytes;
+
+    StringTable(IntBuffer offsets, ByteBuffer bytes) {
+      this.offsets = offsets;
+      this.bytes = bytes;
+    }
+
+    int size() {
+      return offsets.limit() - 1;
+    }
+
+    private int compare(int entry, String key) {
+      int offset = offsets.get(entry);
+      int end = offsets.get(entry + 1);
+
+      for (int i = 0; i < key.length(); i++) {
+        if (offset == end)
+          return -1;
+
+        int b = bytes.get(offset++) & 0xFF;
+
+        char c;
+        if (b < 0x80) {
+          c = (char) b;
+        }
+        else if (b < 0xE0) {
+          c = (char) (((b & 0x1F) << 6) | (bytes.get(offset++) & 0x3F));
+        }
+        else {
+          c = (char) (((b & 0x0F) << 12) | ((bytes.get(offset++) & 0x3F) << 6)
+              | (bytes.get(offset++) & 0x3F));
+        }
+
+        if (c != key.charAt(i))
+          return c - key.charAt(i);
+      }
+
+      return offset == end ? 0 : 1;
+    }
+
+    /**
+     * @return the index of the key, or -1 if the table does not contain it
+     */
+    int find(String key) {
+      int low = 0;
+      int high = size() - 1;
+
+      while (low <= high) {
+        int middle = (low + high) >>> 1;
+        int comparison = compare(middle, key);
+
+        if (comparison < 0)
+          low = middle + 1;
+        else if (comparison > 0)
+          high = middle - 1;
+        else
+          return middle;
+      }
+
+      return -1;
+    }
+
+    String get(int entry) {
+      StringBuilder string = new StringBuilder();
+
+      for (int offset = offsets.get(entry), end = offsets.get(entry + 1); offset < end; ) {
+        int b = bytes.get(offset++) & 0xFF;
+
+        if (b < 0x80) {
+          string.append((char) b);
+        }
+        else if (b < 0xE0) {
+          string.append((char) (((b & 0x1F) << 6) | (bytes.get(offset++) & 0x3F)));
+        }
+        else {
+          string.append((char) (((b & 0x0F) << 12) | ((bytes.get(offset++) & 0x3F) << 6)
+              | (bytes.get(offset++) & 0x3F)));
+        }
+      }
+
+      return string.toString();
+    }
+
+    static void write(DataOutputStream data, List<String> strings) throws IOException {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+      data.writeInt(strings.size());
+      data.writeInt(0);
+
+      for (String string : strings) {
+        for (int i = 0; i < string.length(); i++) {
+          char c = string.charAt(i);
+
+          if (c < 0x80) {
+            bytes.write(c);
+          }
+          else if (c < 0x800) {
+            bytes.write(0xC0 | (c >> 6));
+            bytes.write(0x80 | (c & 0x3F));
+          }
+          else {
+            bytes.write(0xE0 | (c >> 12));
+            bytes.write(0x80 | ((c >> 6) & 0x3F));
+            bytes.write(0x80 | (c & 0x3F));
+          }
+        }
+
+        data.writeInt(bytes.size());
+      }
+
+      bytes.writeTo(data);
+    }
+
+    static StringTable read(ByteBuffer buffer) throws InvalidFormatException {
+      IntBuffer offsets = slice(buffer, checkLength(buffer.getInt() + 1) * 4).asIntBuffer();
+      return new StringTable(offsets, slice(buffer, offsets.get(offsets.limit() - 1)));
+    }
+  }
+
+  /**
+   * A list of int arrays which are stored one after another in a pool.
+   */
+  private static class IntTable {
+
+    private final IntBuffer starts;
+
+    private final IntBuffer pool;
+
+    IntTable(IntBuffer starts, IntBuffer pool) {
+      this.starts = starts;
+      this.pool = pool;
+    }
+
+    int length(int entry) {
+      return starts.get(entry + 1) - starts.get(entry);
+    }
+
+    int get(int entry, int index) {
+      if (index < 0 || index >= length(entry))
+        throw new ArrayIndexOutOfBoundsException(index);
+
+      return pool.get(starts.get(entry) + index);
+    }
+
+    static void write(DataOutputStream data, List<int[]> arrays) throws IOException {
+      data.writeInt(arrays.size());
+
+      int start = 0;
+      data.writeInt(start);
+      for (int[] array : arrays) {
+        start += array.length;
+        data.writeInt(start);
+      }
+
+      for (int[] array : arrays) {
+        for (int value : array) {
+          data.writeInt(value);
+        }
+      }
+    }
+
+    static IntTable read(ByteBuffer buffer) throws InvalidFormatException {
+      IntBuffer starts = slice(buffer, checkLength(buffer.getInt() + 1) * 4).asIntBuffer();
+      return new IntTable(starts,
+          slice(buffer, checkLength(starts.get(starts.limit() - 1)) * 4).asIntBuffer());
+    }
+  }
+
+  private final StringTable[] indexWords;
+
+  private final StringTable[] exceptionKeys;
+
+  /**
+   * The base forms of each exception, separated by a line break.
+   */
+  private final StringTable[] exceptionBases;
+
+  /**
+   * The synset offsets of the noun index words, in the order of the senses.
+   */
+  private final IntTable nounSenses;
+
+  /**
+   * The sorted offsets of the noun synsets.
+   */
+  private final IntBuffer synsets;
+
+  /**
+   * The transitive hypernyms of the noun synsets, in the order of the synsets.
+   */
+  private final IntTable synsetParents;
+
+  private WordNetIndex(StringTable[] indexWords, StringTable[] exceptionKeys,
+      StringTable[] exceptionBases, IntTable nounSenses, IntBuffer synsets,
+      IntTable synsetParents) {
+    this.indexWords = indexWords;
+    this.exceptionKeys = exceptionKeys;
+    this.exceptionBases = exceptionBases;
+    this.nounSenses = nounSenses;
+    this.synsets = synsets;
+    this.synsetParents = synsetParents;
+  }
+
+  private static int getPos(String tag) {
+    if (tag.startsWith("N") || tag.startsWith("n")) {
+      return NOUN;
+    }
+    else if (tag.startsWith("V") || tag.startsWith("v")) {
+      return VERB;
+    }
+    else if (tag.startsWith("J") || tag.startsWith("a")) {
+      return ADJECTIVE;
+    }
+    else if (tag.startsWith("R") || tag.startsWith("r")) {
+      return ADVERB;
+    }
+    else {
+      return NOUN;
+    }
+  }
+
+  /**
+   * Converts a lemma into the form in which WordNet stores it,
+   * the same way as JWNL does for its lookups.
+   *
+   * @return the key or null if the lemma is blank
+   */
+  private static String toKey(String lemma) {
+    String key = lemma.trim().toLowerCase();
+
+    if (key.length() == 0)
+      return null;
+
+    return key.replace(' ', '_');
+  }
+
+  private int findIndexWord(int pos, String lemma) {
+    String key = toKey(lemma);
+    return key != null ? indexWords[pos].find(key) : -1;
+  }
+
+  private static void add(List<String> forms, String form) {
+    if (!forms.contains(form))
+      forms.add(form);
+  }
+
+  private boolean lookupIndexWord(int pos, String word, List<String> forms) {
+    if (findIndexWord(pos, word) != -1) {
+      add(forms, word);
+      return true;
+    }
+
+    return false;
+  }
+
+  private boolean lookupExceptions(int pos, String word, List<String> forms) {
+    String key = toKey(word);
+
+    int exception = key != null ? exceptionKeys[pos].find(key) : -1;
+
+    if (exception != -1) {
+      for (String base : exceptionBases[pos].get(exception).split("\n")) {
+        add(forms, base);
+      }
+      return true;
+    }
+
+    return false;
+  }
+
+  private boolean detachSuffixes(int pos, String word, List<String> forms) {
+    String[][] suffixes = SUFFIXES[pos];
+
+    if (suffixes == null)
+      return false;
+
+    boolean found = false;
+
+    for (String[] suffix : suffixes) {
+      if (word.endsWith(suffix[0])) {
+        String stem = word.substring(0, word.length() - suffix[0].length()) + suffix[1];
+
+        if (lookupIndexWord(pos, stem, forms))
+          found = true;
+        if (lookupExceptions(pos, stem, forms))
+          found = true;
+      }
+    }
+
+    return found;
+  }
+
+  /**
+   * Splits a word into its tokens, only the lower case letters
+   * and the apostrophe are token chars.
+   */
+  private static String[] split(String word) {
+    List<String> tokens = new ArrayList<String>();
+
+    int start = -1;
+    for (int i = 0; i <= word.length(); i++) {
+      char c = i < word.length() ? word.charAt(i) : ' ';
+
+      if ((c >= 'a' && c <= 'z') || c == '\'') {
+        if (start == -1)
+          start = i;
+      }
+      else if (start != -1) {
+        tokens.add(word.substring(start, i));
+        start = -1;
+      }
+    }
+
+    return tokens.toArray(new String[tokens.size()]);
+  }
+
+  /**
+   * Tries to find a collocation for every combination of the base forms
+   * of the tokens from start to end.
+   */
+  private boolean tryAllCombinations(int pos, List<List<String>> tokenForms, int start, int end,
+      List<String> forms) {
+
+    int length = end - start + 1;
+    int[] indexes = new int[length];
+    int[] lastIndexes = new int[length];
+
+    for (int i = 0; i < length; i++) {
+      lastIndexes[i] = tokenForms.get(start + i).size() - 1;
+    }
+
+    boolean found = false;
+
+    while (true) {
+      String[] tokens = new String[length];
+      for (int i = 0; i < length; i++) {
+        tokens[i] = tokenForms.get(start + i).get(indexes[i]);
+      }
+
+      for (String delimiter : JWNLDictionary.DELIMITERS) {
+        if (tryAllCombinations(pos, tokens, delimiter, forms))
+          found = true;
+      }
+
+      if (Arrays.equals(indexes, lastIndexes))
+        break;
+
+      for (int i = length - 1; i >= 0; i--) {
+        if (indexes[i] == lastIndexes[i]) {
+          indexes[i] = 0;
+        }
+        else {
+          indexes[i]++;
+          break;
+        }
+      }
+    }
+
+    return found;
+  }
+
+  /**
+   * Tries to find a collocation for the tokens, at every position the tokens
+   * are either joined with the delimiter or concatenated.
+   */
+  private boolean tryAllCombinations(int pos, String[] tokens, String delimiter,
+      List<String> forms) {
+
+    BitSet concatenated = new BitSet();
+    int size = tokens.length - 1;
+
+    boolean found = false;
+
+    do {
+      StringBuilder lemma = new StringBuilder();
+      for (int i = 0; i < tokens.length; i++) {
+        if (i > 0 && !concatenated.get(i - 1))
+          lemma.append(delimiter);
+        lemma.append(tokens[i]);
+      }
+
+      if (lookupIndexWord(pos, lemma.toString(), forms))
+        found = true;
+    }
+    while (increment(concatenated, size));
+
+    return found;
+  }
+
+  private static boolean increment(BitSet bits, int size) {
+    int i = size - 1;
+
+    while (i >= 0 && bits.get(i)) {
+      bits.set(i--, false);
+    }
+
+    if (i < 0)
+      return false;
+
+    bits.set(i, true);
+    return true;
+  }
+
+  private boolean tokenize(int pos, String word, List<String> forms) {
+    String[] tokens = split(word);
+
+    List<List<String>> tokenForms = new ArrayList<List<String>>(tokens.length);
+
+    for (String token : tokens) {
+      List<String> baseForms = new ArrayList<String>();
+      baseForms.add(token);
+
+      lookupIndexWord(pos, token, baseForms);
+      lookupExceptions(pos, token, baseForms);
+      detachSuffixes(pos, token, baseForms);
+
+      tokenForms.add(baseForms);
+    }
+
+    boolean found = false;
+
+    for (int start = 0; start < tokens.length; start++) {
+      for (int end = tokens.length - 1; end >= start; end--) {
+        if (tryAllCombinations(pos, tokenForms, start, end, forms))
+          found = true;
+      }
+    }
+
+    return found;
+  }
+
+  public String[] getLemmas(String word, String tag) {
+    int pos = getPos(tag);
+
+    // JWNL does not return from the lookup of an empty word
+    if (word.length() == 0)
+      return EMPTY;
+
+    List<String> forms = new ArrayList<String>();
+
+    lookupExceptions(pos, word, forms);
+    detachSuffixes(pos, word, forms);
+    tokenize(pos, word, forms);
+
+    return forms.toArray(new String[forms.size()]);
+  }
+
+  public String getSenseKey(String lemma, String pos, int sense) {
+    int word = findIndexWord(NOUN, lemma);
+
+    if (word == -1)
+      return null;
+
+    return String.valueOf(nounSenses.get(word, sense));
+  }
+
+  public int getNumSenses(String lemma, String pos) {
+    int word = findIndexWord(NOUN, lemma);
+
+    if (word == -1)
+      return 0;
+
+    return nounSenses.length(word);
+  }
+
+  private int findSynset(int offset) {
+    int low = 0;
+    int high = synsets.limit() - 1;
+
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      int value = synsets.get(middle);
+
+      if (value < offset)
+        low = middle + 1;
+      else if (value > offset)
+        high = middle - 1;
+      else
+        return middle;
+    }
+
+    return -1;
+  }
+
+  public String[] getParentSenseKeys(String lemma, String pos, int sense) {
+    int word = findIndexWord(NOUN, lemma);
+
+    if (word == -1)
+      return EMPTY;
+
+    int synset = findSynset(nounSenses.get(word, sense));
+
+    if (synset == -1)
+      return EMPTY;
+
+    String[] parents = new String[synsetParents.length(synset)];
+
+    for (int i = 0; i < parents.length; i++) {
+      parents[i] = String.valueOf(synsetParents.get(synset, i));
+    }
+
+    return parents;
+  }
+
+  /**
+   * @return the number of noun synsets in the index
+   */
+  public int getNumberOfSynsets() {
+    return synsets.limit();
+  }
+
+  private static int checkLength(int length) throws InvalidFormatException {
+    if (length < 0)
+      throw new InvalidFormatException("Invalid length: " + length);
+
+    return length;
+  }
+
+  private static ByteBuffer slice(ByteBuffer buffer, int length) {
+    if (length < 0 || length > buffer.remaining())
+      throw new BufferUnderflowException();
+
+    ByteBuffer slice = buffer.slice();
+    slice.limit(length);
+    buffer.position(buffer.position() + length);
+
+    return slice;
+  }
+
+  private static WordNetIndex read(ByteBuffer buffer) throws InvalidFormatException {
+    try {
+      if (buffer.getInt() != MAGIC)
+        throw new InvalidFormatException("Not a WordNet index!");
+
+      StringTable[] indexWords = new StringTable[PARTS_OF_SPEECH.length];
+      StringTable[] exceptionKeys = new StringTable[PARTS_OF_SPEECH.length];
+      StringTable[] exceptionBases = new StringTable[PARTS_OF_SPEECH.length];
+
+      for (int pos = 0; pos < PARTS_OF_SPEECH.length; pos++) {
+        indexWords[pos] = StringTable.read(buffer);
+        exceptionKeys[pos] = StringTable.read(buffer);
+        exceptionBases[pos] = StringTable.read(buffer);
+
+        if (exceptionKeys[pos].size() != exceptionBases[pos].size())
+          throw new InvalidFormatException("Exception keys and bases do not match!");
+      }
+
+      IntTable nounSenses = IntTable.read(buffer);
+
+      if (nounSenses.starts.limit() - 1 != indexWords[NOUN].size())
+        throw new InvalidFormatException("Noun senses and index words do not match!");
+
+      IntBuffer synsets = slice(buffer, checkLength(buffer.getInt()) * 4).asIntBuffer();
+      IntTable synsetParents = IntTable.read(buffer);
+
+      if (synsetParents.starts.limit() - 1 != synsets.limit())
+        throw new InvalidFormatException("Synset parents and synsets do not match!");
+
+      return new WordNetIndex(indexWords, exceptionKeys, exceptionBases,
+          nounSenses, synsets, synsetParents);
+    }
+    catch (BufferUnderflowException e) {
+      throw new InvalidFormatException("WordNet index is truncated!", e);
+    }
+  }
+
+  /**
+   * Reads an index in the format written by {@link #compile(String, OutputStream)}
+   * into memory. The stream remains open.
+   *
+   * @param in the stream to read the index from
+   *
+   * @return the index
+   *
+   * @throws IOException if reading from the stream fails
+   * @throws InvalidFormatException if the stream does not contain a valid index
+   */
+  public static WordNetIndex create(InputStream in) throws IOException, InvalidFormatException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    byte[] buffer = new byte[8192];
+    int length;
+    while ((length = in.read(buffer)) != -1) {
+      bytes.write(buffer, 0, length);
+    }
+
+    return read(ByteBuffer.wrap(bytes.toByteArray()));
+  }
+
+  /**
+   * Maps an index file in the format written by {@link #compile(String, OutputStream)}
+   * into memory, the keys and the hypernyms are read from the file on demand.
+   *
+   * @param file the index file
+   *
+   * @return the index
+   *
+   * @throws IOException if the file cannot be mapped
+   * @throws InvalidFormatException if the file does not contain a valid index
+   */
+  public static WordNetIndex map(File file) throws IOException, InvalidFormatException {
+    RandomAccessFile in = new RandomAccessFile(file, "r");
+    try {
+      return read(in.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, in.length()));
+    }
+    finally {
+      in.close();
+    }
+  }
+
+  private static int toOffset(long offset) {
+    if (offset < 0 || offset > Integer.MAX_VALUE)
+      throw new IllegalArgumentException("Synset offset is too large: " + offset);
+
+    return (int) offset;
+  }
+
+  /**
+   * Compiles the WordNet database in the specified directory into an index.
+   * The stream remains open.
+   *
+   * @param searchDirectory the directory of the WordNet database files
+   * @param out the stream to write the index into
+   *
+   * @throws IOException if reading the database or writing to the stream fails
+   * @throws JWNLException if JWNL fails to read the database
+   */
+  @SuppressWarnings("unchecked")
+  public static void compile(String searchDirectory, OutputStream out)
+      throws IOException, JWNLException {
+
+    net.didion.jwnl.dictionary.Dictionary wordNet =
+        new JWNLDictionary(searchDirectory).getWordNet();
+
+    DataOutputStream data = new DataOutputStream(out);
+
+    data.writeInt(MAGIC);
+
+    List<int[]> nounSenses = new ArrayList<int[]>();
+
+    for (int p = 0; p < PARTS_OF_SPEECH.length; p++) {
+      POS pos = PARTS_OF_SPEECH[p];
+
+      Map<String, long[]> words = new TreeMap<String, long[]>();
+
+      for (Iterator<IndexWord> it = wordNet.getIndexWordIterator(pos); it.hasNext(); ) {
+        IndexWord word = it.next();
+        words.put(word.getLemma().replace(' ', '_'), word.getSynsetOffsets());
+      }
+
+      Map<String, String> exceptions = new TreeMap<String, String>();
+
+      // the exception iterator of JWNL skips the first line of the file,
+      // therefore the derived forms are read from the file and looked up
+      BufferedReader in = new BufferedReader(new InputStreamReader(new FileInputStream(
+          new File(searchDirectory, EXCEPTION_FILES[p])), "UTF-8"));
+      try {
+        String line;
+        while ((line = in.readLine()) != null) {
+          StringTokenizer tokens = new StringTokenizer(line);
+
+          if (!tokens.hasMoreTokens())
+            continue;
+
+          Exc exception = wordNet.getException(pos, tokens.nextToken());
+
+          if (exception == null)
+            continue;
+
+          StringBuilder bases = new StringBuilder();
+          for (String base : exception.getExceptionArray()) {
+            if (bases.length() > 0)
+              bases.append('\n');
+            bases.append(base);
+          }
+
+          exceptions.put(exception.getLemma().replace(' ', '_'), bases.toString());
+        }
+      }
+      finally {
+        in.close();
+      }
+
+      StringTable.write(data, new ArrayList<String>(words.keySet()));
+      StringTable.write(data, new ArrayList<String>(exceptions.keySet()));
+      StringTable.write(data, new ArrayList<String>(exceptions.values()));
+
+      if (pos == POS.NOUN) {
+        for (long[] offsets : words.values()) {
+          int[] senses = new int[offsets.length];
+          for (int i = 0; i < offsets.length; i++) {
+            senses[i] = toOffset(offsets[i]);
+          }
+          nounSenses.add(senses);
+        }
+      }
+    }
+
+    IntTable.write(data, nounSenses);
+
+    Map<Integer, int[]> synsetParents = new TreeMap<Integer, int[]>();
+
+    for (Iterator<Synset> it = wordNet.getSynsetIterator(POS.NOUN); it.hasNext(); ) {
+      Synset synset = it.next();
+
+      List<String> parents = new ArrayList<String>();
+      JWNLDictionary.getParents(synset, parents);
+
+      int[] parentOffsets = new int[parents.size()];
+      for (int i = 0; i < parentOffsets.length; i++) {
+        parentOffsets[i] = toOffset(Long.parseLong(parents.get(i)));
+      }
+
+      synsetParents.put(toOffset(synset.getOffset()), parentOffsets);
+    }
+
+    data.writeInt(synsetParents.size());
+    for (int offset : synsetParents.keySet()) {
+      data.writeInt(offset);
+    }
+
+    IntTable.write(data, new ArrayList<int[]>(synsetParents.values()));
+
+    data.flush();
+  }
+
+  /**
+   * Compiles a WordNet index, the first argument is the directory
+   * of the WordNet database files and the second the index file.
+   */
+  public static void main(String[] args) throws IOException, JWNLException {
+    if (args.length != 2) {
+      System.err.println("Usage: WordNetIndex searchDirectory indexFile");
+      System.exit(1);
+    }
+
+    OutputStream out = new BufferedOutputStream(new FileOutputStream(args[1]));
+    try {
+      compile(args[0], out);
+    }
+    finally {
+      out.close();
+    }
+
+    System.err.println("Compiled " + map(new File(args[1])).getNumberOfSynsets()
+        + " noun synsets into " + args[1]);
+  }
+}
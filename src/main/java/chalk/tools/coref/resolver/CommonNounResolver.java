@@ -48,7 +48,7 @@ public class CommonNounResolver extends MaxentResolver {
     features.addAll(super.getFeatures(mention, entity));
     if (entity != null) {
       features.addAll(ResolverUtils.getContextFeatures(mention));
-      features.addAll(ResolverUtils.getStringMatchFeatures(mention,entity));
+      features.addAll(getStringMatchFeatures(mention, entity));
     }
     return features;
   }
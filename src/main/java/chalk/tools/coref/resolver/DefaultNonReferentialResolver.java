@@ -22,18 +22,17 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 import nak.io.BinaryGISModelReader;
 import nak.io.SuffixSensitiveGISModelReader;
-import nak.io.SuffixSensitiveGISModelWriter;
-import nak.maxent.GIS;
 import nak.model.Event;
+import nak.model.EventStream;
 import nak.model.MaxentModel;
+import chalk.tools.coref.CorefTrainer;
 import chalk.tools.coref.mention.MentionContext;
 import chalk.tools.coref.mention.Parse;
-import chalk.tools.util.CollectionEventStream;
+import chalk.tools.util.EventSpool;
 
 
 /**
@@ -42,7 +41,7 @@ import chalk.tools.util.CollectionEventStream;
 public class DefaultNonReferentialResolver implements NonReferentialResolver {
 
   private MaxentModel model;
-  private List<Event> events;
+  private EventSpool events;
   private boolean loadAsResource;
   private boolean debugOn = false;
   private ResolverMode mode;
@@ -54,7 +53,7 @@ public class DefaultNonReferentialResolver implements NonReferentialResolver {
     this.mode = mode;
     this.modelName = projectName+"/"+name+".nr";
     if (mode == ResolverMode.TRAIN) {
-      events = new ArrayList<Event>();
+      events = new EventSpool();
     }
     else if (mode == ResolverMode.TEST) {
       if (loadAsResource) {
@@ -80,10 +79,19 @@ public class DefaultNonReferentialResolver implements NonReferentialResolver {
   public void addEvent(MentionContext ec) {
     List<String> features = getFeatures(ec);
     if (-1 == ec.getId()) {
-      events.add(new Event(MaxentResolver.SAME, features.toArray(new String[features.size()])));
+      addEvent(new Event(MaxentResolver.SAME, features.toArray(new String[features.size()])));
     }
     else {
-      events.add(new Event(MaxentResolver.DIFF, features.toArray(new String[features.size()])));
+      addEvent(new Event(MaxentResolver.DIFF, features.toArray(new String[features.size()])));
+    }
+  }
+
+  private void addEvent(Event event) {
+    try {
+      events.add(event);
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Failed to spool the training event!", e);
     }
   }
 
@@ -119,13 +127,14 @@ public class DefaultNonReferentialResolver implements NonReferentialResolver {
       System.err.println(this +" referential");
       if (debugOn) {
         FileWriter writer = new FileWriter(modelName+".events");
-        for (Iterator<Event> ei=events.iterator();ei.hasNext();) {
-          Event e = ei.next();
+        for (EventStream es=events.openStream();es.hasNext();) {
+          Event e = es.next();
           writer.write(e.toString()+"\n");
         }
         writer.close();
       }
-      (new SuffixSensitiveGISModelWriter(GIS.trainModel(new CollectionEventStream(events),100,10),new File(modelName+modelExtension))).persist();
+      CorefTrainer.trainModel(events, 100, 10, false, new File(modelName+modelExtension));
+      events.delete();
     }
   }
 }
@@ -58,7 +58,7 @@ public class DefiniteNounResolver extends MaxentResolver {
     features.addAll(super.getFeatures(mention, entity));
     if (entity != null) {
       features.addAll(ResolverUtils.getContextFeatures(mention));
-      features.addAll(ResolverUtils.getStringMatchFeatures(mention,entity));
+      features.addAll(getStringMatchFeatures(mention, entity));
       features.addAll(ResolverUtils.getDistanceFeatures(mention,entity));
     }
     return (features);
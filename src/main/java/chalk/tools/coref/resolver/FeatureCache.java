@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.coref.resolver;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import chalk.tools.coref.DiscourseEntity;
+import chalk.tools.coref.mention.MentionContext;
+import chalk.tools.coref.sim.TestSimilarityModel;
+
+/**
+ * Caches the features which the {@link MaxentResolver}s of a linker compute
+ * over and over again while the mentions of a document are resolved. Each
+ * {@link chalk.tools.coref.DiscourseModel} has its own cache.
+ * <p>
+ * The normalized strings, modifier sets and pronoun features of a mention
+ * never change, they are computed once and kept until the cache is cleared.
+ * Without the cache they are recomputed for every mention of a candidate entity
+ * each time a later mention is compared with it.
+ * <p>
+ * The compatibility features of a mention and an entity, which include the
+ * similarity model evaluations, depend on the gender, number and mentions of the
+ * entity. These only change after a mention was resolved, therefore the features
+ * are computed once for all resolvers which resolve the same mention and are
+ * discarded when {@link #setMention(MentionContext)} is called for the next one.
+ * <p>
+ * This class is thread safe, the resolvers of a mention may use it concurrently.
+ */
+public class FeatureCache {
+
+  /**
+   * The attributes of a mention which the {@link ResolverUtils} derive from it,
+   * each attribute is computed on first access.
+   */
+  static class MentionAttributes {
+
+    /**
+     * Marks a mention which has no stripped string.
+     */
+    private static final String NO_STRIP = new String("");
+
+    private final MentionContext mention;
+
+    private volatile String mentionString;
+    private volatile String excludedHonorificMentionString;
+    private volatile String excludedTheMentionString;
+    private volatile String excludedDeterminerMentionString;
+    private volatile String strip;
+    private volatile String lowerCaseHead;
+    private volatile Set<String> modifierSet;
+    private volatile Set<String> descriptorModifierSet;
+    private volatile Map<String, String> pronounFeatureMap;
+
+    MentionAttributes(MentionContext mention) {
+      this.mention = mention;
+    }
+
+    String getMentionString() {
+      String string = mentionString;
+      if (string == null) {
+        string = ResolverUtils.mentionString(mention);
+        mentionString = string;
+      }
+      return string;
+    }
+
+    String getExcludedHonorificMentionString() {
+      String string = excludedHonorificMentionString;
+      if (string == null) {
+        string = ResolverUtils.excludedHonorificMentionString(mention);
+        excludedHonorificMentionString = string;
+      }
+      return string;
+    }
+
+    String getExcludedTheMentionString() {
+      String string = excludedTheMentionString;
+      if (string == null) {
+        string = ResolverUtils.excludedTheMentionString(mention);
+        excludedTheMentionString = string;
+      }
+      return string;
+    }
+
+    String getExcludedDeterminerMentionString() {
+      String string = excludedDeterminerMentionString;
+      if (string == null) {
+        string = ResolverUtils.excludedDeterminerMentionString(mention);
+        excludedDeterminerMentionString = string;
+      }
+      return string;
+    }
+
+    /**
+     * @return the stripped string, see {@link ResolverUtils#stripNp(MentionContext)}
+     */
+    String getStrip() {
+      String string = strip;
+      if (string == null) {
+        string = ResolverUtils.stripNp(mention);
+        if (string == null)
+          string = NO_STRIP;
+        strip = string;
+      }
+      return string == NO_STRIP ? null : string;
+    }
+
+    String getLowerCaseHead() {
+      String string = lowerCaseHead;
+      if (string == null) {
+        string = mention.getHeadTokenText().toLowerCase();
+        lowerCaseHead = string;
+      }
+      return string;
+    }
+
+    /**
+     * @return the lower case modifiers in front of the head token
+     */
+    Set<String> getModifierSet() {
+      Set<String> set = modifierSet;
+      if (set == null) {
+        set = ResolverUtils.constructModifierSet(mention.getTokenParses(),
+            mention.getHeadTokenIndex());
+        modifierSet = set;
+      }
+      return set;
+    }
+
+    /**
+     * @return the lower case modifiers in front of the first non-descriptor token
+     */
+    Set<String> getDescriptorModifierSet() {
+      Set<String> set = descriptorModifierSet;
+      if (set == null) {
+        set = ResolverUtils.constructModifierSet(mention.getTokenParses(),
+            mention.getNonDescriptorStart());
+        descriptorModifierSet = set;
+      }
+      return set;
+    }
+
+    Map<String, String> getPronounFeatureMap() {
+      Map<String, String> map = pronounFeatureMap;
+      if (map == null) {
+        map = ResolverUtils.getPronounFeatureMap(mention.getHeadTokenText());
+        pronounFeatureMap = map;
+      }
+      return map;
+    }
+  }
+
+  private final ConcurrentMap<MentionContext, MentionAttributes> attributes =
+      new ConcurrentHashMap<MentionContext, MentionAttributes>();
+
+  private volatile MentionContext mention;
+
+  private final ConcurrentMap<DiscourseEntity, List<String>> compatibilityFeatures =
+      new ConcurrentHashMap<DiscourseEntity, List<String>>();
+
+  /**
+   * Retrieves the attributes of the specified mention.
+   *
+   * @param cache the cache or null
+   * @param mention the mention
+   *
+   * @return the cached attributes or, without a cache, new attributes
+   */
+  static MentionAttributes getAttributes(FeatureCache cache, MentionContext mention) {
+    if (cache == null)
+      return new MentionAttributes(mention);
+
+    MentionAttributes mentionAttributes = cache.attributes.get(mention);
+
+    if (mentionAttributes == null) {
+      mentionAttributes = new MentionAttributes(mention);
+
+      MentionAttributes cachedAttributes = cache.attributes.putIfAbsent(mention, mentionAttributes);
+      if (cachedAttributes != null)
+        mentionAttributes = cachedAttributes;
+    }
+
+    return mentionAttributes;
+  }
+
+  /**
+   * Retrieves the compatibility features of the specified mention and entity,
+   * see {@link ResolverUtils#getCompatibilityFeatures(MentionContext, DiscourseEntity, TestSimilarityModel)}.
+   * They are only cached for the mention which is currently resolved.
+   *
+   * @return the features, the list must not be modified
+   */
+  List<String> getCompatibilityFeatures(MentionContext mention, DiscourseEntity entity,
+      TestSimilarityModel simModel) {
+
+    if (mention != this.mention)
+      return ResolverUtils.getCompatibilityFeatures(mention, entity, simModel);
+
+    List<String> features = compatibilityFeatures.get(entity);
+
+    if (features == null) {
+      features = Collections.unmodifiableList(
+          ResolverUtils.getCompatibilityFeatures(mention, entity, simModel));
+
+      List<String> cachedFeatures = compatibilityFeatures.putIfAbsent(entity, features);
+      if (cachedFeatures != null)
+        features = cachedFeatures;
+    }
+
+    return features;
+  }
+
+  /**
+   * Specifies the mention which is resolved next, the pairwise features of
+   * the previous mention are discarded. Must not be called while resolvers
+   * use the cache.
+   *
+   * @param mention the mention which is resolved next
+   */
+  public void setMention(MentionContext mention) {
+    compatibilityFeatures.clear();
+    this.mention = mention;
+  }
+
+  /**
+   * Discards all cached values, e.g. after all mentions of a document were resolved.
+   */
+  public void clear() {
+    attributes.clear();
+    compatibilityFeatures.clear();
+    mention = null;
+  }
+}
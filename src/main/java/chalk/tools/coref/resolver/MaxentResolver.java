@@ -21,19 +21,18 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 import nak.io.SuffixSensitiveGISModelReader;
-import nak.io.SuffixSensitiveGISModelWriter;
-import nak.maxent.GIS;
 import nak.model.Event;
+import nak.model.EventStream;
 import nak.model.MaxentModel;
+import chalk.tools.coref.CorefTrainer;
 import chalk.tools.coref.DiscourseEntity;
 import chalk.tools.coref.DiscourseModel;
 import chalk.tools.coref.mention.MentionContext;
 import chalk.tools.coref.sim.TestSimilarityModel;
-import chalk.tools.util.CollectionEventStream;
+import chalk.tools.util.EventSpool;
 
 
 /**
@@ -53,10 +52,9 @@ public abstract class MaxentResolver extends AbstractResolver {
 
   private String modelName;
   private MaxentModel model;
-  private double[] candProbs;
   private int sameIndex;
   private ResolverMode mode;
-  private List<Event> events;
+  private EventSpool events;
 
   /** When true, this designates that the resolver should use the first referent encountered which it
    * more preferable than non-reference.  When false all non-excluded referents within this resolvers range
@@ -73,7 +71,7 @@ public abstract class MaxentResolver extends AbstractResolver {
    */
   protected boolean useSameModelForNonRef;
 
-  private static TestSimilarityModel simModel = null;
+  private TestSimilarityModel simModel = null;
   
   /** The model for computing non-referential probabilities. */
   protected NonReferentialResolver nonReferentialResolver;
@@ -117,13 +115,11 @@ public abstract class MaxentResolver extends AbstractResolver {
       sameIndex = model.getIndex(SAME);
     }
     else if (ResolverMode.TRAIN == this.mode) {
-      events = new ArrayList<Event>();
+      events = new EventSpool();
     }
     else {
       System.err.println("Unknown mode: " + this.mode);
     }
-    //add one for non-referent possibility
-    candProbs = new double[getNumEntities() + 1];
   }
 
   /**
@@ -157,6 +153,8 @@ public abstract class MaxentResolver extends AbstractResolver {
   public DiscourseEntity resolve(MentionContext ec, DiscourseModel dm) {
     DiscourseEntity de;
     int ei = 0;
+    //add one for non-referent possibility
+    double[] candProbs = new double[getNumEntities(dm) + 1];
     double nonReferentialProbability = nonReferentialResolver.getNonReferentialProbability(ec);
     if (debugOn) {
       System.err.println(this +".resolve: " + ec.toText() + " -> " +  "null "+nonReferentialProbability);
@@ -261,14 +259,14 @@ public abstract class MaxentResolver extends AbstractResolver {
             }
             if (mention.getId() != -1 && entityMention.getId() == mention.getId()) {
               referentFound = true;
-              events.add(new Event(SAME, features.toArray(new String[features.size()])));
+              addEvent(new Event(SAME, features.toArray(new String[features.size()])));
               de = cde;
               //System.err.println("MaxentResolver.retain: resolved at "+ei);
               distances.add(ei);
             }
             else if (!pairedSampleSelection || (!nonReferentFound && useAsDifferentExample)) {
               nonReferentFound = true;
-              events.add(new Event(DIFF, features.toArray(new String[features.size()])));
+              addEvent(new Event(DIFF, features.toArray(new String[features.size()])));
             }
           //}
         }
@@ -299,28 +297,79 @@ public abstract class MaxentResolver extends AbstractResolver {
   protected List<String> getFeatures(MentionContext mention, DiscourseEntity entity) {
     List<String> features = new ArrayList<String>();
     features.add(DEFAULT);
-    features.addAll(ResolverUtils.getCompatibilityFeatures(mention, entity,simModel));
+    FeatureCache featureCache = getFeatureCache(entity);
+    if (featureCache != null) {
+      features.addAll(featureCache.getCompatibilityFeatures(mention, entity, simModel));
+    }
+    else {
+      features.addAll(ResolverUtils.getCompatibilityFeatures(mention, entity,simModel));
+    }
     return features;
   }
 
+  /**
+   * Returns string-match features for the specified mention and entity,
+   * see {@link ResolverUtils#getStringMatchFeatures(MentionContext, DiscourseEntity)}.
+   */
+  protected List<String> getStringMatchFeatures(MentionContext mention, DiscourseEntity entity) {
+    return ResolverUtils.getStringMatchFeatures(mention, entity, getFeatureCache(entity));
+  }
+
+  /**
+   * Returns pronoun-match features for the specified mention and entity,
+   * see {@link ResolverUtils#getPronounMatchFeatures(MentionContext, DiscourseEntity)}.
+   */
+  protected List<String> getPronounMatchFeatures(MentionContext mention, DiscourseEntity entity) {
+    return ResolverUtils.getPronounMatchFeatures(mention, entity, getFeatureCache(entity));
+  }
+
+  /**
+   * Returns the cache of the discourse model which contains the specified entity.
+   *
+   * @return the feature cache, or null if the entity is not part of a discourse model
+   */
+  protected static FeatureCache getFeatureCache(DiscourseEntity entity) {
+    DiscourseModel model = entity.getDiscourseModel();
+
+    if (model != null)
+      return model.getFeatureCache();
+    else
+      return null;
+  }
+
+  private void addEvent(Event event) {
+    try {
+      events.add(event);
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Failed to spool the training event!", e);
+    }
+  }
+
   @Override
   public void train() throws IOException {
     if (ResolverMode.TRAIN == mode) {
       if (debugOn) {
         System.err.println(this +" referential");
         FileWriter writer = new FileWriter(modelName+".events");
-        for (Iterator<Event> ei=events.iterator();ei.hasNext();) {
-          Event e = ei.next();
+        for (EventStream es=events.openStream();es.hasNext();) {
+          Event e = es.next();
           writer.write(e.toString()+"\n");
         }
         writer.close();
       }
-      (new SuffixSensitiveGISModelWriter(GIS.trainModel(new CollectionEventStream(events),100,10),new File(modelName+modelExtension))).persist();
+      CorefTrainer.trainModel(events, 100, 10, false, new File(modelName+modelExtension));
+      events.delete();
       nonReferentialResolver.train();
     }
   }
 
-  public static void setSimilarityModel(TestSimilarityModel sm) {
+  /**
+   * Specifies the model which computes the semantic compatibility features.
+   *
+   * @param sm the similarity model, or null to not use semantic compatibility features
+   */
+  public void setSimilarityModel(TestSimilarityModel sm) {
     simModel = sm;
   }
 
@@ -46,7 +46,7 @@ public class PluralPronounResolver extends MaxentResolver {
     features.addAll(super.getFeatures(mention,entity));
     //features.add("eid="+pc.id);
     if (entity != null) { //generate pronoun w/ referent features
-      features.addAll(ResolverUtils.getPronounMatchFeatures(mention,entity));
+      features.addAll(getPronounMatchFeatures(mention, entity));
       MentionContext cec = entity.getLastExtent();
       features.addAll(ResolverUtils.getDistanceFeatures(mention,entity));
       features.addAll(ResolverUtils.getContextFeatures(cec));
@@ -39,24 +39,17 @@ import chalk.tools.coref.mention.MentionContext;
  */
 public class ProperNounResolver extends MaxentResolver {
 
-  private static Map<String, Set<String>> acroMap;
-  private static boolean acroMapLoaded = false;
+  private Map<String, Set<String>> acroMap;
 
   public ProperNounResolver(String projectName, ResolverMode m) throws IOException {
     super(projectName,"pnmodel", m, 500);
-    if (!acroMapLoaded) {
-      initAcronyms(projectName + "/acronyms");
-      acroMapLoaded = true;
-    }
+    initAcronyms(projectName + "/acronyms");
     showExclusions = false;
   }
 
   public ProperNounResolver(String projectName, ResolverMode m,NonReferentialResolver nonRefResolver) throws IOException {
     super(projectName,"pnmodel", m, 500,nonRefResolver);
-    if (!acroMapLoaded) {
-      initAcronyms(projectName + "/acronyms");
-      acroMapLoaded = true;
-    }
+    initAcronyms(projectName + "/acronyms");
     showExclusions = false;
   }
 
@@ -104,8 +97,9 @@ public class ProperNounResolver extends MaxentResolver {
 
   protected List<String> getAcronymFeatures(MentionContext mention, DiscourseEntity entity) {
     MentionContext xec = ResolverUtils.getProperNounExtent(entity);
-    String ecStrip = ResolverUtils.stripNp(mention);
-    String xecStrip = ResolverUtils.stripNp(xec);
+    FeatureCache featureCache = getFeatureCache(entity);
+    String ecStrip = FeatureCache.getAttributes(featureCache, mention).getStrip();
+    String xecStrip = FeatureCache.getAttributes(featureCache, xec).getStrip();
     if (ecStrip != null && xecStrip != null) {
       if (isAcronym(ecStrip, xecStrip)) {
         List<String> features = new ArrayList<String>(1);
@@ -122,7 +116,7 @@ public class ProperNounResolver extends MaxentResolver {
     List<String> features = new ArrayList<String>();
     features.addAll(super.getFeatures(mention, entity));
     if (entity != null) {
-      features.addAll(ResolverUtils.getStringMatchFeatures(mention, entity));
+      features.addAll(getStringMatchFeatures(mention, entity));
       features.addAll(getAcronymFeatures(mention, entity));
     }
     return features;
@@ -29,6 +29,7 @@ import java.util.regex.Pattern;
 import chalk.tools.coref.DiscourseEntity;
 import chalk.tools.coref.mention.MentionContext;
 import chalk.tools.coref.mention.Parse;
+import chalk.tools.coref.resolver.FeatureCache.MentionAttributes;
 import chalk.tools.coref.sim.GenderEnum;
 import chalk.tools.coref.sim.NumberEnum;
 import chalk.tools.coref.sim.TestSimilarityModel;
@@ -200,17 +201,21 @@ public class ResolverUtils {
   }
 
   public static String getExactMatchFeature(MentionContext ec, MentionContext xec) {
+    return getExactMatchFeature(new MentionAttributes(ec), new MentionAttributes(xec));
+  }
+
+  private static String getExactMatchFeature(MentionAttributes ec, MentionAttributes xec) {
     //System.err.println("getExactMatchFeature: ec="+mentionString(ec)+" mc="+mentionString(xec));
-    if (mentionString(ec).equals(mentionString(xec))) {
+    if (ec.getMentionString().equals(xec.getMentionString())) {
       return "exactMatch";
     }
-    else if (excludedHonorificMentionString(ec).equals(excludedHonorificMentionString(xec))) {
+    else if (ec.getExcludedHonorificMentionString().equals(xec.getExcludedHonorificMentionString())) {
       return "exactMatchNoHonor";
     }
-    else if (excludedTheMentionString(ec).equals(excludedTheMentionString(xec))) {
+    else if (ec.getExcludedTheMentionString().equals(xec.getExcludedTheMentionString())) {
       return "exactMatchNoThe";
     }
-    else if (excludedDeterminerMentionString(ec).equals(excludedDeterminerMentionString(xec))) {
+    else if (ec.getExcludedDeterminerMentionString().equals(xec.getExcludedDeterminerMentionString())) {
       return "exactMatchNoDT";
     }
     return null;
@@ -223,18 +228,30 @@ public class ResolverUtils {
    * @return list of string-match features for the the specified mention and entity.
    */
   public static List<String> getStringMatchFeatures(MentionContext mention, DiscourseEntity entity) {
+    return getStringMatchFeatures(mention, entity, null);
+  }
+
+  /**
+   * Returns string-match features for the the specified mention and entity.
+   * @param mention The mention.
+   * @param entity The entity.
+   * @param cache The cache for the attributes of the mentions, or null.
+   * @return list of string-match features for the the specified mention and entity.
+   */
+  static List<String> getStringMatchFeatures(MentionContext mention, DiscourseEntity entity, FeatureCache cache) {
     boolean sameHead = false;
     boolean modsMatch = false;
     boolean titleMatch = false;
     boolean nonTheModsMatch = false;
     List<String> features = new ArrayList<String>();
-    Parse[] mtokens = mention.getTokenParses();
-    Set<String> ecModSet = constructModifierSet(mtokens, mention.getHeadTokenIndex());
-    String mentionHeadString = mention.getHeadTokenText().toLowerCase();
+    MentionAttributes mentionAttributes = FeatureCache.getAttributes(cache, mention);
+    Set<String> ecModSet = mentionAttributes.getModifierSet();
+    String mentionHeadString = mentionAttributes.getLowerCaseHead();
     Set<String> featureSet = new HashSet<String>();
     for (Iterator<MentionContext> ei = entity.getMentions(); ei.hasNext();) {
       MentionContext entityMention = ei.next();
-      String exactMatchFeature = getExactMatchFeature(entityMention, mention);
+      MentionAttributes entityMentionAttributes = FeatureCache.getAttributes(cache, entityMention);
+      String exactMatchFeature = getExactMatchFeature(entityMentionAttributes, mentionAttributes);
       if (exactMatchFeature != null) {
         featureSet.add(exactMatchFeature);
       }
@@ -242,21 +259,19 @@ public class ResolverUtils {
         featureSet.add("cmix");
       }
       else {
-        String mentionStrip = stripNp(mention);
-        String entityMentionStrip = stripNp(entityMention);
+        String mentionStrip = mentionAttributes.getStrip();
+        String entityMentionStrip = entityMentionAttributes.getStrip();
         if (mentionStrip != null && entityMentionStrip != null) {
           if (isSubstring(mentionStrip, entityMentionStrip)) {
             featureSet.add("substring");
           }
         }
       }
-      Parse[] xtoks = entityMention.getTokenParses();
-      int headIndex = entityMention.getHeadTokenIndex();
       //if (!mention.getHeadTokenTag().equals(entityMention.getHeadTokenTag())) {
       //  //System.err.println("skipping "+mention.headTokenText+" with "+xec.headTokenText+" because "+mention.headTokenTag+" != "+xec.headTokenTag);
       //  continue;
       //}  want to match NN NNP
-      String entityMentionHeadString = entityMention.getHeadTokenText().toLowerCase();
+      String entityMentionHeadString = entityMentionAttributes.getLowerCaseHead();
       // model lexical similarity
       if (mentionHeadString.equals(entityMentionHeadString)) {
         sameHead = true;
@@ -264,7 +279,7 @@ public class ResolverUtils {
         if (!modsMatch || !nonTheModsMatch) { //only check if we haven't already found one which is the same
           modsMatch = true;
           nonTheModsMatch = true;
-          Set<String> entityMentionModifierSet = constructModifierSet(xtoks, headIndex);
+          Set<String> entityMentionModifierSet = entityMentionAttributes.getModifierSet();
           for (Iterator<String> mi = ecModSet.iterator(); mi.hasNext();) {
             String mw = mi.next();
             if (!entityMentionModifierSet.contains(mw)) {
@@ -277,7 +292,7 @@ public class ResolverUtils {
           }
         }
       }
-      Set<String> descModSet = constructModifierSet(xtoks, entityMention.getNonDescriptorStart());
+      Set<String> descModSet = entityMentionAttributes.getDescriptorModifierSet();
       if (descModSet.contains(mentionHeadString)) {
         titleMatch = true;
       }
@@ -406,7 +421,7 @@ public class ResolverUtils {
     return null;
   }
 
-  private static Map<String, String> getPronounFeatureMap(String pronoun) {
+  static Map<String, String> getPronounFeatureMap(String pronoun) {
     Map<String, String> pronounMap = new HashMap<String, String>();
     if (malePronounPattern.matcher(pronoun).matches()) {
       pronounMap.put("gender","male");
@@ -446,10 +461,23 @@ public class ResolverUtils {
    * of the specified entity.
    */
   public static List<String> getPronounMatchFeatures(MentionContext mention, DiscourseEntity entity) {
+    return getPronounMatchFeatures(mention, entity, null);
+  }
+
+  /**
+   * Returns features indicating whether the specified mention is compatible with the pronouns
+   * of the specified entity.
+   * @param mention The mention.
+   * @param entity The entity.
+   * @param cache The cache for the attributes of the mentions, or null.
+   * @return list of features indicating whether the specified mention is compatible with the pronouns
+   * of the specified entity.
+   */
+  static List<String> getPronounMatchFeatures(MentionContext mention, DiscourseEntity entity, FeatureCache cache) {
     boolean foundCompatiblePronoun = false;
     boolean foundIncompatiblePronoun = false;
     if (mention.getHeadTokenTag().startsWith("PRP")) {
-      Map<String, String> pronounMap = getPronounFeatureMap(mention.getHeadTokenText());
+      Map<String, String> pronounMap = FeatureCache.getAttributes(cache, mention).getPronounFeatureMap();
       //System.err.println("getPronounMatchFeatures.pronounMap:"+pronounMap);
       for (Iterator<MentionContext> mi=entity.getMentions();mi.hasNext();) {
         MentionContext candidateMention = mi.next();
@@ -459,7 +487,8 @@ public class ResolverUtils {
             break;
           }
           else {
-            Map<String, String> candidatePronounMap = getPronounFeatureMap(candidateMention.getHeadTokenText());
+            Map<String, String> candidatePronounMap =
+                FeatureCache.getAttributes(cache, candidateMention).getPronounFeatureMap();
             //System.err.println("getPronounMatchFeatures.candidatePronounMap:"+candidatePronounMap);
             boolean allKeysMatch = true;
             for (Iterator<String> ki = pronounMap.keySet().iterator(); ki.hasNext();) {
@@ -59,7 +59,7 @@ public class SingularPronounResolver extends MaxentResolver {
     if (entity != null) { //generate pronoun w/ referent features
       MentionContext cec = entity.getLastExtent();
       //String gen = getPronounGender(pronoun);
-      features.addAll(ResolverUtils.getPronounMatchFeatures(mention,entity));
+      features.addAll(getPronounMatchFeatures(mention, entity));
       features.addAll(ResolverUtils.getContextFeatures(cec));
       features.addAll(ResolverUtils.getDistanceFeatures(mention,entity));
       features.add(ResolverUtils.getMentionCountFeature(entity));
@@ -49,7 +49,7 @@ public class SpeechPronounResolver extends MaxentResolver {
     List<String> features = new ArrayList<String>();
     features.addAll(super.getFeatures(mention, entity));
     if (entity != null) {
-      features.addAll(ResolverUtils.getPronounMatchFeatures(mention,entity));
+      features.addAll(getPronounMatchFeatures(mention, entity));
       List<String> contexts = ResolverUtils.getContextFeatures(mention);
       MentionContext cec = entity.getLastExtent();
       if (mention.getHeadTokenTag().startsWith("PRP") && cec.getHeadTokenTag().startsWith("PRP")) {
@@ -31,12 +31,12 @@ import java.util.List;
 import java.util.Set;
 
 import nak.io.SuffixSensitiveGISModelReader;
-import nak.io.SuffixSensitiveGISModelWriter;
-import nak.maxent.GIS;
 import nak.model.Event;
+import nak.model.EventStream;
 import nak.model.MaxentModel;
+import chalk.tools.coref.CorefTrainer;
 import chalk.tools.coref.resolver.ResolverUtils;
-import chalk.tools.util.CollectionEventStream;
+import chalk.tools.util.EventSpool;
 import chalk.tools.util.HashList;
 
 
@@ -52,7 +52,7 @@ public class GenderModel implements TestGenderModel, TrainSimilarityModel {
   private String modelName;
   private String modelExtension = ".bin.gz";
   private MaxentModel testModel;
-  private List<Event> events;
+  private EventSpool events;
   private boolean debugOn = true;
 
   private Set<String> maleNames;
@@ -82,7 +82,7 @@ public class GenderModel implements TestGenderModel, TrainSimilarityModel {
     maleNames = readNames(modelName+".mas");
     femaleNames = readNames(modelName+".fem");
     if (train) {
-      events = new ArrayList<Event>();
+      events = new EventSpool();
     }
     else {
       //if (MaxentResolver.loadAsResource()) {
@@ -127,7 +127,16 @@ public class GenderModel implements TestGenderModel, TrainSimilarityModel {
 
   private void addEvent(String outcome, Context np1) {
     List<String> feats = getFeatures(np1);
-    events.add(new Event(outcome, feats.toArray(new String[feats.size()])));
+    addEvent(new Event(outcome, feats.toArray(new String[feats.size()])));
+  }
+
+  private void addEvent(Event event) {
+    try {
+      events.add(event);
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Failed to spool the training event!", e);
+    }
   }
 
   /**
@@ -261,16 +270,14 @@ public class GenderModel implements TestGenderModel, TrainSimilarityModel {
   public void trainModel() throws IOException {
     if (debugOn) {
       FileWriter writer = new FileWriter(modelName+".events");
-      for (Iterator<Event> ei=events.iterator();ei.hasNext();) {
-        Event e = ei.next();
+      for (EventStream es=events.openStream();es.hasNext();) {
+        Event e = es.next();
         writer.write(e.toString()+"\n");
       }
       writer.close();
     }
-    new SuffixSensitiveGISModelWriter(
-        GIS.trainModel(
-        new CollectionEventStream(events), true),
-        new File(modelName+modelExtension)).persist();
+    CorefTrainer.trainModel(events, 100, 0, true, new File(modelName+modelExtension));
+    events.delete();
   }
 
   public int getFemaleIndex() {
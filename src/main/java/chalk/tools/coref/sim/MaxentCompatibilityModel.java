@@ -27,8 +27,8 @@ public class MaxentCompatibilityModel {
   private final double minGenderProb = 0.66;
   private final double minNumberProb = 0.66;
 
-  private static TestGenderModel genModel;
-  private static TestNumberModel numModel;
+  private final TestGenderModel genModel;
+  private final TestNumberModel numModel;
 
   private boolean debugOn = false;
 
@@ -24,12 +24,11 @@ import java.util.Iterator;
 import java.util.List;
 
 import nak.io.SuffixSensitiveGISModelReader;
-import nak.io.SuffixSensitiveGISModelWriter;
-import nak.maxent.GIS;
 import nak.model.Event;
 import nak.model.MaxentModel;
+import chalk.tools.coref.CorefTrainer;
 import chalk.tools.coref.resolver.ResolverUtils;
-import chalk.tools.util.CollectionEventStream;
+import chalk.tools.util.EventSpool;
 import chalk.tools.util.HashList;
 
 
@@ -41,7 +40,7 @@ public class NumberModel implements TestNumberModel, TrainSimilarityModel {
   private String modelName;
   private String modelExtension = ".bin.gz";
   private MaxentModel testModel;
-  private List<Event> events;
+  private EventSpool events;
 
   private int singularIndex;
   private int pluralIndex;
@@ -59,7 +58,7 @@ public class NumberModel implements TestNumberModel, TrainSimilarityModel {
   private NumberModel(String modelName, boolean train) throws IOException {
     this.modelName = modelName;
     if (train) {
-      events = new ArrayList<Event>();
+      events = new EventSpool();
     }
     else {
       //if (MaxentResolver.loadAsResource()) {
@@ -83,9 +82,18 @@ public class NumberModel implements TestNumberModel, TrainSimilarityModel {
     return features;
   }
 
+  private void addEvent(Event event) {
+    try {
+      events.add(event);
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Failed to spool the training event!", e);
+    }
+  }
+
   private void addEvent(String outcome, Context np1) {
     List<String> feats = getFeatures(np1);
-    events.add(new Event(outcome, feats.toArray(new String[feats.size()])));
+    addEvent(new Event(outcome, feats.toArray(new String[feats.size()])));
   }
 
   public NumberEnum getNumber(Context ec) {
@@ -175,7 +183,8 @@ public class NumberModel implements TestNumberModel, TrainSimilarityModel {
   }
 
   public void trainModel() throws IOException {
-    (new SuffixSensitiveGISModelWriter(GIS.trainModel(new CollectionEventStream(events),100,10),new File(modelName+modelExtension))).persist();
+    CorefTrainer.trainModel(events, 100, 10, false, new File(modelName+modelExtension));
+    events.delete();
   }
 
 }
@@ -31,12 +31,12 @@ import java.util.Map;
 import java.util.Set;
 
 import nak.io.SuffixSensitiveGISModelReader;
-import nak.io.SuffixSensitiveGISModelWriter;
-import nak.maxent.GIS;
 import nak.model.Event;
+import nak.model.EventStream;
 import nak.model.MaxentModel;
+import chalk.tools.coref.CorefTrainer;
 import chalk.tools.coref.resolver.ResolverUtils;
-import chalk.tools.util.CollectionEventStream;
+import chalk.tools.util.EventSpool;
 import chalk.tools.util.HashList;
 
 
@@ -49,7 +49,7 @@ public class SimilarityModel implements TestSimilarityModel, TrainSimilarityMode
   private String modelName;
   private String modelExtension = ".bin.gz";
   private MaxentModel testModel;
-  private List<Event> events;
+  private EventSpool events;
   private int SAME_INDEX;
   private static final String SAME = "same";
   private static final String DIFF = "diff";
@@ -67,7 +67,7 @@ public class SimilarityModel implements TestSimilarityModel, TrainSimilarityMode
   private SimilarityModel(String modelName, boolean train) throws IOException {
     this.modelName = modelName;
     if (train) {
-      events = new ArrayList<Event>();
+      events = new EventSpool();
     }
     else {
       testModel = (new SuffixSensitiveGISModelReader(new File(modelName+modelExtension))).getModel();
@@ -79,12 +79,21 @@ public class SimilarityModel implements TestSimilarityModel, TrainSimilarityMode
     if (same) {
       List<String> feats = getFeatures(np1, np2);
       //System.err.println(SAME+" "+np1.headTokenText+" ("+np1.id+") -> "+np2.headTokenText+" ("+np2.id+") "+feats);
-      events.add(new Event(SAME, feats.toArray(new String[feats.size()])));
+      addEvent(new Event(SAME, feats.toArray(new String[feats.size()])));
     }
     else {
       List<String> feats = getFeatures(np1, np2);
       //System.err.println(DIFF+" "+np1.headTokenText+" ("+np1.id+") -> "+np2.headTokenText+" ("+np2.id+") "+feats);
-      events.add(new Event(DIFF, feats.toArray(new String[feats.size()])));
+      addEvent(new Event(DIFF, feats.toArray(new String[feats.size()])));
+    }
+  }
+
+  private void addEvent(Event event) {
+    try {
+      events.add(event);
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Failed to spool the training event!", e);
     }
   }
 
@@ -360,15 +369,14 @@ public class SimilarityModel implements TestSimilarityModel, TrainSimilarityMode
   public void trainModel() throws IOException {
     if (debugOn) {
       FileWriter writer = new FileWriter(modelName+".events");
-      for (Iterator<Event> ei=events.iterator();ei.hasNext();) {
-        Event e = ei.next();
+      for (EventStream es=events.openStream();es.hasNext();) {
+        Event e = es.next();
         writer.write(e.toString()+"\n");
       }
       writer.close();
     }
-    (new SuffixSensitiveGISModelWriter(GIS.trainModel(
-        new CollectionEventStream(events),100,10),
-        new File(modelName+modelExtension))).persist();
+    CorefTrainer.trainModel(events, 100, 10, false, new File(modelName+modelExtension));
+    events.delete();
   }
 
   private boolean isName(Context np) {
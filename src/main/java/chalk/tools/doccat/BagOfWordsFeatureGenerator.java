@@ -21,7 +21,7 @@ package chalk.tools.doccat;
 import java.util.ArrayList;
 import java.util.Collection;
 
-import chalk.tools.util.featuregen.StringPattern;
+import chalk.tools.util.featuregen.TokenInfo;
 
 
 /**
@@ -44,9 +44,7 @@ public class BagOfWordsFeatureGenerator implements FeatureGenerator {
 
     for (String word : text) {
       if (useOnlyAllLetterTokens) {
-        StringPattern pattern = StringPattern.recognize(word);
-        
-        if (pattern.isAllLetter())
+        if (TokenInfo.get(word).getPattern().isAllLetter())
           bagOfWords.add("bow=" + word);
       }
       else {
@@ -32,6 +32,7 @@ public class DoccatModel extends BaseModel {
   
   private static final String COMPONENT_NAME = "DocumentCategorizerME";
   private static final String DOCCAT_MODEL_ENTRY_NAME = "doccat.model";
+  static final String FEATURE_HASH_DIMENSION_PROPERTY = "feature-hash-dimension";
   
   protected DoccatModel(String languageCode, AbstractModel doccatModel,
       Map<String, String> manifestInfoEntries) {
@@ -64,9 +65,36 @@ public class DoccatModel extends BaseModel {
     if (!(artifactMap.get(DOCCAT_MODEL_ENTRY_NAME) instanceof AbstractModel)) {
       throw new InvalidFormatException("Doccat model is incomplete!");
     }
+
+    String dimension = getManifestProperty(FEATURE_HASH_DIMENSION_PROPERTY);
+
+    if (dimension != null) {
+      try {
+        if (Integer.parseInt(dimension) < 0)
+          throw new InvalidFormatException("Feature hash dimension must not be negative: " + dimension);
+      }
+      catch (NumberFormatException e) {
+        throw new InvalidFormatException("Invalid feature hash dimension: " + dimension);
+      }
+    }
   }
 
   public AbstractModel getChunkerModel() {
     return (AbstractModel) artifactMap.get(DOCCAT_MODEL_ENTRY_NAME);
   }
+
+  /**
+   * Retrieves the number of buckets the features were hashed into during training,
+   * see {@link SparseFeatureVector}.
+   *
+   * @return the number of buckets, or 0 if the features are not hashed
+   */
+  public int getFeatureHashDimension() {
+    String dimension = getManifestProperty(FEATURE_HASH_DIMENSION_PROPERTY);
+
+    if (dimension != null)
+      return Integer.parseInt(dimension);
+    else
+      return 0;
+  }
 }
@@ -28,8 +28,19 @@ class DocumentCategorizerContextGenerator {
 
   private FeatureGenerator[] mFeatureGenerators;
 
+  private int hashDimension;
+
   DocumentCategorizerContextGenerator(FeatureGenerator... featureGenerators) {
+    this(0, featureGenerators);
+  }
+
+  /**
+   * @param hashDimension the number of buckets the features are hashed into,
+   *     or 0 if the features should not be hashed
+   */
+  DocumentCategorizerContextGenerator(int hashDimension, FeatureGenerator... featureGenerators) {
     mFeatureGenerators = featureGenerators;
+    this.hashDimension = hashDimension;
   }
 
   public String[] getContext(String text[]) {
@@ -39,9 +50,34 @@ class DocumentCategorizerContextGenerator {
     for (int i = 0; i < mFeatureGenerators.length; i++) {
       Collection<String> extractedFeatures =
           mFeatureGenerators[i].extractFeatures(text);
-      context.addAll(extractedFeatures);
+
+      if (hashDimension == 0) {
+        context.addAll(extractedFeatures);
+      }
+      else {
+        for (String feature : extractedFeatures) {
+          context.add(SparseFeatureVector.hash(feature, hashDimension));
+        }
+      }
     }
 
     return context.toArray(new String[context.size()]);
   }
+
+  /**
+   * Counts the features of the text in the specified vector, the vector
+   * must hash the features like this context generator.
+   */
+  public void addFeatures(String text[], SparseFeatureVector features) {
+    for (int i = 0; i < mFeatureGenerators.length; i++) {
+      features.addAll(mFeatureGenerators[i].extractFeatures(text));
+    }
+  }
+
+  /**
+   * @return a new empty feature vector which hashes the features like this context generator
+   */
+  public SparseFeatureVector createFeatureVector() {
+    return new SparseFeatureVector(hashDimension);
+  }
 }
@@ -18,7 +18,9 @@
 
 package chalk.tools.doccat;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 import chalk.tools.postag.POSSample;
 import chalk.tools.tokenize.TokenSample;
@@ -48,6 +50,15 @@ public class DocumentCategorizerEvaluator {
     this.categorizer = categorizer;
   }
 
+  private void update(DocumentSample sample, String cat) {
+    if (sample.getCategory().equals(cat)) {
+      accuracy.add(1);
+    }
+    else {
+      accuracy.add(0);
+    }
+  }
+
   /**
    * Evaluates the given reference {@link DocumentSample} object.
    *
@@ -65,12 +76,7 @@ public class DocumentCategorizerEvaluator {
 
     String cat = categorizer.getBestCategory(probs);
 
-    if (sample.getCategory().equals(cat)) {
-      accuracy.add(1);
-    }
-    else {
-      accuracy.add(0);
-    }
+    update(sample, cat);
   }
 
   /**
@@ -83,11 +89,45 @@ public class DocumentCategorizerEvaluator {
    */
   public void evaluate(Iterator<DocumentSample> samples) {
 
+    if (categorizer instanceof ParallelDocumentCategorizer) {
+      evaluateBatches((ParallelDocumentCategorizer) categorizer, samples);
+      return;
+    }
+
     while (samples.hasNext()) {
       evaluteSample(samples.next());
     }
   }
 
+  /**
+   * Categorizes the samples in batches with the {@link ParallelDocumentCategorizer}.
+   */
+  private void evaluateBatches(ParallelDocumentCategorizer parallelCategorizer,
+      Iterator<DocumentSample> samples) {
+
+    List<DocumentSample> batch =
+        new ArrayList<DocumentSample>(ParallelDocumentCategorizer.DEFAULT_BATCH_SIZE);
+    List<String[]> texts =
+        new ArrayList<String[]>(ParallelDocumentCategorizer.DEFAULT_BATCH_SIZE);
+
+    while (samples.hasNext()) {
+      batch.clear();
+      texts.clear();
+
+      while (samples.hasNext() && batch.size() < ParallelDocumentCategorizer.DEFAULT_BATCH_SIZE) {
+        DocumentSample sample = samples.next();
+        batch.add(sample);
+        texts.add(sample.getText());
+      }
+
+      List<ScoredCategory[]> categories = parallelCategorizer.categorizeAll(texts, 1);
+
+      for (int i = 0; i < batch.size(); i++) {
+        update(batch.get(i), categories.get(i)[0].getCategory());
+      }
+    }
+  }
+
   /**
    * Retrieves the accuracy of provided {@link DocumentCategorizer}.
    *
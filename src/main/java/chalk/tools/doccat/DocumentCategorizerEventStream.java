@@ -40,10 +40,23 @@ public class DocumentCategorizerEventStream extends AbstractEventStream<Document
    * @param featureGenerators
    */
   public DocumentCategorizerEventStream(ObjectStream<DocumentSample> data, FeatureGenerator... featureGenerators) {
+    this(data, 0, featureGenerators);
+  }
+
+  /**
+   * Initializes the current instance.
+   *
+   * @param data {@link ObjectStream} of {@link DocumentSample}s
+   * @param hashDimension the number of buckets the features are hashed into,
+   *     or 0 if the features should not be hashed
+   * @param featureGenerators
+   */
+  public DocumentCategorizerEventStream(ObjectStream<DocumentSample> data, int hashDimension,
+      FeatureGenerator... featureGenerators) {
     super(data);
 
     mContextGenerator =
-      new DocumentCategorizerContextGenerator(featureGenerators);
+      new DocumentCategorizerContextGenerator(hashDimension, featureGenerators);
   }
 
   /**
@@ -20,6 +20,7 @@ package chalk.tools.doccat;
 
 import java.io.IOException;
 import java.io.ObjectStreamException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -40,6 +41,13 @@ import chalk.tools.util.model.ModelUtil;
  */
 public class DocumentCategorizerME implements DocumentCategorizer {
 
+  /**
+   * The training parameter which specifies the number of buckets the features
+   * are hashed into, see {@link SparseFeatureVector}. The features are not hashed
+   * if the parameter is not set.
+   */
+  public static final String FEATURE_HASH_DIMENSION_PARAM = "FeatureHashDimension";
+
   /**
    * Shared default thread safe feature generator.
    */
@@ -48,6 +56,12 @@ public class DocumentCategorizerME implements DocumentCategorizer {
   private MaxentModel model;
   private DocumentCategorizerContextGenerator mContextGenerator;
 
+  /**
+   * True if the features must be passed once per occurrence, see
+   * {@link #isCountInvariant(MaxentModel)}.
+   */
+  private final boolean expandCounts;
+
   /**
    * Initializes a the current instance with a doccat model and custom feature generation.
    * The feature generation must be identical to the configuration at training time.
@@ -57,7 +71,9 @@ public class DocumentCategorizerME implements DocumentCategorizer {
    */
   public DocumentCategorizerME(DoccatModel model, FeatureGenerator... featureGenerators) {
     this.model = model.getChunkerModel();
-    this.mContextGenerator = new DocumentCategorizerContextGenerator(featureGenerators);
+    this.mContextGenerator = new DocumentCategorizerContextGenerator(
+        model.getFeatureHashDimension(), featureGenerators);
+    this.expandCounts = !isCountInvariant(this.model);
   }
   
   /**
@@ -97,15 +113,86 @@ public class DocumentCategorizerME implements DocumentCategorizer {
     this.model = model;
     mContextGenerator =
         new DocumentCategorizerContextGenerator(featureGenerators);
+    this.expandCounts = !isCountInvariant(model);
   }
 
   /**
-   * Categorizes the given text.
+   * Checks if the model gives the same scores for a feature which is passed
+   * once with its count as value as for the feature passed once per occurrence.
+   * That is not the case for GIS models with a correction parameter, e.g.
+   * models trained by older versions, because the correction feature depends
+   * on the number of active features.
+   */
+  private static boolean isCountInvariant(MaxentModel model) {
+    if (model instanceof AbstractModel) {
+      Object[] data = ((AbstractModel) model).getDataStructures();
+
+      return ((Double) data[4]).doubleValue() == 0;
+    }
+
+    return true;
+  }
+
+  private double[] categorize(SparseFeatureVector features) {
+    String[] distinctFeatures = features.getFeatures();
+    float[] counts = features.getCounts();
+
+    if (!expandCounts)
+      return model.eval(distinctFeatures, counts);
+
+    int length = 0;
+    for (float count : counts) {
+      length += (int) count;
+    }
+
+    String[] context = new String[length];
+
+    int ci = 0;
+    for (int fi = 0; fi < distinctFeatures.length; fi++) {
+      for (int i = 0; i < (int) counts[fi]; i++) {
+        context[ci++] = distinctFeatures[fi];
+      }
+    }
+
+    return model.eval(context);
+  }
+
+  /**
+   * Categorizes the given text. The features of the text are counted and each
+   * distinct feature is passed once with its count to the model. Models with a
+   * GIS correction parameter get each feature once per occurrence instead, since
+   * their scores depend on the number of features.
    *
    * @param text
    */
   public double[] categorize(String text[]) {
-    return model.eval(mContextGenerator.getContext(text));
+    SparseFeatureVector features = mContextGenerator.createFeatureVector();
+    mContextGenerator.addFeatures(text, features);
+    return categorize(features);
+  }
+
+  /**
+   * Categorizes a document which is read sentence by sentence, only the
+   * counts of the features are kept in memory and not the tokens of the
+   * document.
+   * <p>
+   * The features are generated per sentence, features which span several
+   * tokens, e.g. n-grams, therefore do not cross the sentence boundaries.
+   *
+   * @param sentences the tokens of the sentences of the document
+   *
+   * @return the probabilities of the categories
+   *
+   * @throws IOException if reading the sentences fails
+   */
+  public double[] categorize(ObjectStream<String[]> sentences) throws IOException {
+    SparseFeatureVector features = mContextGenerator.createFeatureVector();
+
+    for (String[] sentence = sentences.read(); sentence != null; sentence = sentences.read()) {
+      mContextGenerator.addFeatures(sentence, features);
+    }
+
+    return categorize(features);
   }
 
   /**
@@ -137,6 +224,29 @@ public class DocumentCategorizerME implements DocumentCategorizer {
     return model.getAllOutcomes(results);
   }
 
+  /**
+   * Retrieves the categories with the highest probabilities.
+   *
+   * @param results the probabilities of the categories, as returned by categorize
+   * @param k the maximal number of categories
+   *
+   * @return the k best categories, the best category first
+   */
+  public ScoredCategory[] getTopCategories(double results[], int k) {
+    ScoredCategory categories[] = new ScoredCategory[results.length];
+
+    for (int i = 0; i < results.length; i++) {
+      categories[i] = new ScoredCategory(model.getOutcome(i), results[i]);
+    }
+
+    Arrays.sort(categories);
+
+    if (k < categories.length)
+      return Arrays.copyOf(categories, k);
+    else
+      return categories;
+  }
+
   /**
    * Trains a new model for the {@link DocumentCategorizerME}.
    *
@@ -160,8 +270,22 @@ public class DocumentCategorizerME implements DocumentCategorizer {
      
      Map<String, String> manifestInfoEntries = new HashMap<String, String>();
      
+     int hashDimension = 0;
+     
+     String hashDimensionParam = mlParams.getSettings().get(FEATURE_HASH_DIMENSION_PARAM);
+     if (hashDimensionParam != null) {
+       hashDimension = Integer.parseInt(hashDimensionParam);
+       
+       if (hashDimension < 0)
+         throw new IllegalArgumentException(FEATURE_HASH_DIMENSION_PARAM +
+             " must not be negative: " + hashDimension);
+       
+       manifestInfoEntries.put(DoccatModel.FEATURE_HASH_DIMENSION_PROPERTY,
+           Integer.toString(hashDimension));
+     }
+     
      AbstractModel model = TrainUtil.train(
-         new DocumentCategorizerEventStream(samples, featureGenerators),
+         new DocumentCategorizerEventStream(samples, hashDimension, featureGenerators),
          mlParams.getSettings(), manifestInfoEntries);
        
      return new DoccatModel(languageCode, model, manifestInfoEntries);
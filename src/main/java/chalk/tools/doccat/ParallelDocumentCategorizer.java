@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.doccat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import chalk.tools.tokenize.SimpleTokenizer;
+import chalk.tools.util.ObjectStream;
+
+/**
+ * A thread safe {@link DocumentCategorizer} which categorizes independent
+ * documents concurrently.
+ * <p>
+ * All threads share one {@link DoccatModel} and one {@link DocumentCategorizerME},
+ * which keeps no state between the documents, the feature generators must
+ * therefore be thread safe, like the default {@link BagOfWordsFeatureGenerator}.
+ * The documents are submitted in batches, the results are returned in the
+ * order of the documents.
+ */
+public class ParallelDocumentCategorizer implements DocumentCategorizer {
+
+  /**
+   * The number of documents which are submitted together by
+   * {@link #categorizeAll(ObjectStream, int)}.
+   */
+  public static final int DEFAULT_BATCH_SIZE = 1000;
+
+  private final DocumentCategorizerME categorizer;
+
+  private final ExecutorService executor;
+
+  /**
+   * Initializes the current instance.
+   *
+   * @param model the doccat model
+   * @param executor the executor which categorizes the documents
+   * @param featureGenerators the thread safe feature generators, the default
+   *     feature generation is used if none are specified
+   */
+  public ParallelDocumentCategorizer(DoccatModel model, ExecutorService executor,
+      FeatureGenerator... featureGenerators) {
+
+    if (featureGenerators.length == 0)
+      categorizer = new DocumentCategorizerME(model);
+    else
+      categorizer = new DocumentCategorizerME(model, featureGenerators);
+
+    this.executor = executor;
+  }
+
+  /**
+   * Initializes the current instance with its own pool of daemon threads
+   * and the default feature generation.
+   *
+   * @param model the doccat model
+   * @param threads the number of threads which categorize the documents
+   */
+  public ParallelDocumentCategorizer(DoccatModel model, int threads) {
+    this(model, Executors.newFixedThreadPool(threads,
+        new ThreadFactory() {
+          public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "ParallelDocumentCategorizer-worker");
+            thread.setDaemon(true);
+            return thread;
+          }
+        }));
+  }
+
+  public double[] categorize(String[] text) {
+    return categorizer.categorize(text);
+  }
+
+  public double[] categorize(String documentText) {
+    return categorizer.categorize(documentText);
+  }
+
+  public String getBestCategory(double[] outcome) {
+    return categorizer.getBestCategory(outcome);
+  }
+
+  public int getIndex(String category) {
+    return categorizer.getIndex(category);
+  }
+
+  public String getCategory(int index) {
+    return categorizer.getCategory(index);
+  }
+
+  public int getNumberOfCategories() {
+    return categorizer.getNumberOfCategories();
+  }
+
+  public String getAllResults(double[] results) {
+    return categorizer.getAllResults(results);
+  }
+
+  /**
+   * See {@link DocumentCategorizerME#getTopCategories(double[], int)}.
+   */
+  public ScoredCategory[] getTopCategories(double[] results, int k) {
+    return categorizer.getTopCategories(results, k);
+  }
+
+  private List<ScoredCategory[]> invokeAll(List<Callable<ScoredCategory[]>> tasks) {
+
+    if (tasks.isEmpty())
+      return Collections.emptyList();
+
+    List<Future<ScoredCategory[]>> futures = new ArrayList<Future<ScoredCategory[]>>(tasks.size());
+
+    List<ScoredCategory[]> results = new ArrayList<ScoredCategory[]>(tasks.size());
+
+    try {
+      for (Callable<ScoredCategory[]> task : tasks) {
+        futures.add(executor.submit(task));
+      }
+
+      for (Future<ScoredCategory[]> future : futures) {
+        results.add(future.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while categorizing documents!", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException)
+        throw (RuntimeException) e.getCause();
+      else
+        throw new IllegalStateException("Failed to categorize documents!", e.getCause());
+    }
+    finally {
+      for (Future<ScoredCategory[]> future : futures) {
+        future.cancel(true);
+      }
+    }
+
+    return results;
+  }
+
+  /**
+   * Categorizes the specified documents concurrently.
+   *
+   * @param documents the tokens of the documents
+   * @param k the maximal number of categories per document
+   *
+   * @return the k best categories of each document, in the order of the documents
+   */
+  public List<ScoredCategory[]> categorizeAll(List<String[]> documents, final int k) {
+    List<Callable<ScoredCategory[]>> tasks =
+        new ArrayList<Callable<ScoredCategory[]>>(documents.size());
+
+    for (final String[] document : documents) {
+      tasks.add(new Callable<ScoredCategory[]>() {
+        public ScoredCategory[] call() {
+          return categorizer.getTopCategories(categorizer.categorize(document), k);
+        }
+      });
+    }
+
+    return invokeAll(tasks);
+  }
+
+  /**
+   * Categorizes the specified documents concurrently, the documents are
+   * tokenized with the {@link SimpleTokenizer} by the worker threads.
+   *
+   * @param documents the texts of the documents
+   * @param k the maximal number of categories per document
+   *
+   * @return the k best categories of each document, in the order of the documents
+   */
+  public List<ScoredCategory[]> categorizeAllText(List<String> documents, final int k) {
+    List<Callable<ScoredCategory[]>> tasks =
+        new ArrayList<Callable<ScoredCategory[]>>(documents.size());
+
+    for (final String document : documents) {
+      tasks.add(new Callable<ScoredCategory[]>() {
+        public ScoredCategory[] call() {
+          return categorizer.getTopCategories(categorizer.categorize(document), k);
+        }
+      });
+    }
+
+    return invokeAll(tasks);
+  }
+
+  /**
+   * Categorizes the documents of the specified stream concurrently. The documents
+   * are read in batches of {@link #DEFAULT_BATCH_SIZE}, only one batch is kept
+   * in memory.
+   *
+   * @param documents the tokens of the documents
+   * @param k the maximal number of categories per document
+   *
+   * @return a stream of the k best categories of each document,
+   *     in the order of the documents
+   */
+  public ObjectStream<ScoredCategory[]> categorizeAll(final ObjectStream<String[]> documents,
+      final int k) {
+
+    return new ObjectStream<ScoredCategory[]>() {
+
+      private Iterator<ScoredCategory[]> batch = Collections.<ScoredCategory[]>emptyList().iterator();
+
+      public ScoredCategory[] read() throws IOException {
+        if (!batch.hasNext()) {
+          List<String[]> texts = new ArrayList<String[]>(DEFAULT_BATCH_SIZE);
+
+          String[] text;
+          while (texts.size() < DEFAULT_BATCH_SIZE && (text = documents.read()) != null) {
+            texts.add(text);
+          }
+
+          batch = categorizeAll(texts, k).iterator();
+        }
+
+        return batch.hasNext() ? batch.next() : null;
+      }
+
+      public void reset() throws IOException, UnsupportedOperationException {
+        documents.reset();
+        batch = Collections.<ScoredCategory[]>emptyList().iterator();
+      }
+
+      public void close() throws IOException {
+        documents.close();
+      }
+    };
+  }
+
+  /**
+   * Shuts down the executor of this categorizer, it must not be used afterwards.
+   */
+  public void shutdown() {
+    executor.shutdown();
+  }
+}
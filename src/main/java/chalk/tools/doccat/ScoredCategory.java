@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.doccat;
+
+/**
+ * A category of a document together with its probability.
+ */
+public class ScoredCategory implements Comparable<ScoredCategory> {
+
+  private final String category;
+
+  private final double score;
+
+  public ScoredCategory(String category, double score) {
+    this.category = category;
+    this.score = score;
+  }
+
+  /**
+   * @return the category
+   */
+  public String getCategory() {
+    return category;
+  }
+
+  /**
+   * @return the probability of the category
+   */
+  public double getScore() {
+    return score;
+  }
+
+  /**
+   * Compares the scores, the category with the higher score comes first.
+   * Note: this ordering is inconsistent with equals, two different
+   * categories with the same score compare as equal.
+   */
+  public int compareTo(ScoredCategory other) {
+    return Double.compare(other.score, score);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    else if (obj instanceof ScoredCategory) {
+      ScoredCategory other = (ScoredCategory) obj;
+
+      return category.equals(other.category) &&
+          Double.compare(score, other.score) == 0;
+    }
+
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    long bits = Double.doubleToLongBits(score);
+    return 31 * category.hashCode() + (int) (bits ^ (bits >>> 32));
+  }
+
+  @Override
+  public String toString() {
+    return category + "[" + score + "]";
+  }
+}
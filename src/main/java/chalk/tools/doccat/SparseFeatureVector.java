@@ -0,0 +1,269 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.doccat;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A sparse vector which counts how often each feature of a document occurs.
+ * <p>
+ * A document repeats its words many times, the vector therefore only holds
+ * the distinct features together with their counts, which are passed as
+ * real valued features to the model. Since a maxent model sums the weights of
+ * its features, a feature with the value n scores exactly like the same
+ * feature repeated n times.
+ * <p>
+ * Optionally the features are hashed into a fixed number of buckets, then a
+ * feature is represented by its bucket, e.g. hash=4711, and only the counts
+ * of the buckets are kept. A model must be trained and used with the same
+ * number of buckets.
+ * <p>
+ * This class is not thread safe.
+ */
+public class SparseFeatureVector {
+
+  /**
+   * The prefix of the hashed features.
+   */
+  public static final String HASH_FEATURE_PREFIX = "hash=";
+
+  private final int dimension;
+
+  // used without hashing
+  private final Map<String, int[]> featureCounts;
+
+  // used with hashing, an open addressing table of the used buckets
+  private int[] buckets;
+  private int[] bucketCounts;
+  private int size;
+
+  /**
+   * Initializes the current instance, the features are not hashed.
+   */
+  public SparseFeatureVector() {
+    this(0);
+  }
+
+  /**
+   * Initializes the current instance.
+   *
+   * @param dimension the number of buckets the features are hashed into,
+   *     or 0 if the features should not be hashed
+   */
+  public SparseFeatureVector(int dimension) {
+    if (dimension < 0)
+      throw new IllegalArgumentException("dimension must not be negative: " + dimension);
+
+    this.dimension = dimension;
+
+    if (dimension == 0) {
+      featureCounts = new HashMap<String, int[]>();
+    }
+    else {
+      featureCounts = null;
+      buckets = new int[16];
+      bucketCounts = new int[16];
+      Arrays.fill(buckets, -1);
+    }
+  }
+
+  /**
+   * Computes the bucket of a feature.
+   *
+   * @param feature the feature
+   * @param dimension the number of buckets
+   *
+   * @return the bucket, between 0 inclusive and dimension exclusive
+   */
+  public static int bucket(String feature, int dimension) {
+    // spreads the bits of the string hash code, similar strings
+    // should not end up in neighboring buckets
+    int h = feature.hashCode();
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    h *= 0xc2b2ae35;
+    h ^= h >>> 16;
+
+    return (h & 0x7fffffff) % dimension;
+  }
+
+  /**
+   * Computes the name of the hashed feature.
+   *
+   * @param feature the feature
+   * @param dimension the number of buckets
+   *
+   * @return the name of the bucket of the feature
+   */
+  public static String hash(String feature, int dimension) {
+    return HASH_FEATURE_PREFIX + bucket(feature, dimension);
+  }
+
+  private void addBucket(int bucket) {
+    int mask = buckets.length - 1;
+    int slot = bucket & mask;
+
+    while (buckets[slot] != -1) {
+      if (buckets[slot] == bucket) {
+        bucketCounts[slot]++;
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    buckets[slot] = bucket;
+    bucketCounts[slot] = 1;
+
+    if (++size * 2 > buckets.length)
+      rehash();
+  }
+
+  private void rehash() {
+    int[] oldBuckets = buckets;
+    int[] oldCounts = bucketCounts;
+
+    buckets = new int[oldBuckets.length * 2];
+    bucketCounts = new int[buckets.length];
+    Arrays.fill(buckets, -1);
+
+    int mask = buckets.length - 1;
+
+    for (int i = 0; i < oldBuckets.length; i++) {
+      if (oldBuckets[i] != -1) {
+        int slot = oldBuckets[i] & mask;
+        while (buckets[slot] != -1) {
+          slot = (slot + 1) & mask;
+        }
+        buckets[slot] = oldBuckets[i];
+        bucketCounts[slot] = oldCounts[i];
+      }
+    }
+  }
+
+  /**
+   * Counts one occurrence of the specified feature.
+   *
+   * @param feature the feature
+   */
+  public void add(String feature) {
+    if (dimension == 0) {
+      int[] count = featureCounts.get(feature);
+
+      if (count == null)
+        featureCounts.put(feature, new int[] {1});
+      else
+        count[0]++;
+    }
+    else {
+      addBucket(bucket(feature, dimension));
+    }
+  }
+
+  /**
+   * Counts one occurrence of each of the specified features.
+   *
+   * @param features the features
+   */
+  public void addAll(Collection<String> features) {
+    for (String feature : features) {
+      add(feature);
+    }
+  }
+
+  /**
+   * @return the number of buckets, or 0 if the features are not hashed
+   */
+  public int getDimension() {
+    return dimension;
+  }
+
+  /**
+   * @return the number of distinct features
+   */
+  public int size() {
+    return dimension == 0 ? featureCounts.size() : size;
+  }
+
+  /**
+   * Retrieves the distinct features, in the same order as the counts
+   * returned by {@link #getCounts()}.
+   *
+   * @return the distinct features
+   */
+  public String[] getFeatures() {
+    String[] features = new String[size()];
+
+    int i = 0;
+    if (dimension == 0) {
+      for (String feature : featureCounts.keySet()) {
+        features[i++] = feature;
+      }
+    }
+    else {
+      for (int bucket : buckets) {
+        if (bucket != -1)
+          features[i++] = HASH_FEATURE_PREFIX + bucket;
+      }
+    }
+
+    return features;
+  }
+
+  /**
+   * Retrieves the counts of the features, in the same order as the features
+   * returned by {@link #getFeatures()}.
+   *
+   * @return the counts of the features
+   */
+  public float[] getCounts() {
+    float[] counts = new float[size()];
+
+    int i = 0;
+    if (dimension == 0) {
+      for (int[] count : featureCounts.values()) {
+        counts[i++] = count[0];
+      }
+    }
+    else {
+      for (int slot = 0; slot < buckets.length; slot++) {
+        if (buckets[slot] != -1)
+          counts[i++] = bucketCounts[slot];
+      }
+    }
+
+    return counts;
+  }
+
+  /**
+   * Removes all features, afterwards the vector can be used for the next document.
+   */
+  public void clear() {
+    if (dimension == 0) {
+      featureCounts.clear();
+    }
+    else {
+      Arrays.fill(buckets, -1);
+      size = 0;
+    }
+  }
+}
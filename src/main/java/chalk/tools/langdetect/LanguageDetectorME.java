@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.langdetect;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import chalk.tools.doccat.DocumentSample;
+import chalk.tools.doccat.ScoredCategory;
+import chalk.tools.util.ObjectStream;
+
+/**
+ * Identifies the language of a text with the character n-gram profiles of a
+ * {@link LanguageDetectorModel}.
+ * <p>
+ * Only the first characters of a text are scored, the language of a document
+ * is usually clear after a few sentences. No tokenization or feature strings
+ * are needed, the detector is therefore cheap enough to route large numbers of
+ * documents to the pipelines of their languages.
+ * <p>
+ * This class is thread safe.
+ */
+public class LanguageDetectorME {
+
+  /**
+   * The default number of characters which are scored.
+   */
+  public static final int DEFAULT_MAX_LENGTH = 4096;
+
+  private final NGramLanguageProfile profile;
+
+  private final int maxLength;
+
+  /**
+   * Initializes the current instance.
+   *
+   * @param model the language detector model
+   * @param maxLength the maximal number of characters of a text which are scored
+   */
+  public LanguageDetectorME(LanguageDetectorModel model, int maxLength) {
+    if (maxLength < 1)
+      throw new IllegalArgumentException("maxLength must be positive: " + maxLength);
+
+    this.profile = model.getProfile();
+    this.maxLength = maxLength;
+  }
+
+  /**
+   * Initializes the current instance, the first {@link #DEFAULT_MAX_LENGTH}
+   * characters of a text are scored.
+   *
+   * @param model the language detector model
+   */
+  public LanguageDetectorME(LanguageDetectorModel model) {
+    this(model, DEFAULT_MAX_LENGTH);
+  }
+
+  /**
+   * Computes the probabilities of the languages of the text.
+   *
+   * @param text the text
+   *
+   * @return the probabilities, in the order of {@link #getLanguages()}
+   */
+  public double[] getProbabilities(CharSequence text) {
+    double[] scores = profile.score(text, maxLength);
+
+    double max = Double.NEGATIVE_INFINITY;
+    for (double score : scores) {
+      max = Math.max(max, score);
+    }
+
+    double sum = 0;
+    for (int i = 0; i < scores.length; i++) {
+      scores[i] = Math.exp(scores[i] - max);
+      sum += scores[i];
+    }
+
+    for (int i = 0; i < scores.length; i++) {
+      scores[i] /= sum;
+    }
+
+    return scores;
+  }
+
+  /**
+   * Identifies the language of the text.
+   *
+   * @param text the text
+   *
+   * @return the most probable language
+   */
+  public String detect(CharSequence text) {
+    double[] scores = profile.score(text, maxLength);
+
+    int best = 0;
+    for (int i = 1; i < scores.length; i++) {
+      if (scores[i] > scores[best])
+        best = i;
+    }
+
+    return profile.getLanguage(best);
+  }
+
+  /**
+   * Retrieves the most probable languages of the text.
+   *
+   * @param text the text
+   * @param k the maximal number of languages
+   *
+   * @return the k most probable languages, the best language first
+   */
+  public ScoredCategory[] detectTop(CharSequence text, int k) {
+    double[] probs = getProbabilities(text);
+
+    ScoredCategory[] languages = new ScoredCategory[probs.length];
+    for (int i = 0; i < probs.length; i++) {
+      languages[i] = new ScoredCategory(profile.getLanguage(i), probs[i]);
+    }
+
+    Arrays.sort(languages);
+
+    if (k < languages.length)
+      return Arrays.copyOf(languages, k);
+    else
+      return languages;
+  }
+
+  /**
+   * @return the languages of the model
+   */
+  public String[] getLanguages() {
+    return profile.getLanguages();
+  }
+
+  /**
+   * Trains the n-gram profiles of the languages. The category of a sample is
+   * its language and its tokens are joined with spaces, e.g. the samples of
+   * the Leipzig corpus.
+   *
+   * @param samples the training samples
+   * @param buckets the number of buckets the n-grams are hashed into
+   * @param maxNGramLength the maximal length of the n-grams
+   *
+   * @return the language detector model
+   *
+   * @throws IOException if reading the samples fails
+   */
+  public static LanguageDetectorModel train(ObjectStream<DocumentSample> samples,
+      final int buckets, int maxNGramLength) throws IOException {
+
+    if (buckets < 1)
+      throw new IllegalArgumentException("buckets must be positive: " + buckets);
+
+    if (maxNGramLength < 1)
+      throw new IllegalArgumentException("maxNGramLength must be positive: " + maxNGramLength);
+
+    Map<String, Integer> languageIndex = new HashMap<String, Integer>();
+    List<String> languages = new ArrayList<String>();
+    final List<int[]> counts = new ArrayList<int[]>();
+    List<long[]> totals = new ArrayList<long[]>();
+
+    StringBuilder text = new StringBuilder();
+
+    for (DocumentSample sample = samples.read(); sample != null; sample = samples.read()) {
+      Integer index = languageIndex.get(sample.getCategory());
+
+      if (index == null) {
+        index = languages.size();
+        languageIndex.put(sample.getCategory(), index);
+        languages.add(sample.getCategory());
+        counts.add(new int[buckets]);
+        totals.add(new long[1]);
+      }
+
+      text.setLength(0);
+      for (String token : sample.getText()) {
+        text.append(token).append(' ');
+      }
+
+      final int[] languageCounts = counts.get(index);
+      final long[] total = totals.get(index);
+
+      NGramLanguageProfile.forEachNGram(text, Integer.MAX_VALUE, maxNGramLength, buckets,
+          new NGramLanguageProfile.NGramConsumer() {
+            public void add(int bucket) {
+              languageCounts[bucket]++;
+              total[0]++;
+            }
+          });
+    }
+
+    if (languages.isEmpty())
+      throw new IllegalArgumentException("samples must not be empty!");
+
+    int numLanguages = languages.size();
+    float[] weights = new float[buckets * numLanguages];
+
+    // add one smoothing, unseen n-grams get a small probability
+    for (int li = 0; li < numLanguages; li++) {
+      int[] languageCounts = counts.get(li);
+      double logTotal = Math.log(totals.get(li)[0] + buckets);
+
+      for (int bucket = 0; bucket < buckets; bucket++) {
+        weights[bucket * numLanguages + li] =
+            (float) (Math.log(languageCounts[bucket] + 1) - logTotal);
+      }
+    }
+
+    return new LanguageDetectorModel(new NGramLanguageProfile(
+        languages.toArray(new String[numLanguages]), maxNGramLength, buckets, weights));
+  }
+
+  /**
+   * Trains the n-gram profiles of the languages with {@link NGramLanguageProfile#DEFAULT_BUCKETS}
+   * buckets and n-grams up to {@link NGramLanguageProfile#DEFAULT_MAX_NGRAM_LENGTH}.
+   *
+   * @param samples the training samples
+   *
+   * @return the language detector model
+   *
+   * @throws IOException if reading the samples fails
+   */
+  public static LanguageDetectorModel train(ObjectStream<DocumentSample> samples)
+      throws IOException {
+    return train(samples, NGramLanguageProfile.DEFAULT_BUCKETS,
+        NGramLanguageProfile.DEFAULT_MAX_NGRAM_LENGTH);
+  }
+}
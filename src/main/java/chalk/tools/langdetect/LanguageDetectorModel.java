@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.langdetect;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.util.Map;
+
+import chalk.tools.util.InvalidFormatException;
+import chalk.tools.util.model.ArtifactSerializer;
+import chalk.tools.util.model.BaseModel;
+
+/**
+ * The model of the {@link LanguageDetectorME}, it contains the
+ * {@link NGramLanguageProfile} of the languages.
+ */
+public class LanguageDetectorModel extends BaseModel {
+
+  private static class NGramLanguageProfileSerializer
+      implements ArtifactSerializer<NGramLanguageProfile> {
+
+    public NGramLanguageProfile create(InputStream in) throws IOException,
+        InvalidFormatException {
+      return NGramLanguageProfile.create(in);
+    }
+
+    public void serialize(NGramLanguageProfile artifact, OutputStream out)
+        throws IOException {
+      artifact.serialize(out);
+    }
+  }
+
+  private static final String COMPONENT_NAME = "LanguageDetectorME";
+
+  private static final String PROFILE_ENTRY_NAME = "langdetect.ngramprofile";
+
+  /**
+   * The language code of the model, which covers multiple languages.
+   */
+  static final String LANGUAGE_CODE = "mul";
+
+  public LanguageDetectorModel(NGramLanguageProfile profile,
+      Map<String, String> manifestInfoEntries) {
+    super(COMPONENT_NAME, LANGUAGE_CODE, manifestInfoEntries);
+
+    artifactMap.put(PROFILE_ENTRY_NAME, profile);
+    checkArtifactMap();
+  }
+
+  public LanguageDetectorModel(NGramLanguageProfile profile) {
+    this(profile, null);
+  }
+
+  public LanguageDetectorModel(InputStream in) throws IOException, InvalidFormatException {
+    super(COMPONENT_NAME, in);
+  }
+
+  public LanguageDetectorModel(File modelFile) throws IOException, InvalidFormatException {
+    super(COMPONENT_NAME, modelFile);
+  }
+
+  public LanguageDetectorModel(URL modelURL) throws IOException, InvalidFormatException {
+    super(COMPONENT_NAME, modelURL);
+  }
+
+  @Override
+  @SuppressWarnings("rawtypes")
+  protected void createArtifactSerializers(Map<String, ArtifactSerializer> serializers) {
+    super.createArtifactSerializers(serializers);
+
+    serializers.put("ngramprofile", new NGramLanguageProfileSerializer());
+  }
+
+  @Override
+  protected void validateArtifactMap() throws InvalidFormatException {
+    super.validateArtifactMap();
+
+    if (!(artifactMap.get(PROFILE_ENTRY_NAME) instanceof NGramLanguageProfile)) {
+      throw new InvalidFormatException("Language detector model is incomplete!");
+    }
+  }
+
+  public NGramLanguageProfile getProfile() {
+    return (NGramLanguageProfile) artifactMap.get(PROFILE_ENTRY_NAME);
+  }
+}
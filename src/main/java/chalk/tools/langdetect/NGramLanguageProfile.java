@@ -0,0 +1,274 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.langdetect;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import chalk.tools.util.InvalidFormatException;
+
+/**
+ * The character n-gram profiles of a set of languages.
+ * <p>
+ * The text is lower cased and every sequence of characters which are not letters
+ * is replaced by a single space, then the character n-grams up to a maximal length
+ * are hashed into a fixed number of buckets. A profile stores for every bucket
+ * and language the log probability that an n-gram of the language falls into the
+ * bucket, a text is scored with the sum over its n-grams, like a naive Bayes
+ * classifier. The hashes of the n-grams are rolled along the text, no strings are
+ * created during scoring.
+ * <p>
+ * This class is immutable and thread safe.
+ */
+public class NGramLanguageProfile {
+
+  private static final int MAGIC = 0x4c4e4731; // LNG1
+
+  /**
+   * The default number of buckets.
+   */
+  public static final int DEFAULT_BUCKETS = 1 << 16;
+
+  /**
+   * The default maximal length of the n-grams.
+   */
+  public static final int DEFAULT_MAX_NGRAM_LENGTH = 3;
+
+  private final String[] languages;
+
+  private final int maxNGramLength;
+
+  private final int buckets;
+
+  // the weights of a bucket are stored next to each other, index is bucket * languages + language
+  private final float[] weights;
+
+  NGramLanguageProfile(String[] languages, int maxNGramLength, int buckets, float[] weights) {
+    if (weights.length != languages.length * buckets)
+      throw new IllegalArgumentException("weights must have one entry per bucket and language!");
+
+    this.languages = languages;
+    this.maxNGramLength = maxNGramLength;
+    this.buckets = buckets;
+    this.weights = weights;
+  }
+
+  /**
+   * Receives the buckets of the n-grams of a text.
+   */
+  interface NGramConsumer {
+    void add(int bucket);
+  }
+
+  private static int normalize(char c) {
+    if (Character.isLetter(c))
+      return Character.toLowerCase(c);
+    else
+      return ' ';
+  }
+
+  private static int mix(int h) {
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    h *= 0xc2b2ae35;
+    h ^= h >>> 16;
+    return h;
+  }
+
+  /**
+   * Computes the buckets of the n-grams of the first characters of the text.
+   *
+   * @param text the text
+   * @param maxLength the maximal number of characters which are read
+   * @param maxNGramLength the maximal length of the n-grams
+   * @param buckets the number of buckets
+   * @param consumer receives the bucket of every n-gram
+   */
+  static void forEachNGram(CharSequence text, int maxLength, int maxNGramLength, int buckets,
+      NGramConsumer consumer) {
+
+    int length = Math.min(text.length(), maxLength);
+
+    // the last characters of the text, window[0] is the newest,
+    // the text starts at a word boundary
+    int[] window = new int[maxNGramLength];
+    window[0] = ' ';
+    int available = 1;
+
+    int previous = ' ';
+
+    for (int i = 0; i <= length; i++) {
+      // and it ends at a word boundary
+      int c = i < length ? normalize(text.charAt(i)) : ' ';
+
+      if (c == ' ' && previous == ' ')
+        continue;
+
+      previous = c;
+
+      System.arraycopy(window, 0, window, 1, maxNGramLength - 1);
+      window[0] = c;
+
+      if (available < maxNGramLength)
+        available++;
+
+      int hash = 0;
+      for (int n = 1; n <= available; n++) {
+        hash = hash * 31 + window[n - 1];
+
+        // a single space is not an n-gram
+        if (n == 1 && c == ' ')
+          continue;
+
+        consumer.add((mix(hash * 31 + n) & 0x7fffffff) % buckets);
+      }
+    }
+  }
+
+  /**
+   * @return the languages of this profile
+   */
+  public String[] getLanguages() {
+    return languages.clone();
+  }
+
+  /**
+   * @return the number of languages
+   */
+  public int getNumberOfLanguages() {
+    return languages.length;
+  }
+
+  /**
+   * @param index the index of the language
+   *
+   * @return the language
+   */
+  public String getLanguage(int index) {
+    return languages[index];
+  }
+
+  /**
+   * @return the maximal length of the n-grams
+   */
+  public int getMaxNGramLength() {
+    return maxNGramLength;
+  }
+
+  /**
+   * @return the number of buckets the n-grams are hashed into
+   */
+  public int getNumberOfBuckets() {
+    return buckets;
+  }
+
+  /**
+   * Computes the log probability of the first characters of the text for each language.
+   *
+   * @param text the text
+   * @param maxLength the maximal number of characters which are scored
+   *
+   * @return the log probabilities, in the order of {@link #getLanguages()}
+   */
+  public double[] score(CharSequence text, int maxLength) {
+    final double[] scores = new double[languages.length];
+    final int numLanguages = languages.length;
+
+    forEachNGram(text, maxLength, maxNGramLength, buckets, new NGramConsumer() {
+      public void add(int bucket) {
+        int offset = bucket * numLanguages;
+        for (int li = 0; li < numLanguages; li++) {
+          scores[li] += weights[offset + li];
+        }
+      }
+    });
+
+    return scores;
+  }
+
+  /**
+   * Writes the profile to the stream, the stream remains open.
+   *
+   * @param out the stream
+   *
+   * @throws IOException if writing fails
+   */
+  public void serialize(OutputStream out) throws IOException {
+    DataOutputStream data = new DataOutputStream(out);
+
+    data.writeInt(MAGIC);
+    data.writeInt(languages.length);
+    for (String language : languages) {
+      data.writeUTF(language);
+    }
+    data.writeInt(maxNGramLength);
+    data.writeInt(buckets);
+
+    ByteBuffer buffer = ByteBuffer.allocate(weights.length * 4);
+    buffer.asFloatBuffer().put(weights);
+    data.write(buffer.array());
+
+    data.flush();
+  }
+
+  /**
+   * Reads a profile from the stream, the stream remains open.
+   *
+   * @param in the stream
+   *
+   * @return the profile
+   *
+   * @throws IOException if reading fails
+   * @throws InvalidFormatException if the stream does not contain a profile
+   */
+  public static NGramLanguageProfile create(InputStream in) throws IOException {
+    DataInputStream data = new DataInputStream(in);
+
+    if (data.readInt() != MAGIC)
+      throw new InvalidFormatException("Not a language profile!");
+
+    int numLanguages = data.readInt();
+    if (numLanguages < 1)
+      throw new InvalidFormatException("Invalid number of languages: " + numLanguages);
+
+    String[] languages = new String[numLanguages];
+    for (int i = 0; i < numLanguages; i++) {
+      languages[i] = data.readUTF();
+    }
+
+    int maxNGramLength = data.readInt();
+    int buckets = data.readInt();
+
+    if (maxNGramLength < 1 || buckets < 1 || (long) buckets * numLanguages * 4 > Integer.MAX_VALUE)
+      throw new InvalidFormatException("Invalid language profile dimensions!");
+
+    byte[] bytes = new byte[numLanguages * buckets * 4];
+    data.readFully(bytes);
+
+    float[] weights = new float[numLanguages * buckets];
+    ByteBuffer.wrap(bytes).asFloatBuffer().get(weights);
+
+    return new NGramLanguageProfile(languages, maxNGramLength, buckets, weights);
+  }
+}
@@ -23,11 +23,11 @@ import java.util.List;
 import chalk.tools.util.featuregen.AdaptiveFeatureGenerator;
 import chalk.tools.util.featuregen.BigramNameFeatureGenerator;
 import chalk.tools.util.featuregen.CachedFeatureGenerator;
-import chalk.tools.util.featuregen.FeatureGeneratorUtil;
 import chalk.tools.util.featuregen.OutcomePriorFeatureGenerator;
 import chalk.tools.util.featuregen.PreviousMapFeatureGenerator;
 import chalk.tools.util.featuregen.TokenClassFeatureGenerator;
 import chalk.tools.util.featuregen.TokenFeatureGenerator;
+import chalk.tools.util.featuregen.TokenInfo;
 import chalk.tools.util.featuregen.WindowFeatureGenerator;
 
 
@@ -132,7 +132,7 @@ public class DefaultNameContextGenerator implements NameContextGenerator {
     }
     features.add("po=" + po);
     features.add("pow=" + po + "," + tokens[index]);
-    features.add("powf=" + po + "," + FeatureGeneratorUtil.tokenFeature(tokens[index]));
+    features.add("powf=" + po + "," + TokenInfo.get(tokens, index).getTokenClass());
     features.add("ppo=" + ppo);
 
     return features.toArray(new String[features.size()]);
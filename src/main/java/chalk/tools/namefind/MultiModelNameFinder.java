@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package chalk.tools.namefind;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import chalk.tools.util.Span;
+import chalk.tools.util.featuregen.AdaptiveFeatureGenerator;
+import chalk.tools.util.featuregen.FeatureGeneratorPlan;
+
+/**
+ * A name finder which runs several {@link TokenNameFinderModel}s, e.g. one for
+ * person and one for location names, over the same sentences.
+ * <p>
+ * The models are grouped by their feature generator descriptor, models without
+ * a descriptor use the default feature generation. Within a group the features
+ * which only depend on the sentence, e.g. the token and token class features in
+ * a window, are computed once per sentence and shared by all models. Only the
+ * features which depend on the previous outcomes or the adaptive data of a model
+ * are computed per model, therefore the found names are the same as with
+ * separate {@link NameFinderME}s.
+ * <p>
+ * The models can optionally be run concurrently on an {@link ExecutorService}.
+ * This class is not thread safe.
+ */
+public class MultiModelNameFinder implements TokenNameFinder {
+
+  private static final String[][] EMPTY = new String[0][0];
+
+  private static class FeatureGroup {
+
+    private final byte[] descriptor;
+
+    private final FeatureGeneratorPlan plan;
+
+    private final FeatureGeneratorPlan.SharedFeatures sharedFeatures;
+
+    FeatureGroup(byte[] descriptor, FeatureGeneratorPlan plan,
+        FeatureGeneratorPlan.SharedFeatures sharedFeatures) {
+      this.descriptor = descriptor;
+      this.plan = plan;
+      this.sharedFeatures = sharedFeatures;
+    }
+  }
+
+  private final List<FeatureGroup> featureGroups = new ArrayList<FeatureGroup>();
+
+  private final NameFinderME[] nameFinders;
+
+  private final ExecutorService executor;
+
+  /**
+   * Initializes the current instance.
+   *
+   * @param models the name finder models
+   * @param beamSize the beam size of the name finders
+   * @param executor the executor which runs the models concurrently,
+   *     or null to run them one after another
+   */
+  public MultiModelNameFinder(TokenNameFinderModel[] models, int beamSize,
+      ExecutorService executor) {
+
+    if (models.length == 0)
+      throw new IllegalArgumentException("at least one model is required!");
+
+    this.executor = executor;
+
+    nameFinders = new NameFinderME[models.length];
+
+    for (int i = 0; i < models.length; i++) {
+      byte[] descriptor = models[i].getGeneratorDescriptor();
+
+      AdaptiveFeatureGenerator generator = createFeatureGeneratorTree(models[i]);
+
+      FeatureGroup group = getFeatureGroup(descriptor, generator, models[i]);
+
+      nameFinders[i] = new NameFinderME(models[i],
+          group.plan.createFeatureGenerator(generator, group.sharedFeatures), beamSize);
+    }
+  }
+
+  /**
+   * Initializes the current instance with the default beam size, the
+   * models are run one after another.
+   *
+   * @param models the name finder models
+   */
+  public MultiModelNameFinder(TokenNameFinderModel... models) {
+    this(models, NameFinderME.DEFAULT_BEAM_SIZE, null);
+  }
+
+  private static AdaptiveFeatureGenerator createFeatureGeneratorTree(TokenNameFinderModel model) {
+    AdaptiveFeatureGenerator generator = model.createFeatureGeneratorTree();
+
+    if (generator == null)
+      generator = NameFinderME.createFeatureGenerator();
+
+    return generator;
+  }
+
+  private FeatureGroup getFeatureGroup(byte[] descriptor, AdaptiveFeatureGenerator generator,
+      TokenNameFinderModel model) {
+
+    for (FeatureGroup group : featureGroups) {
+      if (Arrays.equals(group.descriptor, descriptor))
+        return group;
+    }
+
+    FeatureGeneratorPlan plan;
+
+    if (descriptor != null)
+      plan = FeatureGeneratorPlan.compile(generator);
+    else
+      plan = NameFinderME.DEFAULT_GENERATOR_PLAN;
+
+    FeatureGroup group = new FeatureGroup(descriptor, plan,
+        plan.createSharedFeatures(createFeatureGeneratorTree(model)));
+
+    featureGroups.add(group);
+
+    return group;
+  }
+
+  /**
+   * @return the number of distinct feature generator configurations of the models
+   */
+  public int getNumberOfFeatureGroups() {
+    return featureGroups.size();
+  }
+
+  public Span[] find(String[] tokens) {
+    return find(tokens, EMPTY);
+  }
+
+  /**
+   * Finds the names of all models in the specified sentence.
+   *
+   * @param tokens the tokens of the sentence
+   * @param additionalContext features which are based on context outside
+   *     of the sentence but which should also be used
+   *
+   * @return the names of all models, sorted by their position in the sentence
+   */
+  public Span[] find(final String[] tokens, final String[][] additionalContext) {
+
+    for (FeatureGroup group : featureGroups) {
+      group.sharedFeatures.compute(tokens);
+    }
+
+    List<Span> names = new ArrayList<Span>();
+
+    if (executor == null) {
+      for (NameFinderME nameFinder : nameFinders) {
+        Collections.addAll(names, nameFinder.find(tokens, additionalContext));
+      }
+    }
+    else {
+      List<Future<Span[]>> futures = new ArrayList<Future<Span[]>>(nameFinders.length);
+
+      for (final NameFinderME nameFinder : nameFinders) {
+        futures.add(executor.submit(new Callable<Span[]>() {
+          public Span[] call() {
+            return nameFinder.find(tokens, additionalContext);
+          }
+        }));
+      }
+
+      try {
+        for (Future<Span[]> future : futures) {
+          Collections.addAll(names, future.get());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while finding names!", e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException)
+          throw (RuntimeException) e.getCause();
+        else
+          throw new IllegalStateException("Failed to find names!", e.getCause());
+      }
+      finally {
+        for (Future<Span[]> future : futures) {
+          future.cancel(true);
+        }
+      }
+    }
+
+    Collections.sort(names);
+
+    return names.toArray(new Span[names.size()]);
+  }
+
+  public void clearAdaptiveData() {
+    for (NameFinderME nameFinder : nameFinders) {
+      nameFinder.clearAdaptiveData();
+    }
+  }
+}
@@ -25,6 +25,7 @@ import java.util.Map;
 import nak.model.Event;
 import nak.model.EventStream;
 import chalk.tools.util.ObjectStream;
+import chalk.tools.util.ParallelEventStream;
 import chalk.tools.util.PlainTextByLineStream;
 import chalk.tools.util.Span;
 import chalk.tools.util.featuregen.AdditionalContextFeatureGenerator;
@@ -37,6 +38,19 @@ import chalk.tools.util.featuregen.WindowFeatureGenerator;
  */
 public class NameFinderEventStream extends chalk.tools.util.AbstractEventStream<NameSample> {
 
+  /**
+   * Starts a new document at every sample which clears the adaptive data,
+   * to be used with the {@link ParallelEventStream}. The samples are not split
+   * any further, because that would change the previous map features, a corpus
+   * without such samples is one document.
+   */
+  public static final ParallelEventStream.DocumentBoundary<NameSample> DOCUMENT_BOUNDARY =
+      new ParallelEventStream.DocumentBoundary<NameSample>() {
+    public boolean isDocumentStart(NameSample sample) {
+      return sample.isClearAdaptiveDataSet();
+    }
+  };
+
   private NameContextGenerator contextGenerator;
 
   private AdditionalContextFeatureGenerator additionalContextFeatureGenerator = new AdditionalContextFeatureGenerator();
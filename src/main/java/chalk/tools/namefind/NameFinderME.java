@@ -37,8 +37,11 @@ import nak.model.EventStream;
 import nak.model.MaxentModel;
 import nak.model.TrainUtil;
 import nak.model.TwoPassDataIndexer;
+import chalk.tools.util.AbstractEventStream;
 import chalk.tools.util.BeamSearch;
+import chalk.tools.util.CollectionObjectStream;
 import chalk.tools.util.ObjectStream;
+import chalk.tools.util.ParallelEventStream;
 import chalk.tools.util.Sequence;
 import chalk.tools.util.SequenceValidator;
 import chalk.tools.util.Span;
@@ -47,6 +50,7 @@ import chalk.tools.util.featuregen.AdaptiveFeatureGenerator;
 import chalk.tools.util.featuregen.AdditionalContextFeatureGenerator;
 import chalk.tools.util.featuregen.BigramNameFeatureGenerator;
 import chalk.tools.util.featuregen.CachedFeatureGenerator;
+import chalk.tools.util.featuregen.FeatureGeneratorPlan;
 import chalk.tools.util.featuregen.FeatureGeneratorResourceProvider;
 import chalk.tools.util.featuregen.GeneratorFactory;
 import chalk.tools.util.featuregen.OutcomePriorFeatureGenerator;
@@ -104,7 +108,7 @@ public class NameFinderME implements TokenNameFinder {
       AdaptiveFeatureGenerator featureGenerator = model.createFeatureGenerators();
 
       if (featureGenerator == null)
-        featureGenerator = createFeatureGenerator();
+        featureGenerator = DEFAULT_GENERATOR_PLAN.createFeatureGenerator(createFeatureGenerator());
 
       contextGenerator = new DefaultNameContextGenerator(featureGenerator);
     }
@@ -168,7 +172,10 @@ public class NameFinderME implements TokenNameFinder {
         new NameFinderSequenceValidator(), beamSize);
   }
 
-  private static AdaptiveFeatureGenerator createFeatureGenerator() {
+  static final FeatureGeneratorPlan DEFAULT_GENERATOR_PLAN =
+      FeatureGeneratorPlan.compile(createFeatureGenerator());
+
+  static AdaptiveFeatureGenerator createFeatureGenerator() {
    return new CachedFeatureGenerator(
          new AdaptiveFeatureGenerator[]{
            new WindowFeatureGenerator(new TokenFeatureGenerator(), 2, 2),
@@ -358,19 +365,28 @@ public class NameFinderME implements TokenNameFinder {
      else
        featureGenerator = createFeatureGenerator();
 
-     AbstractModel nameFinderModel;
-
      if (!TrainUtil.isSequenceTraining(trainParams.getSettings())) {
        EventStream eventStream = new NameFinderEventStream(samples, type,
            new DefaultNameContextGenerator(featureGenerator));
 
-       nameFinderModel = TrainUtil.train(eventStream, trainParams.getSettings(), manifestInfoEntries);
+       return train(languageCode, eventStream, trainParams, resources);
      }
-     else {
-       NameSampleSequenceStream ss = new NameSampleSequenceStream(samples, featureGenerator);
 
-       nameFinderModel = TrainUtil.train(ss, trainParams.getSettings(), manifestInfoEntries);
-     }
+     NameSampleSequenceStream ss = new NameSampleSequenceStream(samples, featureGenerator);
+
+     AbstractModel nameFinderModel = TrainUtil.train(ss, trainParams.getSettings(), manifestInfoEntries);
+
+     return new TokenNameFinderModel(languageCode, nameFinderModel,
+         resources, manifestInfoEntries);
+   }
+
+   private static TokenNameFinderModel train(String languageCode, EventStream eventStream,
+       TrainingParameters trainParams, Map<String, Object> resources) throws IOException {
+
+     Map<String, String> manifestInfoEntries = new HashMap<String, String>();
+
+     AbstractModel nameFinderModel = TrainUtil.train(eventStream,
+         trainParams.getSettings(), manifestInfoEntries);
 
      return new TokenNameFinderModel(languageCode, nameFinderModel,
          resources, manifestInfoEntries);
@@ -378,6 +394,11 @@ public class NameFinderME implements TokenNameFinder {
 
   /**
    * Trains a name finder model.
+   * <p>
+   * If more than one thread is configured in the training parameters the events
+   * are generated in parallel, one document per thread. A document starts at every
+   * sample which clears the adaptive data, a corpus without such samples is a single
+   * document and its events are generated by one thread only.
    *
    * @param languageCode
    *          the language of the training data
@@ -396,13 +417,42 @@ public class NameFinderME implements TokenNameFinder {
    *
    * @throws IOException
    */
-  public static TokenNameFinderModel train(String languageCode, String type,
+  public static TokenNameFinderModel train(String languageCode, final String type,
       ObjectStream<NameSample> samples, TrainingParameters trainParams,
-      byte[] featureGeneratorBytes, final Map<String, Object> resources)
+      final byte[] featureGeneratorBytes, final Map<String, Object> resources)
       throws IOException {
 
-    TokenNameFinderModel model = train(languageCode, type, samples, trainParams,
-        createFeatureGenerator(featureGeneratorBytes, resources), resources);
+    TokenNameFinderModel model;
+
+    // The feature generators can only be created multiple times from
+    // the descriptor, in that case the events are generated in parallel
+    if (trainParams.threads() > 1 && !TrainUtil.isSequenceTraining(trainParams.getSettings())) {
+
+      if (languageCode == null) {
+        throw new IllegalArgumentException("languageCode must not be null!");
+      }
+
+      EventStream eventStream = new ParallelEventStream<NameSample>(samples,
+          new ParallelEventStream.EventStreamFactory<NameSample>() {
+        public AbstractEventStream<NameSample> createEventStream() throws IOException {
+          AdaptiveFeatureGenerator featureGenerator =
+              createFeatureGenerator(featureGeneratorBytes, resources);
+
+          if (featureGenerator == null)
+            featureGenerator = createFeatureGenerator();
+
+          return new NameFinderEventStream(
+              new CollectionObjectStream<NameSample>(Collections.<NameSample>emptyList()),
+              type, new DefaultNameContextGenerator(featureGenerator));
+        }
+      }, NameFinderEventStream.DOCUMENT_BOUNDARY, trainParams.threads());
+
+      model = train(languageCode, eventStream, trainParams, resources);
+    }
+    else {
+      model = train(languageCode, type, samples, trainParams,
+          createFeatureGenerator(featureGeneratorBytes, resources), resources);
+    }
 
     // place the descriptor in the model
     if (featureGeneratorBytes != null) {
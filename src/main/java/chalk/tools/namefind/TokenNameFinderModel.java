@@ -34,6 +34,7 @@ import nak.model.MaxentModel;
 import chalk.tools.util.InvalidFormatException;
 import chalk.tools.util.featuregen.AdaptiveFeatureGenerator;
 import chalk.tools.util.featuregen.AggregatedFeatureGenerator;
+import chalk.tools.util.featuregen.FeatureGeneratorPlan;
 import chalk.tools.util.featuregen.FeatureGeneratorResourceProvider;
 import chalk.tools.util.featuregen.GeneratorFactory;
 import chalk.tools.util.model.ArtifactSerializer;
@@ -72,6 +73,8 @@ public class TokenNameFinderModel extends BaseModel {
   private static final String MAXENT_MODEL_ENTRY_NAME = "nameFinder.model";
  
   private static final String GENERATOR_DESCRIPTOR_ENTRY_NAME = "generator.featuregen";
+
+  private volatile FeatureGeneratorPlan generatorPlan;
  
   public TokenNameFinderModel(String languageCode, AbstractModel nameFinderModel,
       byte[] generatorDescriptor, Map<String, Object> resources, Map<String, String> manifestInfoEntries) {
@@ -134,13 +137,48 @@ public class TokenNameFinderModel extends BaseModel {
    * is a set of generators contained in the {@link AggregatedFeatureGenerator}.
    *
    * Note:
-   * The generators are created on every call to this method.
+   * The generators are created on every call to this method, but the
+   * {@link FeatureGeneratorPlan} which executes them is only compiled once
+   * per model.
    *
    * @return the feature generator or null if there is no descriptor in the model
    */
   public AdaptiveFeatureGenerator createFeatureGenerators() {
 
-    byte descriptorBytes[] = (byte[]) artifactMap.get(GENERATOR_DESCRIPTOR_ENTRY_NAME);
+    AdaptiveFeatureGenerator generator = createFeatureGeneratorTree();
+
+    if (generator != null) {
+      FeatureGeneratorPlan plan = generatorPlan;
+
+      if (plan == null) {
+        plan = FeatureGeneratorPlan.compile(generator);
+        generatorPlan = plan;
+      }
+
+      return plan.createFeatureGenerator(generator);
+    }
+    else {
+      return null;
+    }
+  }
+
+  /**
+   * Retrieves the feature generator descriptor.
+   *
+   * @return the descriptor or null if there is no descriptor in the model
+   */
+  byte[] getGeneratorDescriptor() {
+    return (byte[]) artifactMap.get(GENERATOR_DESCRIPTOR_ENTRY_NAME);
+  }
+
+  /**
+   * Creates the tree of feature generators as specified by the descriptor.
+   *
+   * @return the feature generator or null if there is no descriptor in the model
+   */
+  AdaptiveFeatureGenerator createFeatureGeneratorTree() {
+
+    byte descriptorBytes[] = getGeneratorDescriptor();
     
     if (descriptorBytes != null) {
       InputStream descriptorIn = new ByteArrayInputStream(descriptorBytes);
@@ -169,7 +207,7 @@ public class TokenNameFinderModel extends BaseModel {
       } catch (IOException e) {
         throw new IllegalStateException("Reading from mem cannot result in an I/O error", e);
       }
-  
+
       return generator;
     }
     else {
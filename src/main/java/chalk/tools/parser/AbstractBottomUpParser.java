@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.Set;
 
 import chalk.tools.chunker.Chunker;
@@ -35,6 +36,8 @@ import chalk.tools.util.Sequence;
 import chalk.tools.util.Span;
 import chalk.tools.util.StringList;
 import chalk.tools.util.TrainingParameters;
+import chalk.tools.util.metrics.TraceEvent;
+import chalk.tools.util.metrics.Tracing;
 
 
 /**
@@ -173,7 +176,45 @@ public abstract class AbstractBottomUpParser implements Parser {
    */
   protected boolean debugOn = false;
 
+  /**
+   * Specifies whether derivations are pruned during the search.
+   */
+  protected boolean prune = false;
+
+  /**
+   * The maximum difference in log probability between the best derivation of a
+   * derivation stage and a derivation which is still advanced when pruning is on.
+   */
+  protected double pruneThreshold = Double.POSITIVE_INFINITY;
+
+  /**
+   * Caches the evaluations of the build model within a sentence, null if caching is off.
+   */
+  protected EvaluationCache buildCache;
+
+  /**
+   * Caches the evaluations of the check model within a sentence, null if caching is off.
+   */
+  protected EvaluationCache checkCache;
+
+  /**
+   * The number of derivations which have been advanced.
+   */
+  protected long numberOfExpandedDerivations;
+
+  /**
+   * The number of derivations which have been pruned.
+   */
+  protected long numberOfPrunedDerivations;
+
+  /**
+   * The identity of the model in the trace events, sub-classes should
+   * set it to the identity of their build model.
+   */
+  protected String modelId;
+
   public AbstractBottomUpParser(POSTagger tagger, Chunker chunker, HeadRules headRules, int beamSize, double advancePercentage) {
+    this.modelId = Tracing.getModelId(this);
     this.tagger = tagger;
     this.chunker = chunker;
     this.M = beamSize;
@@ -196,6 +237,89 @@ public abstract class AbstractBottomUpParser implements Parser {
     this.reportFailedParse = errorReporting;
   }
 
+  /**
+   * Specifies whether the search should prune derivations. A derivation is pruned if
+   * its probability is already lower than the probability of the worst of the requested
+   * number of complete parses, since the probability of a derivation can only decrease
+   * as it is advanced this does not change the result of the search. In addition
+   * derivations whose log probability is more than <code>threshold</code> below the best
+   * derivation of the same derivation stage are not advanced.
+   *
+   * @param prune If true derivations are pruned, false otherwise.
+   * @param threshold The maximum difference in log probability to the best derivation of a stage,
+   *     {@link Double#POSITIVE_INFINITY} only prunes against the complete parses.
+   */
+  public void setPruning(boolean prune, double threshold) {
+    if (threshold < 0) {
+      throw new IllegalArgumentException("threshold must not be negative: " + threshold);
+    }
+    this.prune = prune;
+    this.pruneThreshold = threshold;
+  }
+
+  /**
+   * Specifies whether the contexts and outcome probabilities of the build and check
+   * models should be cached within a sentence. Derivations in the beam often share the
+   * constituents around the node which is advanced, for those the context is only
+   * generated and evaluated once.
+   *
+   * @param cache If true evaluations are cached, false otherwise.
+   */
+  public void setEvaluationCaching(boolean cache) {
+    if (cache) {
+      buildCache = new EvaluationCache();
+      checkCache = new EvaluationCache();
+    }
+    else {
+      buildCache = null;
+      checkCache = null;
+    }
+  }
+
+  /**
+   * Retrieves the number of model evaluations which were answered from the cache.
+   *
+   * @return the number of cache hits or 0 if caching is off
+   */
+  public long getNumberOfCacheHits() {
+    if (buildCache != null)
+      return buildCache.getNumberOfHits() + checkCache.getNumberOfHits();
+    else
+      return 0;
+  }
+
+  /**
+   * Retrieves the number of model evaluations which were not answered from the cache.
+   *
+   * @return the number of cache misses or 0 if caching is off
+   */
+  public long getNumberOfCacheMisses() {
+    if (buildCache != null)
+      return buildCache.getNumberOfMisses() + checkCache.getNumberOfMisses();
+    else
+      return 0;
+  }
+
+  /**
+   * Retrieves the number of derivations which have been advanced since this parser
+   * was created.
+   *
+   * @return the number of expanded derivations
+   */
+  public long getNumberOfExpandedDerivations() {
+    return numberOfExpandedDerivations;
+  }
+
+  /**
+   * Retrieves the number of derivations which have been pruned since this parser
+   * was created.
+   *
+   * @return the number of pruned derivations
+   */
+  public long getNumberOfPrunedDerivations() {
+    return numberOfPrunedDerivations;
+  }
+
   /**
    * Assigns parent references for the specified parse so that they
    * are consistent with the children references.
@@ -264,31 +388,54 @@ public abstract class AbstractBottomUpParser implements Parser {
   protected abstract void advanceTop(Parse p);
 
   public Parse[] parse(Parse tokens, int numParses) {
+    TraceEvent trace = Tracing.beginTool(getClass().getSimpleName(), modelId,
+        tokens.getChildCount(), M);
+
+    long expanded = numberOfExpandedDerivations;
+
+    Parse[] parses = parseDerivations(tokens, numParses);
+
+    if (trace != null)
+      trace.end(numberOfExpandedDerivations - expanded);
+
+    return parses;
+  }
+
+  private Parse[] parseDerivations(Parse tokens, int numParses) {
     if (createDerivationString) tokens.setDerivation(new StringBuffer(100));
     odh.clear();
     ndh.clear();
     completeParses.clear();
+    if (buildCache != null) {
+      buildCache.clear();
+      checkCache.clear();
+    }
     int derivationStage = 0; //derivation length
     int maxDerivationLength = 2 * tokens.getChildCount() + 3;
     odh.add(tokens);
     Parse guess = null;
     double minComplete = 2;
     double bestComplete = -100000; //approximating -infinity/0 in ln domain
+    // the probabilities of the best numParses complete parses, the smallest is the pruning bound
+    PriorityQueue<Double> topComplete = new PriorityQueue<Double>(Math.max(1, numParses));
     while (odh.size() > 0 && (completeParses.size() < M || (odh.first()).getProb() < minComplete) && derivationStage < maxDerivationLength) {
       ndh = new ListHeap<Parse>(K);
 
+      double stageBound = odh.first().getProb() - pruneThreshold;
+
       int derivationRank = 0;
       for (Iterator<Parse> pi = odh.iterator(); pi.hasNext() && derivationRank < K; derivationRank++) { // forearch derivation
         Parse tp = pi.next();
-        //TODO: Need to look at this for K-best parsing cases
-        /*
-         if (tp.getProb() < bestComplete) { //this parse and the ones which follow will never win, stop advancing.
-         break;
-         }
-         */
         if (guess == null && derivationStage == 2) {
           guess = tp;
         }
+        if (prune && (tp.getProb() < stageBound ||
+            (topComplete.size() >= numParses && tp.getProb() < topComplete.peek()))) {
+          // the heap is not sorted, the following parses might still be advanced
+          numberOfPrunedDerivations++;
+          continue;
+        }
+        numberOfExpandedDerivations++;
         if (debugOn) {
           System.out.print(derivationStage + " " + derivationRank + " "+tp.getProb());
           tp.show();
@@ -321,8 +468,17 @@ public abstract class AbstractBottomUpParser implements Parser {
               if (nd[k].getProb() < minComplete) {
                 minComplete = nd[k].getProb();
               }
+              if (prune) {
+                topComplete.add(nd[k].getProb());
+                if (topComplete.size() > numParses) {
+                  topComplete.poll();
+                }
+              }
               completeParses.add(nd[k]);
             }
+            else if (prune && topComplete.size() >= numParses && nd[k].getProb() < topComplete.peek()) {
+              numberOfPrunedDerivations++;
+            }
             else {
               ndh.add(nd[k]);
             }
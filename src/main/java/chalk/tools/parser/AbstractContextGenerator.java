@@ -23,6 +23,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
+import chalk.tools.util.Span;
+
 /**
  * Abstract class containing many of the methods used to generate contexts for parsing.
  */
@@ -379,6 +381,45 @@ public abstract class AbstractContextGenerator {
     features.add(feat.toString());
   }
 
+  /**
+   * Appends the parts of the specified node which are used to generate features,
+   * its label if labels are used, type and head word, to the signature of a context. The head word is
+   * identified by its character offsets, the signature is therefore only valid for
+   * one sentence.
+   * @param signature The signature to append to.
+   * @param p The node or null.
+   * @see EvaluationCache
+   */
+  protected void signature(StringBuilder signature, Parse p) {
+    if (p != null) {
+      Span headSpan = p.getHead().getSpan();
+      if (useLabel) {
+        signature.append(p.getLabel()).append('|');
+      }
+      signature.append(p.getType()).append('|')
+          .append(headSpan.getStart()).append(':').append(headSpan.getEnd());
+    }
+    else {
+      signature.append(EOS);
+    }
+    signature.append(' ');
+  }
+
+  /**
+   * Appends the types of the specified punctuation to the signature of a context.
+   * @param signature The signature to append to.
+   * @param punctuation The punctuation or null.
+   */
+  protected void signature(StringBuilder signature, Collection<Parse> punctuation) {
+    signature.append('[');
+    if (punctuation != null) {
+      for (Iterator<Parse> pi = punctuation.iterator(); pi.hasNext();) {
+        signature.append(pi.next().getType()).append(' ');
+      }
+    }
+    signature.append(']');
+  }
+
   /**
    * Populates specified nodes array with left-most right frontier
    * node with a unique head. If the right frontier doesn't contain
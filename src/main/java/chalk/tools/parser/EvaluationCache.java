@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package chalk.tools.parser;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Caches the outcome probabilities of a model for the
+ * derivations of one sentence.
+ * <p>
+ * Many derivations in the beam share the same constituents around the node
+ * which is advanced. The entries are keyed by a signature of all parts of
+ * the constituents which are used to generate the context, see
+ * {@link AbstractContextGenerator#signature(StringBuilder, Parse)}. Since the
+ * signature refers to the character offsets of the head words, the cache must
+ * be cleared before a new sentence is parsed.
+ */
+public class EvaluationCache {
+
+  private final Map<String, double[]> evaluations = new HashMap<String, double[]>();
+
+  private long hits;
+
+  private long misses;
+
+  /**
+   * Retrieves the cached outcome probabilities for the specified signature.
+   *
+   * @param signature the signature of the context
+   * @param probs the array the probabilities are copied into
+   *
+   * @return true if the probabilities were cached, false otherwise
+   */
+  public boolean get(String signature, double[] probs) {
+    double[] cachedProbs = evaluations.get(signature);
+
+    if (cachedProbs != null) {
+      System.arraycopy(cachedProbs, 0, probs, 0, probs.length);
+      hits++;
+      return true;
+    }
+    else {
+      misses++;
+      return false;
+    }
+  }
+
+  /**
+   * Caches the outcome probabilities for the specified signature.
+   *
+   * @param signature the signature of the context
+   * @param probs the outcome probabilities, the array is copied
+   */
+  public void put(String signature, double[] probs) {
+    evaluations.put(signature, probs.clone());
+  }
+
+  /**
+   * Removes all cached evaluations, the hit and miss counters are not reset.
+   */
+  public void clear() {
+    evaluations.clear();
+  }
+
+  /**
+   * @return the number of lookups which were answered from the cache
+   */
+  public long getNumberOfHits() {
+    return hits;
+  }
+
+  /**
+   * @return the number of lookups which were not answered from the cache
+   */
+  public long getNumberOfMisses() {
+    return misses;
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package chalk.tools.parser;
+
+/**
+ * Ranks the outcomes of a model evaluation by descending probability.
+ * <p>
+ * The ranking is a partial sort, the outcome indices are arranged in a
+ * binary heap once and then only as many outcomes are extracted as the caller
+ * needs, instead of rescanning all probabilities for every next maximum.
+ * Outcomes with the same probability are returned in the order of their index and
+ * outcomes with a probability of zero are never returned.
+ * <p>
+ * An instance can be reused for every evaluation of the same model,
+ * but it is not thread safe.
+ */
+public class OutcomeRanking {
+
+  private final int[] heap;
+
+  private double[] probs;
+
+  private int size;
+
+  /**
+   * Initializes the current instance.
+   *
+   * @param numOutcomes the number of outcomes of the model
+   */
+  public OutcomeRanking(int numOutcomes) {
+    heap = new int[numOutcomes];
+  }
+
+  /**
+   * Starts a new ranking for the specified probabilities, the array
+   * is not modified but must not be changed until the ranking is done.
+   *
+   * @param probs the outcome probabilities
+   */
+  public void rank(double[] probs) {
+    this.probs = probs;
+
+    size = 0;
+    for (int oi = 0; oi < probs.length; oi++) {
+      if (probs[oi] > 0) {
+        heap[size++] = oi;
+      }
+    }
+
+    for (int i = size / 2 - 1; i >= 0; i--) {
+      siftDown(i);
+    }
+  }
+
+  /**
+   * @return true if there are more outcomes with a non-zero probability
+   */
+  public boolean hasNext() {
+    return size > 0;
+  }
+
+  /**
+   * Retrieves the index of the next most likely outcome.
+   *
+   * @return the outcome index
+   */
+  public int next() {
+    if (size == 0)
+      throw new java.util.NoSuchElementException();
+
+    int outcome = heap[0];
+    heap[0] = heap[--size];
+    siftDown(0);
+
+    return outcome;
+  }
+
+  private boolean before(int o1, int o2) {
+    return probs[o1] > probs[o2] || (probs[o1] == probs[o2] && o1 < o2);
+  }
+
+  private void siftDown(int i) {
+    int outcome = heap[i];
+
+    while (true) {
+      int child = 2 * i + 1;
+
+      if (child >= size)
+        break;
+
+      if (child + 1 < size && before(heap[child + 1], heap[child]))
+        child++;
+
+      if (!before(heap[child], outcome))
+        break;
+
+      heap[i] = heap[child];
+      i = child;
+    }
+
+    heap[i] = outcome;
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package chalk.tools.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * A thread safe {@link Parser} which parses independent sentences concurrently.
+ * <p>
+ * The {@link ParserModel} and everything derived from it (the build, check and
+ * attach models, the head rules and the dictionaries) is shared by all threads,
+ * only the search state is thread confined. Each call borrows a parser created by
+ * the {@link ParserFactory} from a pool, at most one parser per concurrently
+ * running call is ever created.
+ */
+public class ParallelParser implements Parser {
+
+  private final ParserModel model;
+
+  private final int beamSize;
+
+  private final double advancePercentage;
+
+  private final ConcurrentLinkedQueue<Parser> parsers = new ConcurrentLinkedQueue<Parser>();
+
+  private final ExecutorService executor;
+
+  /**
+   * Initializes the current instance.
+   *
+   * @param model the parser model
+   * @param beamSize the beam size of the parsers
+   * @param advancePercentage the advance percentage of the parsers
+   * @param executor the executor which runs {@link #parseAll(List, int)}
+   */
+  public ParallelParser(ParserModel model, int beamSize, double advancePercentage,
+      ExecutorService executor) {
+    this.model = model;
+    this.beamSize = beamSize;
+    this.advancePercentage = advancePercentage;
+    this.executor = executor;
+  }
+
+  /**
+   * Initializes the current instance with its own pool of daemon threads.
+   *
+   * @param model the parser model
+   * @param beamSize the beam size of the parsers
+   * @param advancePercentage the advance percentage of the parsers
+   * @param threads the number of threads used by {@link #parseAll(List, int)}
+   */
+  public ParallelParser(ParserModel model, int beamSize, double advancePercentage, int threads) {
+    this(model, beamSize, advancePercentage, Executors.newFixedThreadPool(threads,
+        new ThreadFactory() {
+          public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "ParallelParser-worker");
+            thread.setDaemon(true);
+            return thread;
+          }
+        }));
+  }
+
+  /**
+   * Initializes the current instance with the default beam size and advance percentage.
+   *
+   * @param model the parser model
+   * @param threads the number of threads used by {@link #parseAll(List, int)}
+   */
+  public ParallelParser(ParserModel model, int threads) {
+    this(model, AbstractBottomUpParser.defaultBeamSize,
+        AbstractBottomUpParser.defaultAdvancePercentage, threads);
+  }
+
+  private Parser borrowParser() {
+    Parser parser = parsers.poll();
+
+    if (parser == null)
+      parser = ParserFactory.create(model, beamSize, advancePercentage);
+
+    return parser;
+  }
+
+  public Parse[] parse(Parse tokens, int numParses) {
+    Parser parser = borrowParser();
+    try {
+      return parser.parse(tokens, numParses);
+    }
+    finally {
+      parsers.add(parser);
+    }
+  }
+
+  public Parse parse(Parse tokens) {
+    Parser parser = borrowParser();
+    try {
+      return parser.parse(tokens);
+    }
+    finally {
+      parsers.add(parser);
+    }
+  }
+
+  /**
+   * Parses the specified sentences concurrently.
+   *
+   * @param sentences the sentences, each parse must contain the tokens of one sentence
+   * @param numParses the number of parses desired for each sentence,
+   *     if it is one the parents of the parse are set like in {@link #parse(Parse)}
+   *
+   * @return the parses of each sentence, in the order of the sentences
+   */
+  public List<Parse[]> parseAll(List<Parse> sentences, final int numParses) {
+
+    List<Future<Parse[]>> futures = new ArrayList<Future<Parse[]>>(sentences.size());
+
+    for (final Parse tokens : sentences) {
+      futures.add(executor.submit(new Callable<Parse[]>() {
+        public Parse[] call() {
+          if (numParses == 1)
+            return new Parse[] {parse(tokens)};
+          else
+            return parse(tokens, numParses);
+        }
+      }));
+    }
+
+    List<Parse[]> parses = new ArrayList<Parse[]>(sentences.size());
+
+    try {
+      for (Future<Parse[]> future : futures) {
+        parses.add(future.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while parsing!", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException)
+        throw (RuntimeException) e.getCause();
+      else
+        throw new IllegalStateException("Failed to parse!", e.getCause());
+    }
+    finally {
+      for (Future<Parse[]> future : futures) {
+        future.cancel(true);
+      }
+    }
+
+    return parses;
+  }
+
+  /**
+   * Shuts down the executor of this parser, it must not be used afterwards.
+   */
+  public void shutdown() {
+    executor.shutdown();
+  }
+}
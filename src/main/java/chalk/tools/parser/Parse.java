@@ -19,6 +19,7 @@
 package chalk.tools.parser;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
@@ -28,8 +29,6 @@ import java.util.List;
 import java.util.Set;
 import java.util.Stack;
 import java.util.TreeSet;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import chalk.tools.util.Span;
 
@@ -103,20 +102,15 @@ public class Parse implements Cloneable, Comparable<Parse> {
   private boolean isChunk;
 
   /**
-   * The pattern used to find the base constituent label of a
+   * The characters which end the base constituent label or the function tag of a
    * Penn Treebank labeled constituent.
    */
-  private static Pattern typePattern = Pattern.compile("^([^ =-]+)");
+  private static final String TYPE_STOP_CHARS = " =-";
 
   /**
-   * The pattern used to find the function tags.
+   * The characters which end the type or the token in Penn Treebank labeled constituents.
    */
-  private static Pattern funTypePattern = Pattern.compile("^[^ =-]+-([^ =-]+)");
-
-  /**
-   * The patter used to identify tokens in Penn Treebank labeled constituents.
-   */
-  private static Pattern tokenPattern = Pattern.compile("^[^ ()]+ ([^ ()]+)\\s*\\)");
+  private static final String TOKEN_STOP_CHARS = " ()";
 
   /**
    * The set of punctuation parses which are between this parse and the previous parse.
@@ -359,39 +353,85 @@ public class Parse implements Cloneable, Comparable<Parse> {
    * @param sb A string buffer into which the parse string can be appended.
    */
   public void show(StringBuffer sb) {
+    try {
+      show((Appendable) sb);
+    } catch (IOException e) {
+      // StringBuffer does not throw an IOException
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Writes a Penn Treebank-style string representation of this parse to the
+   * specified output. The text is copied directly from the sentence, no
+   * intermediate strings are created.
+   *
+   * @param out The output, e.g. a {@link java.io.Writer} or a {@link StringBuilder}.
+   *
+   * @throws IOException if writing to the output fails
+   */
+  public void show(Appendable out) throws IOException {
     int start;
     start = span.getStart();
     if (!type.equals(AbstractBottomUpParser.TOK_NODE)) {
-      sb.append("(");
-      sb.append(type).append(" ");
-      //System.out.print(label+" ");
-      //System.out.print(head+" ");
-      //System.out.print(df.format(prob)+" ");
+      out.append('(');
+      out.append(type).append(' ');
     }
     for (Iterator<Parse> i = parts.iterator(); i.hasNext();) {
       Parse c = i.next();
       Span s = c.span;
       if (start < s.getStart()) {
-        //System.out.println("pre "+start+" "+s.getStart());
-        sb.append(encodeToken(text.substring(start, s.getStart())));
+        appendToken(out, start, s.getStart());
       }
-      c.show(sb);
+      c.show(out);
       start = s.getEnd();
     }
     if (start < span.getEnd()) {
-      sb.append(encodeToken(text.substring(start, span.getEnd())));
+      appendToken(out, start, span.getEnd());
     }
     if (!type.equals(AbstractBottomUpParser.TOK_NODE)) {
-      sb.append(")");
+      out.append(')');
+    }
+  }
+
+  /**
+   * Appends the text between the specified offsets, brackets are encoded
+   * like in {@link #encodeToken(String)}.
+   */
+  private void appendToken(Appendable out, int start, int end) throws IOException {
+    if (end - start == 1) {
+      char c = text.charAt(start);
+      if (c == '(') {
+        out.append("-LRB-");
+        return;
+      }
+      else if (c == ')') {
+        out.append("-RRB-");
+        return;
+      }
+      else if (c == '{') {
+        out.append("-LCB-");
+        return;
+      }
+      else if (c == '}') {
+        out.append("-RCB-");
+        return;
+      }
     }
+    out.append(text, start, end);
   }
 
   /**
    * Displays this parse using Penn Treebank-style formatting.
    */
   public void show() {
-    StringBuffer sb = new StringBuffer(text.length()*4);
-    show(sb);
+    StringBuilder sb = new StringBuilder(text.length()*4);
+    try {
+      show(sb);
+    } catch (IOException e) {
+      // StringBuilder does not throw an IOException
+      throw new IllegalStateException(e);
+    }
     System.out.println(sb);
   }
 
@@ -633,31 +673,55 @@ public class Parse implements Cloneable, Comparable<Parse> {
     this.label = label;
   }
 
-  private static String getType(String rest) {
-    if (rest.startsWith("-LCB-")) {
+  /**
+   * Returns the length of the longest run of characters starting at the specified
+   * index which does not contain any of the specified stop characters.
+   */
+  private static int run(String parse, int start, String stopChars) {
+    int end = start;
+    while (end < parse.length() && stopChars.indexOf(parse.charAt(end)) == -1) {
+      end++;
+    }
+    return end - start;
+  }
+
+  /**
+   * Returns the type of the constituent which starts at the specified index
+   * of the parse string, directly after the opening bracket.
+   *
+   * @param parse The parse string.
+   * @param start The index after the opening bracket.
+   *
+   * @return the type or null if there is no type.
+   */
+  private static String getType(String parse, int start) {
+    if (parse.startsWith("-LCB-", start)) {
       return "-LCB-";
     }
-    else if (rest.startsWith("-RCB-")) {
+    else if (parse.startsWith("-RCB-", start)) {
       return "-RCB-";
     }
-    else if (rest.startsWith("-LRB-")) {
+    else if (parse.startsWith("-LRB-", start)) {
       return "-LRB-";
     }
-    else if (rest.startsWith("-RRB-")) {
+    else if (parse.startsWith("-RRB-", start)) {
       return "-RRB-";
     }
-    else if (rest.startsWith("-NONE-")) {
+    else if (parse.startsWith("-NONE-", start)) {
       return "-NONE-";
     }
     else {
-      Matcher typeMatcher = typePattern.matcher(rest);
-      if (typeMatcher.find()) {
-        String type = typeMatcher.group(1);
+      // the base constituent label, all characters up to a space, equal sign or dash
+      int typeLength = run(parse, start, TYPE_STOP_CHARS);
+      if (typeLength > 0) {
+        String type = parse.substring(start, start + typeLength);
         if (useFunctionTags) {
-          Matcher funMatcher = funTypePattern.matcher(rest);
-          if (funMatcher.find()) {
-            String ftag = funMatcher.group(1);
-            type = type+"-"+ftag;
+          int funStart = start + typeLength + 1;
+          if (funStart <= parse.length() && parse.charAt(funStart - 1) == '-') {
+            int funLength = run(parse, funStart, TYPE_STOP_CHARS);
+            if (funLength > 0) {
+              type = type+"-"+parse.substring(funStart, funStart + funLength);
+            }
           }
         }
         return type;
@@ -702,21 +766,43 @@ public class Parse implements Cloneable, Comparable<Parse> {
   
   /**
    * Returns the string containing the token for the specified portion of the parse string or
-   * null if the portion of the parse string does not represent a token.
+   * null if the portion of the parse string does not represent a token. A token is
+   * represented by a type, a single space, the token and optional white space
+   * followed by the closing bracket.
    *
-   * @param rest The portion of the parse string remaining to be processed.
+   * @param parse The parse string.
+   * @param start The index after the opening bracket.
    *
    * @return The string containing the token for the specified portion of the parse string or
    * null if the portion of the parse string does not represent a token.
    */
-  private static String getToken(String rest) {
-    Matcher tokenMatcher = tokenPattern.matcher(rest);
-    if (tokenMatcher.find()) {
-      return decodeToken(tokenMatcher.group(1));
+  private static String getToken(String parse, int start) {
+    int typeLength = run(parse, start, TOKEN_STOP_CHARS);
+    int tokenStart = start + typeLength + 1;
+    if (typeLength == 0 || tokenStart > parse.length() || parse.charAt(tokenStart - 1) != ' ') {
+      return null;
+    }
+    int tokenLength = run(parse, tokenStart, TOKEN_STOP_CHARS);
+    if (tokenLength == 0) {
+      return null;
+    }
+    int ci = tokenStart + tokenLength;
+    while (ci < parse.length() && isWhitespace(parse.charAt(ci))) {
+      ci++;
+    }
+    if (ci < parse.length() && parse.charAt(ci) == ')') {
+      return decodeToken(parse.substring(tokenStart, tokenStart + tokenLength));
     }
     return null;
   }
 
+  /**
+   * Same definition of white space as \s in regular expressions.
+   */
+  private static boolean isWhitespace(char c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+  }
+
   /**
    * Computes the head parses for this parse and its sub-parses and stores this information
    * in the parse data structure.
@@ -816,16 +902,15 @@ public class Parse implements Cloneable, Comparable<Parse> {
     StringBuilder text = new StringBuilder();
     int offset = 0;
     Stack<Constituent> stack = new Stack<Constituent>();
-    List<Constituent> cons = new LinkedList<Constituent>();
+    List<Constituent> cons = new ArrayList<Constituent>();
     for (int ci = 0, cl = parse.length(); ci < cl; ci++) {
       char c = parse.charAt(ci);
       if (c == '(') {
-        String rest = parse.substring(ci + 1);
-        String type = getType(rest);
+        String type = getType(parse, ci + 1);
         if (type == null) {
-          System.err.println("null type for: " + rest);
+          System.err.println("null type for: " + parse.substring(ci + 1));
         }
-        String token = getToken(rest);
+        String token = getToken(parse, ci + 1);
         stack.push(new Constituent(type, new Span(offset,offset)));
         if (token != null) {
           if (type.equals("-NONE-") && gl != null) {
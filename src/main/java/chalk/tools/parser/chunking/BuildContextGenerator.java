@@ -61,6 +61,49 @@ public class BuildContextGenerator extends AbstractContextGenerator {
     return getContext((Parse[]) params[0], (Integer) params[1]);
   }
 
+  /**
+   * Returns a signature of all parts of the constituents which are used to generate the
+   * context for the constituent at the specified index. Two calls with the same signature
+   * within one sentence return the same context.
+   * @param constituents The constituents which have yet to be combined into new constituents.
+   * @param index The index of the constituent which is being considered.
+   * @return the signature of the context.
+   * @see chalk.tools.parser.EvaluationCache
+   */
+  public String getSignature(Parse[] constituents, int index) {
+    StringBuilder signature = new StringBuilder(100);
+    int ps = constituents.length;
+
+    for (int pi = index - 2; pi <= index + 2; pi++) {
+      if (pi >= 0 && pi < ps) {
+        Parse p = constituents[pi];
+        signature(signature, p);
+        signature(signature, p.getPreviousPunctuationSet());
+        signature(signature, p.getNextPunctuationSet());
+      }
+      else {
+        signature(signature, (Parse) null);
+      }
+    }
+
+    // the bracket, quote, comma and end of sentence features look at
+    // the preceding constituents up to the last start node
+    String p0Tag = constituents[index].getType();
+    if (p0Tag.equals("-RRB-") || p0Tag.equals("-RCB-") || p0Tag.equals("''") ||
+        p0Tag.equals("'") || p0Tag.equals(",") || p0Tag.equals(".")) {
+      signature.append(index).append('/').append(ps).append(' ');
+      for (int pi = index - 1; pi >= 0; pi--) {
+        Parse p = constituents[pi];
+        signature.append(p.getType()).append('|').append(p.getLabel()).append(' ');
+        if (p.getLabel() != null && p.getLabel().startsWith(Parser.START)) {
+          break;
+        }
+      }
+    }
+
+    return signature.toString();
+  }
+
   /**
    * Returns the predictive context used to determine how constituent at the specified index
    * should be combined with other contisuents.
@@ -43,6 +43,38 @@ public class CheckContextGenerator extends AbstractContextGenerator {
     return getContext((Parse[]) params[0], (String) params[1], (Integer) params[2], (Integer) params[3]);
   }
 
+  /**
+   * Returns a signature of all parts of the constituents which are used to generate the
+   * context for the specified proposed constituent. Two calls with the same signature
+   * within one sentence return the same context.
+   * @param constituents The constituents which have yet to be combined into new constituents.
+   * @param type The type of the new constituent proposed.
+   * @param start The first constituent of the proposed constituent.
+   * @param end The last constituent of the proposed constituent.
+   * @return the signature of the context.
+   * @see chalk.tools.parser.EvaluationCache
+   */
+  public String getSignature(Parse[] constituents, String type, int start, int end) {
+    StringBuilder signature = new StringBuilder(100);
+    int ps = constituents.length;
+
+    signature.append(type).append(' ').append(constituents[0].getLabel()).append(' ');
+
+    for (int pi = start - 2; pi <= end + 2; pi++) {
+      if (pi >= 0 && pi < ps) {
+        Parse p = constituents[pi];
+        signature(signature, p);
+        signature(signature, p.getPreviousPunctuationSet());
+        signature(signature, p.getNextPunctuationSet());
+      }
+      else {
+        signature(signature, (Parse) null);
+      }
+    }
+
+    return signature.toString();
+  }
+
   /**
    * Returns predictive context for deciding whether the specified constituents between the specified start and end index
    * can be combined to form a new constituent of the specified type.
@@ -20,6 +20,7 @@ package chalk.tools.parser.chunking;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +38,7 @@ import chalk.tools.parser.AbstractBottomUpParser;
 import chalk.tools.parser.ChunkContextGenerator;
 import chalk.tools.parser.ChunkSampleStream;
 import chalk.tools.parser.HeadRules;
+import chalk.tools.parser.OutcomeRanking;
 import chalk.tools.parser.Parse;
 import chalk.tools.parser.ParserChunkerSequenceValidator;
 import chalk.tools.parser.ParserEventTypeEnum;
@@ -46,9 +48,13 @@ import chalk.tools.parser.PosSampleStream;
 import chalk.tools.postag.POSModel;
 import chalk.tools.postag.POSTagger;
 import chalk.tools.postag.POSTaggerME;
+import chalk.tools.util.AbstractEventStream;
+import chalk.tools.util.CollectionObjectStream;
 import chalk.tools.util.ObjectStream;
+import chalk.tools.util.ParallelEventStream;
 import chalk.tools.util.Span;
 import chalk.tools.util.TrainingParameters;
+import chalk.tools.util.metrics.Tracing;
 
 
 /**
@@ -63,6 +69,7 @@ public class Parser extends AbstractBottomUpParser {
   private CheckContextGenerator checkContextGenerator;
 
   private double[] bprobs;
+  private OutcomeRanking bprobsRanking;
   private double[] cprobs;
 
   private static final String TOP_START = START + TOP_NODE;
@@ -115,8 +122,10 @@ public class Parser extends AbstractBottomUpParser {
   public Parser(MaxentModel buildModel, MaxentModel checkModel, POSTagger tagger, Chunker chunker, HeadRules headRules, int beamSize, double advancePercentage) {
     super(tagger, chunker, headRules, beamSize, advancePercentage);
     this.buildModel = buildModel;
+    this.modelId = Tracing.getModelId(buildModel);
     this.checkModel = checkModel;
     bprobs = new double[buildModel.getNumOutcomes()];
+    bprobsRanking = new OutcomeRanking(buildModel.getNumOutcomes());
     cprobs = new double[checkModel.getNumOutcomes()];
     this.buildContextGenerator = new BuildContextGenerator();
     this.checkContextGenerator = new CheckContextGenerator();
@@ -138,11 +147,43 @@ public class Parser extends AbstractBottomUpParser {
     incompleteIndex = checkModel.getIndex(INCOMPLETE);
   }
 
+  /**
+   * Evaluates the build model for the constituent at the specified index into bprobs.
+   */
+  private void evalBuild(Parse[] constituents, int index) {
+    if (buildCache != null) {
+      String signature = buildContextGenerator.getSignature(constituents, index);
+      if (!buildCache.get(signature, bprobs)) {
+        buildModel.eval(buildContextGenerator.getContext(constituents, index), bprobs);
+        buildCache.put(signature, bprobs);
+      }
+    }
+    else {
+      buildModel.eval(buildContextGenerator.getContext(constituents, index), bprobs);
+    }
+  }
+
+  /**
+   * Evaluates the check model for the proposed constituent into cprobs.
+   */
+  private void evalCheck(Parse[] constituents, String type, int start, int end) {
+    if (checkCache != null) {
+      String signature = checkContextGenerator.getSignature(constituents, type, start, end);
+      if (!checkCache.get(signature, cprobs)) {
+        checkModel.eval(checkContextGenerator.getContext(constituents, type, start, end), cprobs);
+        checkCache.put(signature, cprobs);
+      }
+    }
+    else {
+      checkModel.eval(checkContextGenerator.getContext(constituents, type, start, end), cprobs);
+    }
+  }
+
   @Override
   protected void advanceTop(Parse p) {
-    buildModel.eval(buildContextGenerator.getContext(p.getChildren(), 0), bprobs);
+    evalBuild(p.getChildren(), 0);
     p.addProb(Math.log(bprobs[topStartIndex]));
-    checkModel.eval(checkContextGenerator.getContext(p.getChildren(), TOP_NODE, 0, 0), cprobs);
+    evalCheck(p.getChildren(), TOP_NODE, 0, 0);
     p.addProb(Math.log(cprobs[completeIndex]));
     p.setType(TOP_NODE);
   }
@@ -182,21 +223,13 @@ public class Parser extends AbstractBottomUpParser {
     int originalAdvanceIndex = mapParseIndex(advanceNodeIndex,children,originalChildren);
     List<Parse> newParsesList = new ArrayList<Parse>(buildModel.getNumOutcomes());
     //call build
-    buildModel.eval(buildContextGenerator.getContext(children, advanceNodeIndex), bprobs);
+    evalBuild(children, advanceNodeIndex);
     double bprobSum = 0;
-    while (bprobSum < probMass) {
+    bprobsRanking.rank(bprobs);
+    while (bprobSum < probMass && bprobsRanking.hasNext()) {
       // The largest unadvanced labeling.
-      int max = 0;
-      for (int pi = 1; pi < bprobs.length; pi++) { //for each build outcome
-        if (bprobs[pi] > bprobs[max]) {
-          max = pi;
-        }
-      }
-      if (bprobs[max] == 0) {
-        break;
-      }
+      int max = bprobsRanking.next();
       double bprob = bprobs[max];
-      bprobs[max] = 0; //zero out so new max can be found
       bprobSum += bprob;
       String tag = buildModel.getOutcome(max);
       //System.out.println("trying "+tag+" "+bprobSum+" lst="+lst);
@@ -220,7 +253,7 @@ public class Parser extends AbstractBottomUpParser {
       newParse1.addProb(Math.log(bprob));
       //check
       //String[] context = checkContextGenerator.getContext(newParse1.getChildren(), lastStartType, lastStartIndex, advanceNodeIndex);
-      checkModel.eval(checkContextGenerator.getContext(collapsePunctuation(newParse1.getChildren(),punctSet), lastStartType, lastStartIndex, advanceNodeIndex), cprobs);
+      evalCheck(collapsePunctuation(newParse1.getChildren(),punctSet), lastStartType, lastStartIndex, advanceNodeIndex);
       //System.out.println("check "+lastStartType+" "+cprobs[completeIndex]+" "+cprobs[incompleteIndex]+" "+tag+" "+java.util.Arrays.asList(context));
       Parse newParse2 = newParse1;
       if (cprobs[completeIndex] > q) { //make sure a reduce is likely
@@ -281,6 +314,29 @@ public class Parser extends AbstractBottomUpParser {
     }
   }
   
+  /**
+   * Creates the event stream for the specified event type, the events are
+   * generated on the given number of threads if it is larger than one.
+   */
+  private static nak.model.EventStream createEventStream(ObjectStream<Parse> parseSamples,
+      final HeadRules rules, final ParserEventTypeEnum etype, final Dictionary dict,
+      int threads) throws IOException {
+
+    if (threads > 1) {
+      return new ParallelEventStream<Parse>(parseSamples,
+          new ParallelEventStream.EventStreamFactory<Parse>() {
+        public AbstractEventStream<Parse> createEventStream() {
+          return new ParserEventStream(
+              new CollectionObjectStream<Parse>(Collections.<Parse>emptyList()),
+              rules, etype, dict);
+        }
+      }, null, threads);
+    }
+    else {
+      return new ParserEventStream(parseSamples, rules, etype, dict);
+    }
+  }
+
   public static ParserModel train(String languageCode, ObjectStream<Parse> parseSamples, HeadRules rules, TrainingParameters mlParams)
           throws IOException {
     
@@ -294,7 +350,8 @@ public class Parser extends AbstractBottomUpParser {
     
     // build
     System.err.println("Training builder");
-    nak.model.EventStream bes = new ParserEventStream(parseSamples, rules, ParserEventTypeEnum.BUILD, mdict);
+    nak.model.EventStream bes = createEventStream(parseSamples, rules, ParserEventTypeEnum.BUILD,
+        mdict, mlParams.getParameters("build").threads());
     Map<String, String> buildReportMap = new HashMap<String, String>();
     AbstractModel buildModel = TrainUtil.train(bes, mlParams.getSettings("build"), buildReportMap);
     mergeReportIntoManifest(manifestInfoEntries, buildReportMap, "build");
@@ -316,7 +373,8 @@ public class Parser extends AbstractBottomUpParser {
     
     // check
     System.err.println("Training checker");
-    nak.model.EventStream kes = new ParserEventStream(parseSamples, rules, ParserEventTypeEnum.CHECK);
+    nak.model.EventStream kes = createEventStream(parseSamples, rules, ParserEventTypeEnum.CHECK,
+        null, mlParams.getParameters("check").threads());
     Map<String, String> checkReportMap = new HashMap<String, String>();
     AbstractModel checkModel = TrainUtil.train(kes, mlParams.getSettings("check"), checkReportMap);
     mergeReportIntoManifest(manifestInfoEntries, checkReportMap, "check");
@@ -48,6 +48,56 @@ public class BuildContextGenerator extends AbstractContextGenerator {
     return getContext((Parse[]) parts[0], (Integer) parts[1]);
   }
 
+  private List<Parse> getRightFrontier(Parse[] constituents, int index) {
+    if (index == 0) {
+      return Collections.emptyList();
+    }
+    else {
+      //this isn't a root node so, punctSet won't be used and can be passed as empty.
+      Set<String> emptyPunctSet = Collections.emptySet();
+      return Parser.getRightFrontier(constituents[0], emptyPunctSet);
+    }
+  }
+
+  /**
+   * Returns a signature of all parts of the parse which are used to generate the
+   * context for the build decision at the specified index. Two calls with the same
+   * signature within one sentence return the same context.
+   * @param constituents The constituents of the parse so far.
+   * @param index The index of the constituent where a build decision is being made.
+   * @return the signature of the context.
+   * @see chalk.tools.parser.EvaluationCache
+   */
+  public String getSignature(Parse[] constituents, int index) {
+    StringBuilder signature = new StringBuilder(100);
+
+    List<Parse> rf = getRightFrontier(constituents, index);
+    signature.append(rf.isEmpty()).append(' ');
+
+    Parse[] nodes = new Parse[2];
+    getFrontierNodes(rf, nodes);
+    for (int ni = 0; ni < nodes.length; ni++) {
+      signature(signature, nodes[ni]);
+      if (nodes[ni] != null) {
+        signature(signature, nodes[ni].getPreviousPunctuationSet());
+      }
+    }
+
+    int ps = constituents.length;
+    for (int pi = index; pi <= index + 2; pi++) {
+      if (pi < ps) {
+        signature(signature, constituents[pi]);
+        signature(signature, constituents[pi].getPreviousPunctuationSet());
+        signature(signature, constituents[pi].getNextPunctuationSet());
+      }
+      else {
+        signature(signature, (Parse) null);
+      }
+    }
+
+    return signature.toString();
+  }
+
   /**
    * Returns the contexts/features for the decision to build a new constituent for the specified parse
    * at the specified index.
@@ -83,15 +133,7 @@ public class BuildContextGenerator extends AbstractContextGenerator {
     }
     
 
-    List<Parse> rf;
-    if (index == 0) {
-      rf = Collections.emptyList();
-    }
-    else {
-      //this isn't a root node so, punctSet won't be used and can be passed as empty.
-      Set<String> emptyPunctSet = Collections.emptySet();
-      rf = Parser.getRightFrontier(constituents[0], emptyPunctSet);
-    }
+    List<Parse> rf = getRightFrontier(constituents, index);
     getFrontierNodes(rf,leftNodes);
     p_1 = leftNodes[0];
     p_2 = leftNodes[1];
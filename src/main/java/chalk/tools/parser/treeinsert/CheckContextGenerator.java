@@ -42,6 +42,71 @@ public class CheckContextGenerator extends AbstractContextGenerator {
     return null;
   }
 
+  private void getFrontierNodes(Parse parent, Parse[] constituents, int index, boolean trimFrontier, Parse[] nodes) {
+    List<Parse> rf;
+    if (index == 0) {
+      rf = Collections.emptyList();
+    }
+    else {
+      rf = Parser.getRightFrontier(constituents[0], punctSet);
+      if (trimFrontier) {
+        int pi = rf.indexOf(parent);
+        if (pi == -1) {
+          throw new RuntimeException("Parent not found in right frontier:"+parent+" rf="+rf);
+        }
+        else {
+          for (int ri=0;ri<=pi;ri++) {
+            //System.err.println(pi+" removing "+((Parse)rf.get(0)).getType()+" "+rf.get(0)+" "+(rf.size()-1)+" remain");
+            rf.remove(0);
+          }
+        }
+      }
+    }
+
+    getFrontierNodes(rf,nodes);
+  }
+
+  /**
+   * Returns a signature of all parts of the parse which are used to generate the
+   * context for the specified node. Two calls with the same signature
+   * within one sentence return the same context.
+   * @return the signature of the context.
+   * @see chalk.tools.parser.EvaluationCache
+   */
+  public String getSignature(Parse parent, Parse[] constituents, int index, boolean trimFrontier) {
+    StringBuilder signature = new StringBuilder(100);
+    signature.append(parent.getType()).append(' ');
+    Parse[] children = Parser.collapsePunctuation(parent.getChildren(),punctSet);
+    for (int ci = 0; ci < children.length; ci++) {
+      signature(signature, children[ci]);
+      signature(signature, children[ci].getNextPunctuationSet());
+    }
+    signature.append("/ ");
+
+    Parse[] nodes = new Parse[2];
+    getFrontierNodes(parent, constituents, index, trimFrontier, nodes);
+    for (int ni = 0; ni < nodes.length; ni++) {
+      signature(signature, nodes[ni]);
+      if (nodes[ni] != null) {
+        signature(signature, nodes[ni].getPreviousPunctuationSet());
+      }
+    }
+
+    int ps = constituents.length;
+    for (int pi = index; pi <= index + 2; pi++) {
+      if (pi < ps) {
+        signature(signature, constituents[pi]);
+        signature(signature, constituents[pi].getPreviousPunctuationSet());
+        signature(signature, constituents[pi].getNextPunctuationSet());
+      }
+      else {
+        signature(signature, (Parse) null);
+      }
+    }
+
+    return signature.toString();
+  }
+
   public String[] getContext(Parse parent, Parse[] constituents, int index, boolean trimFrontier) {
     List<String> features = new ArrayList<String>(100);
     //default
@@ -66,27 +131,7 @@ public class CheckContextGenerator extends AbstractContextGenerator {
     Collection<Parse> p2s = null;
     Collection<Parse> p_1s = constituents[index].getPreviousPunctuationSet();
     Collection<Parse> p_2s = null;
-    List<Parse> rf;
-    if (index == 0) {
-      rf = Collections.emptyList();
-    }
-    else {
-      rf = Parser.getRightFrontier(constituents[0], punctSet);
-      if (trimFrontier) {
-        int pi = rf.indexOf(parent);
-        if (pi == -1) {
-          throw new RuntimeException("Parent not found in right frontier:"+parent+" rf="+rf);
-        }
-        else {
-          for (int ri=0;ri<=pi;ri++) {
-            //System.err.println(pi+" removing "+((Parse)rf.get(0)).getType()+" "+rf.get(0)+" "+(rf.size()-1)+" remain");
-            rf.remove(0);
-          }
-        }
-      }
-    }
-
-    getFrontierNodes(rf,leftNodes);
+    getFrontierNodes(parent, constituents, index, trimFrontier, leftNodes);
     p_1 = leftNodes[0];
     p_2 = leftNodes[1];
     int ps = constituents.length;
@@ -19,6 +19,7 @@ package chalk.tools.parser.treeinsert;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -37,6 +38,7 @@ import chalk.tools.parser.AbstractBottomUpParser;
 import chalk.tools.parser.ChunkContextGenerator;
 import chalk.tools.parser.ChunkSampleStream;
 import chalk.tools.parser.HeadRules;
+import chalk.tools.parser.OutcomeRanking;
 import chalk.tools.parser.Parse;
 import chalk.tools.parser.ParserChunkerSequenceValidator;
 import chalk.tools.parser.ParserEventTypeEnum;
@@ -46,8 +48,12 @@ import chalk.tools.parser.PosSampleStream;
 import chalk.tools.postag.POSModel;
 import chalk.tools.postag.POSTagger;
 import chalk.tools.postag.POSTaggerME;
+import chalk.tools.util.AbstractEventStream;
+import chalk.tools.util.CollectionObjectStream;
 import chalk.tools.util.ObjectStream;
+import chalk.tools.util.ParallelEventStream;
 import chalk.tools.util.TrainingParameters;
+import chalk.tools.util.metrics.Tracing;
 
 
 /**
@@ -87,6 +93,7 @@ public class Parser extends AbstractBottomUpParser {
   private CheckContextGenerator checkContextGenerator;
 
   private double[] bprobs;
+  private OutcomeRanking bprobsRanking;
   private double[] aprobs;
   private double[] cprobs;
 
@@ -117,6 +124,7 @@ public class Parser extends AbstractBottomUpParser {
   public Parser(AbstractModel buildModel, AbstractModel attachModel, AbstractModel checkModel, POSTagger tagger, Chunker chunker, HeadRules headRules, int beamSize, double advancePercentage) {
     super(tagger,chunker,headRules,beamSize,advancePercentage);
     this.buildModel = buildModel;
+    this.modelId = Tracing.getModelId(buildModel);
     this.attachModel = attachModel;
     this.checkModel = checkModel;
 
@@ -125,6 +133,7 @@ public class Parser extends AbstractBottomUpParser {
     this.checkContextGenerator = new CheckContextGenerator(punctSet);
 
     this.bprobs = new double[buildModel.getNumOutcomes()];
+    this.bprobsRanking = new OutcomeRanking(buildModel.getNumOutcomes());
     this.aprobs = new double[attachModel.getNumOutcomes()];
     this.cprobs = new double[checkModel.getNumOutcomes()];
 
@@ -231,6 +240,22 @@ public class Parser extends AbstractBottomUpParser {
     return parses;
   }
 
+  /**
+   * Evaluates the check model for the specified node into cprobs.
+   */
+  private void evalCheck(Parse parent, Parse[] constituents, int index, boolean trimFrontier) {
+    if (checkCache != null) {
+      String signature = checkContextGenerator.getSignature(parent, constituents, index, trimFrontier);
+      if (!checkCache.get(signature, cprobs)) {
+        checkModel.eval(checkContextGenerator.getContext(parent, constituents, index, trimFrontier), cprobs);
+        checkCache.put(signature, cprobs);
+      }
+    }
+    else {
+      checkModel.eval(checkContextGenerator.getContext(parent, constituents, index, trimFrontier), cprobs);
+    }
+  }
+
   @Override
   protected Parse[] advanceParses(Parse p, double probMass) {
     double q = 1 - probMass;
@@ -264,24 +289,25 @@ public class Parser extends AbstractBottomUpParser {
     int originalAdvanceIndex = mapParseIndex(advanceNodeIndex,children,originalChildren);
     List<Parse> newParsesList = new ArrayList<Parse>();
     //call build model
-    buildModel.eval(buildContextGenerator.getContext(children, advanceNodeIndex), bprobs);
+    if (buildCache != null) {
+      String signature = buildContextGenerator.getSignature(children, advanceNodeIndex);
+      if (!buildCache.get(signature, bprobs)) {
+        buildModel.eval(buildContextGenerator.getContext(children, advanceNodeIndex), bprobs);
+        buildCache.put(signature, bprobs);
+      }
+    }
+    else {
+      buildModel.eval(buildContextGenerator.getContext(children, advanceNodeIndex), bprobs);
+    }
     double doneProb = bprobs[doneIndex];
     if (debugOn) System.out.println("adi="+advanceNodeIndex+" "+advanceNode.getType()+"."+advanceNode.getLabel()+" "+advanceNode+" choose build="+(1-doneProb)+" attach="+doneProb);
     if (1-doneProb > q) {
       double bprobSum = 0;
-      while (bprobSum < probMass) {
+      bprobsRanking.rank(bprobs);
+      while (bprobSum < probMass && bprobsRanking.hasNext()) {
         /** The largest unadvanced labeling. */
-        int max = 0;
-        for (int pi = 1; pi < bprobs.length; pi++) { //for each build outcome
-          if (bprobs[pi] > bprobs[max]) {
-            max = pi;
-          }
-        }
-        if (bprobs[max] == 0) {
-          break;
-        }
+        int max = bprobsRanking.next();
         double bprob = bprobs[max];
-        bprobs[max] = 0; //zero out so new max can be found
         bprobSum += bprob;
         String tag = buildModel.getOutcome(max);
         if (!tag.equals(DONE)) {
@@ -291,7 +317,7 @@ public class Parser extends AbstractBottomUpParser {
           newParse1.addProb(Math.log(bprob));
           newParsesList.add(newParse1);
           if (checkComplete) {
-            cprobs = checkModel.eval(checkContextGenerator.getContext(newNode,children,advanceNodeIndex,false));
+            evalCheck(newNode,children,advanceNodeIndex,false);
             if (debugOn) System.out.println("building "+tag+" "+bprob+" c="+cprobs[completeIndex]);
             if (cprobs[completeIndex] > probMass) { //just complete advances
               setComplete(newNode);
@@ -395,7 +421,7 @@ public class Parser extends AbstractBottomUpParser {
               newParse2.addProb(Math.log(prob));
               newParsesList.add(newParse2);
               if (checkComplete) {
-                cprobs = checkModel.eval(checkContextGenerator.getContext(updatedNode,newKids,advanceNodeIndex,true));
+                evalCheck(updatedNode,newKids,advanceNodeIndex,true);
                 if (cprobs[completeIndex] > probMass) {
                   setComplete(updatedNode);
                   newParse2.addProb(Math.log(cprobs[completeIndex]));
@@ -438,6 +464,29 @@ public class Parser extends AbstractBottomUpParser {
     p.setType(TOP_NODE);
   }
 
+  /**
+   * Creates the event stream for the specified event type, the events are
+   * generated on the given number of threads if it is larger than one.
+   */
+  private static nak.model.EventStream createEventStream(ObjectStream<Parse> parseSamples,
+      final HeadRules rules, final ParserEventTypeEnum etype, final Dictionary dict,
+      int threads) throws IOException {
+
+    if (threads > 1) {
+      return new ParallelEventStream<Parse>(parseSamples,
+          new ParallelEventStream.EventStreamFactory<Parse>() {
+        public AbstractEventStream<Parse> createEventStream() {
+          return new ParserEventStream(
+              new CollectionObjectStream<Parse>(Collections.<Parse>emptyList()),
+              rules, etype, dict);
+        }
+      }, null, threads);
+    }
+    else {
+      return new ParserEventStream(parseSamples, rules, etype, dict);
+    }
+  }
+
   public static ParserModel train(String languageCode,
       ObjectStream<Parse> parseSamples, HeadRules rules, TrainingParameters mlParams)
   throws IOException {
@@ -463,8 +512,8 @@ public class Parser extends AbstractBottomUpParser {
     
     // build
     System.err.println("Training builder");
-    nak.model.EventStream bes = new ParserEventStream(parseSamples, rules,
-        ParserEventTypeEnum.BUILD, mdict);
+    nak.model.EventStream bes = createEventStream(parseSamples, rules,
+        ParserEventTypeEnum.BUILD, mdict, mlParams.getParameters("build").threads());
     Map<String, String> buildReportMap = new HashMap<String, String>();
     AbstractModel buildModel = TrainUtil.train(bes, mlParams.getSettings("build"), buildReportMap);
     chalk.tools.parser.chunking.Parser.mergeReportIntoManifest(manifestInfoEntries, buildReportMap, "build");
@@ -473,8 +522,8 @@ public class Parser extends AbstractBottomUpParser {
     
     // check
     System.err.println("Training checker");
-    nak.model.EventStream kes = new ParserEventStream(parseSamples, rules,
-        ParserEventTypeEnum.CHECK);
+    nak.model.EventStream kes = createEventStream(parseSamples, rules,
+        ParserEventTypeEnum.CHECK, null, mlParams.getParameters("check").threads());
     Map<String, String> checkReportMap = new HashMap<String, String>();
     AbstractModel checkModel = TrainUtil.train(kes, mlParams.getSettings("check"), checkReportMap);
     chalk.tools.parser.chunking.Parser.mergeReportIntoManifest(manifestInfoEntries, checkReportMap, "check");
@@ -483,8 +532,8 @@ public class Parser extends AbstractBottomUpParser {
     
     // attach 
     System.err.println("Training attacher");
-    nak.model.EventStream attachEvents = new ParserEventStream(parseSamples, rules,
-        ParserEventTypeEnum.ATTACH);
+    nak.model.EventStream attachEvents = createEventStream(parseSamples, rules,
+        ParserEventTypeEnum.ATTACH, null, mlParams.getParameters("attach").threads());
     Map<String, String> attachReportMap = new HashMap<String, String>();
     AbstractModel attachModel = TrainUtil.train(attachEvents, mlParams.getSettings("attach"), attachReportMap);
     chalk.tools.parser.chunking.Parser.mergeReportIntoManifest(manifestInfoEntries, attachReportMap, "attach");
@@ -0,0 +1,738 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.postag;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.UnsupportedEncodingException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import chalk.tools.util.InvalidFormatException;
+import chalk.tools.util.StringUtil;
+
+/**
+ * A read only {@link TagDictionary} which is stored in a few flat arrays
+ * instead of a map with a string and a tags array per word.
+ * <p>
+ * The words are UTF-8 encoded into one byte array and are found with an open
+ * addressing hash table over their indexes. Case insensitive dictionaries store
+ * the words case folded with {@link Character#toLowerCase(char)}, a lookup folds
+ * the characters while it hashes and compares them and does not create a lower
+ * case copy of the word. The tags of a word are a bit set over the tag ids, each
+ * distinct bit set is stored once and all words which have the same tags share
+ * one tags array.
+ * <p>
+ * A dictionary is created with a {@link Builder}. The binary format can be read
+ * from a stream, e.g. as a model artifact, or mapped into memory with
+ * {@link #map(File)}, then only the tags and the tag sets are on the heap.
+ * <p>
+ * Instances are thread safe, the arrays returned by {@link #getTags(String)}
+ * are shared and must not be modified.
+ */
+public class CompactTagDictionary implements TagDictionary, Iterable<String> {
+
+  private static final int MAGIC = 0x43544431;
+
+  private final boolean caseSensitive;
+
+  private final String[] tags;
+
+  private final int wordsPerTagSet;
+
+  private final long[] tagSetBits;
+
+  private final String[][] tagSets;
+
+  /**
+   * The index of the word plus one, zero marks an empty slot.
+   */
+  private final IntBuffer table;
+
+  private final int mask;
+
+  private final IntBuffer offsets;
+
+  private final IntBuffer wordTagSets;
+
+  private final ByteBuffer words;
+
+  private CompactTagDictionary(boolean caseSensitive, String[] tags, long[] tagSetBits,
+      IntBuffer table, IntBuffer offsets, IntBuffer wordTagSets, ByteBuffer words) {
+    this.caseSensitive = caseSensitive;
+    this.tags = tags;
+    this.tagSetBits = tagSetBits;
+    this.table = table;
+    this.offsets = offsets;
+    this.wordTagSets = wordTagSets;
+    this.words = words;
+
+    mask = table.limit() - 1;
+    wordsPerTagSet = (tags.length + 63) >>> 6;
+
+    int numberOfTagSets = wordsPerTagSet == 0 ? 0 : tagSetBits.length / wordsPerTagSet;
+
+    tagSets = new String[numberOfTagSets][];
+
+    for (int set = 0; set < numberOfTagSets; set++) {
+      List<String> setTags = new ArrayList<String>();
+
+      for (int tag = 0; tag < tags.length; tag++) {
+        if ((tagSetBits[set * wordsPerTagSet + (tag >>> 6)] & (1L << tag)) != 0)
+          setTags.add(tags[tag]);
+      }
+
+      tagSets[set] = setTags.toArray(new String[setTags.size()]);
+    }
+  }
+
+  private static int mix(int hash) {
+    hash *= 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+
+  private static int encodedLength(char c) {
+    if (c < 0x80)
+      return 1;
+    else if (c < 0x800)
+      return 2;
+    else
+      return 3;
+  }
+
+  private char fold(char c) {
+    return caseSensitive ? c : Character.toLowerCase(c);
+  }
+
+  /**
+   * Returns the valid tags for the specified word.
+   *
+   * @param word the word
+   *
+   * @return the tags of the word, ordered by the order in which the tags were
+   *     first added to the {@link Builder}, or null if the word is unknown
+   */
+  public String[] getTags(String word) {
+
+    int hash = 0;
+    int length = 0;
+
+    for (int i = 0; i < word.length(); i++) {
+      char c = fold(word.charAt(i));
+      hash = 31 * hash + c;
+      length += encodedLength(c);
+    }
+
+    for (int slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {
+      int entry = table.get(slot) - 1;
+
+      if (entry == -1)
+        return null;
+
+      int offset = offsets.get(entry);
+
+      if (offsets.get(entry + 1) - offset == length && matches(word, offset))
+        return tagSets[wordTagSets.get(entry)];
+    }
+  }
+
+  private boolean matches(String word, int offset) {
+    for (int i = 0; i < word.length(); i++) {
+      int b = words.get(offset++) & 0xFF;
+
+      char c;
+      if (b < 0x80) {
+        c = (char) b;
+      }
+      else if (b < 0xE0) {
+        c = (char) (((b & 0x1F) << 6) | (words.get(offset++) & 0x3F));
+      }
+      else {
+        c = (char) (((b & 0x0F) << 12) | ((words.get(offset++) & 0x3F) << 6)
+            | (words.get(offset++) & 0x3F));
+      }
+
+      if (c != fold(word.charAt(i)))
+        return false;
+    }
+
+    return true;
+  }
+
+  private String getWord(int entry) {
+    StringBuilder word = new StringBuilder();
+
+    for (int offset = offsets.get(entry), end = offsets.get(entry + 1); offset < end; ) {
+      int b = words.get(offset++) & 0xFF;
+
+      if (b < 0x80) {
+        word.append((char) b);
+      }
+      else if (b < 0xE0) {
+        word.append((char) (((b & 0x1F) << 6) | (words.get(offset++) & 0x3F)));
+      }
+      else {
+        word.append((char) (((b & 0x0F) << 12) | ((words.get(offset++) & 0x3F) << 6)
+            | (words.get(offset++) & 0x3F)));
+      }
+    }
+
+    return word.toString();
+  }
+
+  /**
+   * @return the number of words in the dictionary
+   */
+  public int size() {
+    return wordTagSets.limit();
+  }
+
+  /**
+   * @return all tags which are assigned to at least one word
+   */
+  public String[] getAllTags() {
+    return tags.clone();
+  }
+
+  public boolean isCaseSensitive() {
+    return caseSensitive;
+  }
+
+  /**
+   * Retrieves an iterator over all words in the dictionary, words of a case
+   * insensitive dictionary are returned in lower case.
+   */
+  public Iterator<String> iterator() {
+    return new Iterator<String>() {
+
+      private int entry;
+
+      public boolean hasNext() {
+        return entry < size();
+      }
+
+      public String next() {
+        if (!hasNext())
+          throw new NoSuchElementException();
+
+        return getWord(entry++);
+      }
+
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+
+  /**
+   * Writes the dictionary in its binary format to the given {@link OutputStream}.
+   * The stream remains open.
+   *
+   * @param out the stream to write the dictionary into
+   *
+   * @throws IOException if writing to the stream fails
+   */
+  public void serialize(OutputStream out) throws IOException {
+    DataOutputStream data = new DataOutputStream(out);
+
+    data.writeInt(MAGIC);
+    data.writeInt(caseSensitive ? 1 : 0);
+
+    data.writeInt(tags.length);
+    for (String tag : tags) {
+      byte[] bytes = tag.getBytes("UTF-8");
+      data.writeInt(bytes.length);
+      data.write(bytes);
+    }
+
+    data.writeInt(tagSetBits.length);
+    for (long bits : tagSetBits) {
+      data.writeLong(bits);
+    }
+
+    data.writeInt(size());
+    data.writeInt(table.limit());
+
+    for (int i = 0; i < table.limit(); i++) {
+      data.writeInt(table.get(i));
+    }
+
+    for (int i = 0; i <= size(); i++) {
+      data.writeInt(offsets.get(i));
+    }
+
+    for (int i = 0; i < size(); i++) {
+      data.writeInt(wordTagSets.get(i));
+    }
+
+    for (int i = 0; i < words.limit(); i++) {
+      data.write(words.get(i));
+    }
+
+    data.flush();
+  }
+
+  private static ByteBuffer slice(ByteBuffer buffer, int length) {
+    if (length < 0 || length > buffer.remaining())
+      throw new BufferUnderflowException();
+
+    ByteBuffer slice = buffer.slice();
+    slice.limit(length);
+    buffer.position(buffer.position() + length);
+
+    return slice;
+  }
+
+  private static CompactTagDictionary read(ByteBuffer buffer) throws InvalidFormatException {
+    try {
+      if (buffer.getInt() != MAGIC)
+        throw new InvalidFormatException("Not a compact tag dictionary!");
+
+      boolean caseSensitive = buffer.getInt() != 0;
+
+      String[] tags = new String[buffer.getInt()];
+      for (int i = 0; i < tags.length; i++) {
+        ByteBuffer tag = slice(buffer, buffer.getInt());
+        byte[] bytes = new byte[tag.remaining()];
+        tag.get(bytes);
+        tags[i] = new String(bytes, "UTF-8");
+      }
+
+      long[] tagSetBits = new long[buffer.getInt()];
+      for (int i = 0; i < tagSetBits.length; i++) {
+        tagSetBits[i] = buffer.getLong();
+      }
+
+      int size = buffer.getInt();
+      int tableSize = buffer.getInt();
+
+      if (size < 0 || tableSize <= size || Integer.bitCount(tableSize) != 1)
+        throw new InvalidFormatException("Invalid hash table size: " + tableSize);
+
+      IntBuffer table = slice(buffer, tableSize * 4).asIntBuffer();
+      IntBuffer offsets = slice(buffer, (size + 1) * 4).asIntBuffer();
+      IntBuffer wordTagSets = slice(buffer, size * 4).asIntBuffer();
+      ByteBuffer words = slice(buffer, offsets.get(size));
+
+      return new CompactTagDictionary(caseSensitive, tags, tagSetBits,
+          table, offsets, wordTagSets, words);
+    }
+    catch (BufferUnderflowException e) {
+      throw new InvalidFormatException("Compact tag dictionary is truncated!", e);
+    }
+    catch (UnsupportedEncodingException e) {
+      // UTF-8 is always supported
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Reads a dictionary in the format written by {@link #serialize(OutputStream)}
+   * into memory. The stream remains open.
+   *
+   * @param in the stream to read the dictionary from
+   *
+   * @return the dictionary
+   *
+   * @throws IOException if reading from the stream fails
+   * @throws InvalidFormatException if the stream does not contain a valid dictionary
+   */
+  public static CompactTagDictionary create(InputStream in)
+      throws IOException, InvalidFormatException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    byte[] buffer = new byte[8192];
+    int length;
+    while ((length = in.read(buffer)) != -1) {
+      bytes.write(buffer, 0, length);
+    }
+
+    return read(ByteBuffer.wrap(bytes.toByteArray()));
+  }
+
+  /**
+   * Maps a dictionary file in the format written by {@link #serialize(OutputStream)}
+   * into memory, the words and the hash table are read from the file on demand.
+   *
+   * @param file the dictionary file
+   *
+   * @return the dictionary
+   *
+   * @throws IOException if the file cannot be mapped
+   * @throws InvalidFormatException if the file does not contain a valid dictionary
+   */
+  public static CompactTagDictionary map(File file) throws IOException, InvalidFormatException {
+    RandomAccessFile in = new RandomAccessFile(file, "r");
+    try {
+      return read(in.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, in.length()));
+    }
+    finally {
+      in.close();
+    }
+  }
+
+  /**
+   * Creates a compact copy of the specified dictionary.
+   *
+   * @param dictionary the dictionary
+   *
+   * @return the compact dictionary with the same words and tags
+   */
+  public static CompactTagDictionary create(POSDictionary dictionary) {
+    Builder builder = new Builder(dictionary.isCaseSensitive());
+
+    for (String word : dictionary) {
+      for (String tag : dictionary.getTags(word)) {
+        builder.add(word, tag);
+      }
+    }
+
+    return builder.build();
+  }
+
+  @Override
+  public String toString() {
+    return "CompactTagDictionary{size=" + size() + ", caseSensitive="
+        + caseSensitive + "}";
+  }
+
+  /**
+   * Counts how often the tags occur with each word and builds a
+   * {@link CompactTagDictionary} from the word tag pairs which occurred at
+   * least a cutoff times.
+   * <p>
+   * The counts are kept in primitive open addressing hash tables, each word
+   * and tag is only stored once.
+   */
+  public static class Builder {
+
+    private static final long NO_PAIR = -1L;
+
+    private final boolean caseSensitive;
+
+    private String[] wordTable = new String[1024];
+
+    private int[] wordTableIds = new int[1024];
+
+    private String[] wordList = new String[512];
+
+    private int numberOfWords;
+
+    private final Map<String, Integer> tagIds = new HashMap<String, Integer>();
+
+    private final List<String> tagList = new ArrayList<String>();
+
+    private long[] pairTable = newPairTable(1024);
+
+    private int[] pairCounts = new int[1024];
+
+    private int numberOfPairs;
+
+    /**
+     * Initializes the builder.
+     *
+     * @param caseSensitive true if the dictionary should be case sensitive
+     */
+    public Builder(boolean caseSensitive) {
+      this.caseSensitive = caseSensitive;
+    }
+
+    /**
+     * Initializes the builder for a case sensitive dictionary.
+     */
+    public Builder() {
+      this(true);
+    }
+
+    private static long[] newPairTable(int size) {
+      long[] table = new long[size];
+      Arrays.fill(table, NO_PAIR);
+      return table;
+    }
+
+    private String fold(String word) {
+      return caseSensitive ? word : StringUtil.toLowerCase(word);
+    }
+
+    private int findWordSlot(String word) {
+      int slot = mix(word.hashCode()) & (wordTable.length - 1);
+
+      while (wordTable[slot] != null && !wordTable[slot].equals(word)) {
+        slot = (slot + 1) & (wordTable.length - 1);
+      }
+
+      return slot;
+    }
+
+    private int getWordId(String word) {
+      int slot = findWordSlot(word);
+
+      if (wordTable[slot] != null)
+        return wordTableIds[slot];
+
+      if (numberOfWords == wordList.length)
+        wordList = Arrays.copyOf(wordList, wordList.length * 2);
+
+      wordList[numberOfWords] = word;
+      wordTable[slot] = word;
+      wordTableIds[slot] = numberOfWords;
+
+      if (++numberOfWords * 2 > wordTable.length) {
+        String[] oldTable = wordTable;
+        int[] oldIds = wordTableIds;
+
+        wordTable = new String[oldTable.length * 2];
+        wordTableIds = new int[oldTable.length * 2];
+
+        for (int i = 0; i < oldTable.length; i++) {
+          if (oldTable[i] != null) {
+            int newSlot = findWordSlot(oldTable[i]);
+            wordTable[newSlot] = oldTable[i];
+            wordTableIds[newSlot] = oldIds[i];
+          }
+        }
+      }
+
+      return numberOfWords - 1;
+    }
+
+    private int getTagId(String tag) {
+      Integer id = tagIds.get(tag);
+
+      if (id == null) {
+        id = tagList.size();
+        tagIds.put(tag, id);
+        tagList.add(tag);
+      }
+
+      return id;
+    }
+
+    private int findPairSlot(long pair) {
+      int slot = mix((int) (pair >>> 32) * 31 + (int) pair) & (pairTable.length - 1);
+
+      while (pairTable[slot] != NO_PAIR && pairTable[slot] != pair) {
+        slot = (slot + 1) & (pairTable.length - 1);
+      }
+
+      return slot;
+    }
+
+    /**
+     * Checks if a tag was added for the specified word.
+     *
+     * @param word the word
+     *
+     * @return true if the word is known, false otherwise
+     */
+    public boolean contains(String word) {
+      return wordTable[findWordSlot(fold(word))] != null;
+    }
+
+    /**
+     * Counts one occurrence of the tag with the word.
+     *
+     * @param word the word
+     * @param tag the tag
+     */
+    public void add(String word, String tag) {
+      add(word, tag, 1);
+    }
+
+    /**
+     * Adds the count to the occurrences of the tag with the word.
+     *
+     * @param word the word
+     * @param tag the tag
+     * @param count the number of occurrences
+     */
+    public void add(String word, String tag, int count) {
+      long pair = ((long) getWordId(fold(word)) << 32) | getTagId(tag);
+
+      int slot = findPairSlot(pair);
+
+      if (pairTable[slot] == NO_PAIR) {
+        pairTable[slot] = pair;
+        pairCounts[slot] = count;
+
+        if (++numberOfPairs * 2 > pairTable.length) {
+          long[] oldTable = pairTable;
+          int[] oldCounts = pairCounts;
+
+          pairTable = newPairTable(oldTable.length * 2);
+          pairCounts = new int[oldTable.length * 2];
+
+          for (int i = 0; i < oldTable.length; i++) {
+            if (oldTable[i] != NO_PAIR) {
+              int newSlot = findPairSlot(oldTable[i]);
+              pairTable[newSlot] = oldTable[i];
+              pairCounts[newSlot] = oldCounts[i];
+            }
+          }
+        }
+      }
+      else {
+        // saturate instead of overflowing
+        pairCounts[slot] = (int) Math.min(Integer.MAX_VALUE, (long) pairCounts[slot] + count);
+      }
+    }
+
+    /**
+     * Builds a dictionary which contains all added tags.
+     *
+     * @return the dictionary
+     */
+    public CompactTagDictionary build() {
+      return build(1);
+    }
+
+    /**
+     * Builds a dictionary which contains the tags which occurred at least
+     * cutoff times with a word, words without such a tag are left out.
+     *
+     * @param cutoff the minimal number of occurrences of a word tag pair
+     *
+     * @return the dictionary
+     */
+    public CompactTagDictionary build(int cutoff) {
+
+      // collect the pairs which occurred often enough, sorted by word and tag id
+      long[] pairs = new long[numberOfPairs];
+      int numberOfKeptPairs = 0;
+
+      for (int i = 0; i < pairTable.length; i++) {
+        if (pairTable[i] != NO_PAIR && pairCounts[i] >= cutoff)
+          pairs[numberOfKeptPairs++] = pairTable[i];
+      }
+
+      Arrays.sort(pairs, 0, numberOfKeptPairs);
+
+      // only the used tags get an id, in the order they were first added
+      boolean[] usedTags = new boolean[tagList.size()];
+      for (int i = 0; i < numberOfKeptPairs; i++) {
+        usedTags[(int) pairs[i]] = true;
+      }
+
+      int[] newTagIds = new int[tagList.size()];
+      List<String> tags = new ArrayList<String>();
+
+      for (int tag = 0; tag < usedTags.length; tag++) {
+        if (usedTags[tag]) {
+          newTagIds[tag] = tags.size();
+          tags.add(tagList.get(tag));
+        }
+      }
+
+      int wordsPerTagSet = (tags.size() + 63) >>> 6;
+
+      Map<BitSet, Integer> tagSetIds = new HashMap<BitSet, Integer>();
+      List<BitSet> tagSets = new ArrayList<BitSet>();
+
+      int size = 0;
+      int[] offsets = new int[numberOfWords + 1];
+      int[] wordTagSets = new int[numberOfWords];
+      int[] hashes = new int[numberOfWords];
+      byte[] words = new byte[1024];
+
+      for (int i = 0; i < numberOfKeptPairs; ) {
+        int wordId = (int) (pairs[i] >>> 32);
+
+        BitSet tagSet = new BitSet(tags.size());
+        for (; i < numberOfKeptPairs && (int) (pairs[i] >>> 32) == wordId; i++) {
+          tagSet.set(newTagIds[(int) pairs[i]]);
+        }
+
+        Integer tagSetId = tagSetIds.get(tagSet);
+        if (tagSetId == null) {
+          tagSetId = tagSets.size();
+          tagSetIds.put(tagSet, tagSetId);
+          tagSets.add(tagSet);
+        }
+
+        String word = wordList[wordId];
+
+        int offset = offsets[size];
+        if (offset + word.length() * 3 > words.length)
+          words = Arrays.copyOf(words, Math.max(words.length * 2, offset + word.length() * 3));
+
+        for (int c = 0; c < word.length(); c++) {
+          char ch = word.charAt(c);
+
+          if (ch < 0x80) {
+            words[offset++] = (byte) ch;
+          }
+          else if (ch < 0x800) {
+            words[offset++] = (byte) (0xC0 | (ch >> 6));
+            words[offset++] = (byte) (0x80 | (ch & 0x3F));
+          }
+          else {
+            words[offset++] = (byte) (0xE0 | (ch >> 12));
+            words[offset++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+            words[offset++] = (byte) (0x80 | (ch & 0x3F));
+          }
+        }
+
+        wordTagSets[size] = tagSetId;
+        hashes[size] = word.hashCode();
+        offsets[++size] = offset;
+      }
+
+      long[] tagSetBits = new long[tagSets.size() * wordsPerTagSet];
+      for (int set = 0; set < tagSets.size(); set++) {
+        BitSet tagSet = tagSets.get(set);
+        for (int tag = tagSet.nextSetBit(0); tag >= 0; tag = tagSet.nextSetBit(tag + 1)) {
+          tagSetBits[set * wordsPerTagSet + (tag >>> 6)] |= 1L << tag;
+        }
+      }
+
+      // the table is at most three quarters full
+      int[] table = new int[Integer.highestOneBit((size + size / 3) | 1) << 1];
+
+      for (int entry = 0; entry < size; entry++) {
+        int slot = mix(hashes[entry]) & (table.length - 1);
+
+        while (table[slot] != 0) {
+          slot = (slot + 1) & (table.length - 1);
+        }
+
+        table[slot] = entry + 1;
+      }
+
+      return new CompactTagDictionary(caseSensitive, tags.toArray(new String[tags.size()]),
+          tagSetBits, IntBuffer.wrap(table), IntBuffer.wrap(Arrays.copyOf(offsets, size + 1)),
+          IntBuffer.wrap(Arrays.copyOf(wordTagSets, size)),
+          ByteBuffer.wrap(Arrays.copyOf(words, offsets[size])));
+    }
+  }
+}
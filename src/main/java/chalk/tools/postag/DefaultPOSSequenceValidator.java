@@ -19,10 +19,10 @@ package chalk.tools.postag;
 
 import java.util.Arrays;
 
-import chalk.tools.util.SequenceValidator;
+import chalk.tools.util.ConstrainedSequenceValidator;
 
 
-public class DefaultPOSSequenceValidator implements SequenceValidator<String> {
+public class DefaultPOSSequenceValidator implements ConstrainedSequenceValidator<String> {
 
   private TagDictionary tagDictionary;
 
@@ -43,4 +43,13 @@ public class DefaultPOSSequenceValidator implements SequenceValidator<String> {
       }
     }
   }
+
+  public String[] getAllowedOutcomes(int i, String[] inputSequence,
+      String[] outcomesSequence) {
+    if (tagDictionary == null) {
+      return null;
+    } else {
+      return tagDictionary.getTags(inputSequence[i].toString());
+    }
+  }
 }
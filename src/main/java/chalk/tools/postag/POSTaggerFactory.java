@@ -44,6 +44,7 @@ import chalk.tools.util.model.UncloseableInputStream;
 public class POSTaggerFactory extends BaseToolFactory {
   
   private static final String TAG_DICTIONARY_ENTRY_NAME = "tags.tagdict";
+  private static final String COMPACT_TAG_DICTIONARY_ENTRY_NAME = "tags.ctagdict";
   private static final String NGRAM_DICTIONARY_ENTRY_NAME = "ngram.dictionary";
 
   protected Dictionary ngramDictionary;
@@ -78,6 +79,7 @@ public class POSTaggerFactory extends BaseToolFactory {
   public Map<String, ArtifactSerializer> createArtifactSerializersMap() {
     Map<String, ArtifactSerializer> serializers = super.createArtifactSerializersMap();
     POSDictionarySerializer.register(serializers);
+    CompactTagDictionarySerializer.register(serializers);
     // the ngram Dictionary uses a base serializer, we don't need to add it here.
     return serializers;
   }
@@ -86,7 +88,9 @@ public class POSTaggerFactory extends BaseToolFactory {
   public Map<String, Object> createArtifactMap() {
     Map<String, Object> artifactMap = super.createArtifactMap();
     
-    if (posDictionary != null)
+    if (posDictionary instanceof CompactTagDictionary)
+      artifactMap.put(COMPACT_TAG_DICTIONARY_ENTRY_NAME, posDictionary);
+    else if (posDictionary != null)
       artifactMap.put(TAG_DICTIONARY_ENTRY_NAME, posDictionary);
 
     if (ngramDictionary != null)
@@ -114,8 +118,12 @@ public class POSTaggerFactory extends BaseToolFactory {
   }
 
   public TagDictionary getTagDictionary() {
-    if(this.posDictionary == null && artifactProvider != null)
+    if(this.posDictionary == null && artifactProvider != null) {
       this.posDictionary = artifactProvider.getArtifact(TAG_DICTIONARY_ENTRY_NAME);
+
+      if (this.posDictionary == null)
+        this.posDictionary = artifactProvider.getArtifact(COMPACT_TAG_DICTIONARY_ENTRY_NAME);
+    }
     return this.posDictionary;
   }
   
@@ -163,6 +171,24 @@ public class POSTaggerFactory extends BaseToolFactory {
     }
   }
 
+  static class CompactTagDictionarySerializer implements ArtifactSerializer<CompactTagDictionary> {
+
+    public CompactTagDictionary create(InputStream in) throws IOException,
+        InvalidFormatException {
+      return CompactTagDictionary.create(in);
+    }
+
+    public void serialize(CompactTagDictionary artifact, OutputStream out)
+        throws IOException {
+      artifact.serialize(out);
+    }
+
+    @SuppressWarnings("rawtypes")
+    static void register(Map<String, ArtifactSerializer> factories) {
+      factories.put("ctagdict", new CompactTagDictionarySerializer());
+    }
+  }
+
   protected void validatePOSDictionary(POSDictionary posDict,
       AbstractModel posModel) throws InvalidFormatException {
     Set<String> dictTags = new HashSet<String>();
@@ -171,6 +197,11 @@ public class POSTaggerFactory extends BaseToolFactory {
       Collections.addAll(dictTags, posDict.getTags(word));
     }
 
+    validateTags(dictTags, posModel);
+  }
+
+  private static void validateTags(Set<String> dictTags, AbstractModel posModel)
+      throws InvalidFormatException {
     Set<String> modelTags = new HashSet<String>();
 
     for (int i = 0; i < posModel.getNumOutcomes(); i++) {
@@ -212,6 +243,25 @@ public class POSTaggerFactory extends BaseToolFactory {
       }
     }
 
+    Object compactTagdictEntry = this.artifactProvider
+        .getArtifact(COMPACT_TAG_DICTIONARY_ENTRY_NAME);
+
+    if (compactTagdictEntry != null) {
+      if (compactTagdictEntry instanceof CompactTagDictionary) {
+        if(!this.artifactProvider.isLoadedFromSerialized()) {
+          AbstractModel posModel = this.artifactProvider
+              .getArtifact(POSModel.POS_MODEL_ENTRY_NAME);
+          Set<String> dictTags = new HashSet<String>();
+          Collections.addAll(dictTags,
+              ((CompactTagDictionary) compactTagdictEntry).getAllTags());
+          validateTags(dictTags, posModel);
+        }
+      } else {
+        throw new InvalidFormatException(
+            "Compact POSTag dictionary has wrong type!");
+      }
+    }
+
     Object ngramDictEntry = this.artifactProvider
         .getArtifact(NGRAM_DICTIONARY_ENTRY_NAME);
 
@@ -20,25 +20,27 @@ package chalk.tools.postag;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.StringTokenizer;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import nak.model.AbstractModel;
 import nak.model.EventStream;
 import nak.model.TrainUtil;
 import chalk.tools.dictionary.Dictionary;
 import chalk.tools.ngram.NGramModel;
+import chalk.tools.util.AbstractEventStream;
 import chalk.tools.util.BeamSearch;
+import chalk.tools.util.CollectionObjectStream;
 import chalk.tools.util.ObjectStream;
+import chalk.tools.util.ParallelEventStream;
 import chalk.tools.util.Sequence;
 import chalk.tools.util.SequenceValidator;
 import chalk.tools.util.StringList;
 import chalk.tools.util.TrainingParameters;
-import chalk.tools.util.featuregen.StringPattern;
+import chalk.tools.util.featuregen.TokenInfo;
 import chalk.tools.util.model.ModelType;
 
 
@@ -322,7 +324,7 @@ public class POSTaggerME implements POSTagger {
   
   public static POSModel train(String languageCode,
       ObjectStream<POSSample> samples, TrainingParameters trainParams,
-      POSTaggerFactory posFactory) throws IOException {
+      final POSTaggerFactory posFactory) throws IOException {
     
     POSContextGenerator contextGenerator = posFactory.getPOSContextGenerator();
     
@@ -332,7 +334,21 @@ public class POSTaggerME implements POSTagger {
     
     if (!TrainUtil.isSequenceTraining(trainParams.getSettings())) {
       
-      EventStream es = new POSSampleEventStream(samples, contextGenerator);
+      EventStream es;
+      
+      if (trainParams.threads() > 1) {
+        es = new ParallelEventStream<POSSample>(samples,
+            new ParallelEventStream.EventStreamFactory<POSSample>() {
+          public AbstractEventStream<POSSample> createEventStream() {
+            return new POSSampleEventStream(
+                new CollectionObjectStream<POSSample>(Collections.<POSSample>emptyList()),
+                posFactory.getPOSContextGenerator());
+          }
+        }, null, trainParams.threads());
+      }
+      else {
+        es = new POSSampleEventStream(samples, contextGenerator);
+      }
       
       posModel = TrainUtil.train(es, trainParams.getSettings(), manifestInfoEntries);
     }
@@ -399,9 +415,9 @@ public class POSTaggerME implements POSTagger {
     System.out.println("Expanding POS Dictionary ...");
     long start = System.nanoTime();
 
-    // the data structure will store the word, the tag, and the number of
-    // occurrences
-    Map<String, Map<String, AtomicInteger>> newEntries = new HashMap<String, Map<String, AtomicInteger>>();
+    // counts how often each tag occurs with a word
+    CompactTagDictionary.Builder newEntries =
+        new CompactTagDictionary.Builder(dict.isCaseSensitive());
     POSSample sample;
     while ((sample = samples.read()) != null) {
       String[] words = sample.getSentence();
@@ -409,52 +425,29 @@ public class POSTaggerME implements POSTagger {
 
       for (int i = 0; i < words.length; i++) {
         // only store words
-        if (!StringPattern.recognize(words[i]).containsDigit()) {
-          String word;
-          if (dict.isCaseSensitive()) {
-            word = words[i];
-          } else {
-            word = words[i].toLowerCase();
-          }
-
-          if (!newEntries.containsKey(word)) {
-            newEntries.put(word, new HashMap<String, AtomicInteger>());
-          }
-
-          String[] dictTags = dict.getTags(word);
-          if (dictTags != null) {
-            for (String tag : dictTags) {
-              // for this tags we start with the cutoff
-              Map<String, AtomicInteger> value = newEntries.get(word);
-              if (!value.containsKey(tag)) {
-                value.put(tag, new AtomicInteger(cutoff));
+        if (!TokenInfo.get(words, i).getPattern().containsDigit()) {
+
+          if (!newEntries.contains(words[i])) {
+            String[] dictTags = dict.getTags(words[i]);
+            if (dictTags != null) {
+              for (String tag : dictTags) {
+                // for this tags we start with the cutoff
+                newEntries.add(words[i], tag, cutoff);
               }
             }
           }
 
-          if (!newEntries.get(word).containsKey(tags[i])) {
-            newEntries.get(word).put(tags[i], new AtomicInteger(1));
-          } else {
-            newEntries.get(word).get(tags[i]).incrementAndGet();
-          }
+          newEntries.add(words[i], tags[i]);
         }
       }
     }
-    
+
     // now we check if the word + tag pairs have enough occurrences, if yes we
-    // add it to the dictionary 
-    for (Entry<String, Map<String, AtomicInteger>> wordEntry : newEntries
-        .entrySet()) {
-      List<String> tagsForWord = new ArrayList<String>();
-      for (Entry<String, AtomicInteger> entry : wordEntry.getValue().entrySet()) {
-        if (entry.getValue().get() >= cutoff) {
-          tagsForWord.add(entry.getKey());
-        }
-      }
-      if (tagsForWord.size() > 0) {
-        dict.put(wordEntry.getKey(),
-            tagsForWord.toArray(new String[tagsForWord.size()]));
-      }
+    // add it to the dictionary
+    CompactTagDictionary newDict = newEntries.build(cutoff);
+
+    for (String word : newDict) {
+      dict.put(word, newDict.getTags(word));
     }
 
     System.out.println("... finished expanding POS Dictionary. ["
@@ -36,6 +36,8 @@ import chalk.tools.util.ObjectStream;
 import chalk.tools.util.Span;
 import chalk.tools.util.StringUtil;
 import chalk.tools.util.TrainingParameters;
+import chalk.tools.util.metrics.TraceEvent;
+import chalk.tools.util.metrics.Tracing;
 import chalk.tools.util.model.ModelUtil;
 
 
@@ -65,6 +67,11 @@ public class SentenceDetectorME implements SentenceDetector {
    */
   private MaxentModel model;
 
+  /**
+   * The identity of the model in the trace events.
+   */
+  private final String modelId;
+
   /**
    * The feature context generator.
    */
@@ -80,6 +87,11 @@ public class SentenceDetectorME implements SentenceDetector {
    */
   private List<Double> sentProbs = new ArrayList<Double>();
 
+  /**
+   * The number of model evaluations of the last call to detectSpans().
+   */
+  private int evaluations;
+
   protected boolean useTokenEnd;
 
   /**
@@ -90,6 +102,7 @@ public class SentenceDetectorME implements SentenceDetector {
   public SentenceDetectorME(SentenceModel model) {
     SentenceDetectorFactory sdFactory = model.getFactory();
     this.model = model.getMaxentModel();
+    this.modelId = Tracing.getModelId(this.model);
     cgen = sdFactory.getSDContextGenerator();
     scanner = sdFactory.getEndOfSentenceScanner();
     useTokenEnd = sdFactory.isUseTokenEnd();
@@ -101,6 +114,7 @@ public class SentenceDetectorME implements SentenceDetector {
    */
   public SentenceDetectorME(SentenceModel model, Factory factory) {
     this.model = model.getMaxentModel();
+    this.modelId = Tracing.getModelId(this.model);
     // if the model has custom EOS characters set, use this to get the context
     // generator and the EOS scanner; otherwise use language-specific defaults
     char[] customEOSCharacters = model.getEosCharacters();
@@ -168,7 +182,19 @@ public class SentenceDetectorME implements SentenceDetector {
    *
    */
   public Span[] sentPosDetect(String s) {
+    TraceEvent trace = Tracing.beginTool("SentenceDetectorME", modelId, s.length(), -1);
+
+    Span[] spans = detectSpans(s);
+
+    if (trace != null)
+      trace.end(evaluations);
+
+    return spans;
+  }
+
+  private Span[] detectSpans(String s) {
     sentProbs.clear();
+    evaluations = 0;
     StringBuffer sb = new StringBuffer(s);
     List<Integer> enders = scanner.getPositions(s);
     List<Integer> positions = new ArrayList<Integer>(enders.size());
@@ -183,6 +209,7 @@ public class SentenceDetectorME implements SentenceDetector {
       }
 
       double[] probs = model.eval(cgen.getContext(sb, cint));
+      evaluations++;
       String bestOutcome = model.getBestOutcome(probs);
 
       if (bestOutcome.equals(SPLIT) && isAcceptableBreak(s, index, cint)) {
@@ -33,9 +33,14 @@ import nak.model.MaxentModel;
 import nak.model.TrainUtil;
 import chalk.tools.dictionary.Dictionary;
 import chalk.tools.tokenize.lang.Factory;
+import chalk.tools.util.AbstractEventStream;
+import chalk.tools.util.CollectionObjectStream;
 import chalk.tools.util.ObjectStream;
+import chalk.tools.util.ParallelEventStream;
 import chalk.tools.util.Span;
 import chalk.tools.util.TrainingParameters;
+import chalk.tools.util.metrics.TraceEvent;
+import chalk.tools.util.metrics.Tracing;
 import chalk.tools.util.model.ModelUtil;
 
 
@@ -102,6 +107,11 @@ public class TokenizerME extends AbstractTokenizer {
    */
   private MaxentModel model;
 
+  /**
+   * The identity of the model in the trace events.
+   */
+  private final String modelId;
+
   /**
    * The context generator.
    */
@@ -126,6 +136,7 @@ public class TokenizerME extends AbstractTokenizer {
     this.alphanumeric = factory.getAlphaNumericPattern();
     this.cg = factory.getContextGenerator();
     this.model = model.getMaxentModel();
+    this.modelId = Tracing.getModelId(this.model);
     this.useAlphaNumericOptimization = factory.isUseAlphaNumericOptmization();
 
     newTokens = new ArrayList<Span>();
@@ -144,6 +155,7 @@ public class TokenizerME extends AbstractTokenizer {
         getAbbreviations(model.getAbbreviations()));
 
     this.model = model.getMaxentModel();
+    this.modelId = Tracing.getModelId(this.model);
     useAlphaNumericOptimization = model.useAlphaNumericOptimization();
 
     newTokens = new ArrayList<Span>();
@@ -181,6 +193,9 @@ public class TokenizerME extends AbstractTokenizer {
    * @return   A span array containing individual tokens as elements.
    */
   public Span[] tokenizePos(String d) {
+    TraceEvent trace = Tracing.beginTool("TokenizerME", modelId, d.length(), -1);
+    int evaluations = 0;
+
     Span[] tokens = WhitespaceTokenizer.INSTANCE.tokenizePos(d);
     newTokens.clear();
     tokProbs.clear();
@@ -204,6 +219,7 @@ public class TokenizerME extends AbstractTokenizer {
         for (int j = origStart + 1; j < end; j++) {
           double[] probs =
             model.eval(cg.getContext(tok, j - origStart));
+          evaluations++;
           String best = model.getBestOutcome(probs);
           tokenProb *= probs[model.getIndex(best)];
           if (best.equals(TokenizerME.SPLIT)) {
@@ -220,6 +236,10 @@ public class TokenizerME extends AbstractTokenizer {
 
     Span[] spans = new Span[newTokens.size()];
     newTokens.toArray(spans);
+
+    if (trace != null)
+      trace.end(evaluations);
+
     return spans;
   }
   
@@ -244,9 +264,28 @@ public class TokenizerME extends AbstractTokenizer {
 
     Map<String, String> manifestInfoEntries = new HashMap<String, String>();
 
-    EventStream eventStream = new TokSpanEventStream(samples,
-        factory.isUseAlphaNumericOptmization(),
-        factory.getAlphaNumericPattern(), factory.getContextGenerator());
+    EventStream eventStream;
+
+    if (mlParams.threads() > 1) {
+      final boolean useAlphaNumericOptimization = factory.isUseAlphaNumericOptmization();
+      final Pattern alphaNumericPattern = factory.getAlphaNumericPattern();
+      final TokenizerFactory workerFactory = factory;
+
+      eventStream = new ParallelEventStream<TokenSample>(samples,
+          new ParallelEventStream.EventStreamFactory<TokenSample>() {
+        public AbstractEventStream<TokenSample> createEventStream() {
+          return new TokSpanEventStream(
+              new CollectionObjectStream<TokenSample>(Collections.<TokenSample>emptyList()),
+              useAlphaNumericOptimization, alphaNumericPattern,
+              workerFactory.getContextGenerator());
+        }
+      }, null, mlParams.threads());
+    }
+    else {
+      eventStream = new TokSpanEventStream(samples,
+          factory.isUseAlphaNumericOptmization(),
+          factory.getAlphaNumericPattern(), factory.getContextGenerator());
+    }
 
     AbstractModel maxentModel = TrainUtil.train(eventStream,
         mlParams.getSettings(), manifestInfoEntries);
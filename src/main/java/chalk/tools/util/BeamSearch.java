@@ -22,6 +22,13 @@ import java.util.List;
 
 import nak.model.MaxentModel;
 
+import chalk.tools.util.metrics.Counter;
+import chalk.tools.util.metrics.Histogram;
+import chalk.tools.util.metrics.Metrics;
+import chalk.tools.util.metrics.Timer;
+import chalk.tools.util.metrics.TraceEvent;
+import chalk.tools.util.metrics.Tracing;
+
 
 /**
  * Performs k-best search over sequence.  This is based on the description in
@@ -42,8 +49,22 @@ public class BeamSearch<T> {
 
   private double[] probs;
   private Cache contextsCache;
+
+  private ConstrainedModelEvaluator constrainedEvaluator;
+  private int[] allowedOutcomes;
+  private double[] allowedProbs;
   private static final int zeroLog = -100000;
 
+  private final Counter evalCounter = Metrics.counter("beamsearch.evals");
+  private final Counter cacheHitCounter = Metrics.counter("beamsearch.cache.hits");
+  private final Counter expansionCounter = Metrics.counter("beamsearch.expansions");
+  private final Counter pruneCounter = Metrics.counter("beamsearch.prunes");
+  private final Timer featureTimer = Metrics.timer("beamsearch.features");
+  private final Histogram lengthHistogram = Metrics.histogram("beamsearch.length");
+
+  private final String toolName;
+  private final String modelId;
+
   /**
    * Creates new search object.
    *
@@ -68,11 +89,20 @@ public class BeamSearch<T> {
     this.model = model;
     this.validator = validator;
 
+    toolName = cg.getClass().getSimpleName();
+    modelId = Tracing.getModelId(model);
+
     if (cacheSize > 0) {
       contextsCache = new Cache(cacheSize);
     }
 
     this.probs = new double[model.getNumOutcomes()];
+
+    if (validator instanceof ConstrainedSequenceValidator) {
+      constrainedEvaluator = new ConstrainedModelEvaluator(model);
+      allowedOutcomes = new int[model.getNumOutcomes()];
+      allowedProbs = new double[model.getNumOutcomes()];
+    }
   }
 
   /**
@@ -92,6 +122,87 @@ public class BeamSearch<T> {
     }
   }
 
+  /**
+   * Retrieves the indexes of the outcomes which the validator allows
+   * at the specified position.
+   *
+   * @return the number of allowed outcomes in the model, or -1 if
+   *     all outcomes are allowed
+   */
+  @SuppressWarnings("unchecked")
+  private int getAllowedOutcomes(int i, T[] inputSequence, String[] outcomesSequence) {
+
+    if (constrainedEvaluator == null)
+      return -1;
+
+    String[] allowed = ((ConstrainedSequenceValidator<T>) validator).getAllowedOutcomes(
+        i, inputSequence, outcomesSequence);
+
+    if (allowed == null)
+      return -1;
+
+    int numAllowed = 0;
+
+    for (String outcome : allowed) {
+      int oi = constrainedEvaluator.getIndex(outcome);
+
+      if (oi != -1) {
+        boolean duplicate = false;
+        for (int ai = 0; ai < numAllowed; ai++) {
+          if (allowedOutcomes[ai] == oi)
+            duplicate = true;
+        }
+
+        if (!duplicate)
+          allowedOutcomes[numAllowed++] = oi;
+      }
+    }
+
+    // none of the allowed outcomes is known to the model, fall back to all
+    return numAllowed > 0 ? numAllowed : -1;
+  }
+
+  /**
+   * Advances the sequence with the most likely of the allowed outcomes.
+   *
+   * @return the number of advanced sequences
+   */
+  private int advanceAllowedOutcomes(Sequence top, int i, T[] sequence, String[] outcomes,
+      String[] contexts, int numAllowed, Heap<Sequence> next, double minSequenceScore) {
+
+    constrainedEvaluator.eval(contexts, allowedOutcomes, numAllowed, allowedProbs);
+
+    int expansions = 0;
+
+    // the number of allowed outcomes is usually tiny, select the
+    // best "size" outcomes by repeatedly searching the maximum
+    for (int advanced = 0; advanced < size && advanced < numAllowed; advanced++) {
+      int best = advanced;
+      for (int ai = advanced + 1; ai < numAllowed; ai++) {
+        if (allowedProbs[ai] > allowedProbs[best])
+          best = ai;
+      }
+
+      int bestOutcome = allowedOutcomes[best];
+      double bestProb = allowedProbs[best];
+      allowedOutcomes[best] = allowedOutcomes[advanced];
+      allowedProbs[best] = allowedProbs[advanced];
+      allowedOutcomes[advanced] = bestOutcome;
+      allowedProbs[advanced] = bestProb;
+
+      String out = model.getOutcome(bestOutcome);
+      if (validSequence(i, sequence, outcomes, out)) {
+        Sequence ns = new Sequence(top, out, bestProb);
+        if (ns.getScore() > minSequenceScore) {
+          next.add(ns);
+          expansions++;
+        }
+      }
+    }
+
+    return expansions;
+  }
+
   public Sequence[] bestSequences(int numSequences, T[] sequence, Object[] additionalContext) {
     return bestSequences(numSequences, sequence, additionalContext, zeroLog);
   }
@@ -107,6 +218,8 @@ public class BeamSearch<T> {
    */
   public Sequence[] bestSequences(int numSequences, T[] sequence, Object[] additionalContext, double minSequenceScore) {
 
+    TraceEvent trace = Tracing.beginTool(toolName, modelId, sequence.length, size);
+
     Heap<Sequence> prev = new ListHeap<Sequence>(size);
     Heap<Sequence> next = new ListHeap<Sequence>(size);
     Heap<Sequence> tmp;
@@ -116,6 +229,12 @@ public class BeamSearch<T> {
       additionalContext = EMPTY_ADDITIONAL_CONTEXT;
     }
 
+    // counted locally and reported once per sequence
+    int evals = 0;
+    int cacheHits = 0;
+    int candidates = 0;
+    int expansions = 0;
+
     for (int i = 0; i < sequence.length; i++) {
       int sz = Math.min(size, prev.size());
 
@@ -123,19 +242,39 @@ public class BeamSearch<T> {
         Sequence top = prev.extract();
         List<String> tmpOutcomes = top.getOutcomes();
         String[] outcomes = tmpOutcomes.toArray(new String[tmpOutcomes.size()]);
+        long featureStart = featureTimer.start();
         String[] contexts = cg.getContext(i, sequence, outcomes, additionalContext);
+        featureTimer.stop(featureStart);
+
+        int numAllowed = getAllowedOutcomes(i, sequence, outcomes);
+
+        if (numAllowed != -1) {
+          evals++;
+          candidates += numAllowed;
+          expansions += advanceAllowedOutcomes(top, i, sequence, outcomes, contexts, numAllowed,
+              next, minSequenceScore);
+          continue;
+        }
+
         double[] scores;
         if (contextsCache != null) {
           scores = (double[]) contextsCache.get(contexts);
           if (scores == null) {
             scores = model.eval(contexts, probs);
+            evals++;
             contextsCache.put(contexts,scores);
           }
+          else {
+            cacheHits++;
+          }
         }
         else {
           scores = model.eval(contexts, probs);
+          evals++;
         }
 
+        candidates += scores.length;
+
         double[] temp_scores = new double[scores.length];
         for (int c = 0; c < scores.length; c++) {
           temp_scores[c] = scores[c];
@@ -153,6 +292,7 @@ public class BeamSearch<T> {
             Sequence ns = new Sequence(top, out, scores[p]);
             if (ns.getScore() > minSequenceScore) {
               next.add(ns);
+              expansions++;
             }
           }
         }
@@ -164,6 +304,7 @@ public class BeamSearch<T> {
               Sequence ns = new Sequence(top, out, scores[p]);
               if (ns.getScore() > minSequenceScore) {
                 next.add(ns);
+                expansions++;
               }
             }
           }
@@ -184,6 +325,15 @@ public class BeamSearch<T> {
       topSequences[seqIndex] = prev.extract();
     }
 
+    evalCounter.increment(evals);
+    cacheHitCounter.increment(cacheHits);
+    expansionCounter.increment(expansions);
+    pruneCounter.increment(Math.max(0, candidates - expansions));
+    lengthHistogram.record(sequence.length);
+
+    if (trace != null)
+      trace.end(expansions);
+
     return topSequences;
   }
 
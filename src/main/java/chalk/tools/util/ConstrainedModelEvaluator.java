@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package chalk.tools.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import nak.model.AbstractModel;
+import nak.model.Context;
+import nak.model.IndexHashTable;
+import nak.model.MaxentModel;
+
+/**
+ * Evaluates a model for a subset of its outcomes, the probabilities are
+ * normalized over the subset.
+ * <p>
+ * For maxent models only the parameters of the requested outcomes are summed up
+ * and exponentiated, the parameters of all other outcomes are skipped. This
+ * assumes the model uses the default uniform prior, which cancels out in the
+ * normalization. All other models are evaluated completely and the probabilities
+ * of the subset are normalized afterwards.
+ * <p>
+ * This class is not thread safe.
+ */
+public class ConstrainedModelEvaluator {
+
+  private final MaxentModel model;
+
+  private final Map<String, Integer> outcomeIndexes = new HashMap<String, Integer>();
+
+  private final boolean sparse;
+
+  private Context[] params;
+
+  private IndexHashTable<String> pmap;
+
+  private double correctionConstant;
+
+  private double constantInverse;
+
+  private double correctionParam;
+
+  // the position of an outcome in the evaluated subset, or -1
+  private final int[] subsetIndexes;
+
+  private final int[] numFeatures;
+
+  private final double[] probs;
+
+  /**
+   * Initializes the current instance.
+   *
+   * @param model the model
+   */
+  @SuppressWarnings("unchecked")
+  public ConstrainedModelEvaluator(MaxentModel model) {
+    this.model = model;
+
+    int numOutcomes = model.getNumOutcomes();
+
+    for (int oi = 0; oi < numOutcomes; oi++) {
+      outcomeIndexes.put(model.getOutcome(oi), oi);
+    }
+
+    if (model instanceof AbstractModel &&
+        ((AbstractModel) model).getModelType() == AbstractModel.ModelType.Maxent) {
+
+      Object[] data = ((AbstractModel) model).getDataStructures();
+
+      params = (Context[]) data[0];
+      pmap = (IndexHashTable<String>) data[1];
+      correctionConstant = (Integer) data[3];
+      constantInverse = 1.0 / correctionConstant;
+      correctionParam = (Double) data[4];
+      sparse = true;
+    }
+    else {
+      sparse = false;
+    }
+
+    subsetIndexes = new int[numOutcomes];
+    for (int oi = 0; oi < numOutcomes; oi++) {
+      subsetIndexes[oi] = -1;
+    }
+
+    numFeatures = new int[numOutcomes];
+    probs = new double[numOutcomes];
+  }
+
+  /**
+   * Retrieves the index of the specified outcome.
+   *
+   * @param outcome the outcome
+   *
+   * @return the index or -1 if the model does not have this outcome
+   */
+  public int getIndex(String outcome) {
+    Integer index = outcomeIndexes.get(outcome);
+
+    if (index != null)
+      return index;
+    else
+      return -1;
+  }
+
+  /**
+   * Evaluates the specified context for the specified outcomes.
+   *
+   * @param context the context
+   * @param outcomes the indexes of the outcomes, every outcome must only be contained once
+   * @param numOutcomes the number of outcomes in the outcomes array
+   * @param subsetProbs the array the probabilities of the outcomes are written to,
+   *     in the order of the outcomes array
+   *
+   * @return the subset probabilities
+   */
+  public double[] eval(String[] context, int[] outcomes, int numOutcomes, double[] subsetProbs) {
+
+    if (sparse) {
+      for (int si = 0; si < numOutcomes; si++) {
+        subsetIndexes[outcomes[si]] = si;
+        subsetProbs[si] = 0;
+        numFeatures[si] = 0;
+      }
+
+      for (String predicate : context) {
+        int pi = pmap.get(predicate);
+
+        if (pi >= 0) {
+          Context predParams = params[pi];
+          int[] activeOutcomes = predParams.getOutcomes();
+          double[] activeParameters = predParams.getParameters();
+
+          for (int ai = 0; ai < activeOutcomes.length; ai++) {
+            int si = subsetIndexes[activeOutcomes[ai]];
+
+            if (si != -1) {
+              subsetProbs[si] += activeParameters[ai];
+              numFeatures[si]++;
+            }
+          }
+        }
+      }
+
+      double normal = 0;
+      for (int si = 0; si < numOutcomes; si++) {
+        if (correctionParam != 0) {
+          subsetProbs[si] = Math.exp(subsetProbs[si] * constantInverse +
+              ((1.0 - (numFeatures[si] / correctionConstant)) * correctionParam));
+        }
+        else {
+          subsetProbs[si] = Math.exp(subsetProbs[si] * constantInverse);
+        }
+        normal += subsetProbs[si];
+
+        subsetIndexes[outcomes[si]] = -1;
+      }
+
+      for (int si = 0; si < numOutcomes; si++) {
+        subsetProbs[si] /= normal;
+      }
+    }
+    else {
+      double[] allProbs = model.eval(context, probs);
+
+      double normal = 0;
+      for (int si = 0; si < numOutcomes; si++) {
+        subsetProbs[si] = allProbs[outcomes[si]];
+        normal += subsetProbs[si];
+      }
+
+      for (int si = 0; si < numOutcomes; si++) {
+        subsetProbs[si] = normal > 0 ? subsetProbs[si] / normal : 1d / numOutcomes;
+      }
+    }
+
+    return subsetProbs;
+  }
+}
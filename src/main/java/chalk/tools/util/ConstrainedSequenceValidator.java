@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package chalk.tools.util;
+
+/**
+ * A {@link SequenceValidator} which can tell in advance which outcomes are
+ * allowed at a position, e.g. because a tag dictionary lists the tags of a word.
+ * <p>
+ * The {@link BeamSearch} then only evaluates the allowed outcomes and normalizes
+ * their probabilities over these outcomes, instead of evaluating all outcomes and
+ * rejecting the disallowed ones afterwards.
+ */
+public interface ConstrainedSequenceValidator<T> extends SequenceValidator<T> {
+
+  /**
+   * Retrieves the outcomes which are allowed at the specified position,
+   * every returned outcome must also be accepted by
+   * {@link #validSequence(int, Object[], String[], String)}.
+   *
+   * @param i The index in the input sequence for which the outcomes are requested.
+   * @param inputSequence The input sequence.
+   * @param outcomesSequence The outcomes so far in this sequence.
+   *
+   * @return the allowed outcomes or null if all valid outcomes are allowed
+   */
+  String[] getAllowedOutcomes(int i, T[] inputSequence, String[] outcomesSequence);
+}
@@ -0,0 +1,294 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package chalk.tools.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import nak.model.Event;
+
+/**
+ * Collects events in a file instead of in memory, e.g. while the events for
+ * a model are generated from a large corpus.
+ * <p>
+ * The events are written in a compact binary format, every distinct outcome
+ * and context string is only written once, afterwards it is referred to by
+ * its number. Only the table of the distinct strings is kept in memory. Once
+ * all events are added the spooled events can be read with
+ * {@link #openStream()}, as often as needed.
+ * <p>
+ * This class is not thread safe.
+ */
+public class EventSpool implements Closeable {
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private final File file;
+
+  private final boolean temporary;
+
+  private final Map<String, Integer> stringIds = new HashMap<String, Integer>();
+
+  private DataOutputStream out;
+
+  private int size;
+
+  /**
+   * Initializes the current instance, the events are written to the
+   * specified file.
+   *
+   * @param file the file which is overwritten with the events
+   *
+   * @throws IOException if the file cannot be created
+   */
+  public EventSpool(File file) throws IOException {
+    this(file, false);
+  }
+
+  /**
+   * Initializes the current instance, the events are written to a temporary
+   * file which is deleted by {@link #delete()} or when the virtual machine exits.
+   *
+   * @throws IOException if the temporary file cannot be created
+   */
+  public EventSpool() throws IOException {
+    this(File.createTempFile("events", ".spool"), true);
+  }
+
+  private EventSpool(File file, boolean temporary) throws IOException {
+    this.file = file;
+    this.temporary = temporary;
+
+    if (temporary)
+      file.deleteOnExit();
+
+    out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+  }
+
+  private static void writeNumber(DataOutputStream out, int number) throws IOException {
+    while ((number & ~0x7F) != 0) {
+      out.write((number & 0x7F) | 0x80);
+      number >>>= 7;
+    }
+    out.write(number);
+  }
+
+  private static int readNumber(DataInputStream in) throws IOException {
+    int number = 0;
+
+    for (int shift = 0; ; shift += 7) {
+      int b = in.readUnsignedByte();
+      number |= (b & 0x7F) << shift;
+
+      if ((b & 0x80) == 0)
+        return number;
+
+      if (shift > 28)
+        throw new IOException("Invalid number in event spool!");
+    }
+  }
+
+  /**
+   * Writes the string as its length in bytes followed by its UTF-8 bytes,
+   * unlike {@link DataOutputStream#writeUTF(String)} the length is not
+   * limited to 64k bytes.
+   */
+  private static void writeUTF8(DataOutputStream out, String string) throws IOException {
+    byte[] bytes = string.getBytes(UTF_8);
+    writeNumber(out, bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readUTF8(DataInputStream in) throws IOException {
+    byte[] bytes = new byte[readNumber(in)];
+    in.readFully(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  /**
+   * Writes the id of the string, a new string is written as the next
+   * unused id followed by the string itself.
+   */
+  private void writeString(String string) throws IOException {
+    Integer id = stringIds.get(string);
+
+    if (id == null) {
+      id = stringIds.size();
+      stringIds.put(string, id);
+
+      writeNumber(out, id);
+      writeUTF8(out, string);
+    }
+    else {
+      writeNumber(out, id);
+    }
+  }
+
+  /**
+   * Appends an event to the spool.
+   *
+   * @param event the event
+   *
+   * @throws IOException if writing the event fails
+   */
+  public void add(Event event) throws IOException {
+    if (out == null)
+      throw new IllegalStateException("The event spool is already closed!");
+
+    String[] context = event.getContext();
+    float[] values = event.getValues();
+
+    writeString(event.getOutcome());
+
+    // the lowest bit tells if the event has values
+    writeNumber(out, context.length << 1 | (values != null ? 1 : 0));
+
+    for (String predicate : context) {
+      writeString(predicate);
+    }
+
+    if (values != null) {
+      for (int i = 0; i < context.length; i++) {
+        out.writeFloat(values[i]);
+      }
+    }
+
+    size++;
+  }
+
+  /**
+   * @return the number of events in the spool
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return the file which contains the events
+   */
+  public File getFile() {
+    return file;
+  }
+
+  /**
+   * Closes the spool, afterwards no more events can be added.
+   */
+  public void close() throws IOException {
+    if (out != null) {
+      out.close();
+      out = null;
+    }
+  }
+
+  /**
+   * Closes the spool and deletes its file if it is a temporary file.
+   */
+  public void delete() throws IOException {
+    close();
+
+    if (temporary)
+      file.delete();
+  }
+
+  /**
+   * Closes the spool and opens a stream over all spooled events. The stream
+   * closes its file after the last event was read.
+   *
+   * @return the stream over the events, in the order in which they were added
+   *
+   * @throws IOException if the file cannot be opened
+   */
+  public nak.model.EventStream openStream() throws IOException {
+    close();
+
+    final DataInputStream in = new DataInputStream(
+        new BufferedInputStream(new FileInputStream(file)));
+
+    return new nak.model.AbstractEventStream() {
+
+      private final List<String> strings = new ArrayList<String>();
+
+      private int remaining = size;
+
+      private String readString() throws IOException {
+        int id = readNumber(in);
+
+        if (id == strings.size())
+          strings.add(readUTF8(in));
+        else if (id > strings.size())
+          throw new IOException("Invalid string id in event spool: " + id);
+
+        return strings.get(id);
+      }
+
+      public boolean hasNext() throws IOException {
+        if (remaining == 0) {
+          in.close();
+          return false;
+        }
+        return true;
+      }
+
+      public Event next() throws IOException {
+        if (remaining == 0)
+          throw new NoSuchElementException();
+
+        try {
+          String outcome = readString();
+
+          int header = readNumber(in);
+
+          String[] context = new String[header >>> 1];
+          for (int i = 0; i < context.length; i++) {
+            context[i] = readString();
+          }
+
+          float[] values = null;
+          if ((header & 1) != 0) {
+            values = new float[context.length];
+            for (int i = 0; i < values.length; i++) {
+              values[i] = in.readFloat();
+            }
+          }
+
+          remaining--;
+
+          return new Event(outcome, context, values);
+        }
+        catch (EOFException e) {
+          in.close();
+          throw new IOException("Event spool is truncated: " + file);
+        }
+      }
+    };
+  }
+}
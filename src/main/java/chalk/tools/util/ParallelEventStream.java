@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package chalk.tools.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import nak.model.Event;
+
+/**
+ * An event stream which runs the {@link AbstractEventStream#createEvents(Object)}
+ * method of an existing event stream on multiple worker threads.
+ * <p>
+ * Every worker owns its own {@link AbstractEventStream} instance, created by an
+ * {@link EventStreamFactory}, because context generators are not thread safe.
+ * The samples are grouped into documents with a {@link DocumentBoundary} and
+ * each document is processed by exactly one worker, in order, so that
+ * adaptive feature generators (e.g. previous map features) see the same
+ * sequence of samples as in the single threaded case.
+ * <p>
+ * The events are returned in the order of the samples, independent of the
+ * number of threads. At most <code>readAhead</code> documents are read from
+ * the sample stream and held in memory before their events are consumed.
+ */
+public class ParallelEventStream<T> extends nak.model.AbstractEventStream {
+
+  /**
+   * Creates the per worker event streams.
+   */
+  public interface EventStreamFactory<T> {
+
+    /**
+     * Creates a new event stream instance. Its sample stream is never read,
+     * only its {@link AbstractEventStream#createEvents(Object)} method is called.
+     *
+     * @return a new event stream which does not share state with other instances
+     */
+    AbstractEventStream<T> createEventStream() throws IOException;
+  }
+
+  /**
+   * Decides where a new document starts.
+   */
+  public interface DocumentBoundary<T> {
+
+    /**
+     * @param sample
+     *
+     * @return true if the sample is the first sample of a new document
+     */
+    boolean isDocumentStart(T sample);
+  }
+
+  private final ObjectStream<T> samples;
+
+  private final DocumentBoundary<T> boundary;
+
+  private final int readAhead;
+
+  private final BlockingQueue<AbstractEventStream<T>> workers;
+
+  private final ExecutorService executor;
+
+  private final LinkedList<Future<List<Event>>> pending = new LinkedList<Future<List<Event>>>();
+
+  private Iterator<Event> events = Collections.<Event>emptyList().iterator();
+
+  // first sample of the next document, already read from the stream
+  private T nextDocumentStart;
+
+  private boolean samplesExhausted;
+
+  /**
+   * Initializes the current instance.
+   *
+   * @param samples the samples
+   * @param factory creates one event stream per thread
+   * @param boundary detects the document boundaries, or null if every
+   *     sample can be processed independently
+   * @param threads the number of worker threads
+   * @param readAhead the maximum number of documents which are processed
+   *     ahead of the consumer
+   *
+   * @throws IOException if the factory fails to create an event stream
+   */
+  public ParallelEventStream(ObjectStream<T> samples, EventStreamFactory<T> factory,
+      DocumentBoundary<T> boundary, int threads, int readAhead) throws IOException {
+
+    if (threads < 1)
+      throw new IllegalArgumentException("threads must be at least one: " + threads);
+
+    if (readAhead < 1)
+      throw new IllegalArgumentException("readAhead must be at least one: " + readAhead);
+
+    this.samples = samples;
+    this.boundary = boundary;
+    this.readAhead = readAhead;
+
+    workers = new ArrayBlockingQueue<AbstractEventStream<T>>(threads);
+    for (int i = 0; i < threads; i++) {
+      workers.add(factory.createEventStream());
+    }
+
+    executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+      public Thread newThread(Runnable r) {
+        Thread thread = new Thread(r, "ParallelEventStream-worker");
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+  }
+
+  /**
+   * Initializes the current instance with a read ahead of four
+   * documents per thread.
+   */
+  public ParallelEventStream(ObjectStream<T> samples, EventStreamFactory<T> factory,
+      DocumentBoundary<T> boundary, int threads) throws IOException {
+    this(samples, factory, boundary, threads, 4 * threads);
+  }
+
+  /**
+   * Reads the next document from the sample stream.
+   *
+   * @return the samples of the document or null if there are no more samples
+   */
+  private List<T> readDocument() throws IOException {
+
+    if (samplesExhausted)
+      return null;
+
+    List<T> document = new ArrayList<T>();
+
+    T sample = nextDocumentStart;
+    nextDocumentStart = null;
+
+    if (sample == null) {
+      sample = samples.read();
+    }
+
+    while (sample != null) {
+      document.add(sample);
+
+      if (boundary == null)
+        return document;
+
+      sample = samples.read();
+
+      if (sample != null && boundary.isDocumentStart(sample)) {
+        nextDocumentStart = sample;
+        return document;
+      }
+    }
+
+    samplesExhausted = true;
+
+    return document.isEmpty() ? null : document;
+  }
+
+  private void submit(final List<T> document) {
+    pending.add(executor.submit(new Callable<List<Event>>() {
+      public List<Event> call() throws Exception {
+        AbstractEventStream<T> worker = workers.take();
+        try {
+          List<Event> documentEvents = new ArrayList<Event>();
+          for (T sample : document) {
+            Iterator<Event> it = worker.createEvents(sample);
+            while (it.hasNext()) {
+              documentEvents.add(it.next());
+            }
+          }
+          return documentEvents;
+        }
+        finally {
+          workers.put(worker);
+        }
+      }
+    }));
+  }
+
+  private void fill() throws IOException {
+    List<T> document;
+    while (pending.size() < readAhead && (document = readDocument()) != null) {
+      submit(document);
+    }
+
+    if (samplesExhausted && pending.isEmpty()) {
+      executor.shutdown();
+    }
+  }
+
+  public final boolean hasNext() throws IOException {
+
+    while (!events.hasNext()) {
+
+      fill();
+
+      if (pending.isEmpty())
+        return false;
+
+      try {
+        events = pending.removeFirst().get().iterator();
+      } catch (InterruptedException e) {
+        executor.shutdownNow();
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while waiting for events!");
+      } catch (ExecutionException e) {
+        executor.shutdownNow();
+
+        Throwable cause = e.getCause();
+        if (cause instanceof IOException)
+          throw (IOException) cause;
+        else if (cause instanceof RuntimeException)
+          throw (RuntimeException) cause;
+        else if (cause instanceof Error)
+          throw (Error) cause;
+
+        IOException ioe = new IOException("Failed to create events: " + cause.getMessage());
+        ioe.initCause(cause);
+        throw ioe;
+      }
+    }
+
+    return true;
+  }
+
+  public final Event next() {
+    return events.next();
+  }
+}
@@ -31,6 +31,7 @@ public class TrainingParameters {
   
   public static final String ITERATIONS_PARAM = "Iterations";
   public static final String CUTOFF_PARAM = "Cutoff";
+  public static final String THREADS_PARAM = "Threads";
   
   private Map<String, String> parameters = new HashMap<String, String>();
   
@@ -65,6 +66,21 @@ public class TrainingParameters {
     return parameters.get(ALGORITHM_PARAM);
   }
   
+  /**
+   * Retrieves the number of threads which should be used for training,
+   * this includes the event generation and the training of the model.
+   * 
+   * @return the number of threads or 1 if not set.
+   */
+  public int threads() {
+    String threads = parameters.get(THREADS_PARAM);
+    
+    if (threads != null)
+      return Integer.parseInt(threads);
+    else
+      return 1;
+  }
+  
   /**
    * Retrieves a map with the training parameters which have the passed name space.
    * 
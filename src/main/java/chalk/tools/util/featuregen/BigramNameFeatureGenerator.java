@@ -22,16 +22,16 @@ import java.util.List;
 public class BigramNameFeatureGenerator extends FeatureGeneratorAdapter {
 
   public void createFeatures(List<String> features, String[] tokens, int index, String[] previousOutcomes) {
-    String wc = FeatureGeneratorUtil.tokenFeature(tokens[index]);
+    String wc = TokenInfo.get(tokens, index).getTokenClass();
     //bi-gram features 
     if (index > 0) {
       features.add("pw,w="+tokens[index-1]+","+tokens[index]);
-      String pwc = FeatureGeneratorUtil.tokenFeature(tokens[index-1]);
+      String pwc = TokenInfo.get(tokens, index-1).getTokenClass();
       features.add("pwc,wc="+pwc+","+wc);
     }
     if (index+1 < tokens.length) {
       features.add("w,nw="+tokens[index]+","+tokens[index+1]);
-      String nwc = FeatureGeneratorUtil.tokenFeature(tokens[index+1]); 
+      String nwc = TokenInfo.get(tokens, index+1).getTokenClass(); 
       features.add("wc,nc="+wc+","+nwc);
     }
   } 
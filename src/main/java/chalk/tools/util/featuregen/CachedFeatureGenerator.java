@@ -22,6 +22,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 import chalk.tools.util.Cache;
+import chalk.tools.util.metrics.Counter;
+import chalk.tools.util.metrics.Metrics;
 
 
 /**
@@ -38,6 +40,9 @@ public class CachedFeatureGenerator implements AdaptiveFeatureGenerator {
   private long numberOfCacheHits;
   private long numberOfCacheMisses;
 
+  private final Counter cacheHitCounter = Metrics.counter("featuregen.cache.hits");
+  private final Counter cacheMissCounter = Metrics.counter("featuregen.cache.misses");
+
   public CachedFeatureGenerator(AdaptiveFeatureGenerator... generators) {
     this.generator = new AggregatedFeatureGenerator(generators);
     contextsCache = new Cache(100);
@@ -54,6 +59,7 @@ public class CachedFeatureGenerator implements AdaptiveFeatureGenerator {
 
       if (cacheFeatures != null) {
         numberOfCacheHits++;
+        cacheHitCounter.increment();
         features.addAll(cacheFeatures);
         return;
       }
@@ -66,6 +72,7 @@ public class CachedFeatureGenerator implements AdaptiveFeatureGenerator {
     cacheFeatures = new ArrayList<String>();
 
     numberOfCacheMisses++;
+    cacheMissCounter.increment();
 
     generator.createFeatures(cacheFeatures, tokens, index, previousOutcomes);
 
@@ -73,6 +80,10 @@ public class CachedFeatureGenerator implements AdaptiveFeatureGenerator {
     features.addAll(cacheFeatures);
   }
 
+  AdaptiveFeatureGenerator getCachedFeatureGenerator() {
+    return generator;
+  }
+
   public void updateAdaptiveData(String[] tokens, String[] outcomes) {
     generator.updateAdaptiveData(tokens, outcomes);
   }
@@ -17,25 +17,59 @@
 
 package chalk.tools.util.featuregen;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
-import chalk.tools.ngram.NGramModel;
-import chalk.tools.util.StringList;
+import chalk.tools.util.Cache;
 
 
 /**
  * The {@link CharacterNgramFeatureGenerator} uses character ngrams to
  * generate features about each token.
  * The minimum and maximum length can be specified.
+ * <p>
+ * A feature is generated for every distinct lower case ngram of the token.
+ * Optionally the features of the most recently seen tokens are cached across
+ * sentences, this is useful because the same frequent tokens occur again and
+ * again.
  */
 public class CharacterNgramFeatureGenerator extends FeatureGeneratorAdapter {
 
+  private static final String NGRAM_PREFIX = "ng=";
+
+  /**
+   * Tokens up to this length are checked for duplicate ngrams by comparing
+   * against the previous ngrams of the same length, longer tokens use a set.
+   */
+  private static final int MAX_SCAN_LENGTH = 32;
+
   private final int minLength;
   private final int maxLength;
 
-  public CharacterNgramFeatureGenerator(int minLength, int maxLength) {
+  private final Cache featureCache;
+
+  /**
+   * Initializes the current instance.
+   *
+   * @param minLength the minimum length of the ngrams
+   * @param maxLength the maximum length of the ngrams
+   * @param cacheSize the number of tokens whose features are cached, or zero to disable caching
+   */
+  public CharacterNgramFeatureGenerator(int minLength, int maxLength, int cacheSize) {
     this.minLength = minLength;
     this.maxLength = maxLength;
+
+    if (cacheSize > 0)
+      featureCache = new Cache(cacheSize);
+    else
+      featureCache = null;
+  }
+
+  public CharacterNgramFeatureGenerator(int minLength, int maxLength) {
+    this(minLength, maxLength, 0);
   }
 
   /**
@@ -45,16 +79,89 @@ public class CharacterNgramFeatureGenerator extends FeatureGeneratorAdapter {
     this(2, 5);
   }
 
+  /**
+   * Creates the ngram features for the specified token.
+   *
+   * @param token the token
+   * @param minLength the minimum length of the ngrams
+   * @param maxLength the maximum length of the ngrams
+   *
+   * @return the features, one for each distinct lower case ngram
+   */
+  static String[] createNgramFeatures(String token, int minLength, int maxLength) {
+
+    String lowerToken = token.toLowerCase();
+
+    // lower casing the whole token is only equal to lower casing each
+    // ngram if the length does not change and no context sensitive mapping
+    // (final sigma) is involved, otherwise fall back to the slow path
+    if (lowerToken.length() != token.length() || token.indexOf('\u03A3') != -1) {
+      return createNgramFeaturesSlow(token, minLength, maxLength);
+    }
+
+    List<String> features = new ArrayList<String>();
+
+    Set<String> grams = lowerToken.length() > MAX_SCAN_LENGTH ? new HashSet<String>() : null;
+
+    for (int length = minLength; length <= maxLength; length++) {
+      for (int start = 0; start + length <= lowerToken.length(); start++) {
+
+        if (grams != null) {
+          if (!grams.add(lowerToken.substring(start, start + length)))
+            continue;
+        }
+        else if (occursBefore(lowerToken, start, length)) {
+          continue;
+        }
+
+        features.add(NGRAM_PREFIX + lowerToken.substring(start, start + length));
+      }
+    }
+
+    return features.toArray(new String[features.size()]);
+  }
+
+  private static boolean occursBefore(String text, int start, int length) {
+    for (int previous = 0; previous < start; previous++) {
+      if (text.regionMatches(previous, text, start, length))
+        return true;
+    }
+
+    return false;
+  }
+
+  private static String[] createNgramFeaturesSlow(String token, int minLength, int maxLength) {
+    Set<String> grams = new LinkedHashSet<String>();
+
+    for (int length = minLength; length <= maxLength; length++) {
+      for (int start = 0; start + length <= token.length(); start++) {
+        grams.add(NGRAM_PREFIX + token.substring(start, start + length).toLowerCase());
+      }
+    }
+
+    return grams.toArray(new String[grams.size()]);
+  }
+
   public void createFeatures(List<String> features, String[] tokens, int index, String[] preds) {
 
-    NGramModel model = new NGramModel();
-    model.add(tokens[index], minLength, maxLength);
+    String token = tokens[index];
+
+    String[] ngramFeatures;
 
-    for (StringList tokenList : model) {
+    if (featureCache != null) {
+      ngramFeatures = (String[]) featureCache.get(token);
 
-      if (tokenList.size() > 0) {
-        features.add("ng=" + tokenList.getToken(0).toLowerCase());
+      if (ngramFeatures == null) {
+        ngramFeatures = createNgramFeatures(token, minLength, maxLength);
+        featureCache.put(token, ngramFeatures);
       }
     }
+    else {
+      ngramFeatures = createNgramFeatures(token, minLength, maxLength);
+    }
+
+    for (String feature : ngramFeatures) {
+      features.add(feature);
+    }
   }
 }
@@ -18,7 +18,6 @@
 package chalk.tools.util.featuregen;
 
 import java.util.List;
-import java.util.regex.Pattern;
 
 
 
@@ -33,12 +32,6 @@ public class FastTokenClassFeatureGenerator extends FeatureGeneratorAdapter {
   private static final String TOKEN_CLASS_PREFIX = "wc";
   private static final String TOKEN_AND_CLASS_PREFIX = "w&c";
 
-  private static Pattern capPeriod;
-  
-  static {
-    capPeriod = Pattern.compile("^[A-Z]\\.$");
-  }
-  
   private boolean generateWordAndClassFeature;
 
   
@@ -53,65 +46,17 @@ public class FastTokenClassFeatureGenerator extends FeatureGeneratorAdapter {
 
   
   public static String tokenFeature(String token) {
-
-    StringPattern pattern = StringPattern.recognize(token);
-    
-    String feat;
-    if (pattern.isAllLowerCaseLetter()) {
-      feat = "lc";
-    }
-    else if (pattern.digits() == 2) {
-      feat = "2d";
-    }
-    else if (pattern.digits() == 4) {
-      feat = "4d";
-    }
-    else if (pattern.containsDigit()) {
-      if (pattern.containsLetters()) {
-        feat = "an";
-      }
-      else if (pattern.containsHyphen()) {
-        feat = "dd";
-      }
-      else if (pattern.containsSlash()) {
-        feat = "ds";
-      }
-      else if (pattern.containsComma()) {
-        feat = "dc";
-      }
-      else if (pattern.containsPeriod()) {
-        feat = "dp";
-      }
-      else {
-        feat = "num";
-      }
-    }
-    else if (pattern.isAllCapitalLetter() && token.length() == 1) {
-      feat = "sc";
-    }
-    else if (pattern.isAllCapitalLetter()) {
-      feat = "ac";
-    }
-    else if (capPeriod.matcher(token).find()) {
-      feat = "cp";
-    }
-    else if (pattern.isInitialCapitalLetter()) {
-      feat = "ic";
-    }
-    else {
-      feat = "other";
-    }
-
-    return (feat);
+    return FeatureGeneratorUtil.tokenFeature(token);
   }
   
   
   public void createFeatures(List<String> features, String[] tokens, int index, String[] preds) {
-    String wordClass = tokenFeature(tokens[index]);
+    TokenInfo info = TokenInfo.get(tokens, index);
+    String wordClass = info.getTokenClass();
     features.add(TOKEN_CLASS_PREFIX + "=" + wordClass);
 
     if (generateWordAndClassFeature) {
-      features.add(TOKEN_AND_CLASS_PREFIX + "=" + tokens[index].toLowerCase()+","+wordClass);
+      features.add(TOKEN_AND_CLASS_PREFIX + "=" + info.getLowerCase()+","+wordClass);
     }
   }
 }
@@ -0,0 +1,525 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package chalk.tools.util.featuregen;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A flat execution plan for a tree of nested feature generators.
+ * <p>
+ * The {@link AggregatedFeatureGenerator}, {@link WindowFeatureGenerator} and
+ * {@link CachedFeatureGenerator} nodes of the tree are compiled away into a list
+ * of steps, each step runs one base generator at a fixed offset to the current
+ * token and prefixes its features with the concatenated window prefixes. The
+ * generators created from a plan produce exactly the same features in the same
+ * order as the tree.
+ * <p>
+ * The features of base generators which only depend on the tokens, the index and
+ * the adaptive data (e.g. the token class) are computed once per sentence and
+ * position, independent of how many window offsets use them, and the prefixed
+ * features of every step are computed once per sentence and index, no matter how
+ * often the beam search asks for the same index. All other generators, e.g. custom
+ * generators, are called on every invocation just like in the tree.
+ * <p>
+ * A plan is immutable and can be shared, e.g. by a model, but the generators
+ * have state and therefore every user has to bind the plan to its own instance
+ * of the tree with {@link #createFeatureGenerator(AdaptiveFeatureGenerator)}.
+ * <p>
+ * Generators which are bound to the same plan can additionally share the features
+ * of the base generators which only depend on the sentence, see {@link SharedFeatures}.
+ */
+public class FeatureGeneratorPlan {
+
+  /**
+   * The base generators whose features only depend on the tokens, the
+   * index and the adaptive data which is only changed by
+   * {@link AdaptiveFeatureGenerator#updateAdaptiveData(String[], String[])}.
+   */
+  private static final Set<Class<?>> positionalGenerators = createPositionalGenerators();
+
+  // the deprecated FastTokenClassFeatureGenerator can still be used in custom trees
+  @SuppressWarnings("deprecation")
+  private static Set<Class<?>> createPositionalGenerators() {
+    Set<Class<?>> generators = new HashSet<Class<?>>();
+    Collections.<Class<?>>addAll(generators,
+        BigramNameFeatureGenerator.class,
+        CharacterNgramFeatureGenerator.class,
+        DictionaryFeatureGenerator.class,
+        FastTokenClassFeatureGenerator.class,
+        OutcomePriorFeatureGenerator.class,
+        PrefixFeatureGenerator.class,
+        PreviousMapFeatureGenerator.class,
+        SentenceFeatureGenerator.class,
+        SuffixFeatureGenerator.class,
+        TokenClassFeatureGenerator.class,
+        TokenFeatureGenerator.class,
+        TokenPatternFeatureGenerator.class);
+    return generators;
+  }
+
+  /**
+   * The positional generators which do not depend on adaptive data or resources,
+   * their features are the same for all trees created from the same descriptor.
+   */
+  private static final Set<Class<?>> sentenceGenerators = new HashSet<Class<?>>(positionalGenerators);
+
+  static {
+    sentenceGenerators.remove(DictionaryFeatureGenerator.class);
+    sentenceGenerators.remove(PreviousMapFeatureGenerator.class);
+  }
+
+  /**
+   * Holds the features of the base generators which only depend on the sentence,
+   * they are computed once per sentence by {@link #compute(String[])} and can then
+   * be read by all generators which were created with these shared features, also
+   * concurrently.
+   */
+  public static class SharedFeatures {
+
+    private final FeatureGeneratorPlan plan;
+
+    private final AdaptiveFeatureGenerator[] generators;
+
+    private volatile String[] sentence;
+
+    private volatile String[][][] features;
+
+    private SharedFeatures(FeatureGeneratorPlan plan, AdaptiveFeatureGenerator[] generators) {
+      this.plan = plan;
+      this.generators = generators;
+    }
+
+    /**
+     * Computes the shared features for all tokens of the specified sentence,
+     * it must be called before the sentence is processed by one of the
+     * generators and not concurrently with them.
+     *
+     * @param tokens the tokens of the sentence
+     */
+    public void compute(String[] tokens) {
+      String[][][] sentenceFeatures = new String[generators.length][][];
+
+      List<String> buffer = new ArrayList<String>();
+
+      for (int generator = 0; generator < generators.length; generator++) {
+        if (plan.shareable[generator]) {
+          sentenceFeatures[generator] = new String[tokens.length][];
+
+          for (int position = 0; position < tokens.length; position++) {
+            buffer.clear();
+            generators[generator].createFeatures(buffer, tokens, position, null);
+            sentenceFeatures[generator][position] = buffer.toArray(new String[buffer.size()]);
+          }
+        }
+      }
+
+      features = sentenceFeatures;
+      sentence = tokens;
+    }
+
+    String[] get(String[] tokens, int generator, int position) {
+      if (sentence == tokens && plan.shareable[generator])
+        return features[generator][position];
+      else
+        return null;
+    }
+  }
+
+  private static class Step {
+
+    private final int generator;
+
+    // the offset to the current token at every window level, the last
+    // one is the position the generator is called with
+    private final int[] offsets;
+
+    private final String prefix;
+
+    Step(int generator, int[] offsets, String prefix) {
+      this.generator = generator;
+      this.offsets = offsets;
+      this.prefix = prefix;
+    }
+
+    boolean isInSentence(int index, int length) {
+      for (int offset : offsets) {
+        if (index + offset < 0 || index + offset >= length)
+          return false;
+      }
+
+      return true;
+    }
+
+    int position(int index) {
+      return offsets.length == 0 ? index : index + offsets[offsets.length - 1];
+    }
+  }
+
+  private final List<Class<?>> generatorClasses;
+
+  private final boolean[] positional;
+
+  private final boolean[] shareable;
+
+  private final Step[] steps;
+
+  private FeatureGeneratorPlan(List<Class<?>> generatorClasses, boolean[] positional,
+      boolean[] shareable, List<Step> steps) {
+    this.generatorClasses = generatorClasses;
+    this.positional = positional;
+    this.shareable = shareable;
+    this.steps = steps.toArray(new Step[steps.size()]);
+  }
+
+  /**
+   * Checks if the node is a cache whose cached generators can all be planned,
+   * only then the cache can be removed without changing the features.
+   */
+  private static boolean isTransparentCache(AdaptiveFeatureGenerator generator) {
+    if (generator.getClass() != CachedFeatureGenerator.class)
+      return false;
+
+    List<AdaptiveFeatureGenerator> baseGenerators = new ArrayList<AdaptiveFeatureGenerator>();
+    collectBaseGenerators(((CachedFeatureGenerator) generator).getCachedFeatureGenerator(),
+        baseGenerators);
+
+    for (AdaptiveFeatureGenerator baseGenerator : baseGenerators) {
+      if (!positionalGenerators.contains(baseGenerator.getClass()))
+        return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * Collects the base generators in the order in which they are found in the tree,
+   * every generator instance is only collected once.
+   */
+  private static void collectBaseGenerators(AdaptiveFeatureGenerator generator,
+      List<AdaptiveFeatureGenerator> baseGenerators) {
+
+    if (generator.getClass() == AggregatedFeatureGenerator.class) {
+      for (AdaptiveFeatureGenerator aggregatedGenerator :
+          ((AggregatedFeatureGenerator) generator).getGenerators()) {
+        collectBaseGenerators(aggregatedGenerator, baseGenerators);
+      }
+    }
+    else if (generator.getClass() == WindowFeatureGenerator.class) {
+      collectBaseGenerators(((WindowFeatureGenerator) generator).getWindowedFeatureGenerator(),
+          baseGenerators);
+    }
+    else if (isTransparentCache(generator)) {
+      collectBaseGenerators(((CachedFeatureGenerator) generator).getCachedFeatureGenerator(),
+          baseGenerators);
+    }
+    else {
+      for (AdaptiveFeatureGenerator baseGenerator : baseGenerators) {
+        if (baseGenerator == generator)
+          return;
+      }
+
+      baseGenerators.add(generator);
+    }
+  }
+
+  private static void compileSteps(AdaptiveFeatureGenerator generator,
+      Map<AdaptiveFeatureGenerator, Integer> generatorIds, int[] offsets, String prefix,
+      List<Step> steps) {
+
+    if (generator.getClass() == AggregatedFeatureGenerator.class) {
+      for (AdaptiveFeatureGenerator aggregatedGenerator :
+          ((AggregatedFeatureGenerator) generator).getGenerators()) {
+        compileSteps(aggregatedGenerator, generatorIds, offsets, prefix, steps);
+      }
+    }
+    else if (generator.getClass() == WindowFeatureGenerator.class) {
+      WindowFeatureGenerator window = (WindowFeatureGenerator) generator;
+      AdaptiveFeatureGenerator windowedGenerator = window.getWindowedFeatureGenerator();
+
+      int currentOffset = offsets.length == 0 ? 0 : offsets[offsets.length - 1];
+
+      compileSteps(windowedGenerator, generatorIds, offsets, prefix, steps);
+
+      for (int i = 1; i < window.getPrevWindowSize() + 1; i++) {
+        compileSteps(windowedGenerator, generatorIds, append(offsets, currentOffset - i),
+            prefix + WindowFeatureGenerator.PREV_PREFIX + i, steps);
+      }
+
+      for (int i = 1; i < window.getNextWindowSize() + 1; i++) {
+        compileSteps(windowedGenerator, generatorIds, append(offsets, currentOffset + i),
+            prefix + WindowFeatureGenerator.NEXT_PREFIX + i, steps);
+      }
+    }
+    else if (isTransparentCache(generator)) {
+      compileSteps(((CachedFeatureGenerator) generator).getCachedFeatureGenerator(),
+          generatorIds, offsets, prefix, steps);
+    }
+    else {
+      steps.add(new Step(generatorIds.get(generator), offsets, prefix));
+    }
+  }
+
+  private static int[] append(int[] offsets, int offset) {
+    int[] newOffsets = Arrays.copyOf(offsets, offsets.length + 1);
+    newOffsets[offsets.length] = offset;
+    return newOffsets;
+  }
+
+  /**
+   * Compiles the plan for the specified tree of feature generators.
+   *
+   * @param generator the root of the tree
+   *
+   * @return the plan
+   */
+  public static FeatureGeneratorPlan compile(AdaptiveFeatureGenerator generator) {
+
+    List<AdaptiveFeatureGenerator> baseGenerators = new ArrayList<AdaptiveFeatureGenerator>();
+    collectBaseGenerators(generator, baseGenerators);
+
+    Map<AdaptiveFeatureGenerator, Integer> generatorIds =
+        new IdentityHashMap<AdaptiveFeatureGenerator, Integer>();
+    List<Class<?>> generatorClasses = new ArrayList<Class<?>>();
+    boolean[] positional = new boolean[baseGenerators.size()];
+    boolean[] shareable = new boolean[baseGenerators.size()];
+
+    for (int i = 0; i < baseGenerators.size(); i++) {
+      AdaptiveFeatureGenerator baseGenerator = baseGenerators.get(i);
+      generatorIds.put(baseGenerator, i);
+      generatorClasses.add(baseGenerator.getClass());
+      positional[i] = positionalGenerators.contains(baseGenerator.getClass());
+      shareable[i] = sentenceGenerators.contains(baseGenerator.getClass());
+    }
+
+    List<Step> steps = new ArrayList<Step>();
+    compileSteps(generator, generatorIds, new int[0], "", steps);
+
+    return new FeatureGeneratorPlan(Collections.unmodifiableList(generatorClasses),
+        positional, shareable, steps);
+  }
+
+  private AdaptiveFeatureGenerator[] bind(AdaptiveFeatureGenerator generator) {
+
+    List<AdaptiveFeatureGenerator> baseGenerators = new ArrayList<AdaptiveFeatureGenerator>();
+    collectBaseGenerators(generator, baseGenerators);
+
+    if (baseGenerators.size() != generatorClasses.size())
+      throw new IllegalArgumentException("The generators do not match the plan!");
+
+    for (int i = 0; i < baseGenerators.size(); i++) {
+      if (baseGenerators.get(i).getClass() != generatorClasses.get(i))
+        throw new IllegalArgumentException("The generators do not match the plan!");
+    }
+
+    return baseGenerators.toArray(new AdaptiveFeatureGenerator[baseGenerators.size()]);
+  }
+
+  /**
+   * Creates a feature generator which executes this plan with the base
+   * generators of the specified tree.
+   *
+   * @param generator the root of a tree which has the same structure as the
+   *     tree this plan was compiled from, e.g. created from the same descriptor
+   *
+   * @return the planned feature generator
+   *
+   * @throws IllegalArgumentException if the tree does not match this plan
+   */
+  public AdaptiveFeatureGenerator createFeatureGenerator(AdaptiveFeatureGenerator generator) {
+    return createFeatureGenerator(generator, null);
+  }
+
+  /**
+   * Creates a feature generator which executes this plan with the base
+   * generators of the specified tree and reads the features of the base
+   * generators which only depend on the sentence from the shared features,
+   * if they were computed for the current sentence.
+   *
+   * @param generator the root of a tree which has the same structure as the
+   *     tree this plan was compiled from, created from the same descriptor
+   * @param sharedFeatures the shared features created by this plan, or null
+   *
+   * @return the planned feature generator
+   *
+   * @throws IllegalArgumentException if the tree or the shared features do not match this plan
+   */
+  public AdaptiveFeatureGenerator createFeatureGenerator(AdaptiveFeatureGenerator generator,
+      SharedFeatures sharedFeatures) {
+
+    if (sharedFeatures != null && sharedFeatures.plan != this)
+      throw new IllegalArgumentException("The shared features were not created by this plan!");
+
+    return new PlannedFeatureGenerator(this, generator, bind(generator), sharedFeatures);
+  }
+
+  /**
+   * Creates the shared features for all generators which are created by this plan
+   * from trees with the same descriptor.
+   *
+   * @param generator the root of a tree which has the same structure as the
+   *     tree this plan was compiled from, it is only used to compute the shared features
+   *
+   * @return the shared features
+   *
+   * @throws IllegalArgumentException if the tree does not match this plan
+   */
+  public SharedFeatures createSharedFeatures(AdaptiveFeatureGenerator generator) {
+    return new SharedFeatures(this, bind(generator));
+  }
+
+  /**
+   * @return the number of steps which are executed for every token
+   */
+  public int getNumberOfSteps() {
+    return steps.length;
+  }
+
+  /**
+   * @return the number of distinct base generators
+   */
+  public int getNumberOfGenerators() {
+    return generatorClasses.size();
+  }
+
+  private static class PlannedFeatureGenerator implements AdaptiveFeatureGenerator {
+
+    private final FeatureGeneratorPlan plan;
+
+    private final AdaptiveFeatureGenerator root;
+
+    private final AdaptiveFeatureGenerator[] generators;
+
+    private final SharedFeatures sharedFeatures;
+
+    private final List<String> buffer = new ArrayList<String>();
+
+    private String[] sentence;
+
+    // features of the positional generators, by generator and position
+    private String[][][] generatorFeatures;
+
+    // prefixed features of the positional steps, by step and index
+    private String[][][] stepFeatures;
+
+    PlannedFeatureGenerator(FeatureGeneratorPlan plan, AdaptiveFeatureGenerator root,
+        AdaptiveFeatureGenerator[] generators, SharedFeatures sharedFeatures) {
+      this.plan = plan;
+      this.root = root;
+      this.generators = generators;
+      this.sharedFeatures = sharedFeatures;
+    }
+
+    private String[] generatorFeatures(int generator, String[] tokens, int position,
+        String[] previousOutcomes) {
+      String[] features = generatorFeatures[generator][position];
+
+      if (features == null && sharedFeatures != null) {
+        features = sharedFeatures.get(tokens, generator, position);
+      }
+
+      if (features == null) {
+        buffer.clear();
+        generators[generator].createFeatures(buffer, tokens, position, previousOutcomes);
+        features = buffer.toArray(new String[buffer.size()]);
+        generatorFeatures[generator][position] = features;
+      }
+
+      return features;
+    }
+
+    private String[] stepFeatures(int stepIndex, String[] tokens, int index,
+        String[] previousOutcomes) {
+      String[] features = stepFeatures[stepIndex][index];
+
+      if (features == null) {
+        Step step = plan.steps[stepIndex];
+        features = generatorFeatures(step.generator, tokens, step.position(index),
+            previousOutcomes);
+
+        if (step.prefix.length() > 0) {
+          String[] prefixedFeatures = new String[features.length];
+          for (int i = 0; i < features.length; i++) {
+            prefixedFeatures[i] = step.prefix + features[i];
+          }
+          features = prefixedFeatures;
+        }
+
+        stepFeatures[stepIndex][index] = features;
+      }
+
+      return features;
+    }
+
+    private void clearFeatures() {
+      sentence = null;
+      generatorFeatures = null;
+      stepFeatures = null;
+    }
+
+    public void createFeatures(List<String> features, String[] tokens, int index,
+        String[] previousOutcomes) {
+
+      if (tokens != sentence) {
+        sentence = tokens;
+        generatorFeatures = new String[generators.length][tokens.length][];
+        stepFeatures = new String[plan.steps.length][tokens.length][];
+      }
+
+      for (int stepIndex = 0; stepIndex < plan.steps.length; stepIndex++) {
+        Step step = plan.steps[stepIndex];
+
+        if (!step.isInSentence(index, tokens.length))
+          continue;
+
+        if (plan.positional[step.generator]) {
+          Collections.addAll(features, stepFeatures(stepIndex, tokens, index, previousOutcomes));
+        }
+        else if (step.prefix.length() == 0) {
+          generators[step.generator].createFeatures(features, tokens, step.position(index),
+              previousOutcomes);
+        }
+        else {
+          buffer.clear();
+          generators[step.generator].createFeatures(buffer, tokens, step.position(index),
+              previousOutcomes);
+
+          for (String feature : buffer) {
+            features.add(step.prefix + feature);
+          }
+        }
+      }
+    }
+
+    public void updateAdaptiveData(String[] tokens, String[] outcomes) {
+      clearFeatures();
+      root.updateAdaptiveData(tokens, outcomes);
+    }
+
+    public void clearAdaptiveData() {
+      clearFeatures();
+      root.clearAdaptiveData();
+    }
+  }
+}
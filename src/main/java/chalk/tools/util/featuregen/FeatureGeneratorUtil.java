@@ -18,11 +18,15 @@
 
 package chalk.tools.util.featuregen;
 
+import java.util.regex.Pattern;
+
 /**
  * This class provide common utilities for feature generation.
  */
 public class FeatureGeneratorUtil {
 
+  private static final Pattern capPeriod = Pattern.compile("^[A-Z]\\.$");
+
   /**
    * Generates a class name for the specified token.
    * The classes are as follows where the first matching class is used:
@@ -45,6 +49,61 @@ public class FeatureGeneratorUtil {
    * @return The class name that the specified token belongs in.
    */
   public static String tokenFeature(String token) {
-    return FastTokenClassFeatureGenerator.tokenFeature(token);
+    return tokenFeature(token, StringPattern.recognize(token));
+  }
+
+  /**
+   * Same as {@link #tokenFeature(String)}, but for a token which was
+   * already recognized by {@link StringPattern#recognize(String)}.
+   */
+  static String tokenFeature(String token, StringPattern pattern) {
+
+    String feat;
+    if (pattern.isAllLowerCaseLetter()) {
+      feat = "lc";
+    }
+    else if (pattern.digits() == 2) {
+      feat = "2d";
+    }
+    else if (pattern.digits() == 4) {
+      feat = "4d";
+    }
+    else if (pattern.containsDigit()) {
+      if (pattern.containsLetters()) {
+        feat = "an";
+      }
+      else if (pattern.containsHyphen()) {
+        feat = "dd";
+      }
+      else if (pattern.containsSlash()) {
+        feat = "ds";
+      }
+      else if (pattern.containsComma()) {
+        feat = "dc";
+      }
+      else if (pattern.containsPeriod()) {
+        feat = "dp";
+      }
+      else {
+        feat = "num";
+      }
+    }
+    else if (pattern.isAllCapitalLetter() && token.length() == 1) {
+      feat = "sc";
+    }
+    else if (pattern.isAllCapitalLetter()) {
+      feat = "ac";
+    }
+    else if (capPeriod.matcher(token).find()) {
+      feat = "cp";
+    }
+    else if (pattern.isInitialCapitalLetter()) {
+      feat = "ic";
+    }
+    else {
+      feat = "other";
+    }
+
+    return (feat);
   }
 }
@@ -198,7 +198,19 @@ public class GeneratorFactory {
         throw new InvalidFormatException("max attribute '" + maxString + "' is not a number!", e);
       }
 
-      return new CharacterNgramFeatureGenerator(min, max);
+      String cacheSizeString = generatorElement.getAttribute("cacheSize");
+
+      int cacheSize = 0;
+
+      if (cacheSizeString.length() > 0) {
+        try {
+          cacheSize = Integer.parseInt(cacheSizeString);
+        } catch (NumberFormatException e) {
+          throw new InvalidFormatException("cacheSize attribute '" + cacheSizeString + "' is not a number!", e);
+        }
+      }
+
+      return new CharacterNgramFeatureGenerator(min, max, cacheSize);
     }
 
     static void register(Map<String, XmlFeatureGeneratorFactory> factoryMap) {
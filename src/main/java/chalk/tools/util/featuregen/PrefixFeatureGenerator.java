@@ -33,7 +33,7 @@ public class PrefixFeatureGenerator extends FeatureGeneratorAdapter {
   
   public void createFeatures(List<String> features, String[] tokens, int index,
       String[] previousOutcomes) {
-    String[] prefs = PrefixFeatureGenerator.getPrefixes(tokens[index]);
+    String[] prefs = TokenInfo.get(tokens, index).getPrefixes();
     for (String pref : prefs) {
       features.add("pre=" + pref);
     }
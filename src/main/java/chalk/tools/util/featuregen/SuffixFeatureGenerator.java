@@ -33,7 +33,7 @@ public class SuffixFeatureGenerator extends FeatureGeneratorAdapter {
   
   public void createFeatures(List<String> features, String[] tokens, int index,
       String[] previousOutcomes) {
-    String[] suffs = SuffixFeatureGenerator.getSuffixes(tokens[index]);
+    String[] suffs = TokenInfo.get(tokens, index).getSuffixes();
     for (String suff : suffs) {
       features.add("suf=" + suff);
     }
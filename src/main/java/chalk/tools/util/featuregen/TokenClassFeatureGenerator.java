@@ -39,11 +39,12 @@ public class TokenClassFeatureGenerator extends FeatureGeneratorAdapter {
   }
 
   public void createFeatures(List<String> features, String[] tokens, int index, String[] preds) {
-    String wordClass = FeatureGeneratorUtil.tokenFeature(tokens[index]);
+    TokenInfo info = TokenInfo.get(tokens, index);
+    String wordClass = info.getTokenClass();
     features.add(TOKEN_CLASS_PREFIX + "=" + wordClass);
 
     if (generateWordAndClassFeature) {
-      features.add(TOKEN_AND_CLASS_PREFIX + "=" + tokens[index].toLowerCase()+","+wordClass);
+      features.add(TOKEN_AND_CLASS_PREFIX + "=" + info.getLowerCase()+","+wordClass);
     }
   }
 }
@@ -38,7 +38,7 @@ public class TokenFeatureGenerator extends FeatureGeneratorAdapter {
 
   public void createFeatures(List<String> features, String[] tokens, int index, String[] preds) {
     if (lowercase) {
-      features.add(WORD_PREFIX + "=" + tokens[index].toLowerCase());
+      features.add(WORD_PREFIX + "=" + TokenInfo.get(tokens, index).getLowerCase());
     }
     else {
       features.add(WORD_PREFIX + "=" + tokens[index]);
@@ -0,0 +1,282 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package chalk.tools.util.featuregen;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import chalk.tools.tokenize.SimpleTokenizer;
+
+/**
+ * Holds the properties of a token which are used by many feature generators,
+ * e.g. the lower case form, the {@link StringPattern} and the token class.
+ * <p>
+ * The properties are computed once per sentence and token by
+ * {@link #get(String[], int)}, all feature generators which process the same
+ * tokens array on the same thread share these instances, independent of the
+ * window offset they are called with. Behind the sentence table sits a process
+ * wide least recently used cache, by default it holds up to
+ * {@link #DEFAULT_SHARED_CACHE_SIZE} tokens, the size can be changed with the
+ * system property {@value #SHARED_CACHE_SIZE_PROPERTY} or with
+ * {@link #setSharedCacheSize(int)}. A size of zero turns the cache off, then
+ * only the sentence table is used.
+ * <p>
+ * Instances are immutable and thread safe, the arrays returned by the
+ * getters are shared and must not be modified.
+ */
+public final class TokenInfo {
+
+  /**
+   * The default number of tokens in the process wide cache.
+   */
+  public static final int DEFAULT_SHARED_CACHE_SIZE = 10000;
+
+  /**
+   * The system property which sets the number of tokens in the process wide cache.
+   */
+  public static final String SHARED_CACHE_SIZE_PROPERTY = "chalk.tools.featuregen.tokenCacheSize";
+
+  private static int sharedCacheSize =
+      Integer.getInteger(SHARED_CACHE_SIZE_PROPERTY, DEFAULT_SHARED_CACHE_SIZE);
+
+  // guarded by itself, every get moves the token to the end of the access order
+  private static final LinkedHashMap<String, TokenInfo> sharedInfos =
+      new LinkedHashMap<String, TokenInfo>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, TokenInfo> eldest) {
+      return size() > sharedCacheSize;
+    }
+  };
+
+  /**
+   * The token infos of the sentence which was processed last on a thread.
+   */
+  private static class SentenceInfo {
+    private String[] tokens;
+    private TokenInfo[] infos;
+  }
+
+  private static final ThreadLocal<SentenceInfo> sentenceInfo = new ThreadLocal<SentenceInfo>() {
+    @Override
+    protected SentenceInfo initialValue() {
+      return new SentenceInfo();
+    }
+  };
+
+  private final String token;
+
+  private final String lowerCase;
+
+  private final StringPattern pattern;
+
+  private final String tokenClass;
+
+  private volatile String[] prefixes;
+
+  private volatile String[] suffixes;
+
+  private volatile String[] subTokenFeatures;
+
+  private TokenInfo(String token) {
+    this.token = token;
+    lowerCase = token.toLowerCase();
+    pattern = StringPattern.recognize(token);
+    tokenClass = FeatureGeneratorUtil.tokenFeature(token, pattern);
+  }
+
+  /**
+   * Retrieves the info for the specified token from the process wide cache,
+   * or creates a new one.
+   *
+   * @param token the token
+   *
+   * @return the token info
+   */
+  public static TokenInfo get(String token) {
+    synchronized (sharedInfos) {
+      TokenInfo info = sharedInfos.get(token);
+
+      if (info != null)
+        return info;
+    }
+
+    // created outside of the lock, the constructor is not cheap
+    TokenInfo info = new TokenInfo(token);
+
+    synchronized (sharedInfos) {
+      if (sharedCacheSize > 0) {
+        TokenInfo sharedInfo = sharedInfos.get(token);
+
+        if (sharedInfo != null)
+          return sharedInfo;
+
+        sharedInfos.put(token, info);
+      }
+    }
+
+    return info;
+  }
+
+  /**
+   * Sets the maximal number of tokens in the process wide cache, the least
+   * recently used tokens are removed if the cache is larger.
+   *
+   * @param size the number of tokens, or zero to turn the cache off
+   */
+  public static void setSharedCacheSize(int size) {
+    if (size < 0)
+      throw new IllegalArgumentException("size must not be negative: " + size);
+
+    synchronized (sharedInfos) {
+      sharedCacheSize = size;
+
+      Iterator<TokenInfo> infos = sharedInfos.values().iterator();
+      while (sharedInfos.size() > size) {
+        infos.next();
+        infos.remove();
+      }
+    }
+  }
+
+  /**
+   * @return the maximal number of tokens in the process wide cache
+   */
+  public static int getSharedCacheSize() {
+    synchronized (sharedInfos) {
+      return sharedCacheSize;
+    }
+  }
+
+  /**
+   * Removes all tokens from the process wide cache, e.g. when a long running
+   * process starts to work on text which should not be retained.
+   */
+  public static void clearSharedCache() {
+    synchronized (sharedInfos) {
+      sharedInfos.clear();
+    }
+  }
+
+  /**
+   * Retrieves the info for the token at the specified index. The infos of
+   * the last sentence which was passed to this method on the current thread
+   * are remembered, if the same tokens array is passed again the info is only
+   * looked up once per token.
+   *
+   * @param tokens the tokens of the sentence
+   * @param index the index of the token
+   *
+   * @return the token info
+   */
+  public static TokenInfo get(String[] tokens, int index) {
+    SentenceInfo sentence = sentenceInfo.get();
+
+    if (sentence.tokens != tokens) {
+      sentence.tokens = tokens;
+      sentence.infos = new TokenInfo[tokens.length];
+    }
+
+    TokenInfo info = sentence.infos[index];
+
+    // the array might have been modified since it was seen last
+    if (info == null || !info.token.equals(tokens[index])) {
+      info = get(tokens[index]);
+      sentence.infos[index] = info;
+    }
+
+    return info;
+  }
+
+  /**
+   * @return the token
+   */
+  public String getToken() {
+    return token;
+  }
+
+  /**
+   * @return the token in lower case
+   */
+  public String getLowerCase() {
+    return lowerCase;
+  }
+
+  /**
+   * @return the pattern of the token
+   */
+  public StringPattern getPattern() {
+    return pattern;
+  }
+
+  /**
+   * @return the token class, see {@link FeatureGeneratorUtil#tokenFeature(String)}
+   */
+  public String getTokenClass() {
+    return tokenClass;
+  }
+
+  /**
+   * Retrieves the prefixes of the token, they are computed on first access.
+   *
+   * @return the prefixes of the token, see {@link PrefixFeatureGenerator#getPrefixes(String)}
+   */
+  public String[] getPrefixes() {
+    String[] features = prefixes;
+
+    if (features == null) {
+      features = PrefixFeatureGenerator.getPrefixes(token);
+      prefixes = features;
+    }
+
+    return features;
+  }
+
+  /**
+   * Retrieves the suffixes of the token, they are computed on first access.
+   *
+   * @return the suffixes of the token, see {@link SuffixFeatureGenerator#getSuffixes(String)}
+   */
+  public String[] getSuffixes() {
+    String[] features = suffixes;
+
+    if (features == null) {
+      features = SuffixFeatureGenerator.getSuffixes(token);
+      suffixes = features;
+    }
+
+    return features;
+  }
+
+  /**
+   * Retrieves the sub-token features which the {@link TokenPatternFeatureGenerator}
+   * generates with the {@link SimpleTokenizer}, they are computed on first access.
+   *
+   * @return the sub-token features
+   */
+  public String[] getSubTokenFeatures() {
+    String[] features = subTokenFeatures;
+
+    if (features == null) {
+      features = TokenPatternFeatureGenerator.createSubTokenFeatures(SimpleTokenizer.INSTANCE, token);
+      subTokenFeatures = features;
+    }
+
+    return features;
+  }
+}
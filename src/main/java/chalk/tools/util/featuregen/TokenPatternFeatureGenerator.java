@@ -18,6 +18,7 @@
 
 package chalk.tools.util.featuregen;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Pattern;
 
@@ -31,7 +32,7 @@ import chalk.tools.tokenize.Tokenizer;
  */
 public class TokenPatternFeatureGenerator extends FeatureGeneratorAdapter {
 
-    private Pattern noLetters = Pattern.compile("[^a-zA-Z]");
+    private static final Pattern noLetters = Pattern.compile("[^a-zA-Z]");
     private Tokenizer tokenizer;
 
     /**
@@ -53,31 +54,58 @@ public class TokenPatternFeatureGenerator extends FeatureGeneratorAdapter {
 
     public void createFeatures(List<String> feats, String[] toks, int index, String[] preds) {
 
-      String[] tokenized = tokenizer.tokenize(toks[index]);
+      String[] subTokenFeatures;
+
+      if (tokenizer == SimpleTokenizer.INSTANCE) {
+        subTokenFeatures = TokenInfo.get(toks, index).getSubTokenFeatures();
+      }
+      else {
+        subTokenFeatures = createSubTokenFeatures(tokenizer, toks[index]);
+      }
+
+      for (String feature : subTokenFeatures) {
+        feats.add(feature);
+      }
+    }
+
+    /**
+     * Creates the features for the specified token.
+     *
+     * @param tokenizer the tokenizer which splits the token into sub-tokens
+     * @param token the token
+     *
+     * @return the features
+     */
+    static String[] createSubTokenFeatures(Tokenizer tokenizer, String token) {
+
+      String[] tokenized = tokenizer.tokenize(token);
 
       if (tokenized.length == 1) {
-        feats.add("st=" + toks[index].toLowerCase());
-        return;
+        return new String[] {"st=" + TokenInfo.get(token).getLowerCase()};
       }
 
+      List<String> feats = new ArrayList<String>();
+
       feats.add("stn=" + tokenized.length);
 
+      String[] tokenClasses = new String[tokenized.length];
+      for (int i = 0; i < tokenized.length; i++) {
+        tokenClasses[i] = TokenInfo.get(tokenized[i]).getTokenClass();
+      }
+
       StringBuilder pattern = new StringBuilder();
 
       for (int i = 0; i < tokenized.length; i++) {
 
         if (i < tokenized.length - 1) {
-          feats.add("pt2=" + FeatureGeneratorUtil.tokenFeature(tokenized[i]) +
-              FeatureGeneratorUtil.tokenFeature(tokenized[i + 1]));
+          feats.add("pt2=" + tokenClasses[i] + tokenClasses[i + 1]);
         }
 
         if (i < tokenized.length - 2) {
-          feats.add("pt3=" + FeatureGeneratorUtil.tokenFeature(tokenized[i]) +
-              FeatureGeneratorUtil.tokenFeature(tokenized[i + 1]) +
-              FeatureGeneratorUtil.tokenFeature(tokenized[i + 2]));
+          feats.add("pt3=" + tokenClasses[i] + tokenClasses[i + 1] + tokenClasses[i + 2]);
         }
 
-        pattern.append(FeatureGeneratorUtil.tokenFeature(tokenized[i]));
+        pattern.append(tokenClasses[i]);
 
         if (!noLetters.matcher(tokenized[i]).find()) {
           feats.add("st=" + tokenized[i].toLowerCase());
@@ -85,5 +113,7 @@ public class TokenPatternFeatureGenerator extends FeatureGeneratorAdapter {
       }
 
       feats.add("pta=" + pattern.toString());
+
+      return feats.toArray(new String[feats.size()]);
     }
 }
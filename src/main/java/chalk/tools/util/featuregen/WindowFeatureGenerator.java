@@ -115,6 +115,18 @@ public class WindowFeatureGenerator implements AdaptiveFeatureGenerator {
     }
   }
 
+  AdaptiveFeatureGenerator getWindowedFeatureGenerator() {
+    return generator;
+  }
+
+  int getPrevWindowSize() {
+    return prevWindowSize;
+  }
+
+  int getNextWindowSize() {
+    return nextWindowSize;
+  }
+
   public void updateAdaptiveData(String[] tokens, String[] outcomes) {
     generator.updateAdaptiveData(tokens, outcomes);
   }
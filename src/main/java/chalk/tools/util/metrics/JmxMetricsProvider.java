@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.util.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * A {@link MetricsProvider} which exports every metric as an MXBean.
+ * <p>
+ * The metrics are registered under the domain <code>chalk.tools</code>, with the
+ * type and the name of the metric as keys, e.g.
+ * <code>chalk.tools:type=Timer,name="model.load"</code>. The values are
+ * kept in atomic variables.
+ */
+public class JmxMetricsProvider implements MetricsProvider {
+
+  /**
+   * The domain of the names of the MXBeans.
+   */
+  public static final String DOMAIN = "chalk.tools";
+
+  /**
+   * The management interface of a {@link Counter}.
+   */
+  public interface CounterMXBean {
+
+    long getCount();
+  }
+
+  /**
+   * The management interface of a {@link Histogram} or a {@link Timer},
+   * the values of a timer are nanoseconds.
+   */
+  public interface HistogramMXBean {
+
+    long getCount();
+
+    long getSum();
+
+    long getMin();
+
+    long getMax();
+
+    double getMean();
+  }
+
+  private static class JmxCounter implements Counter, CounterMXBean {
+
+    private final AtomicLong count = new AtomicLong();
+
+    public void increment() {
+      count.incrementAndGet();
+    }
+
+    public void increment(long amount) {
+      count.addAndGet(amount);
+    }
+
+    public long getCount() {
+      return count.get();
+    }
+  }
+
+  private static class JmxHistogram implements Histogram, Timer, HistogramMXBean {
+
+    private final AtomicLong count = new AtomicLong();
+
+    private final AtomicLong sum = new AtomicLong();
+
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    public void record(long value) {
+      count.incrementAndGet();
+      sum.addAndGet(value);
+
+      long current;
+      while (value < (current = min.get()) && !min.compareAndSet(current, value)) {
+      }
+
+      while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+      }
+    }
+
+    public long start() {
+      return System.nanoTime();
+    }
+
+    public void stop(long start) {
+      record(System.nanoTime() - start);
+    }
+
+    public long getCount() {
+      return count.get();
+    }
+
+    public long getSum() {
+      return sum.get();
+    }
+
+    public long getMin() {
+      return count.get() > 0 ? min.get() : 0;
+    }
+
+    public long getMax() {
+      return count.get() > 0 ? max.get() : 0;
+    }
+
+    public double getMean() {
+      long n = count.get();
+      return n > 0 ? (double) sum.get() / n : 0;
+    }
+  }
+
+  private final MBeanServer server;
+
+  private final ConcurrentMap<String, Object> metrics = new ConcurrentHashMap<String, Object>();
+
+  /**
+   * Initializes the current instance, the metrics are registered in the
+   * specified server.
+   *
+   * @param server the MBean server
+   */
+  public JmxMetricsProvider(MBeanServer server) {
+    this.server = server;
+  }
+
+  /**
+   * Initializes the current instance, the metrics are registered in the
+   * platform MBean server.
+   */
+  public JmxMetricsProvider() {
+    this(ManagementFactory.getPlatformMBeanServer());
+  }
+
+  /**
+   * Creates the name under which a metric is registered.
+   *
+   * @param type the type of the metric, Counter, Timer or Histogram
+   * @param name the name of the metric
+   *
+   * @return the object name
+   */
+  public static ObjectName getObjectName(String type, String name) {
+    try {
+      return new ObjectName(DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+    }
+    catch (JMException e) {
+      throw new IllegalArgumentException("Invalid metric name: " + name, e);
+    }
+  }
+
+  private Object register(String type, String name, Object metric) {
+    Object existing = metrics.putIfAbsent(type + ':' + name, metric);
+
+    if (existing != null)
+      return existing;
+
+    ObjectName objectName = getObjectName(type, name);
+
+    try {
+      // replaces the metric of a previous provider
+      if (server.isRegistered(objectName))
+        server.unregisterMBean(objectName);
+
+      server.registerMBean(metric, objectName);
+    }
+    catch (InstanceAlreadyExistsException e) {
+      // registered concurrently by another provider, the metric still counts
+    }
+    catch (JMException e) {
+      throw new IllegalStateException("Failed to register metric " + objectName + "!", e);
+    }
+
+    return metric;
+  }
+
+  public Counter getCounter(String name) {
+    Object metric = metrics.get("Counter:" + name);
+    return (Counter) (metric != null ? metric : register("Counter", name, new JmxCounter()));
+  }
+
+  public Timer getTimer(String name) {
+    Object metric = metrics.get("Timer:" + name);
+    return (Timer) (metric != null ? metric : register("Timer", name, new JmxHistogram()));
+  }
+
+  public Histogram getHistogram(String name) {
+    Object metric = metrics.get("Histogram:" + name);
+    return (Histogram) (metric != null ? metric : register("Histogram", name, new JmxHistogram()));
+  }
+
+  /**
+   * Unregisters all metrics of this provider from the MBean server.
+   */
+  public void unregister() {
+    for (String key : metrics.keySet()) {
+      int colon = key.indexOf(':');
+      ObjectName objectName = getObjectName(key.substring(0, colon), key.substring(colon + 1));
+
+      try {
+        if (server.isRegistered(objectName))
+          server.unregisterMBean(objectName);
+      }
+      catch (JMException e) {
+        throw new IllegalStateException("Failed to unregister metric " + objectName + "!", e);
+      }
+    }
+  }
+}
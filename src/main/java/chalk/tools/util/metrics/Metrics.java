@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.util.metrics;
+
+/**
+ * The access point of the tools to the metrics.
+ * <p>
+ * By default the metrics are disabled, the tools then get metrics which do
+ * nothing and the instrumentation costs almost nothing. The metrics are enabled
+ * by installing a provider with {@link #setProvider(MetricsProvider)} before
+ * the tools are created, or by starting the virtual machine with
+ * <code>-Dchalk.tools.metrics=jmx</code> to export them through a
+ * {@link JmxMetricsProvider}.
+ * <p>
+ * The metrics of the tools are:
+ * <ul>
+ * <li>beamsearch.evals, beamsearch.cache.hits: the model evaluations of the beam search
+ * <li>beamsearch.expansions, beamsearch.prunes: the sequences which are advanced and
+ *     the outcomes which drop out of the beam
+ * <li>beamsearch.features: the time to generate the features of a token
+ * <li>beamsearch.length: the number of tokens of the searched sequences
+ * <li>featuregen.cache.hits, featuregen.cache.misses: the feature cache of the name finder
+ * <li>model.load, model.load.&lt;artifact&gt;: the time to load a model and its artifacts
+ * <li>cli.&lt;unit&gt;: the time per processed unit of a command line tool
+ * <li>uima.&lt;annotator&gt;: the time per CAS of a UIMA annotator
+ * </ul>
+ */
+public final class Metrics {
+
+  /**
+   * The system property which selects the initial provider, the only
+   * supported value is jmx.
+   */
+  public static final String PROVIDER_PROPERTY = "chalk.tools.metrics";
+
+  private static final Counter NOOP_COUNTER = new Counter() {
+    public void increment() {
+    }
+
+    public void increment(long amount) {
+    }
+  };
+
+  private static final Timer NOOP_TIMER = new Timer() {
+    public long start() {
+      return 0;
+    }
+
+    public void stop(long start) {
+    }
+
+    public void record(long nanos) {
+    }
+  };
+
+  private static final Histogram NOOP_HISTOGRAM = new Histogram() {
+    public void record(long value) {
+    }
+  };
+
+  /**
+   * The provider of the disabled metrics.
+   */
+  public static final MetricsProvider NOOP = new MetricsProvider() {
+    public Counter getCounter(String name) {
+      return NOOP_COUNTER;
+    }
+
+    public Timer getTimer(String name) {
+      return NOOP_TIMER;
+    }
+
+    public Histogram getHistogram(String name) {
+      return NOOP_HISTOGRAM;
+    }
+  };
+
+  private static volatile MetricsProvider provider = createDefaultProvider();
+
+  private Metrics() {
+  }
+
+  private static MetricsProvider createDefaultProvider() {
+    if ("jmx".equals(System.getProperty(PROVIDER_PROPERTY)))
+      return new JmxMetricsProvider();
+
+    return NOOP;
+  }
+
+  /**
+   * Installs the provider of the metrics, tools which already exist keep
+   * their metrics.
+   *
+   * @param provider the provider, or {@link #NOOP} to disable the metrics
+   */
+  public static void setProvider(MetricsProvider provider) {
+    if (provider == null)
+      throw new IllegalArgumentException("provider must not be null!");
+
+    Metrics.provider = provider;
+  }
+
+  /**
+   * @return the current provider
+   */
+  public static MetricsProvider getProvider() {
+    return provider;
+  }
+
+  /**
+   * @return true if the metrics are enabled
+   */
+  public static boolean isEnabled() {
+    return provider != NOOP;
+  }
+
+  /**
+   * @param name the name of the counter
+   *
+   * @return the counter of the current provider
+   */
+  public static Counter counter(String name) {
+    return provider.getCounter(name);
+  }
+
+  /**
+   * @param name the name of the timer
+   *
+   * @return the timer of the current provider
+   */
+  public static Timer timer(String name) {
+    return provider.getTimer(name);
+  }
+
+  /**
+   * @param name the name of the histogram
+   *
+   * @return the histogram of the current provider
+   */
+  public static Histogram histogram(String name) {
+    return provider.getHistogram(name);
+  }
+}
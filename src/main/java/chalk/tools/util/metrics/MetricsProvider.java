@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.util.metrics;
+
+/**
+ * Creates the counters, timers and histograms to which the tools report.
+ * <p>
+ * The tools look up their metrics by name when they are created and then
+ * keep them. A provider should therefore return the same metric for the
+ * same name, so that the measurements of all tool instances are aggregated.
+ * <p>
+ * Implementations must be thread safe.
+ *
+ * @see Metrics#setProvider(MetricsProvider)
+ */
+public interface MetricsProvider {
+
+  /**
+   * @param name the name of the counter
+   *
+   * @return the counter
+   */
+  Counter getCounter(String name);
+
+  /**
+   * @param name the name of the timer
+   *
+   * @return the timer
+   */
+  Timer getTimer(String name);
+
+  /**
+   * @param name the name of the histogram
+   *
+   * @return the histogram
+   */
+  Histogram getHistogram(String name);
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.util.metrics;
+
+/**
+ * A timer which records durations in nanoseconds.
+ * <p>
+ * A duration is measured with
+ * <pre>
+ * long start = timer.start();
+ * ...
+ * timer.stop(start);
+ * </pre>
+ * A disabled timer does not read the clock at all.
+ * <p>
+ * Implementations must be thread safe.
+ */
+public interface Timer {
+
+  /**
+   * Starts a measurement.
+   *
+   * @return the start of the measurement, to be passed to {@link #stop(long)}
+   */
+  long start();
+
+  /**
+   * Records the time since the start of a measurement.
+   *
+   * @param start the value returned by {@link #start()}
+   */
+  void stop(long start);
+
+  /**
+   * Records a duration which was measured by the caller.
+   *
+   * @param nanos the duration in nanoseconds
+   */
+  void record(long nanos);
+}
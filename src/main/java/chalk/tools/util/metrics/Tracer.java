@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.util.metrics;
+
+/**
+ * Records an event for every invocation of a tool, e.g. to find out which
+ * sentence and which model caused a slow request.
+ * <p>
+ * An event is started before the tool processes its input and ended
+ * afterwards. A tracer returns null instead of an event if it does not
+ * record the events at the moment, the tools then skip all further work
+ * for the event.
+ * <p>
+ * Implementations must be thread safe.
+ *
+ * @see Tracing
+ */
+public interface Tracer {
+
+  /**
+   * Starts the event of a tool invocation.
+   *
+   * @param tool the name of the tool
+   * @param model the identity of the model, see {@link Tracing#getModelId(Object)}
+   * @param inputLength the length of the input, in tokens or characters
+   * @param beamSize the beam size, or -1 if the tool has no beam
+   *
+   * @return the event, or null if it is not recorded
+   */
+  TraceEvent beginTool(String tool, String model, int inputLength, int beamSize);
+
+  /**
+   * Starts the event of a model load.
+   *
+   * @param model the name of the component of the model
+   *
+   * @return the event, or null if it is not recorded
+   */
+  TraceEvent beginModelLoad(String model);
+}
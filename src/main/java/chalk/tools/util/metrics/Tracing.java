@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.util.metrics;
+
+/**
+ * The access point of the tools to the {@link Tracer}.
+ * <p>
+ * If the chalk-jfr module is on the class path and the virtual machine
+ * supports the Java Flight Recorder, the tools emit Flight Recorder events,
+ * which are enabled and configured with the standard recording settings.
+ * Otherwise the tracer does nothing. The class of the Flight Recorder tracer
+ * is only loaded by name, this class does not depend on it.
+ */
+public final class Tracing {
+
+  /**
+   * The class name of the tracer which emits Flight Recorder events.
+   */
+  public static final String JFR_TRACER = "chalk.tools.jfr.JfrTracer";
+
+  /**
+   * The tracer which records nothing.
+   */
+  public static final Tracer NOOP = new Tracer() {
+    public TraceEvent beginTool(String tool, String model, int inputLength, int beamSize) {
+      return null;
+    }
+
+    public TraceEvent beginModelLoad(String model) {
+      return null;
+    }
+  };
+
+  private static volatile Tracer tracer = createDefaultTracer();
+
+  private Tracing() {
+  }
+
+  private static Tracer createDefaultTracer() {
+    // fails if the chalk-jfr module is not on the class path or the
+    // virtual machine has no Flight Recorder
+    try {
+      return Class.forName(JFR_TRACER).asSubclass(Tracer.class)
+          .getDeclaredConstructor().newInstance();
+    }
+    catch (Exception e) {
+    }
+    catch (LinkageError e) {
+    }
+
+    return NOOP;
+  }
+
+  /**
+   * Installs the tracer.
+   *
+   * @param tracer the tracer, or {@link #NOOP} to disable the events
+   */
+  public static void setTracer(Tracer tracer) {
+    if (tracer == null)
+      throw new IllegalArgumentException("tracer must not be null!");
+
+    Tracing.tracer = tracer;
+  }
+
+  /**
+   * @return the current tracer
+   */
+  public static Tracer getTracer() {
+    return tracer;
+  }
+
+  /**
+   * Starts the event of a tool invocation with the current tracer.
+   *
+   * @see Tracer#beginTool(String, String, int, int)
+   */
+  public static TraceEvent beginTool(String tool, String model, int inputLength, int beamSize) {
+    return tracer.beginTool(tool, model, inputLength, beamSize);
+  }
+
+  /**
+   * Starts the event of a model load with the current tracer.
+   *
+   * @see Tracer#beginModelLoad(String)
+   */
+  public static TraceEvent beginModelLoad(String model) {
+    return tracer.beginModelLoad(model);
+  }
+
+  /**
+   * Creates the identity of a model, which is the same for all events of the
+   * model in the current virtual machine.
+   *
+   * @param model the model
+   *
+   * @return the identity
+   */
+  public static String getModelId(Object model) {
+    return model.getClass().getSimpleName() + '@' +
+        Integer.toHexString(System.identityHashCode(model));
+  }
+}
@@ -38,6 +38,10 @@ import chalk.tools.util.BaseToolFactory;
 import chalk.tools.util.InvalidFormatException;
 import chalk.tools.util.Version;
 import chalk.tools.util.ext.ExtensionLoader;
+import chalk.tools.util.metrics.Metrics;
+import chalk.tools.util.metrics.Timer;
+import chalk.tools.util.metrics.TraceEvent;
+import chalk.tools.util.metrics.Tracing;
 
 
 /**
@@ -211,6 +215,11 @@ public abstract class BaseModel implements ArtifactProvider {
   private void loadModel(InputStream in) throws IOException, InvalidFormatException {
     createBaseArtifactSerializers(artifactSerializers);
 
+    TraceEvent trace = Tracing.beginModelLoad(componentName);
+
+    Timer loadTimer = Metrics.timer("model.load");
+    long loadStart = loadTimer.start();
+
     final ZipInputStream zip = new ZipInputStream(in);
     
     // will read it in two steps, first using the known factories, latter the
@@ -229,7 +238,12 @@ public abstract class BaseModel implements ArtifactProvider {
         byte[] bytes = toByteArray(zip);
         leftoverArtifacts.put(entry.getName(), bytes);
       } else {
+        Timer artifactTimer = Metrics.timer("model.load." + entry.getName());
+        long artifactStart = artifactTimer.start();
+
         artifactMap.put(entry.getName(), factory.create(zip));
+
+        artifactTimer.stop(artifactStart);
       }
       
       zip.closeEntry();
@@ -240,6 +254,11 @@ public abstract class BaseModel implements ArtifactProvider {
     loadArtifactSerializers();
     finishLoadingArtifacts();
     checkArtifactMap();
+
+    loadTimer.stop(loadStart);
+
+    if (trace != null)
+      trace.end(artifactMap.size());
   }
   
   private void initializeFactory() throws InvalidFormatException {
@@ -301,7 +320,12 @@ public abstract class BaseModel implements ArtifactProvider {
           throw new InvalidFormatException("Unknown artifact format: "
               + extension);
         } else {
+          Timer artifactTimer = Metrics.timer("model.load." + entryName);
+          long artifactStart = artifactTimer.start();
+
           artifactMap.put(entryName, factory.create(new ByteArrayInputStream(leftoverArtifacts.get(entryName))));
+
+          artifactTimer.stop(artifactStart);
         }
       }
     }
@@ -22,7 +22,6 @@ import org.apache.uima.UimaContext;
 import org.apache.uima.analysis_component.CasAnnotator_ImplBase;
 import org.apache.uima.analysis_engine.AnalysisEngineProcessException;
 import org.apache.uima.cas.CAS;
-import org.apache.uima.cas.FSIndex;
 import org.apache.uima.cas.Feature;
 import org.apache.uima.cas.Type;
 import org.apache.uima.cas.TypeSystem;
@@ -34,7 +33,10 @@ import org.apache.uima.util.Logger;
 
 import chalk.tools.chunker.ChunkerME;
 import chalk.tools.chunker.ChunkerModel;
+import chalk.tools.util.metrics.Metrics;
+import chalk.tools.util.metrics.Timer;
 import chalk.uima.util.AnnotatorUtil;
+import chalk.uima.util.CasTokenView;
 import chalk.uima.util.UimaUtil;
 
 /**
@@ -82,7 +84,11 @@ public final class Chunker extends CasAnnotator_ImplBase {
   
   private Logger mLogger;
 
+  private final Timer processTimer = Metrics.timer("uima." + getClass().getSimpleName());
+
   private Feature mChunkFeature;
+
+  private CasTokenView tokenView;
   
   /**
    * Initializes a new instance.
@@ -148,6 +154,9 @@ public final class Chunker extends CasAnnotator_ImplBase {
     // pos feature
     mPosFeature = AnnotatorUtil.getRequiredFeatureParameter(context, mTokenType, UimaUtil.POS_FEATURE_PARAMETER, 
     		CAS.TYPE_NAME_STRING);
+
+    // the chunker runs on all tokens of the document
+    tokenView = new CasTokenView(null, mTokenType);
   }
 
   private void addChunkAnnotation(CAS tcas, AnnotationFS tokenAnnotations[],
@@ -164,24 +173,21 @@ public final class Chunker extends CasAnnotator_ImplBase {
    * Performs chunking on the given tcas object.
    */
   public void process(CAS tcas) {
-    
-    FSIndex<AnnotationFS> tokenAnnotationIndex = tcas.getAnnotationIndex(mTokenType);
-
-    String tokens[] = new String[tokenAnnotationIndex.size()];
-    String pos[] = new String[tokenAnnotationIndex.size()];
-    AnnotationFS tokenAnnotations[] = new AnnotationFS[tokenAnnotationIndex
-        .size()];
+    long processStart = processTimer.start();
 
-    int index = 0;
+    String tokens[];
+    String pos[];
+    AnnotationFS tokenAnnotations[];
 
-    for (AnnotationFS tokenAnnotation : tokenAnnotationIndex) {
-
-      tokenAnnotations[index] = tokenAnnotation;
-
-      tokens[index] = tokenAnnotation.getCoveredText();
+    try {
+      tokenView.load(tcas);
 
-      pos[index++] = tokenAnnotation.getFeatureValueAsString(
-          mPosFeature);
+      tokens = tokenView.getTokens(0);
+      pos = tokenView.getStringValues(0, mPosFeature);
+      tokenAnnotations = tokenView.getTokenAnnotations(0);
+    }
+    finally {
+      tokenView.clear();
     }
 
     String result[] = mChunker.chunk(tokens, pos);
@@ -221,6 +227,8 @@ public final class Chunker extends CasAnnotator_ImplBase {
     if (start != -1) {
       addChunkAnnotation(tcas, tokenAnnotations, result[result.length - 1].substring(2), start, end);
     }      
+
+    processTimer.stop(processStart);
   }
 
   /**
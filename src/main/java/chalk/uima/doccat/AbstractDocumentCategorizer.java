@@ -31,6 +31,8 @@ import org.apache.uima.util.Logger;
 
 import chalk.tools.doccat.DoccatModel;
 import chalk.tools.doccat.DocumentCategorizerME;
+import chalk.tools.util.metrics.Metrics;
+import chalk.tools.util.metrics.Timer;
 import chalk.uima.util.AnnotatorUtil;
 import chalk.uima.util.UimaUtil;
 
@@ -44,6 +46,8 @@ abstract class AbstractDocumentCategorizer extends CasAnnotator_ImplBase {
 
   private Logger mLogger;
 
+  private final Timer processTimer = Metrics.timer("uima." + getClass().getSimpleName());
+
   private chalk.tools.doccat.DocumentCategorizer mCategorizer;
 
   private Type mTokenType;
@@ -84,7 +88,8 @@ abstract class AbstractDocumentCategorizer extends CasAnnotator_ImplBase {
   protected abstract void setBestCategory(CAS cas, String bestCategory);
   
   public void process(CAS cas) {
-    
+    long processStart = processTimer.start();
+
     double result[];
     
     if (mTokenType != null) {
@@ -102,5 +107,7 @@ abstract class AbstractDocumentCategorizer extends CasAnnotator_ImplBase {
     String bestCategory = mCategorizer.getBestCategory(result);
     
     setBestCategory(cas, bestCategory);
+
+    processTimer.stop(processStart);
   }
 }
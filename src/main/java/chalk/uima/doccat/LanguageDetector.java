@@ -17,17 +17,106 @@
 
 package chalk.uima.doccat;
 
+import org.apache.uima.UimaContext;
+import org.apache.uima.analysis_component.CasAnnotator_ImplBase;
 import org.apache.uima.cas.CAS;
+import org.apache.uima.resource.ResourceAccessException;
+import org.apache.uima.resource.ResourceInitializationException;
+import org.apache.uima.util.Level;
+import org.apache.uima.util.Logger;
+
+import chalk.tools.doccat.DocumentCategorizerME;
+import chalk.tools.langdetect.LanguageDetectorME;
+import chalk.tools.util.metrics.Metrics;
+import chalk.tools.util.metrics.Timer;
+import chalk.uima.util.AnnotatorUtil;
+import chalk.uima.util.UimaUtil;
 
 /**
- * Analysis Engine which can detected the language of a text. The AE uses the OpenNLP document
- * categorizer and a special language detection model. The outcome of the document categorizer
- * model is written into the language field of the CAS view.
+ * Analysis Engine which can detected the language of a text. The detected language
+ * is written into the language field of the CAS view.
+ * <p>
+ * The model resource is either a {@link LanguageDetectorModelResource}, then the
+ * character n-gram {@link LanguageDetectorME} scores the first characters of the
+ * text, or a {@link DoccatModelResource} with a language detection model for the
+ * OpenNLP document categorizer.
+ * <p>
+ * Optional parameters
+ * <table border=1>
+ *   <tr><th>Type</th> <th>Name</th> <th>Description</th></tr>
+ *   <tr><td>Integer</td> <td>opennlp.uima.MaxLength</td> <td>The number of characters
+ *       scored by the n-gram detector</td></tr>
+ * </table>
  */
-public class LanguageDetector extends AbstractDocumentCategorizer {
+public class LanguageDetector extends CasAnnotator_ImplBase {
+
+  /**
+   * The maximal length parameter.
+   */
+  public static final String MAX_LENGTH_PARAMETER = "opennlp.uima.MaxLength";
+
+  private Logger mLogger;
+
+  private final Timer processTimer = Metrics.timer("uima." + getClass().getSimpleName());
+
+  private LanguageDetectorME mDetector;
+
+  private chalk.tools.doccat.DocumentCategorizer mCategorizer;
+
+  public void initialize(UimaContext context)
+      throws ResourceInitializationException {
+
+    super.initialize(context);
+
+    mLogger = context.getLogger();
+
+    if (mLogger.isLoggable(Level.INFO)) {
+      mLogger.log(Level.INFO, "Initializing the OpenNLP Language Detector.");
+    }
+
+    Object modelResource;
+
+    try {
+      modelResource = context.getResourceObject(UimaUtil.MODEL_PARAMETER);
+    } catch (ResourceAccessException e) {
+      throw new ResourceInitializationException(e);
+    }
+
+    if (modelResource instanceof LanguageDetectorModelResource) {
+      Integer maxLength = AnnotatorUtil.getOptionalIntegerParameter(context,
+          MAX_LENGTH_PARAMETER);
+
+      if (maxLength == null)
+        maxLength = LanguageDetectorME.DEFAULT_MAX_LENGTH;
+
+      mDetector = new LanguageDetectorME(
+          ((LanguageDetectorModelResource) modelResource).getModel(), maxLength);
+    }
+    else if (modelResource instanceof DoccatModelResource) {
+      mCategorizer = new DocumentCategorizerME(
+          ((DoccatModelResource) modelResource).getModel());
+    }
+    else {
+      throw new ResourceInitializationException(new IllegalStateException(
+          "The model resource must be a language detector or doccat model resource!"));
+    }
+  }
+
+  public void process(CAS cas) {
+    long processStart = processTimer.start();
+
+    String language;
+
+    if (mDetector != null) {
+      language = mDetector.detect(cas.getDocumentText());
+    }
+    else {
+      language = mCategorizer.getBestCategory(
+          mCategorizer.categorize(cas.getDocumentText()));
+    }
+
+    cas.setDocumentLanguage(language);
 
-  @Override
-  protected void setBestCategory(CAS cas, String bestCategory) {
-    cas.setDocumentLanguage(bestCategory);
+    processTimer.stop(processStart);
   }
 }
@@ -17,8 +17,6 @@
 
 package chalk.uima.namefind;
 
-import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -27,7 +25,6 @@ import org.apache.uima.UimaContext;
 import org.apache.uima.analysis_component.CasAnnotator_ImplBase;
 import org.apache.uima.analysis_engine.AnalysisEngineProcessException;
 import org.apache.uima.cas.CAS;
-import org.apache.uima.cas.FSIndex;
 import org.apache.uima.cas.Type;
 import org.apache.uima.cas.TypeSystem;
 import org.apache.uima.cas.text.AnnotationFS;
@@ -36,10 +33,12 @@ import org.apache.uima.util.Level;
 import org.apache.uima.util.Logger;
 
 import chalk.tools.util.Span;
+import chalk.tools.util.metrics.Metrics;
+import chalk.tools.util.metrics.Timer;
 import chalk.uima.util.AnnotationComboIterator;
 import chalk.uima.util.AnnotationIteratorPair;
 import chalk.uima.util.AnnotatorUtil;
-import chalk.uima.util.ContainingConstraint;
+import chalk.uima.util.CasTokenView;
 import chalk.uima.util.UimaUtil;
 
 abstract class AbstractNameFinder extends CasAnnotator_ImplBase {
@@ -55,8 +54,12 @@ abstract class AbstractNameFinder extends CasAnnotator_ImplBase {
   protected UimaContext context;
   
   protected Logger mLogger;
+
+  private final Timer processTimer = Metrics.timer("uima." + getClass().getSimpleName());
   
   private Boolean isRemoveExistingAnnotations;
+
+  private CasTokenView tokenView;
   
   AbstractNameFinder(String name) {
     this.name = name;
@@ -103,6 +106,8 @@ abstract class AbstractNameFinder extends CasAnnotator_ImplBase {
     // name type
     mNameType = AnnotatorUtil.getRequiredTypeParameter(context, typeSystem,
         NameFinder.NAME_TYPE_PARAMETER);
+
+    tokenView = new CasTokenView(mSentenceType, mTokenType);
   }
   
   protected void postProcessAnnotations(Span detectedNames[], 
@@ -121,6 +126,7 @@ abstract class AbstractNameFinder extends CasAnnotator_ImplBase {
    * Performs name finding on the given cas object.
    */
   public final void process(CAS cas) {
+    long processStart = processTimer.start();
 
     if (isRemoveExistingAnnotations) {
       final AnnotationComboIterator sentenceNameCombo = new AnnotationComboIterator(cas,
@@ -138,44 +144,25 @@ abstract class AbstractNameFinder extends CasAnnotator_ImplBase {
       }
     }
     
-    final AnnotationComboIterator sentenceTokenCombo = new AnnotationComboIterator(cas,
-        mSentenceType, mTokenType);
-	
-    for (AnnotationIteratorPair annotationIteratorPair : sentenceTokenCombo) {
-      
-      final List<AnnotationFS> sentenceTokenAnnotationList = new LinkedList<AnnotationFS>();
+    try {
+      tokenView.load(cas);
 
-      final List<String> sentenceTokenList = new LinkedList<String>();
+      for (int si = 0; si < tokenView.getSentenceCount(); si++) {
 
-      for (AnnotationFS tokenAnnotation : annotationIteratorPair.getSubIterator()) {
+        Span[] names = find(cas, tokenView.getTokens(si));
 
-        sentenceTokenAnnotationList.add(tokenAnnotation);
+        AnnotationFS nameAnnotations[] =
+            tokenView.createAnnotations(cas, mNameType, si, names);
 
-        sentenceTokenList.add(tokenAnnotation.getCoveredText());
-      }
-      
-      Span[] names  = find(cas, 
-          (String[]) sentenceTokenList.toArray(new String[sentenceTokenList.size()]));
-    
-      AnnotationFS nameAnnotations[] = new AnnotationFS[names.length];
-      
-      for (int i = 0; i < names.length; i++) {
-        
-        int startIndex = ((AnnotationFS) sentenceTokenAnnotationList.get(
-            names[i].getStart())).getBegin();
-
-        int endIndex = ((AnnotationFS) sentenceTokenAnnotationList.get(
-            names[i].getEnd() - 1)).getEnd();
-        
-        nameAnnotations[i] = 
-            cas.createAnnotation(mNameType, startIndex, endIndex);
-        
-        cas.getIndexRepository().addFS(nameAnnotations[i]);
+        postProcessAnnotations(names, nameAnnotations);
       }
-      
-      postProcessAnnotations(names, nameAnnotations);
     }
-        
+    finally {
+      tokenView.clear();
+    }
+
     documentDone(cas);
+
+    processTimer.stop(processStart);
   }
 }
\ No newline at end of file
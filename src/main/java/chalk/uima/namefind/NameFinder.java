@@ -32,10 +32,10 @@ import org.apache.uima.resource.ResourceAccessException;
 import org.apache.uima.resource.ResourceInitializationException;
 
 import chalk.tools.namefind.NameFinderME;
-import chalk.tools.namefind.TokenNameFinderModel;
 import chalk.tools.util.Span;
 import chalk.tools.util.eval.Mean;
 import chalk.uima.util.AnnotatorUtil;
+import chalk.uima.util.ToolPool;
 import chalk.uima.util.UimaUtil;
 
 /**
@@ -60,6 +60,11 @@ import chalk.uima.util.UimaUtil;
  *   <tr><td>String</td> <td>opennlp.uima.DocumentConfidenceType</td></tr>
  *   
  * </table>
+ * <p>
+ * The name finders are pooled by the {@link TokenNameFinderModelResource} and shared
+ * by all annotator instances which use the same model resource. A name finder is
+ * borrowed for one document, its sentences are processed one after another because
+ * the adaptive data depends on the previous sentences.
  */
 public final class NameFinder extends AbstractNameFinder {
     
@@ -88,6 +93,9 @@ public final class NameFinder extends AbstractNameFinder {
   public static final String TOKEN_CLASS_FEATURE_NEXT_WINDOW_SIZE_PARAMETER =
       TOKEN_CLASS_FEATURE_PARAMETER + ".nextWindowSize";
   
+  private ToolPool<NameFinderME> mNameFinderPool;
+
+  // the name finder which is borrowed for the current document
   private NameFinderME mNameFinder;
 
   private Feature probabilityFeature;
@@ -118,13 +126,11 @@ public final class NameFinder extends AbstractNameFinder {
 
     super.initialize();
     
-    TokenNameFinderModel model;
+    TokenNameFinderModelResource modelResource;
     
     try {
-      TokenNameFinderModelResource modelResource = 
+      modelResource = 
             (TokenNameFinderModelResource) context.getResourceObject(UimaUtil.MODEL_PARAMETER);
-        
-        model = modelResource.getModel();
     }
     catch (ResourceAccessException e) {
         throw new ResourceInitializationException(e);
@@ -136,7 +142,7 @@ public final class NameFinder extends AbstractNameFinder {
     if (beamSize == null)
       beamSize = NameFinderME.DEFAULT_BEAM_SIZE;
     
-    mNameFinder = new NameFinderME(model, beamSize);
+    mNameFinderPool = modelResource.getNameFinderPool(beamSize);
   }
 
   /**
@@ -162,6 +168,9 @@ public final class NameFinder extends AbstractNameFinder {
 
   protected Span[] find(CAS cas, String[] tokens) {
 
+    if (mNameFinder == null)
+      mNameFinder = mNameFinderPool.borrow();
+
     Span names[] = mNameFinder.find(tokens);
 
     double probs[] = mNameFinder.probs();
@@ -200,7 +209,11 @@ public final class NameFinder extends AbstractNameFinder {
     }
 
     // Clears the adaptive data which was created for the current document
-    mNameFinder.clearAdaptiveData();
+    if (mNameFinder != null) {
+      mNameFinder.clearAdaptiveData();
+      mNameFinderPool.release(mNameFinder);
+      mNameFinder = null;
+    }
 
     documentConfidence = new Mean();
   }
@@ -210,5 +223,6 @@ public final class NameFinder extends AbstractNameFinder {
    */
   public void destroy() {
     mNameFinder = null;
+    mNameFinderPool = null;
   }
 }
\ No newline at end of file
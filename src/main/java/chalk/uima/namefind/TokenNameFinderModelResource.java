@@ -17,8 +17,17 @@
 
 package chalk.uima.namefind;
 
+import chalk.tools.namefind.NameFinderME;
 import chalk.tools.namefind.TokenNameFinderModel;
+import chalk.uima.util.ToolPool;
 
 public interface TokenNameFinderModelResource {
   TokenNameFinderModel getModel();
+
+  /**
+   * @param beamSize the beam size of the name finders
+   *
+   * @return the shared pool of name finders for the model
+   */
+  ToolPool<NameFinderME> getNameFinderPool(int beamSize);
 }
@@ -20,8 +20,10 @@ package chalk.uima.namefind;
 import java.io.IOException;
 import java.io.InputStream;
 
+import chalk.tools.namefind.NameFinderME;
 import chalk.tools.namefind.TokenNameFinderModel;
 import chalk.uima.util.AbstractModelResource;
+import chalk.uima.util.ToolPool;
 
 
 public class TokenNameFinderModelResourceImpl extends AbstractModelResource<TokenNameFinderModel>
@@ -31,6 +33,15 @@ public class TokenNameFinderModelResourceImpl extends AbstractModelResource<Toke
     return model;
   }
 
+  public ToolPool<NameFinderME> getNameFinderPool(final int beamSize) {
+    return getToolPool("beamSize=" + beamSize, new ToolPool<NameFinderME>() {
+      @Override
+      protected NameFinderME create() {
+        return new NameFinderME(model, beamSize);
+      }
+    });
+  }
+
   @Override
   protected TokenNameFinderModel loadModel(InputStream in) throws IOException {
     return new TokenNameFinderModel(in);
@@ -18,10 +18,9 @@
 package chalk.uima.parser;
 
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 
 import org.apache.uima.UimaContext;
@@ -29,7 +28,6 @@ import org.apache.uima.analysis_component.CasAnnotator_ImplBase;
 import org.apache.uima.analysis_engine.AnalysisEngineProcessException;
 import org.apache.uima.cas.ArrayFS;
 import org.apache.uima.cas.CAS;
-import org.apache.uima.cas.FSIndex;
 import org.apache.uima.cas.Feature;
 import org.apache.uima.cas.Type;
 import org.apache.uima.cas.TypeSystem;
@@ -40,11 +38,13 @@ import org.apache.uima.util.Level;
 import org.apache.uima.util.Logger;
 
 import chalk.tools.parser.Parse;
-import chalk.tools.parser.ParserFactory;
-import chalk.tools.parser.ParserModel;
 import chalk.tools.util.Span;
+import chalk.tools.util.metrics.Metrics;
+import chalk.tools.util.metrics.Timer;
 import chalk.uima.util.AnnotatorUtil;
-import chalk.uima.util.ContainingConstraint;
+import chalk.uima.util.CasTokenView;
+import chalk.uima.util.SentenceBatch;
+import chalk.uima.util.ToolPool;
 import chalk.uima.util.UimaUtil;
 
 /**
@@ -64,7 +64,12 @@ import chalk.uima.util.UimaUtil;
  * <table border=1>
  *   <tr><th>Type</th> <th>Name</th> <th>Description</th></tr>
  *   <tr><td>Integer</td> <td>opennlp.uima.BeamSize</td></tr>
+ *   <tr><td>Integer</td> <td>opennlp.uima.Threads</td> <td>The number of threads which parse the
+ *       sentences of a CAS, the threads are shared with other annotators (not set by default)</td></tr>
  * </table>
+ * <p>
+ * The parsers are pooled by the {@link ParserModelResource} and shared by all
+ * annotator instances which use the same model resource.
  */
 public class Parser extends CasAnnotator_ImplBase {
  
@@ -179,11 +184,15 @@ public class Parser extends CasAnnotator_ImplBase {
   
   protected Logger mLogger;
 
+  private final Timer processTimer = Metrics.timer("uima." + getClass().getSimpleName());
+
   private Type mSentenceType;
 
   private Type mTokenType;
 
-  protected chalk.tools.parser.Parser mParser;
+  private ToolPool<chalk.tools.parser.Parser> mParserPool;
+
+  private ExecutorService mExecutor;
 
   private Type mParseType;
 
@@ -192,6 +201,8 @@ public class Parser extends CasAnnotator_ImplBase {
   private Feature childrenFeature;
 
   private Feature probabilityFeature;
+
+  private CasTokenView tokenView;
   
   /**
    * Initializes the current instance with the given context.
@@ -209,18 +220,19 @@ public class Parser extends CasAnnotator_ImplBase {
       mLogger.log(Level.INFO, "Initializing the OpenNLP Parser.");
     }
 
-    ParserModel model;
+    ParserModelResource modelResource;
 
     try {
-      ParserModelResource modelResource = (ParserModelResource) context
+      modelResource = (ParserModelResource) context
           .getResourceObject(UimaUtil.MODEL_PARAMETER);
-
-      model = modelResource.getModel();
     } catch (ResourceAccessException e) {
       throw new ResourceInitializationException(e);
     }
 
-    mParser = ParserFactory.create(model);
+    mParserPool = modelResource.getParserPool();
+
+    mExecutor = SentenceBatch.getSharedExecutor(
+        AnnotatorUtil.getOptionalIntegerParameter(context, UimaUtil.THREADS_PARAMETER));
   }
   
   /**
@@ -246,62 +258,66 @@ public class Parser extends CasAnnotator_ImplBase {
     
     probabilityFeature = AnnotatorUtil.getOptionalFeatureParameter(context,
         mParseType, PROBABILITY_FEATURE_PARAMETER, CAS.TYPE_NAME_DOUBLE);
+
+    tokenView = new CasTokenView(mSentenceType, mTokenType);
   }
   
   /**
    * Performs parsing on the given {@link CAS} object.
+   * <p>
+   * The sentences are parsed as one batch, the parse annotations are
+   * created afterwards in the order of the sentences.
    */
   public void process(CAS cas) {
-    FSIndex<AnnotationFS> sentences = cas.getAnnotationIndex(mSentenceType);
+    long processStart = processTimer.start();
 
-    for (AnnotationFS sentence : sentences) {
-      process(cas, sentence);
-    }
-  }
-  
-  protected void process(CAS cas, AnnotationFS sentenceAnnotation) {
-    FSIndex<AnnotationFS> allTokens = cas.getAnnotationIndex(mTokenType);
-    
-    ContainingConstraint containingConstraint = 
-        new ContainingConstraint(sentenceAnnotation);
-    
-    String sentence = sentenceAnnotation.getCoveredText();
+    try {
+      tokenView.load(cas);
 
-    Iterator<AnnotationFS> containingTokens = cas.createFilteredIterator(
-        allTokens.iterator(), containingConstraint);
-   
-    List<Span> tokenSpans = new LinkedList<Span>();
-    
-    while(containingTokens.hasNext()) {
-      AnnotationFS token = (AnnotationFS) containingTokens.next();
+      final ParseConverter converters[] = new ParseConverter[tokenView.getSentenceCount()];
 
-      tokenSpans.add(new Span(token.getBegin() - sentenceAnnotation.getBegin(), 
-          token.getEnd() - sentenceAnnotation.getBegin()));
-    }
-    
-    ParseConverter converter = new ParseConverter(sentence,(Span[]) 
-        tokenSpans.toArray(new Span[tokenSpans.size()]));
-   
-    Parse unparsedTree = converter.getParseForTagger();
-   
-    if (unparsedTree.getChildCount() > 0) {
-      
-      Parse parse = mParser.parse(unparsedTree);
-  
-      // TODO: We need a strategy to handle the case that a full
-      //       parse could not be found. What to do in this case?
-      
-      parse = converter.transformParseFromTagger(parse);
-   
-      if (mLogger.isLoggable(Level.INFO)) {
-        StringBuffer parseString = new StringBuffer();
-        parse.show(parseString);
-     
-        mLogger.log(Level.INFO, parseString.toString());
+      for (int si = 0; si < converters.length; si++) {
+        converters[si] = new ParseConverter(tokenView.getSentence(si).getCoveredText(),
+            tokenView.getTokenSpans(si));
       }
-   
-      createAnnotation(cas, sentenceAnnotation.getBegin(), parse);
+
+      List<Parse> parses = new SentenceBatch<chalk.tools.parser.Parser, Parse>() {
+        @Override
+        protected Parse process(chalk.tools.parser.Parser parser, int sentence) {
+          Parse unparsedTree = converters[sentence].getParseForTagger();
+
+          if (unparsedTree.getChildCount() > 0)
+            return parser.parse(unparsedTree);
+          else
+            return null;
+        }
+      }.run(mParserPool, converters.length, mExecutor);
+
+      for (int si = 0; si < converters.length; si++) {
+        Parse parse = parses.get(si);
+
+        // TODO: We need a strategy to handle the case that a full
+        //       parse could not be found. What to do in this case?
+
+        if (parse != null) {
+          parse = converters[si].transformParseFromTagger(parse);
+
+          if (mLogger.isLoggable(Level.INFO)) {
+            StringBuffer parseString = new StringBuffer();
+            parse.show(parseString);
+
+            mLogger.log(Level.INFO, parseString.toString());
+          }
+
+          createAnnotation(cas, tokenView.getSentence(si).getBegin(), parse);
+        }
+      }
+    }
+    finally {
+      tokenView.clear();
     }
+
+    processTimer.stop(processStart);
   }
   
   protected AnnotationFS createAnnotation(CAS cas, int offset, Parse parse) {
@@ -335,6 +351,6 @@ public class Parser extends CasAnnotator_ImplBase {
    * Releases allocated resources.
    */
   public void destroy() {
-    mParser = null;
+    mParserPool = null;
   }
 }
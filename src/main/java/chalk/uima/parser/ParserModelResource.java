@@ -17,8 +17,16 @@
 
 package chalk.uima.parser;
 
+import chalk.tools.parser.Parser;
 import chalk.tools.parser.ParserModel;
+import chalk.uima.util.ToolPool;
 
 public interface ParserModelResource {
   ParserModel getModel();
+
+  /**
+   * @return the shared pool of parsers for the model, created with the
+   *     default beam size and advance percentage
+   */
+  ToolPool<Parser> getParserPool();
 }
@@ -20,8 +20,11 @@ package chalk.uima.parser;
 import java.io.IOException;
 import java.io.InputStream;
 
+import chalk.tools.parser.Parser;
+import chalk.tools.parser.ParserFactory;
 import chalk.tools.parser.ParserModel;
 import chalk.uima.util.AbstractModelResource;
+import chalk.uima.util.ToolPool;
 
 
 public class ParserModelResourceImpl extends AbstractModelResource<ParserModel> implements
@@ -31,6 +34,15 @@ public class ParserModelResourceImpl extends AbstractModelResource<ParserModel>
     return model;
   }
 
+  public ToolPool<Parser> getParserPool() {
+    return getToolPool("default", new ToolPool<Parser>() {
+      @Override
+      protected Parser create() {
+        return ParserFactory.create(model);
+      }
+    });
+  }
+
   @Override
   protected ParserModel loadModel(InputStream in) throws IOException {
     return new ParserModel(in);
@@ -18,7 +18,16 @@
 package chalk.uima.postag;
 
 import chalk.tools.postag.POSModel;
+import chalk.tools.postag.POSTaggerME;
+import chalk.uima.util.ToolPool;
 
 public interface POSModelResource {
   POSModel getModel();
+
+  /**
+   * @param beamSize the beam size of the taggers
+   *
+   * @return the shared pool of taggers for the model
+   */
+  ToolPool<POSTaggerME> getTaggerPool(int beamSize);
 }
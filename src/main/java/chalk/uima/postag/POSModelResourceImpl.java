@@ -21,7 +21,9 @@ import java.io.IOException;
 import java.io.InputStream;
 
 import chalk.tools.postag.POSModel;
+import chalk.tools.postag.POSTaggerME;
 import chalk.uima.util.AbstractModelResource;
+import chalk.uima.util.ToolPool;
 
 
 public class POSModelResourceImpl extends AbstractModelResource<POSModel>
@@ -31,6 +33,15 @@ public class POSModelResourceImpl extends AbstractModelResource<POSModel>
     return model;
   }
 
+  public ToolPool<POSTaggerME> getTaggerPool(final int beamSize) {
+    return getToolPool("beamSize=" + beamSize, new ToolPool<POSTaggerME>() {
+      @Override
+      protected POSTaggerME create() {
+        return new POSTaggerME(model, beamSize, 0);
+      }
+    });
+  }
+
   @Override
   protected POSModel loadModel(InputStream in) throws IOException {
     return new POSModel(in);
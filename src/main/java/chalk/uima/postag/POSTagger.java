@@ -17,10 +17,8 @@
 
 package chalk.uima.postag;
 
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
-
+import java.util.concurrent.ExecutorService;
 
 import org.apache.uima.UimaContext;
 import org.apache.uima.analysis_component.CasAnnotator_ImplBase;
@@ -29,17 +27,18 @@ import org.apache.uima.cas.CAS;
 import org.apache.uima.cas.Feature;
 import org.apache.uima.cas.Type;
 import org.apache.uima.cas.TypeSystem;
-import org.apache.uima.cas.text.AnnotationFS;
 import org.apache.uima.resource.ResourceAccessException;
 import org.apache.uima.resource.ResourceInitializationException;
 import org.apache.uima.util.Level;
 import org.apache.uima.util.Logger;
 
-import chalk.tools.postag.POSModel;
 import chalk.tools.postag.POSTaggerME;
-import chalk.uima.util.AnnotationComboIterator;
-import chalk.uima.util.AnnotationIteratorPair;
+import chalk.tools.util.metrics.Metrics;
+import chalk.tools.util.metrics.Timer;
 import chalk.uima.util.AnnotatorUtil;
+import chalk.uima.util.CasTokenView;
+import chalk.uima.util.SentenceBatch;
+import chalk.uima.util.ToolPool;
 import chalk.uima.util.UimaUtil;
 
 /**
@@ -61,11 +60,31 @@ import chalk.uima.util.UimaUtil;
  *   <tr><td>String</td> <td>opennlp.uima.ProbabilityFeature</td> <td>The name of the double probability feature (not set by default)</td></tr>
  *   <tr><td>Integer</td> <td>opennlp.uima.BeamSize</td> 
  *   <tr><td>String</td> <td>opennlp.uima.DictionaryName</td> <td>The name of the dictionary file</td></tr>
+ *   <tr><td>Integer</td> <td>opennlp.uima.Threads</td> <td>The number of threads which tag the
+ *       sentences of a CAS, the threads are shared with other annotators (not set by default)</td></tr>
  * </table>
+ * <p>
+ * The taggers are pooled by the {@link POSModelResource} and shared by all
+ * annotator instances which use the same model resource.
  */
 public final class POSTagger extends CasAnnotator_ImplBase {
 
-  private POSTaggerME posTagger;
+  /**
+   * The tags and the tag probabilities of one sentence.
+   */
+  private static class TaggedSentence {
+    private final String[] tags;
+    private final double[] probs;
+
+    TaggedSentence(String[] tags, double[] probs) {
+      this.tags = tags;
+      this.probs = probs;
+    }
+  }
+
+  private ToolPool<POSTaggerME> taggerPool;
+
+  private ExecutorService executor;
 
   private Type sentenceType;
 
@@ -75,10 +94,14 @@ public final class POSTagger extends CasAnnotator_ImplBase {
 
   private Feature probabilityFeature;
 
+  private CasTokenView tokenView;
+
   private UimaContext context;
 
   private Logger logger;
 
+  private final Timer processTimer = Metrics.timer("uima." + getClass().getSimpleName());
+
   /**
    * Initializes a new instance.
    * 
@@ -109,13 +132,11 @@ public final class POSTagger extends CasAnnotator_ImplBase {
           + "Part of Speech annotator.");
     }
 
-    POSModel model;
+    POSModelResource modelResource;
 
     try {
-      POSModelResource modelResource = (POSModelResource) context
+      modelResource = (POSModelResource) context
           .getResourceObject(UimaUtil.MODEL_PARAMETER);
-
-      model = modelResource.getModel();
     } catch (ResourceAccessException e) {
       throw new ResourceInitializationException(e);
     }
@@ -126,7 +147,10 @@ public final class POSTagger extends CasAnnotator_ImplBase {
     if (beamSize == null)
       beamSize = POSTaggerME.DEFAULT_BEAM_SIZE;
 
-    this.posTagger = new POSTaggerME(model, beamSize, 0);
+    this.taggerPool = modelResource.getTaggerPool(beamSize);
+
+    this.executor = SentenceBatch.getSharedExecutor(
+        AnnotatorUtil.getOptionalIntegerParameter(context, UimaUtil.THREADS_PARAMETER));
   }
 
   /**
@@ -149,6 +173,8 @@ public final class POSTagger extends CasAnnotator_ImplBase {
 
     this.probabilityFeature = AnnotatorUtil.getOptionalFeatureParameter(this.context,
         this.tokenType, UimaUtil.PROBABILITY_FEATURE_PARAMETER, CAS.TYPE_NAME_DOUBLE);
+
+    this.tokenView = new CasTokenView(this.sentenceType, this.tokenType);
   }
 
   /**
@@ -156,71 +182,66 @@ public final class POSTagger extends CasAnnotator_ImplBase {
    */
   @Override
   public void process(CAS tcas) {
+    long processStart = processTimer.start();
 
-    final AnnotationComboIterator comboIterator = new AnnotationComboIterator(tcas,
-        this.sentenceType, this.tokenType);
-
-    for (AnnotationIteratorPair annotationIteratorPair : comboIterator) {
-      
-      final List<AnnotationFS> sentenceTokenAnnotationList = new LinkedList<AnnotationFS>();
-
-      final List<String> sentenceTokenList = new LinkedList<String>();
-
-      for (AnnotationFS tokenAnnotation : annotationIteratorPair.getSubIterator()) {
+    try {
+      tokenView.load(tcas);
 
-        sentenceTokenAnnotationList.add(tokenAnnotation);
+      final String sentences[][] = new String[tokenView.getSentenceCount()][];
 
-        sentenceTokenList.add(tokenAnnotation.getCoveredText());
+      for (int si = 0; si < sentences.length; si++) {
+        sentences[si] = tokenView.getTokens(si);
       }
 
-      final List<String> posTags = this.posTagger.tag(sentenceTokenList);
-
-      double posProbabilities[] = null;
+      final boolean isProbabilityNeeded = this.probabilityFeature != null;
 
-      if (this.probabilityFeature != null) {
-        posProbabilities = this.posTagger.probs();
-      }
+      List<TaggedSentence> taggedSentences = new SentenceBatch<POSTaggerME, TaggedSentence>() {
+        @Override
+        protected TaggedSentence process(POSTaggerME tagger, int sentence) {
+          String tags[] = tagger.tag(sentences[sentence]);
+          return new TaggedSentence(tags, isProbabilityNeeded ? tagger.probs() : null);
+        }
+      }.run(this.taggerPool, sentences.length, this.executor);
 
-      final Iterator<String> posTagIterator = posTags.iterator();
-      final Iterator<AnnotationFS> sentenceTokenIterator = sentenceTokenAnnotationList.iterator();
+      for (int si = 0; si < sentences.length; si++) {
 
-      int index = 0;
-      while (posTagIterator.hasNext() && sentenceTokenIterator.hasNext()) {
-        final String posTag = posTagIterator.next();
-        final AnnotationFS tokenAnnotation = sentenceTokenIterator.next();
+        final String posTags[] = taggedSentences.get(si).tags;
 
-        tokenAnnotation.setStringValue(this.posFeature, posTag);
+        tokenView.setStringValues(si, this.posFeature, posTags);
 
-        if (posProbabilities != null) {
-          tokenAnnotation.setDoubleValue(this.posFeature, posProbabilities[index]);
+        if (isProbabilityNeeded) {
+          tokenView.setDoubleValues(si, this.probabilityFeature, taggedSentences.get(si).probs);
         }
 
-        index++;
-      }
+        // log tokens with pos
+        if (this.logger.isLoggable(Level.FINER)) {
 
-      // log tokens with pos
-      if (this.logger.isLoggable(Level.FINER)) {
+          final StringBuilder sentenceWithPos = new StringBuilder();
 
-        final StringBuilder sentenceWithPos = new StringBuilder();
+          sentenceWithPos.append("\"");
 
-        sentenceWithPos.append("\"");
+          for (int ti = 0; ti < posTags.length; ti++) {
+            sentenceWithPos.append(sentences[si][ti]);
+            sentenceWithPos.append('\\');
+            sentenceWithPos.append(posTags[ti]);
+            sentenceWithPos.append(' ');
+          }
 
-        for (final AnnotationFS token : sentenceTokenAnnotationList) {
-          sentenceWithPos.append(token.getCoveredText());
-          sentenceWithPos.append('\\');
-          sentenceWithPos.append(token.getStringValue(this.posFeature));
-          sentenceWithPos.append(' ');
-        }
+          // delete last whitespace
+          if (sentenceWithPos.length() > 1) // not 0 because it contains already the " char
+            sentenceWithPos.setLength(sentenceWithPos.length() - 1);
 
-        // delete last whitespace
-        if (sentenceWithPos.length() > 1) // not 0 because it contains already the " char
-          sentenceWithPos.setLength(sentenceWithPos.length() - 1);
-        
-        sentenceWithPos.append("\"");
+          sentenceWithPos.append("\"");
 
-        this.logger.log(Level.FINER, sentenceWithPos.toString());
+          this.logger.log(Level.FINER, sentenceWithPos.toString());
+        }
       }
     }
+    finally {
+      tokenView.clear();
+    }
+
+    processTimer.stop(processStart);
   }
 
   /**
@@ -228,6 +249,6 @@ public final class POSTagger extends CasAnnotator_ImplBase {
    */
   @Override
   public void destroy() {
-    this.posTagger = null;
+    this.taggerPool = null;
   }
 }
\ No newline at end of file
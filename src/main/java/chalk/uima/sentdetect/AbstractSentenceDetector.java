@@ -33,6 +33,8 @@ import org.apache.uima.util.Level;
 import org.apache.uima.util.Logger;
 
 import chalk.tools.util.Span;
+import chalk.tools.util.metrics.Metrics;
+import chalk.tools.util.metrics.Timer;
 import chalk.uima.util.AnnotatorUtil;
 import chalk.uima.util.UimaUtil;
 
@@ -45,6 +47,8 @@ public abstract class AbstractSentenceDetector extends CasAnnotator_ImplBase {
    */
   protected Logger logger;
 
+  private final Timer processTimer = Metrics.timer("uima." + getClass().getSimpleName());
+
   protected Type containerType;
   
   protected Type sentenceType;
@@ -95,6 +99,7 @@ public abstract class AbstractSentenceDetector extends CasAnnotator_ImplBase {
   
   @Override
   public void process(CAS cas) throws AnalysisEngineProcessException {
+    long processStart = processTimer.start();
 
     FSIndex<AnnotationFS> containerAnnotations = cas
         .getAnnotationIndex(containerType);
@@ -126,5 +131,7 @@ public abstract class AbstractSentenceDetector extends CasAnnotator_ImplBase {
 
       postProcessAnnotations(sentences);
     }
+
+    processTimer.stop(processStart);
   }
 }
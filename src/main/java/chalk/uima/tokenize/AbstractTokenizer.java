@@ -33,6 +33,8 @@ import org.apache.uima.util.Level;
 import org.apache.uima.util.Logger;
 
 import chalk.tools.util.Span;
+import chalk.tools.util.metrics.Metrics;
+import chalk.tools.util.metrics.Timer;
 import chalk.uima.util.AnnotatorUtil;
 import chalk.uima.util.UimaUtil;
 
@@ -44,6 +46,8 @@ public abstract class AbstractTokenizer extends CasAnnotator_ImplBase {
 
   protected Logger logger;
 
+  private final Timer processTimer = Metrics.timer("uima." + getClass().getSimpleName());
+
   /**
    * Type of the sentence containing the tokens.
    */
@@ -102,6 +106,8 @@ public abstract class AbstractTokenizer extends CasAnnotator_ImplBase {
 
   @Override
   public void process(CAS cas) throws AnalysisEngineProcessException {
+    long processStart = processTimer.start();
+
     FSIndex<AnnotationFS> sentences = cas.getAnnotationIndex(sentenceType);
 
     for (AnnotationFS sentence : sentences) {
@@ -141,5 +147,7 @@ public abstract class AbstractTokenizer extends CasAnnotator_ImplBase {
 
       postProcessAnnotations(tokenSpans, tokenAnnotations);
     }
+
+    processTimer.stop(processStart);
   }
 }
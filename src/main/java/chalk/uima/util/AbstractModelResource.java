@@ -19,6 +19,8 @@ package chalk.uima.util;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.uima.resource.DataResource;
 import org.apache.uima.resource.ResourceInitializationException;
@@ -28,6 +30,9 @@ public abstract class AbstractModelResource<T> implements SharedResourceObject {
 	
 	protected T model;
 	
+	private final ConcurrentMap<String, ToolPool<?>> toolPools =
+			new ConcurrentHashMap<String, ToolPool<?>>();
+	
 	protected abstract T loadModel(InputStream in) throws IOException;
 	
 	public void load(DataResource resource) throws ResourceInitializationException {
@@ -40,4 +45,20 @@ public abstract class AbstractModelResource<T> implements SharedResourceObject {
 				    e.getMessage()}, e);
 		}
 	}
+
+	/**
+	 * Retrieves the tool pool with the specified configuration, the pools
+	 * are shared by all annotators which use this resource.
+	 * 
+	 * @param key the configuration of the tools, e.g. the beam size
+	 * @param pool the pool which is registered if there is none for the key yet
+	 * 
+	 * @return the registered pool
+	 */
+	@SuppressWarnings("unchecked")
+	protected <P> ToolPool<P> getToolPool(String key, ToolPool<P> pool) {
+		ToolPool<?> registeredPool = toolPools.putIfAbsent(key, pool);
+		
+		return registeredPool != null ? (ToolPool<P>) registeredPool : pool;
+	}
 }
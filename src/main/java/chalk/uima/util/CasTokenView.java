@@ -0,0 +1,311 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.uima.util;
+
+import org.apache.uima.cas.CAS;
+import org.apache.uima.cas.FSIndex;
+import org.apache.uima.cas.Feature;
+import org.apache.uima.cas.Type;
+import org.apache.uima.cas.text.AnnotationFS;
+
+import chalk.tools.util.Span;
+
+/**
+ * The sentences and tokens of a CAS as arrays.
+ * <p>
+ * The view reads the sentence and token indexes once per CAS, in a single
+ * merge pass over both indexes, and keeps the tokens and their texts in arrays.
+ * The annotators then pass the token arrays of a sentence to the array based
+ * tool APIs and write the results back in bulk, without iterating the indexes
+ * again per sentence. A token belongs to a sentence if it is within the
+ * bounds of the sentence, like with the {@link AnnotationComboIterator}.
+ * <p>
+ * The arrays are reused for the next CAS, this class is not thread safe.
+ */
+public class CasTokenView {
+
+  private final Type sentenceType;
+
+  private final Type tokenType;
+
+  private AnnotationFS[] sentences = new AnnotationFS[16];
+
+  // the first token and the end of the tokens of each sentence
+  private int[] sentenceTokenStart = new int[16];
+  private int[] sentenceTokenEnd = new int[16];
+
+  private int sentenceCount;
+
+  private AnnotationFS[] tokens = new AnnotationFS[256];
+
+  private String[] tokenTexts = new String[256];
+
+  private int tokenCount;
+
+  /**
+   * Initializes the current instance.
+   *
+   * @param sentenceType the sentence type, or null if all tokens of the
+   *     document should form one sentence
+   * @param tokenType the token type
+   */
+  public CasTokenView(Type sentenceType, Type tokenType) {
+    this.sentenceType = sentenceType;
+    this.tokenType = tokenType;
+  }
+
+  private void addSentence(AnnotationFS sentence, int start, int end) {
+    if (sentenceCount == sentences.length) {
+      int length = sentences.length * 2;
+      AnnotationFS[] newSentences = new AnnotationFS[length];
+      System.arraycopy(sentences, 0, newSentences, 0, sentenceCount);
+      sentences = newSentences;
+
+      int[] newStart = new int[length];
+      System.arraycopy(sentenceTokenStart, 0, newStart, 0, sentenceCount);
+      sentenceTokenStart = newStart;
+
+      int[] newEnd = new int[length];
+      System.arraycopy(sentenceTokenEnd, 0, newEnd, 0, sentenceCount);
+      sentenceTokenEnd = newEnd;
+    }
+
+    sentences[sentenceCount] = sentence;
+    sentenceTokenStart[sentenceCount] = start;
+    sentenceTokenEnd[sentenceCount] = end;
+    sentenceCount++;
+  }
+
+  /**
+   * Reads the sentences and tokens of the CAS, the previous CAS is released.
+   *
+   * @param cas the CAS
+   */
+  public void load(CAS cas) {
+    clear();
+
+    FSIndex<AnnotationFS> tokenIndex = cas.getAnnotationIndex(tokenType);
+
+    int size = tokenIndex.size();
+    if (tokens.length < size) {
+      tokens = new AnnotationFS[size];
+      tokenTexts = new String[size];
+    }
+
+    String text = cas.getDocumentText();
+
+    for (AnnotationFS token : tokenIndex) {
+      tokens[tokenCount] = token;
+      tokenTexts[tokenCount] = text.substring(token.getBegin(), token.getEnd());
+      tokenCount++;
+    }
+
+    if (sentenceType == null) {
+      addSentence(null, 0, tokenCount);
+      return;
+    }
+
+    // both indexes are sorted by the begin offsets
+    int ti = 0;
+    for (AnnotationFS sentence : cas.getAnnotationIndex(sentenceType)) {
+      while (ti < tokenCount && tokens[ti].getBegin() < sentence.getBegin()) {
+        ti++;
+      }
+
+      int start = ti;
+
+      while (ti < tokenCount && tokens[ti].getEnd() <= sentence.getEnd()) {
+        ti++;
+      }
+
+      addSentence(sentence, start, ti);
+    }
+  }
+
+  /**
+   * Releases the annotations of the last CAS.
+   */
+  public void clear() {
+    for (int i = 0; i < sentenceCount; i++) {
+      sentences[i] = null;
+    }
+
+    for (int i = 0; i < tokenCount; i++) {
+      tokens[i] = null;
+      tokenTexts[i] = null;
+    }
+
+    sentenceCount = 0;
+    tokenCount = 0;
+  }
+
+  /**
+   * @return the number of sentences
+   */
+  public int getSentenceCount() {
+    return sentenceCount;
+  }
+
+  /**
+   * @param sentence the index of the sentence
+   *
+   * @return the sentence annotation, or null if there is no sentence type
+   */
+  public AnnotationFS getSentence(int sentence) {
+    return sentences[sentence];
+  }
+
+  /**
+   * @param sentence the index of the sentence
+   *
+   * @return the number of tokens of the sentence
+   */
+  public int getTokenCount(int sentence) {
+    return sentenceTokenEnd[sentence] - sentenceTokenStart[sentence];
+  }
+
+  /**
+   * @param sentence the index of the sentence
+   *
+   * @return a new array with the texts of the tokens of the sentence
+   */
+  public String[] getTokens(int sentence) {
+    String[] texts = new String[getTokenCount(sentence)];
+    System.arraycopy(tokenTexts, sentenceTokenStart[sentence], texts, 0, texts.length);
+    return texts;
+  }
+
+  /**
+   * @param sentence the index of the sentence
+   * @param token the index of the token within the sentence
+   *
+   * @return the token annotation
+   */
+  public AnnotationFS getToken(int sentence, int token) {
+    return tokens[sentenceTokenStart[sentence] + token];
+  }
+
+  /**
+   * @param sentence the index of the sentence
+   *
+   * @return a new array with the token annotations of the sentence
+   */
+  public AnnotationFS[] getTokenAnnotations(int sentence) {
+    AnnotationFS[] annotations = new AnnotationFS[getTokenCount(sentence)];
+    System.arraycopy(tokens, sentenceTokenStart[sentence], annotations, 0, annotations.length);
+    return annotations;
+  }
+
+  /**
+   * Retrieves the token offsets relative to the begin of the sentence.
+   *
+   * @param sentence the index of the sentence
+   *
+   * @return the spans of the tokens of the sentence
+   */
+  public Span[] getTokenSpans(int sentence) {
+    int offset = sentences[sentence] != null ? sentences[sentence].getBegin() : 0;
+
+    Span[] spans = new Span[getTokenCount(sentence)];
+    for (int i = 0; i < spans.length; i++) {
+      AnnotationFS token = tokens[sentenceTokenStart[sentence] + i];
+      spans[i] = new Span(token.getBegin() - offset, token.getEnd() - offset);
+    }
+    return spans;
+  }
+
+  /**
+   * Reads a string feature of the tokens of a sentence.
+   *
+   * @param sentence the index of the sentence
+   * @param feature the string feature of the token type
+   *
+   * @return the feature values
+   */
+  public String[] getStringValues(int sentence, Feature feature) {
+    String[] values = new String[getTokenCount(sentence)];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = tokens[sentenceTokenStart[sentence] + i].getStringValue(feature);
+    }
+    return values;
+  }
+
+  /**
+   * Writes a string feature of the tokens of a sentence.
+   *
+   * @param sentence the index of the sentence
+   * @param feature the string feature of the token type
+   * @param values one value per token
+   */
+  public void setStringValues(int sentence, Feature feature, String[] values) {
+    checkLength(sentence, values.length);
+
+    for (int i = 0; i < values.length; i++) {
+      tokens[sentenceTokenStart[sentence] + i].setStringValue(feature, values[i]);
+    }
+  }
+
+  /**
+   * Writes a double feature of the tokens of a sentence.
+   *
+   * @param sentence the index of the sentence
+   * @param feature the double feature of the token type
+   * @param values one value per token
+   */
+  public void setDoubleValues(int sentence, Feature feature, double[] values) {
+    checkLength(sentence, values.length);
+
+    for (int i = 0; i < values.length; i++) {
+      tokens[sentenceTokenStart[sentence] + i].setDoubleValue(feature, values[i]);
+    }
+  }
+
+  private void checkLength(int sentence, int length) {
+    if (length != getTokenCount(sentence))
+      throw new IllegalArgumentException("Expected " + getTokenCount(sentence) +
+          " values, but got " + length + "!");
+  }
+
+  /**
+   * Creates and indexes annotations which cover the specified tokens of a sentence,
+   * e.g. the names found by a name finder.
+   *
+   * @param cas the CAS
+   * @param type the type of the annotations
+   * @param sentence the index of the sentence
+   * @param tokenSpans the spans of the covered tokens, relative to the sentence
+   *
+   * @return the annotations, in the order of the spans
+   */
+  public AnnotationFS[] createAnnotations(CAS cas, Type type, int sentence, Span[] tokenSpans) {
+    AnnotationFS[] annotations = new AnnotationFS[tokenSpans.length];
+
+    int start = sentenceTokenStart[sentence];
+
+    for (int i = 0; i < tokenSpans.length; i++) {
+      annotations[i] = cas.createAnnotation(type,
+          tokens[start + tokenSpans[i].getStart()].getBegin(),
+          tokens[start + tokenSpans[i].getEnd() - 1].getEnd());
+
+      cas.getIndexRepository().addFS(annotations[i]);
+    }
+
+    return annotations;
+  }
+}
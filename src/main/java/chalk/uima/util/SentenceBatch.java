@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.uima.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Processes all sentences of a CAS with tools from a {@link ToolPool},
+ * optionally concurrently on an executor.
+ * <p>
+ * Only the tool is used by the worker threads, the CAS is not thread safe and
+ * must only be read before and updated after {@link #run(ToolPool, int, ExecutorService)}.
+ *
+ * @param <T> the type of the tools
+ * @param <R> the type of the result of a sentence
+ */
+public abstract class SentenceBatch<T, R> {
+
+  private static final ConcurrentMap<Integer, ExecutorService> sharedExecutors =
+      new ConcurrentHashMap<Integer, ExecutorService>();
+
+  /**
+   * Processes one sentence.
+   *
+   * @param tool the tool, it is only used by the calling thread during the call
+   * @param sentence the index of the sentence
+   *
+   * @return the result of the sentence
+   */
+  protected abstract R process(T tool, int sentence);
+
+  /**
+   * Processes the sentences.
+   *
+   * @param pool the pool of the tools
+   * @param sentenceCount the number of sentences
+   * @param executor the executor, or null to process the sentences one after
+   *     another with one tool
+   *
+   * @return the results, in the order of the sentences
+   */
+  public List<R> run(final ToolPool<T> pool, int sentenceCount, ExecutorService executor) {
+
+    List<R> results = new ArrayList<R>(sentenceCount);
+
+    if (executor == null || sentenceCount < 2) {
+      T tool = pool.borrow();
+      try {
+        for (int i = 0; i < sentenceCount; i++) {
+          results.add(process(tool, i));
+        }
+      }
+      finally {
+        pool.release(tool);
+      }
+
+      return results;
+    }
+
+    List<Future<R>> futures = new ArrayList<Future<R>>(sentenceCount);
+
+    for (int i = 0; i < sentenceCount; i++) {
+      final int sentence = i;
+
+      futures.add(executor.submit(new Callable<R>() {
+        public R call() {
+          T tool = pool.borrow();
+          try {
+            return process(tool, sentence);
+          }
+          finally {
+            pool.release(tool);
+          }
+        }
+      }));
+    }
+
+    try {
+      for (Future<R> future : futures) {
+        results.add(future.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while processing sentences!", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException)
+        throw (RuntimeException) e.getCause();
+      else
+        throw new IllegalStateException("Failed to process sentences!", e.getCause());
+    }
+    finally {
+      for (Future<R> future : futures) {
+        future.cancel(true);
+      }
+    }
+
+    return results;
+  }
+
+  /**
+   * Retrieves the executor for the {@link UimaUtil#THREADS_PARAMETER} of an
+   * annotator. All annotators which are configured with the same number of
+   * threads share one pool of daemon threads.
+   *
+   * @param threads the number of threads, or null
+   *
+   * @return the shared executor, or null if the number of threads is null or
+   *     smaller than two
+   */
+  public static ExecutorService getSharedExecutor(Integer threads) {
+    if (threads == null || threads < 2)
+      return null;
+
+    ExecutorService executor = sharedExecutors.get(threads);
+
+    if (executor == null) {
+      ExecutorService newExecutor = Executors.newFixedThreadPool(threads,
+          new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+              Thread thread = new Thread(r, "SentenceBatch-worker");
+              thread.setDaemon(true);
+              return thread;
+            }
+          });
+
+      executor = sharedExecutors.putIfAbsent(threads, newExecutor);
+
+      if (executor == null)
+        executor = newExecutor;
+      else
+        newExecutor.shutdown();
+    }
+
+    return executor;
+  }
+}
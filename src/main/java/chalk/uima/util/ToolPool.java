@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.uima.util;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A thread safe pool of tool instances, e.g. taggers, which are created from a
+ * shared model.
+ * <p>
+ * The pools are owned by the model resources and are shared by all annotator
+ * instances which use the same resource. A tool is borrowed for the processing
+ * of a sentence or a document and then released again, at most one tool per
+ * concurrent user is ever created.
+ *
+ * @param <T> the type of the tools
+ */
+public abstract class ToolPool<T> {
+
+  private final ConcurrentLinkedQueue<T> tools = new ConcurrentLinkedQueue<T>();
+
+  /**
+   * Creates a new tool, called if the pool is empty.
+   *
+   * @return the new tool
+   */
+  protected abstract T create();
+
+  /**
+   * Takes a tool from the pool, or creates a new one if all tools are in use.
+   *
+   * @return the tool
+   */
+  public T borrow() {
+    T tool = tools.poll();
+
+    if (tool == null)
+      tool = create();
+
+    return tool;
+  }
+
+  /**
+   * Returns a borrowed tool to the pool.
+   *
+   * @param tool the tool, it must not be used by the caller afterwards
+   */
+  public void release(T tool) {
+    tools.add(tool);
+  }
+}
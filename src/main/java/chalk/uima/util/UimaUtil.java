@@ -81,6 +81,12 @@ public final class UimaUtil {
   
   public static final String ADDITIONAL_TRAINING_DATA_ENCODING =
       "opennlp.uima.AdditionalTrainingDataEncoding";
+
+  /**
+   * The number of threads which process the sentences of a CAS, the
+   * sentences are processed one after another if it is not set.
+   */
+  public static final String THREADS_PARAMETER = "opennlp.uima.Threads";
   
   /**
    * Removes all annotations of type removeAnnotationType which are contained
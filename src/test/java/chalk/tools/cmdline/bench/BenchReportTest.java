@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.cmdline.bench;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link BenchReport} class.
+ */
+public class BenchReportTest {
+
+  @Test
+  public void testLengthBuckets() {
+    assertEquals(0, BenchReport.lengthBucket(1));
+    assertEquals(0, BenchReport.lengthBucket(10));
+    assertEquals(1, BenchReport.lengthBucket(11));
+    assertEquals(2, BenchReport.lengthBucket(40));
+    assertEquals(3, BenchReport.lengthBucket(41));
+    assertEquals(4, BenchReport.lengthBucket(81));
+  }
+
+  @Test
+  public void testAdd() {
+    BenchReport first = new BenchReport();
+    first.record(5, 1000);
+    first.record(50, 3000);
+    first.setAllocatedBytes(100);
+
+    BenchReport second = new BenchReport();
+    second.record(15, 2000);
+    second.setAllocatedBytes(50);
+
+    first.add(second);
+
+    assertEquals(3, first.getSentences());
+    assertEquals(70, first.getTokens());
+    assertEquals(150, first.getAllocatedBytes());
+    assertEquals(1, first.getLatencies(1).getCount());
+    assertEquals(3000, first.getLatencies().getMax());
+
+    BenchReport unsupported = new BenchReport();
+    unsupported.setAllocatedBytes(-1);
+    first.add(unsupported);
+
+    assertEquals(-1, first.getAllocatedBytes());
+  }
+
+  @Test
+  public void testJson() {
+    BenchReport report = new BenchReport();
+    report.record(5, 1000);
+    report.setRun(Arrays.asList("tokenizer", "pos"), 2, 1000000000L);
+
+    String json = report.toJson();
+
+    assertTrue(json.contains("\"tools\": [\"tokenizer\", \"pos\"]"));
+    assertTrue(json.contains("\"sentencesPerSecond\": 1.0"));
+    assertTrue(json.contains("\"p99.9\": 1.0"));
+  }
+
+  @Test
+  public void testGeneratedSentences() {
+    List<String> sentences = BenchTool.generateSentences(new int[] {5, 20}, false);
+
+    assertEquals(2000, sentences.size());
+    assertEquals(5, sentences.get(0).split(" ").length);
+    assertEquals(20, sentences.get(1999).split(" ").length);
+    assertTrue(sentences.get(0).endsWith(" ."));
+
+    assertEquals(sentences, BenchTool.generateSentences(new int[] {5, 20}, false));
+  }
+}
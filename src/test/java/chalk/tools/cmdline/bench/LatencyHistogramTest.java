@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.cmdline.bench;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link LatencyHistogram} class.
+ */
+public class LatencyHistogramTest {
+
+  @Test
+  public void testBuckets() {
+    for (long value = 0; value < 100000; value++) {
+      int bucket = LatencyHistogram.bucket(value);
+
+      assertTrue(value <= LatencyHistogram.highestValue(bucket));
+
+      if (bucket > 0)
+        assertTrue(value > LatencyHistogram.highestValue(bucket - 1));
+    }
+
+    int last = LatencyHistogram.bucket(Long.MAX_VALUE);
+    assertEquals(Long.MAX_VALUE, LatencyHistogram.highestValue(last));
+  }
+
+  @Test
+  public void testPercentiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    for (long value = 1; value <= 1000; value++) {
+      histogram.record(value);
+    }
+
+    assertEquals(1000, histogram.getCount());
+    assertEquals(1000, histogram.getMax());
+    assertEquals(500.5, histogram.getMean(), 0.001);
+
+    assertEquals(1, histogram.getValueAtPercentile(0));
+    assertEquals(1000, histogram.getValueAtPercentile(100));
+
+    // the relative error is at most 1/32
+    long p50 = histogram.getValueAtPercentile(50);
+    assertTrue(p50 >= 500 && p50 <= 500 + 500 / 32);
+
+    long p99 = histogram.getValueAtPercentile(99);
+    assertTrue(p99 >= 990 && p99 <= 990 + 990 / 32);
+  }
+
+  @Test
+  public void testAdd() {
+    Random random = new Random(7);
+
+    LatencyHistogram all = new LatencyHistogram();
+    LatencyHistogram first = new LatencyHistogram();
+    LatencyHistogram second = new LatencyHistogram();
+
+    for (int i = 0; i < 10000; i++) {
+      long value = random.nextInt(10000000);
+      all.record(value);
+      (i % 2 == 0 ? first : second).record(value);
+    }
+
+    first.add(second);
+
+    assertEquals(all.getCount(), first.getCount());
+    assertEquals(all.getMax(), first.getMax());
+    assertEquals(all.getMean(), first.getMean(), 0.001);
+    assertEquals(all.getValueAtPercentile(99.9), first.getValueAtPercentile(99.9));
+  }
+
+  @Test
+  public void testEmpty() {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getValueAtPercentile(99));
+    assertEquals(0, histogram.getMean(), 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeValue() {
+    new LatencyHistogram().record(-1);
+  }
+}
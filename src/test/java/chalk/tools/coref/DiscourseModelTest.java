@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.coref;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link DiscourseModel} class.
+ */
+public class DiscourseModelTest {
+
+  private static DiscourseEntity createEntity() {
+    return new DiscourseEntity(null);
+  }
+
+  private static void assertSameEntities(List<DiscourseEntity> expected, DiscourseModel dm) {
+    assertEquals(expected.size(), dm.getNumEntities());
+    assertArrayEquals(expected.toArray(), dm.getEntities());
+
+    for (int i = 0; i < expected.size(); i++) {
+      assertSame(expected.get(i), dm.getEntity(i));
+    }
+
+    for (int i = expected.size() - 1; i >= 0; i--) {
+      assertSame(expected.get(i), dm.getEntity(i));
+    }
+  }
+
+  @Test
+  public void testRecencyOrder() {
+    DiscourseModel dm = new DiscourseModel();
+
+    DiscourseEntity a = createEntity();
+    DiscourseEntity b = createEntity();
+    DiscourseEntity c = createEntity();
+
+    dm.addEntity(a);
+    dm.addEntity(b);
+    dm.addEntity(c);
+
+    assertEquals(1, a.getId());
+    assertEquals(3, c.getId());
+
+    List<DiscourseEntity> expected = new ArrayList<DiscourseEntity>();
+    expected.add(c);
+    expected.add(b);
+    expected.add(a);
+    assertSameEntities(expected, dm);
+
+    dm.mentionEntity(a);
+    expected.remove(a);
+    expected.add(0, a);
+    assertSameEntities(expected, dm);
+
+    dm.mergeEntities(a, b, 1);
+    expected.remove(b);
+    assertSameEntities(expected, dm);
+
+    // b is not part of the model anymore
+    dm.mergeEntities(a, b, 1);
+    assertSameEntities(expected, dm);
+
+    dm.clear();
+    assertEquals(0, dm.getNumEntities());
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testGetEntityOutOfBounds() {
+    DiscourseModel dm = new DiscourseModel();
+    dm.addEntity(createEntity());
+    dm.getEntity(1);
+  }
+
+  @Test
+  public void testRandomOperations() {
+    Random random = new Random(42);
+
+    DiscourseModel dm = new DiscourseModel();
+    List<DiscourseEntity> expected = new ArrayList<DiscourseEntity>();
+
+    for (int n = 0; n < 2000; n++) {
+      int operation = random.nextInt(4);
+
+      if (operation == 0 || expected.size() < 2) {
+        DiscourseEntity e = createEntity();
+        dm.addEntity(e);
+        expected.add(0, e);
+      }
+      else if (operation == 1) {
+        DiscourseEntity e = expected.remove(random.nextInt(expected.size()));
+        dm.mentionEntity(e);
+        expected.add(0, e);
+      }
+      else if (operation == 2) {
+        DiscourseEntity e = expected.remove(random.nextInt(expected.size()));
+        dm.mergeEntities(expected.get(0), e, 1);
+      }
+      else {
+        int i = random.nextInt(expected.size());
+        assertSame(expected.get(i), dm.getEntity(i));
+      }
+    }
+
+    assertSameEntities(expected, dm);
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.coref;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import nak.io.SuffixSensitiveGISModelWriter;
+import nak.maxent.GIS;
+import nak.model.Event;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import chalk.tools.coref.mention.DefaultParse;
+import chalk.tools.coref.mention.Mention;
+import chalk.tools.coref.mention.MentionContext;
+import chalk.tools.coref.mention.MentionFinder;
+import chalk.tools.parser.Parse;
+import chalk.tools.util.CollectionEventStream;
+
+/**
+ * Tests for the {@link ParallelLinker} class.
+ */
+public class ParallelLinkerTest {
+
+  private static final String[] SENTENCES = {
+    "(TOP (S (NP (NNP Mr.) (NNP John) (NNP Smith)) (VP (VBD met) (NP (NNP Mary) (NNP Jones))) (. .)))",
+    "(TOP (S (NP (PRP He)) (VP (VBD told) (NP (PRP her)) (NP (DT the) (NNP Acme) (NNP Corp.))) (. .)))",
+    "(TOP (S (NP (NNP Smith)) (VP (VBD liked) (NP (DT the) (NNP Acme))) (. .)))",
+    "(TOP (S (NP (PRP She)) (VP (VBD called) (NP (NNP John) (NNP Smith))) (. .)))",
+    "(TOP (S (NP (PRP They)) (VP (VBD visited) (NP (NNP Acme) (NNP Corp.))) (. .)))"
+  };
+
+  private static final String[] RESOLVER_MODELS = {
+    "pmodel", "pnmodel", "defmodel", "imodel", "tmodel", "plmodel", "cmodel", "fmodel"
+  };
+
+  private static File modelDirectory;
+
+  private static Event event(String outcome, String... context) {
+    return new Event(outcome, context);
+  }
+
+  private static void writeModel(String name, Event... events) throws IOException {
+    new SuffixSensitiveGISModelWriter(GIS.trainModel(
+        new CollectionEventStream(Arrays.asList(events)), 100, 0),
+        new File(modelDirectory, name + ".bin.gz")).persist();
+  }
+
+  private static void writeLines(String name, String... lines) throws IOException {
+    Writer writer = new FileWriter(new File(modelDirectory, name));
+    try {
+      for (String line : lines) {
+        writer.write(line + "\n");
+      }
+    }
+    finally {
+      writer.close();
+    }
+  }
+
+  /**
+   * Creates tiny models which prefer mentions with an exact string match.
+   */
+  @BeforeClass
+  public static void createModels() throws IOException {
+    modelDirectory = File.createTempFile("coref", "");
+    modelDirectory.delete();
+    modelDirectory.mkdir();
+
+    for (String name : RESOLVER_MODELS) {
+      writeModel(name,
+          event("same", "default", "exactMatch"),
+          event("same", "default", "exactMatchNoHonor"),
+          event("same", "default", "exactMatchNoThe"),
+          event("same", "default", "gen.compatible", "num.compatible", "sim.compatible"),
+          event("diff", "default"),
+          event("diff", "default", "gen.compatible"),
+          event("diff", "default", "gen.incompatible"),
+          event("diff", "default", "num.incompatible"));
+      writeModel(name + ".nr", event("same", "default"), event("same", "default"),
+          event("same", "default"), event("diff", "default"));
+    }
+
+    writeModel("sim", event("same", "default"), event("diff", "default"));
+    writeModel("gen",
+        event("male", "default", "hw=He"),
+        event("male", "default", "n=person"),
+        event("female", "default", "hw=her"),
+        event("female", "default", "hw=She"),
+        event("neuter", "default"));
+    writeModel("num",
+        event("singular", "default"),
+        event("plural", "default", "hw=they"));
+
+    writeLines("gen.mas", "john");
+    writeLines("gen.fem", "mary");
+    writeLines("acronyms", "Acme\tAcme Corp.");
+  }
+
+  @AfterClass
+  public static void deleteModels() {
+    for (File file : modelDirectory.listFiles()) {
+      file.delete();
+    }
+    modelDirectory.delete();
+  }
+
+  private static List<Mention[]> createDocuments(MentionFinder mentionFinder) {
+    List<Mention[]> documents = new ArrayList<Mention[]>();
+
+    List<String> sentences = new ArrayList<String>(Arrays.asList(SENTENCES));
+
+    for (int di = 0; di < 20; di++) {
+      Collections.rotate(sentences, 1);
+
+      List<Mention> mentions = new ArrayList<Mention>();
+
+      for (int si = 0; si < sentences.size() - di % 3; si++) {
+        Collections.addAll(mentions, mentionFinder.getMentions(
+            new DefaultParse(Parse.parseParse(sentences.get(si)), si)));
+      }
+
+      documents.add(mentions.toArray(new Mention[mentions.size()]));
+    }
+
+    return documents;
+  }
+
+  /**
+   * Describes the entities by the sentence and text of their mentions.
+   */
+  private static String toString(DiscourseEntity[] entities) {
+    StringBuilder string = new StringBuilder();
+
+    for (DiscourseEntity entity : entities) {
+      string.append('[');
+      for (Iterator<MentionContext> mi = entity.getMentions(); mi.hasNext();) {
+        MentionContext mention = mi.next();
+        string.append(mention.getSentenceNumber()).append(':').append(mention.toText()).append(';');
+      }
+      string.append(']');
+    }
+
+    return string.toString();
+  }
+
+  @Test
+  public void testGetEntitiesAll() throws IOException {
+    Linker linker = new TreebankLinker(modelDirectory.getPath(), LinkerMode.TEST);
+
+    List<Mention[]> documents = createDocuments(linker.getMentionFinder());
+
+    List<String> expected = new ArrayList<String>();
+    for (Mention[] mentions : documents) {
+      expected.add(toString(linker.getEntities(mentions)));
+    }
+
+    ParallelLinker parallelLinker = new ParallelLinker(
+        new LinkerModels(modelDirectory.getPath()), 4);
+    try {
+      List<String> entities = new ArrayList<String>();
+      for (DiscourseEntity[] documentEntities : parallelLinker.getEntitiesAll(documents)) {
+        entities.add(toString(documentEntities));
+      }
+
+      assertEquals(expected, entities);
+    }
+    finally {
+      parallelLinker.shutdown();
+    }
+  }
+}
@@ -0,0 +1,340 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package chalk.tools.coref.mention;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import chalk.tools.util.InvalidFormatException;
+
+/**
+ * Tests for the {@link WordNetIndex} class, the index is compiled from a
+ * small WordNet database and compared with the {@link JWNLDictionary}.
+ */
+public class WordNetIndexTest {
+
+  private static final String[] WORDS = {"dog", "dogs", "Dogs", "DOG", "man", "men",
+    "mice", "geese", "boxes", "churches", "flies", "hot dog", "hot dogs", "hot-dogs",
+    "Hot Dog", "mothers-in-law", "mother in law", "physical object", "physical objects",
+    "ran", "went", "running", "barked", "barking", "bigger", "larger", "largest", "better",
+    "quickly", " ", "unknown", "x-ray", "dog's", "domestic dogs"};
+
+  private static final String[] TAGS = {"NN", "NNS", "VBD", "JJ", "RB", "DT"};
+
+  private static File directory;
+
+  private static JWNLDictionary jwnlDictionary;
+
+  private static byte[] index;
+
+  /**
+   * A synset of the test database.
+   */
+  private static class Synset {
+    private final String[] words;
+    private final int[] hypernyms;
+    private int offset;
+
+    Synset(String[] words, int... hypernyms) {
+      this.words = words;
+      this.hypernyms = hypernyms;
+    }
+  }
+
+  private static Synset synset(String words, int... hypernyms) {
+    return new Synset(words.split(" "), hypernyms);
+  }
+
+  private static void write(File file, String content) throws IOException {
+    Writer out = new OutputStreamWriter(new FileOutputStream(file), "US-ASCII");
+    try {
+      out.write(content);
+    }
+    finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Writes the data and index file of one part of speech in the format of the
+   * Princeton WordNet database.
+   */
+  private static void writeDatabase(String name, String type, Synset[] synsets,
+      String exceptions) throws IOException {
+
+    String header = "  test database\n";
+
+    // the lines have a fixed length for a given synset, the offsets can
+    // therefore be computed before the lines are written
+    StringBuilder data = new StringBuilder(header);
+    List<String> lines = new ArrayList<String>();
+
+    for (int pass = 0; pass < 2; pass++) {
+      lines.clear();
+      int offset = header.length();
+
+      for (Synset synset : synsets) {
+        synset.offset = offset;
+
+        StringBuilder line = new StringBuilder();
+        line.append(String.format("%08d 03 %s %02x ", synset.offset, type, synset.words.length));
+        for (String word : synset.words) {
+          line.append(word).append(" 0 ");
+        }
+        line.append(String.format("%03d ", synset.hypernyms.length));
+        for (int hypernym : synset.hypernyms) {
+          line.append(String.format("@ %08d %s 0000 ", synsets[hypernym].offset, type));
+        }
+        if ("v".equals(type))
+          line.append("00 ");
+        line.append("| a test synset  \n");
+
+        lines.add(line.toString());
+        offset += line.length();
+      }
+    }
+
+    for (String line : lines) {
+      data.append(line);
+    }
+
+    Map<String, List<Synset>> indexWords = new TreeMap<String, List<Synset>>();
+
+    for (Synset synset : synsets) {
+      for (String word : synset.words) {
+        if (!indexWords.containsKey(word))
+          indexWords.put(word, new ArrayList<Synset>());
+
+        indexWords.get(word).add(synset);
+      }
+    }
+
+    StringBuilder indexFile = new StringBuilder(header);
+
+    for (Map.Entry<String, List<Synset>> entry : indexWords.entrySet()) {
+      List<Synset> senses = entry.getValue();
+
+      indexFile.append(entry.getKey()).append(' ').append(type).append(' ')
+          .append(senses.size()).append(" 1 @ ").append(senses.size()).append(" 0");
+
+      for (Synset sense : senses) {
+        indexFile.append(String.format(" %08d", sense.offset));
+      }
+
+      indexFile.append("  \n");
+    }
+
+    write(new File(directory, "data." + name), data.toString());
+    write(new File(directory, "index." + name), indexFile.toString());
+    write(new File(directory, name + ".exc"), exceptions);
+  }
+
+  @BeforeClass
+  public static void createDatabase() throws Exception {
+    directory = File.createTempFile("wordnet", "");
+    directory.delete();
+    directory.mkdir();
+
+    writeDatabase("noun", "n", new Synset[] {
+        synset("entity"),
+        synset("object physical_object", 0),
+        synset("animal", 1),
+        synset("person man", 1, 2),
+        synset("dog domestic_dog", 2),
+        synset("dog frump", 3),
+        synset("mouse", 2),
+        synset("hot_dog", 1),
+        synset("box", 1),
+        synset("goose", 2),
+        synset("church", 1),
+        synset("fly", 2),
+        synset("mother", 3),
+        synset("mother-in-law", 12)},
+        "geese goose\nmice mouse\nmothers-in-law mother-in-law\n");
+
+    writeDatabase("verb", "v", new Synset[] {
+        synset("run"), synset("bark"), synset("go"), synset("fly")},
+        "flew fly\nran run\nwent go\n");
+
+    writeDatabase("adj", "a", new Synset[] {
+        synset("big"), synset("large"), synset("hot")},
+        "bigger big\nbiggest big\n");
+
+    writeDatabase("adv", "r", new Synset[] {
+        synset("quickly"), synset("well")},
+        "better well\n");
+
+    jwnlDictionary = new JWNLDictionary(directory.getPath());
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    WordNetIndex.compile(directory.getPath(), out);
+    index = out.toByteArray();
+  }
+
+  @AfterClass
+  public static void deleteDatabase() {
+    for (File file : directory.listFiles()) {
+      file.delete();
+    }
+    directory.delete();
+  }
+
+  private static void assertSameResults(Dictionary expected, Dictionary actual) {
+    for (String word : WORDS) {
+      for (String tag : TAGS) {
+        assertArrayEquals(word + "/" + tag, expected.getLemmas(word, tag),
+            actual.getLemmas(word, tag));
+      }
+
+      for (String lemma : expected.getLemmas(word, "NN")) {
+        int senses = expected.getNumSenses(lemma, "NN");
+        assertEquals(lemma, senses, actual.getNumSenses(lemma, "NN"));
+
+        for (int sense = 0; sense < senses; sense++) {
+          assertEquals(expected.getSenseKey(lemma, "NN", sense),
+              actual.getSenseKey(lemma, "NN", sense));
+          assertArrayEquals(expected.getParentSenseKeys(lemma, "NN", sense),
+              actual.getParentSenseKeys(lemma, "NN", sense));
+        }
+      }
+    }
+
+    assertEquals(0, actual.getNumSenses("unknown", "NN"));
+    assertNull(actual.getSenseKey("unknown", "NN", 0));
+    assertEquals(0, actual.getParentSenseKeys("unknown", "NN", 0).length);
+  }
+
+  @Test
+  public void testLookup() throws IOException {
+    WordNetIndex dictionary = WordNetIndex.create(new ByteArrayInputStream(index));
+
+    assertEquals(14, dictionary.getNumberOfSynsets());
+
+    assertArrayEquals(new String[] {"dog"}, dictionary.getLemmas("dogs", "NNS"));
+    assertArrayEquals(new String[] {"mouse"}, dictionary.getLemmas("mice", "NNS"));
+    assertArrayEquals(new String[] {"run"}, dictionary.getLemmas("ran", "VBD"));
+    assertArrayEquals(new String[] {"big"}, dictionary.getLemmas("bigger", "JJR"));
+    assertArrayEquals(new String[] {"hot dog", "dog"}, dictionary.getLemmas("hot dog", "NN"));
+    assertEquals(0, dictionary.getLemmas("", "NN").length);
+
+    assertEquals(2, dictionary.getNumSenses("dog", "NN"));
+    assertEquals(2, dictionary.getNumSenses("Dog ", "NN"));
+
+    // the closure contains the hypernyms of every path
+    String person = dictionary.getSenseKey("person", "NN", 0);
+    String object = dictionary.getSenseKey("object", "NN", 0);
+    String entity = dictionary.getSenseKey("entity", "NN", 0);
+    String animal = dictionary.getSenseKey("animal", "NN", 0);
+
+    assertArrayEquals(new String[] {person, object, entity, animal, object, entity},
+        dictionary.getParentSenseKeys("dog", "NN", 1));
+  }
+
+  @Test
+  public void testSameResultsAsJWNL() throws IOException {
+    assertSameResults(jwnlDictionary, WordNetIndex.create(new ByteArrayInputStream(index)));
+  }
+
+  @Test
+  public void testMap() throws IOException {
+    File file = File.createTempFile("wordnet", ".idx");
+    try {
+      OutputStream out = new FileOutputStream(file);
+      try {
+        out.write(index);
+      }
+      finally {
+        out.close();
+      }
+
+      assertSameResults(jwnlDictionary, WordNetIndex.map(file));
+    }
+    finally {
+      file.delete();
+    }
+  }
+
+  @Test(expected = InvalidFormatException.class)
+  public void testTruncatedIndex() throws IOException {
+    WordNetIndex.create(new ByteArrayInputStream(index, 0, index.length / 2));
+  }
+
+  @Test
+  public void testCachedDictionary() throws IOException {
+    WordNetIndex dictionary = WordNetIndex.create(new ByteArrayInputStream(index));
+
+    assertSameResults(dictionary, new CachedDictionary(dictionary));
+    assertSameResults(dictionary, new CachedDictionary(dictionary, 2));
+  }
+
+  @Test
+  public void testCachedDictionaryEviction() {
+    final List<String> lookups = new ArrayList<String>();
+
+    Dictionary dictionary = new Dictionary() {
+      public String[] getLemmas(String word, String pos) {
+        return new String[] {word};
+      }
+
+      public String getSenseKey(String lemma, String pos, int senseNumber) {
+        return null;
+      }
+
+      public int getNumSenses(String lemma, String pos) {
+        lookups.add(lemma);
+        return 1;
+      }
+
+      public String[] getParentSenseKeys(String lemma, String pos, int senseNumber) {
+        return new String[0];
+      }
+    };
+
+    CachedDictionary cachedDictionary = new CachedDictionary(dictionary, 2);
+
+    for (String lemma : new String[] {"a", "b", "a", "c", "a", "b"}) {
+      cachedDictionary.getNumSenses(lemma, "NN");
+    }
+
+    // c evicted b, the least recently used entry, a stayed in the cache
+    assertEquals("[a, b, c, b]", lookups.toString());
+
+    cachedDictionary.clear();
+    cachedDictionary.getNumSenses("a", "NN");
+
+    assertEquals("[a, b, c, b, a]", lookups.toString());
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.coref.resolver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import chalk.tools.coref.DiscourseEntity;
+import chalk.tools.coref.mention.DefaultParse;
+import chalk.tools.coref.mention.HeadFinder;
+import chalk.tools.coref.mention.Mention;
+import chalk.tools.coref.mention.MentionContext;
+import chalk.tools.coref.mention.MentionFinder;
+import chalk.tools.coref.mention.PTBHeadFinder;
+import chalk.tools.coref.mention.PTBMentionFinder;
+import chalk.tools.coref.sim.Context;
+import chalk.tools.coref.sim.TestSimilarityModel;
+import chalk.tools.parser.Parse;
+
+/**
+ * Tests for the {@link FeatureCache} class.
+ */
+public class FeatureCacheTest {
+
+  private static final String[] SENTENCES = {
+    "(TOP (S (NP (NNP Mr.) (NNP John) (NNP Smith)) (VP (VBD met) (NP (NNP Mary) (NNP Jones))) (. .)))",
+    "(TOP (S (NP (PRP He)) (VP (VBD told) (NP (PRP her)) (NP (DT the) (NNP Acme) (NNP Corp.))) (. .)))",
+    "(TOP (S (NP (NNP Smith)) (VP (VBD liked) (NP (DT the) (NNP Acme))) (. .)))",
+    "(TOP (S (NP (PRP She)) (VP (VBD called) (NP (NNP John) (NNP Smith))) (. .)))"
+  };
+
+  private static List<MentionContext> mentions;
+
+  @BeforeClass
+  public static void createMentions() {
+    HeadFinder headFinder = PTBHeadFinder.getInstance();
+    MentionFinder mentionFinder = PTBMentionFinder.getInstance(headFinder);
+
+    mentions = new ArrayList<MentionContext>();
+
+    for (int si = 0; si < SENTENCES.length; si++) {
+      Mention[] sentenceMentions = mentionFinder.getMentions(
+          new DefaultParse(Parse.parseParse(SENTENCES[si]), si));
+
+      for (int mi = 0; mi < sentenceMentions.length; mi++) {
+        mentions.add(new MentionContext(sentenceMentions[mi], mi, sentenceMentions.length,
+            mentions.size(), si, headFinder));
+      }
+    }
+  }
+
+  /**
+   * Creates one entity for each previous mention and one with all previous mentions.
+   */
+  private static List<DiscourseEntity> createEntities(int mentionIndex) {
+    List<DiscourseEntity> entities = new ArrayList<DiscourseEntity>();
+
+    DiscourseEntity allMentions = null;
+
+    for (int i = 0; i < mentionIndex; i++) {
+      entities.add(new DiscourseEntity(mentions.get(i)));
+
+      if (allMentions == null)
+        allMentions = new DiscourseEntity(mentions.get(i));
+      else
+        allMentions.addMention(mentions.get(i));
+    }
+
+    if (allMentions != null)
+      entities.add(allMentions);
+
+    return entities;
+  }
+
+  @Test
+  public void testCachedFeaturesAreEqual() {
+    FeatureCache cache = new FeatureCache();
+
+    for (int mi = 0; mi < mentions.size(); mi++) {
+      MentionContext mention = mentions.get(mi);
+      cache.setMention(mention);
+
+      for (DiscourseEntity entity : createEntities(mi)) {
+        // compute them twice to use the cached values the second time
+        for (int i = 0; i < 2; i++) {
+          assertEquals(new HashSet<String>(ResolverUtils.getStringMatchFeatures(mention, entity)),
+              new HashSet<String>(ResolverUtils.getStringMatchFeatures(mention, entity, cache)));
+          assertEquals(ResolverUtils.getPronounMatchFeatures(mention, entity),
+              ResolverUtils.getPronounMatchFeatures(mention, entity, cache));
+        }
+      }
+
+      assertEquals(ResolverUtils.stripNp(mention),
+          FeatureCache.getAttributes(cache, mention).getStrip());
+    }
+
+    assertSame(FeatureCache.getAttributes(cache, mentions.get(0)),
+        FeatureCache.getAttributes(cache, mentions.get(0)));
+  }
+
+  @Test
+  public void testCompatibilityFeatures() {
+    final int[] evaluations = new int[1];
+
+    TestSimilarityModel simModel = new TestSimilarityModel() {
+      public double compatible(Context np1, Context np2) {
+        evaluations[0]++;
+        return np1.getHeadTokenTag().equals(np2.getHeadTokenTag()) ? 0.9 : 0.1;
+      }
+    };
+
+    FeatureCache cache = new FeatureCache();
+
+    MentionContext mention = mentions.get(mentions.size() - 1);
+    DiscourseEntity entity = createEntities(mentions.size() - 1).get(0);
+
+    List<String> expected = ResolverUtils.getCompatibilityFeatures(mention, entity, simModel);
+
+    // the features are only cached for the current mention
+    evaluations[0] = 0;
+    assertEquals(expected, cache.getCompatibilityFeatures(mention, entity, simModel));
+    assertEquals(expected, cache.getCompatibilityFeatures(mention, entity, simModel));
+    assertEquals(2, evaluations[0]);
+
+    cache.setMention(mention);
+    evaluations[0] = 0;
+    assertEquals(expected, cache.getCompatibilityFeatures(mention, entity, simModel));
+    assertEquals(expected, cache.getCompatibilityFeatures(mention, entity, simModel));
+    assertEquals(1, evaluations[0]);
+
+    // the entity might have changed when the next mention is resolved
+    cache.setMention(mentions.get(0));
+    cache.setMention(mention);
+    evaluations[0] = 0;
+    cache.getCompatibilityFeatures(mention, entity, simModel);
+    assertEquals(1, evaluations[0]);
+  }
+}
@@ -17,10 +17,16 @@
 
 package chalk.tools.doccat;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
+import nak.maxent.GISModel;
+import nak.model.Context;
 
 import org.junit.Test;
 
@@ -31,9 +37,22 @@ import chalk.tools.doccat.DocumentCategorizerME;
 import chalk.tools.doccat.DocumentSample;
 import chalk.tools.util.ObjectStream;
 import chalk.tools.util.ObjectStreamUtils;
+import chalk.tools.util.TrainingParameters;
+import chalk.tools.util.model.ModelUtil;
 
 public class DocumentCategorizerMETest {
 
+  private static ObjectStream<DocumentSample> createSamples() {
+    return ObjectStreamUtils.createObjectStream(new DocumentSample[]{
+        new DocumentSample("1", new String[]{"a", "b", "c", "a"}),
+        new DocumentSample("1", new String[]{"a", "b", "c", "1", "2"}),
+        new DocumentSample("1", new String[]{"a", "b", "c", "3", "4"}),
+        new DocumentSample("0", new String[]{"x", "y", "z", "x", "x"}),
+        new DocumentSample("0", new String[]{"x", "y", "z", "5", "6"}),
+        new DocumentSample("0", new String[]{"x", "y", "z", "7", "8", "a"})
+    });
+  }
+
   @Test
   public void testSimpleTraining() throws IOException {
    
@@ -57,4 +76,86 @@ public class DocumentCategorizerMETest {
     double bProbs[] = doccat.categorize("x");
     assertEquals("0", doccat.getBestCategory(bProbs));
   }
+
+  @Test
+  public void testFeatureCountsScoreLikeRepeatedFeatures() throws IOException {
+    DoccatModel model = DocumentCategorizerME.train("x-unspecified", createSamples(),
+        0, 100, new BagOfWordsFeatureGenerator());
+
+    DocumentCategorizerME doccat = new DocumentCategorizerME(model);
+
+    String[] text = {"a", "x", "a", "b", "a", "unknown", "x", "z"};
+
+    double[] expected = model.getChunkerModel().eval(
+        new DocumentCategorizerContextGenerator(new BagOfWordsFeatureGenerator()).getContext(text));
+
+    assertArrayEquals(expected, doccat.categorize(text), 1e-9);
+  }
+
+  @Test
+  public void testCategorizeSentenceStream() throws IOException {
+    DoccatModel model = DocumentCategorizerME.train("x-unspecified", createSamples(),
+        0, 100, new BagOfWordsFeatureGenerator());
+
+    DocumentCategorizerME doccat = new DocumentCategorizerME(model);
+
+    double[] expected = doccat.categorize(new String[]{"a", "b", "x", "y", "y", "7"});
+
+    ObjectStream<String[]> sentences = ObjectStreamUtils.createObjectStream(
+        new String[]{"a", "b"}, new String[]{"x", "y"}, new String[]{"y", "7"});
+
+    assertArrayEquals(expected, doccat.categorize(sentences), 1e-9);
+  }
+
+  @Test
+  public void testFeatureHashing() throws IOException {
+    TrainingParameters params = ModelUtil.createTrainingParameters(100, 0);
+    params.put(DocumentCategorizerME.FEATURE_HASH_DIMENSION_PARAM, "1024");
+
+    DoccatModel model = DocumentCategorizerME.train("x-unspecified", createSamples(),
+        params, new BagOfWordsFeatureGenerator());
+
+    assertEquals(1024, model.getFeatureHashDimension());
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    model.serialize(out);
+    model = new DoccatModel(new ByteArrayInputStream(out.toByteArray()));
+
+    assertEquals(1024, model.getFeatureHashDimension());
+
+    DocumentCategorizer doccat = new DocumentCategorizerME(model);
+
+    assertEquals("1", doccat.getBestCategory(doccat.categorize("a b")));
+    assertEquals("0", doccat.getBestCategory(doccat.categorize("x z")));
+  }
+
+  @Test
+  public void testCorrectionParameterModel() throws IOException {
+    // a GIS model as trained by older versions, with a correction feature
+    Context[] params = new Context[] {
+        new Context(new int[]{0, 1}, new double[]{0.8, -0.3}),
+        new Context(new int[]{0, 1}, new double[]{-0.5, 0.6}),
+        new Context(new int[]{1}, new double[]{0.2})
+    };
+    GISModel gisModel = new GISModel(params, new String[]{"bow=a", "bow=x", "bow=b"},
+        new String[]{"1", "0"}, 4, 0.7);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new DoccatModel("x-unspecified", gisModel).serialize(out);
+    DoccatModel model = new DoccatModel(new ByteArrayInputStream(out.toByteArray()));
+
+    DocumentCategorizerME doccat = new DocumentCategorizerME(model);
+
+    String[] text = {"a", "x", "a", "b", "a", "unknown", "x", "b"};
+
+    double[] expected = model.getChunkerModel().eval(
+        new DocumentCategorizerContextGenerator(new BagOfWordsFeatureGenerator()).getContext(text));
+
+    assertArrayEquals(expected, doccat.categorize(text), 1e-9);
+
+    // passing each feature once with its count scores differently for this model
+    double[] counted = model.getChunkerModel().eval(new String[]{"bow=a", "bow=x", "bow=b", "bow=unknown"},
+        new float[]{3, 2, 2, 1});
+    assertFalse(Math.abs(expected[0] - counted[0]) < 1e-9);
+  }
 }
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.doccat;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import chalk.tools.util.ObjectStream;
+import chalk.tools.util.ObjectStreamUtils;
+
+/**
+ * Tests for the {@link ParallelDocumentCategorizer} class.
+ */
+public class ParallelDocumentCategorizerTest {
+
+  private static DocumentSample[] createSamples() {
+    return new DocumentSample[]{
+        new DocumentSample("1", new String[]{"a", "b", "c"}),
+        new DocumentSample("1", new String[]{"a", "b", "c", "1", "2"}),
+        new DocumentSample("2", new String[]{"d", "e", "f", "3", "4"}),
+        new DocumentSample("2", new String[]{"d", "e", "f"}),
+        new DocumentSample("0", new String[]{"x", "y", "z", "5", "6"}),
+        new DocumentSample("0", new String[]{"x", "y", "z", "7", "8"})
+    };
+  }
+
+  private static DoccatModel train() throws IOException {
+    return DocumentCategorizerME.train("x-unspecified",
+        ObjectStreamUtils.createObjectStream(createSamples()), 0, 100);
+  }
+
+  private static List<String[]> createDocuments(int count) {
+    String[][] words = {{"a", "b"}, {"d", "f", "3"}, {"x", "z", "z"}, {"a", "x", "e"}};
+
+    List<String[]> documents = new ArrayList<String[]>(count);
+    for (int i = 0; i < count; i++) {
+      documents.add(words[i % words.length]);
+    }
+    return documents;
+  }
+
+  private static void assertSameCategories(DocumentCategorizerME expected, String[] document,
+      ScoredCategory[] actual) {
+    ScoredCategory[] categories = expected.getTopCategories(expected.categorize(document), 2);
+
+    assertEquals(categories.length, actual.length);
+    for (int i = 0; i < categories.length; i++) {
+      assertEquals(categories[i].getCategory(), actual[i].getCategory());
+      assertEquals(categories[i].getScore(), actual[i].getScore(), 0d);
+    }
+  }
+
+  @Test
+  public void testTopCategories() throws IOException {
+    DocumentCategorizerME doccat = new DocumentCategorizerME(train());
+
+    double[] probs = doccat.categorize(new String[]{"x", "y"});
+    ScoredCategory[] categories = doccat.getTopCategories(probs, 2);
+
+    assertEquals(2, categories.length);
+    assertEquals("0", categories[0].getCategory());
+    assertEquals(probs[doccat.getIndex("0")], categories[0].getScore(), 0d);
+    assertEquals(3, doccat.getTopCategories(probs, 5).length);
+  }
+
+  @Test
+  public void testCategorizeAll() throws IOException {
+    DoccatModel model = train();
+    DocumentCategorizerME doccat = new DocumentCategorizerME(model);
+    ParallelDocumentCategorizer parallelDoccat = new ParallelDocumentCategorizer(model, 3);
+
+    try {
+      List<String[]> documents = createDocuments(50);
+      List<ScoredCategory[]> categories = parallelDoccat.categorizeAll(documents, 2);
+
+      assertEquals(documents.size(), categories.size());
+      for (int i = 0; i < documents.size(); i++) {
+        assertSameCategories(doccat, documents.get(i), categories.get(i));
+      }
+
+      List<String> texts = new ArrayList<String>();
+      texts.add("a b c");
+      texts.add("x y z");
+      List<ScoredCategory[]> textCategories = parallelDoccat.categorizeAllText(texts, 1);
+      assertEquals("1", textCategories.get(0)[0].getCategory());
+      assertEquals("0", textCategories.get(1)[0].getCategory());
+    }
+    finally {
+      parallelDoccat.shutdown();
+    }
+  }
+
+  @Test
+  public void testCategorizeStream() throws IOException {
+    DoccatModel model = train();
+    DocumentCategorizerME doccat = new DocumentCategorizerME(model);
+    ParallelDocumentCategorizer parallelDoccat = new ParallelDocumentCategorizer(model, 2);
+
+    try {
+      // more documents than fit into one batch
+      List<String[]> documents = createDocuments(ParallelDocumentCategorizer.DEFAULT_BATCH_SIZE + 7);
+
+      ObjectStream<ScoredCategory[]> categories =
+          parallelDoccat.categorizeAll(ObjectStreamUtils.createObjectStream(documents), 2);
+
+      for (String[] document : documents) {
+        assertSameCategories(doccat, document, categories.read());
+      }
+      assertNull(categories.read());
+    }
+    finally {
+      parallelDoccat.shutdown();
+    }
+  }
+
+  @Test
+  public void testEvaluator() throws IOException {
+    DoccatModel model = train();
+    ParallelDocumentCategorizer parallelDoccat = new ParallelDocumentCategorizer(model, 2);
+
+    try {
+      List<DocumentSample> samples = new ArrayList<DocumentSample>();
+      for (int i = 0; i < 10; i++) {
+        for (DocumentSample sample : createSamples()) {
+          samples.add(sample);
+        }
+      }
+      samples.add(new DocumentSample("0", new String[]{"a", "b"}));
+
+      DocumentCategorizerEvaluator expected =
+          new DocumentCategorizerEvaluator(new DocumentCategorizerME(model));
+      expected.evaluate(samples.iterator());
+
+      DocumentCategorizerEvaluator evaluator = new DocumentCategorizerEvaluator(parallelDoccat);
+      evaluator.evaluate(samples.iterator());
+
+      assertEquals(expected.getAccuracy(), evaluator.getAccuracy(), 0d);
+      assertEquals(60d / 61d, evaluator.getAccuracy(), 1e-9);
+    }
+    finally {
+      parallelDoccat.shutdown();
+    }
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.doccat;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ScoredCategoryTest {
+
+  @Test
+  public void testEquals() {
+    ScoredCategory category = new ScoredCategory("aCategory", 0.5);
+
+    assertTrue(category.equals(new ScoredCategory("aCategory", 0.5)));
+    assertEquals(category.hashCode(), new ScoredCategory("aCategory", 0.5).hashCode());
+    assertFalse(category.equals(new ScoredCategory("aCategory", 0.25)));
+    assertFalse(category.equals(new ScoredCategory("anotherCategory", 0.5)));
+    assertFalse(category.equals(new Object()));
+  }
+
+  @Test
+  public void testCompareTo() {
+    ScoredCategory high = new ScoredCategory("aCategory", 0.75);
+    ScoredCategory low = new ScoredCategory("anotherCategory", 0.25);
+
+    assertTrue(high.compareTo(low) < 0);
+    assertTrue(low.compareTo(high) > 0);
+    assertEquals(0, high.compareTo(new ScoredCategory("anotherCategory", 0.75)));
+  }
+}
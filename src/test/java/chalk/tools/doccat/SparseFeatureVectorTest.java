@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.doccat;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link SparseFeatureVector} class.
+ */
+public class SparseFeatureVectorTest {
+
+  private static Map<String, Float> toMap(SparseFeatureVector vector) {
+    String[] features = vector.getFeatures();
+    float[] counts = vector.getCounts();
+
+    assertEquals(features.length, counts.length);
+    assertEquals(vector.size(), features.length);
+
+    Map<String, Float> map = new HashMap<String, Float>();
+    for (int i = 0; i < features.length; i++) {
+      map.put(features[i], counts[i]);
+    }
+    return map;
+  }
+
+  @Test
+  public void testCounts() {
+    SparseFeatureVector vector = new SparseFeatureVector();
+
+    vector.addAll(Arrays.asList("bow=a", "bow=b", "bow=a", "bow=a"));
+
+    Map<String, Float> counts = toMap(vector);
+    assertEquals(2, counts.size());
+    assertEquals(3f, counts.get("bow=a"), 0f);
+    assertEquals(1f, counts.get("bow=b"), 0f);
+
+    vector.clear();
+    assertEquals(0, vector.size());
+  }
+
+  @Test
+  public void testHashedCounts() {
+    int dimension = 1 << 20;
+    SparseFeatureVector vector = new SparseFeatureVector(dimension);
+
+    // enough distinct features to grow the table several times
+    for (int i = 0; i < 1000; i++) {
+      vector.add("bow=" + i);
+      vector.add("bow=" + (i % 10));
+    }
+
+    Map<String, Float> counts = toMap(vector);
+
+    float total = 0;
+    for (Map.Entry<String, Float> entry : counts.entrySet()) {
+      assertTrue(entry.getKey().startsWith(SparseFeatureVector.HASH_FEATURE_PREFIX));
+      total += entry.getValue();
+    }
+    assertEquals(2000f, total, 0f);
+
+    assertEquals(101f, counts.get(SparseFeatureVector.hash("bow=3", dimension)), 0f);
+
+    vector.clear();
+    assertEquals(0, vector.size());
+    assertEquals(0, vector.getFeatures().length);
+  }
+
+  @Test
+  public void testBucket() {
+    for (int i = 0; i < 1000; i++) {
+      int bucket = SparseFeatureVector.bucket("f" + i, 7);
+      assertTrue(bucket >= 0 && bucket < 7);
+    }
+  }
+}
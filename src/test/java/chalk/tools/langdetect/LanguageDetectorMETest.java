@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.langdetect;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import chalk.tools.doccat.DocumentSample;
+import chalk.tools.doccat.ScoredCategory;
+import chalk.tools.util.ObjectStreamUtils;
+
+/**
+ * Tests for the {@link LanguageDetectorME} class.
+ */
+public class LanguageDetectorMETest {
+
+  private static final String[][] SENTENCES = {
+    {"en", "The quick brown fox jumps over the lazy dog and the cat."},
+    {"en", "This is a small sentence which was written in the English language."},
+    {"en", "Authorities last week issued a vacate order for a club in the city."},
+    {"en", "They said that the government would think about the new laws."},
+    {"de", "Der schnelle braune Fuchs springt über den faulen Hund und die Katze."},
+    {"de", "Das ist ein kleiner Satz, der in der deutschen Sprache geschrieben wurde."},
+    {"de", "Die Behörden haben letzte Woche eine Räumung für einen Klub angeordnet."},
+    {"de", "Sie sagten, dass die Regierung über die neuen Gesetze nachdenken würde."},
+    {"fr", "Le renard brun rapide saute par-dessus le chien paresseux et le chat."},
+    {"fr", "C'est une petite phrase qui a été écrite dans la langue française."},
+    {"fr", "Les autorités ont ordonné la semaine dernière l'évacuation d'un club."},
+    {"fr", "Ils ont dit que le gouvernement réfléchirait aux nouvelles lois."}
+  };
+
+  private static LanguageDetectorModel model;
+
+  @BeforeClass
+  public static void trainModel() throws IOException {
+    List<DocumentSample> samples = new ArrayList<DocumentSample>();
+
+    for (String[] sentence : SENTENCES) {
+      samples.add(new DocumentSample(sentence[0], sentence[1]));
+    }
+
+    model = LanguageDetectorME.train(ObjectStreamUtils.createObjectStream(samples), 1 << 12, 3);
+  }
+
+  @Test
+  public void testDetect() {
+    LanguageDetectorME detector = new LanguageDetectorME(model);
+
+    assertArrayEquals(new String[] {"en", "de", "fr"}, detector.getLanguages());
+
+    assertEquals("en", detector.detect("the dog would think about the order"));
+    assertEquals("de", detector.detect("der Hund würde über die Katze nachdenken"));
+    assertEquals("fr", detector.detect("le chien et le gouvernement de la semaine"));
+  }
+
+  @Test
+  public void testProbabilities() {
+    LanguageDetectorME detector = new LanguageDetectorME(model);
+
+    double[] probs = detector.getProbabilities("die Regierung und der Hund");
+
+    double sum = 0;
+    for (double prob : probs) {
+      sum += prob;
+    }
+    assertEquals(1d, sum, 1e-9);
+
+    ScoredCategory[] languages = detector.detectTop("die Regierung und der Hund", 2);
+    assertEquals(2, languages.length);
+    assertEquals("de", languages[0].getCategory());
+    assertEquals(probs[1], languages[0].getScore(), 0d);
+  }
+
+  @Test
+  public void testMaxLength() {
+    LanguageDetectorME detector = new LanguageDetectorME(model, 20);
+
+    // only the English beginning is scored
+    assertEquals("en", detector.detect("the dog and the cat, der Hund würde über die Katze " +
+        "nachdenken, die Regierung und die neuen Gesetze"));
+  }
+
+  @Test
+  public void testSerialization() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    model.serialize(out);
+
+    LanguageDetectorModel readModel =
+        new LanguageDetectorModel(new ByteArrayInputStream(out.toByteArray()));
+
+    assertEquals(model.getProfile().getNumberOfBuckets(),
+        readModel.getProfile().getNumberOfBuckets());
+
+    String text = "Le renard et la Regierung";
+    assertArrayEquals(new LanguageDetectorME(model).getProbabilities(text),
+        new LanguageDetectorME(readModel).getProbabilities(text), 0d);
+  }
+
+  @Test
+  public void testNGrams() {
+    final List<Integer> buckets = new ArrayList<Integer>();
+
+    NGramLanguageProfile.forEachNGram("Ab, c", 100, 3, 1 << 20,
+        new NGramLanguageProfile.NGramConsumer() {
+          public void add(int bucket) {
+            buckets.add(bucket);
+          }
+        });
+
+    // " a b c " with the n-grams a, " a", b, ab, " ab", "b ", "ab ", c, " c", "b c", "c ", " c "
+    assertEquals(12, buckets.size());
+
+    final List<Integer> sameBuckets = new ArrayList<Integer>();
+
+    NGramLanguageProfile.forEachNGram("  AB...C", 100, 3, 1 << 20,
+        new NGramLanguageProfile.NGramConsumer() {
+          public void add(int bucket) {
+            sameBuckets.add(bucket);
+          }
+        });
+
+    assertEquals(buckets, sameBuckets);
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package chalk.tools.namefind;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+import chalk.tools.util.ObjectStream;
+import chalk.tools.util.PlainTextByLineStream;
+import chalk.tools.util.Span;
+import chalk.tools.util.TrainingParameters;
+
+/**
+ * Tests for the {@link MultiModelNameFinder} class.
+ */
+public class MultiModelNameFinderTest {
+
+  private static final String DESCRIPTOR =
+      "<generators>" +
+      "  <cache>" +
+      "    <generators>" +
+      "      <window prevLength=\"2\" nextLength=\"2\">" +
+      "        <tokenclass/>" +
+      "      </window>" +
+      "      <window prevLength=\"2\" nextLength=\"2\">" +
+      "        <token/>" +
+      "      </window>" +
+      "      <definition/>" +
+      "      <prevmap/>" +
+      "      <bigram/>" +
+      "    </generators>" +
+      "  </cache>" +
+      "</generators>";
+
+  private static ObjectStream<NameSample> createSampleStream(String file) throws IOException {
+    InputStream in = MultiModelNameFinderTest.class.getClassLoader().getResourceAsStream(
+        "chalk/tools/namefind/" + file);
+
+    return new NameSampleDataStream(
+        new PlainTextByLineStream(new InputStreamReader(in, "ISO-8859-1")));
+  }
+
+  private static TokenNameFinderModel train(String file, String type, byte[] descriptor)
+      throws IOException {
+    TrainingParameters params = TrainingParameters.defaultParams();
+    params.put(TrainingParameters.ITERATIONS_PARAM, "70");
+    params.put(TrainingParameters.CUTOFF_PARAM, "1");
+
+    return NameFinderME.train("en", type, createSampleStream(file), params,
+        descriptor, Collections.<String, Object>emptyMap());
+  }
+
+  private static List<String[]> readSentences(String file) throws IOException {
+    List<String[]> sentences = new ArrayList<String[]>();
+
+    ObjectStream<NameSample> samples = createSampleStream(file);
+
+    NameSample sample;
+    while ((sample = samples.read()) != null) {
+      sentences.add(sample.getSentence());
+    }
+
+    return sentences;
+  }
+
+  @Test
+  public void testSameNamesAsSeparateNameFinders() throws Exception {
+
+    TokenNameFinderModel[] models = new TokenNameFinderModel[] {
+        train("AnnotatedSentences.txt", "person", null),
+        train("AnnotatedSentencesWithTypes.txt", null, null),
+        train("AnnotatedSentences.txt", "name", DESCRIPTOR.getBytes("UTF-8")),
+        train("AnnotatedSentencesWithTypes.txt", null, DESCRIPTOR.getBytes("UTF-8"))
+    };
+
+    List<String[]> sentences = readSentences("AnnotatedSentencesWithTypes.txt");
+
+    List<Span[]> expectedNames = new ArrayList<Span[]>();
+
+    NameFinderME[] nameFinders = new NameFinderME[models.length];
+    for (int i = 0; i < models.length; i++) {
+      nameFinders[i] = new NameFinderME(models[i]);
+    }
+
+    for (String[] sentence : sentences) {
+      List<Span> names = new ArrayList<Span>();
+      for (NameFinderME nameFinder : nameFinders) {
+        Collections.addAll(names, nameFinder.find(sentence));
+      }
+      Collections.sort(names);
+      expectedNames.add(names.toArray(new Span[names.size()]));
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    try {
+      MultiModelNameFinder[] multiModelNameFinders = new MultiModelNameFinder[] {
+          new MultiModelNameFinder(models),
+          new MultiModelNameFinder(models, NameFinderME.DEFAULT_BEAM_SIZE, executor)
+      };
+
+      for (MultiModelNameFinder nameFinder : multiModelNameFinders) {
+        assertEquals(2, nameFinder.getNumberOfFeatureGroups());
+
+        int names = 0;
+
+        for (int i = 0; i < sentences.size(); i++) {
+          assertArrayEquals(expectedNames.get(i), nameFinder.find(sentences.get(i)));
+          names += expectedNames.get(i).length;
+        }
+
+        // the test is useless if nothing is found
+        assertEquals(true, names > 0);
+      }
+    }
+    finally {
+      executor.shutdown();
+    }
+  }
+}
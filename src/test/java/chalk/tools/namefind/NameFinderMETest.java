@@ -37,6 +37,7 @@ import chalk.tools.namefind.TokenNameFinderModel;
 import chalk.tools.util.ObjectStream;
 import chalk.tools.util.PlainTextByLineStream;
 import chalk.tools.util.Span;
+import chalk.tools.util.TrainingParameters;
 
 /**
  * This is the test class for {@link NameFinderME}.
@@ -114,6 +115,40 @@ public class NameFinderMETest {
     assertEquals(new Span(4, 6, TYPE), names[1]);
   }
 
+  /**
+   * Trains the name finder with two threads, the events are then
+   * generated by the {@link chalk.tools.util.ParallelEventStream}.
+   */
+  @Test
+  public void testNameFinderWithMultipleThreads() throws Exception {
+
+    InputStream in = getClass().getClassLoader().getResourceAsStream(
+        "chalk/tools/namefind/AnnotatedSentences.txt");
+
+    ObjectStream<NameSample> sampleStream =
+          new NameSampleDataStream(
+          new PlainTextByLineStream(new InputStreamReader(in, "ISO-8859-1")));
+
+    TrainingParameters params = new TrainingParameters();
+    params.put(TrainingParameters.ALGORITHM_PARAM, "MAXENT");
+    params.put(TrainingParameters.ITERATIONS_PARAM, Integer.toString(70));
+    params.put(TrainingParameters.CUTOFF_PARAM, Integer.toString(1));
+    params.put(TrainingParameters.THREADS_PARAM, Integer.toString(2));
+
+    TokenNameFinderModel nameFinderModel = NameFinderME.train("en", TYPE, sampleStream,
+        params, (byte[]) null, Collections.<String, Object>emptyMap());
+
+    TokenNameFinder nameFinder = new NameFinderME(nameFinderModel);
+
+    String sentence[] = {"Hi", "Mike", ",", "it's", "Stefanie", "Schmidt", "."};
+
+    Span names[] = nameFinder.find(sentence);
+
+    assertEquals(2, names.length);
+    assertEquals(new Span(1, 2, TYPE), names[0]);
+    assertEquals(new Span(4, 6, TYPE), names[1]);
+  }
+
   /**
    * Train NamefinderME using AnnotatedSentencesWithTypes.txt with "person"
    * nameType and try the model in a sample text.
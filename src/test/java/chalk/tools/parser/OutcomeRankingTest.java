@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package chalk.tools.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link OutcomeRanking} class.
+ */
+public class OutcomeRankingTest {
+
+  @Test
+  public void testRanking() {
+    double probs[] = new double[] {0.1, 0.3, 0, 0.05, 0.3, 0.25};
+
+    OutcomeRanking ranking = new OutcomeRanking(probs.length);
+    ranking.rank(probs);
+
+    // ties are ranked by index, zero probabilities are skipped
+    assertEquals(1, ranking.next());
+    assertEquals(4, ranking.next());
+    assertEquals(5, ranking.next());
+    assertEquals(0, ranking.next());
+    assertEquals(3, ranking.next());
+    assertFalse(ranking.hasNext());
+
+    // the instance can be reused
+    ranking.rank(new double[] {0, 0, 0, 0, 0, 1});
+    assertEquals(5, ranking.next());
+    assertFalse(ranking.hasNext());
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package chalk.tools.parser;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link ParallelParser} class.
+ */
+public class ParallelParserTest {
+
+  @Test
+  public void testParseAll() throws Exception {
+
+    ParserModel model = chalk.tools.parser.chunking.Parser.train("en",
+        ParserTestUtil.openTestTrainingData(), ParserTestUtil.createTestHeadRules(), 100, 0);
+
+    Parser parser = ParserFactory.create(model);
+    ParallelParser parallelParser = new ParallelParser(model, 4);
+
+    List<String> sentences = ParserTestUtil.createTestSentences();
+
+    for (int numParses = 1; numParses <= 2; numParses++) {
+      List<Parse> tokens = new ArrayList<Parse>();
+      for (String sentence : sentences) {
+        tokens.add(ParserTestUtil.createTokenParse(sentence));
+      }
+
+      List<Parse[]> parses = parallelParser.parseAll(tokens, numParses);
+
+      assertEquals(sentences.size(), parses.size());
+
+      for (int si = 0; si < sentences.size(); si++) {
+        Parse[] expected;
+        if (numParses == 1)
+          expected = new Parse[] {parser.parse(ParserTestUtil.createTokenParse(sentences.get(si)))};
+        else
+          expected = parser.parse(ParserTestUtil.createTokenParse(sentences.get(si)), numParses);
+
+        assertEquals(expected.length, parses.get(si).length);
+        for (int pi = 0; pi < expected.length; pi++) {
+          assertEquals(ParserTestUtil.show(expected[pi]), ParserTestUtil.show(parses.get(si)[pi]));
+        }
+      }
+    }
+
+    parallelParser.shutdown();
+  }
+}
@@ -20,6 +20,9 @@ package chalk.tools.parser;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.io.IOException;
+import java.io.StringWriter;
+
 import org.junit.Test;
 
 import chalk.tools.parser.Parse;
@@ -129,4 +132,54 @@ public class ParseTest {
     assertEquals("NN", tags[16].getType());
     assertEquals(".", tags[17].getType());
   }
+
+  @Test
+  public void testShowAppendable() throws IOException {
+    Parse p = Parse.parseParse(PARSE_STRING);
+
+    StringBuffer buffer = new StringBuffer();
+    p.show(buffer);
+
+    StringBuilder builder = new StringBuilder();
+    p.show(builder);
+
+    StringWriter writer = new StringWriter();
+    p.show(writer);
+
+    assertEquals(buffer.toString(), builder.toString());
+    assertEquals(buffer.toString(), writer.toString());
+  }
+
+  @Test
+  public void testParseBrackets() throws IOException {
+    Parse p1 = Parse.parseParse("(TOP (S (NP (NNP Minot) (PRN (-LRB- -LRB-) " +
+        "(NP (NNP Mickey) (-LCB- -LCB-) (NN nickname) (-RCB- -RCB-)) (-RRB- -RRB-))) " +
+        "(VP (VBD was) (ADJP-PRD (JJ there))) (. .)))");
+
+    assertEquals("Minot ( Mickey { nickname } ) was there . ", p1.getText());
+
+    Parse tags[] = p1.getTagNodes();
+    assertEquals(10, tags.length);
+    assertEquals("-LRB-", tags[1].getType());
+    assertEquals("(", tags[1].getCoveredText());
+    assertEquals("-LCB-", tags[3].getType());
+    assertEquals("{", tags[3].getCoveredText());
+    assertEquals("-RCB-", tags[5].getType());
+    assertEquals("}", tags[5].getCoveredText());
+    assertEquals("-RRB-", tags[6].getType());
+    assertEquals(")", tags[6].getCoveredText());
+
+    // the function tag is not part of the type by default
+    assertEquals("ADJP", tags[8].getParent().getType());
+
+    StringBuilder shown = new StringBuilder();
+    p1.show(shown);
+
+    Parse p2 = Parse.parseParse(shown.toString());
+    assertEquals(p1, p2);
+
+    StringBuilder shownAgain = new StringBuilder();
+    p2.show(shownAgain);
+    assertEquals(shown.toString(), shownAgain.toString());
+  }
 }
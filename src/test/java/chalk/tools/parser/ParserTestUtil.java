@@ -22,12 +22,15 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.List;
 
 import chalk.tools.parser.Parse;
 import chalk.tools.parser.ParseSampleStream;
 import chalk.tools.parser.lang.en.HeadRules;
 import chalk.tools.util.ObjectStream;
 import chalk.tools.util.PlainTextByLineStream;
+import chalk.tools.util.Span;
 
 import junit.framework.Assert;
 
@@ -79,4 +82,55 @@ public class ParserTestUtil {
      
      return resetableSampleStream;
    }  
+   
+   /**
+    * Retrieves the white space tokenized sentences of the test training data.
+    */
+   public static List<String> createTestSentences() throws IOException {
+     List<String> sentences = new ArrayList<String>();
+     
+     ObjectStream<Parse> parseSamples = openTestTrainingData();
+     
+     Parse sample;
+     while ((sample = parseSamples.read()) != null) {
+       StringBuilder sentence = new StringBuilder();
+       for (Parse token : sample.getTagNodes()) {
+         sentence.append(token.getCoveredText()).append(' ');
+       }
+       sentences.add(sentence.toString().trim());
+     }
+     
+     parseSamples.close();
+     
+     return sentences;
+   }
+   
+   /**
+    * Retrieves the bracketed representation of the specified parse.
+    */
+   public static String show(Parse p) {
+     StringBuffer sb = new StringBuffer();
+     p.show(sb);
+     return sb.toString();
+   }
+   
+   /**
+    * Creates the incomplete parse which is passed to the parser
+    * from a white space tokenized sentence.
+    */
+   public static Parse createTokenParse(String sentence) {
+     String tokens[] = sentence.split(" ");
+     
+     Parse p = new Parse(sentence, new Span(0, sentence.length()), 
+         AbstractBottomUpParser.INC_NODE, 0, 0);
+     
+     int start = 0;
+     for (int i = 0; i < tokens.length; i++) {
+       p.insert(new Parse(sentence, new Span(start, start + tokens[i].length()), 
+           AbstractBottomUpParser.TOK_NODE, 0, i));
+       start += tokens[i].length() + 1;
+     }
+     
+     return p;
+   }
 }
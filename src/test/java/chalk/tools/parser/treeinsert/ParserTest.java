@@ -21,8 +21,12 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 import org.junit.Test;
 
+import chalk.tools.parser.AbstractBottomUpParser;
 import chalk.tools.parser.HeadRules;
 import chalk.tools.parser.Parse;
 import chalk.tools.parser.ParserFactory;
@@ -30,6 +34,7 @@ import chalk.tools.parser.ParserModel;
 import chalk.tools.parser.ParserTestUtil;
 import chalk.tools.parser.treeinsert.Parser;
 import chalk.tools.util.ObjectStream;
+import chalk.tools.util.TrainingParameters;
 
 /**
  * Tests for the {@link Parser} class.
@@ -64,4 +69,73 @@ public class ParserTest {
     
     // TODO: compare both models
   }
+  
+  /**
+   * Verify that the evaluation cache does not change the parses.
+   */
+  @Test
+  public void testEvaluationCaching() throws Exception {
+    
+    ObjectStream<Parse> parseSamples = ParserTestUtil.openTestTrainingData();
+    HeadRules headRules = ParserTestUtil.createTestHeadRules();
+    
+    ParserModel model = Parser.train("en", parseSamples, headRules, 100, 0);
+    
+    AbstractBottomUpParser parser = (AbstractBottomUpParser) ParserFactory.create(model);
+    AbstractBottomUpParser cachingParser = (AbstractBottomUpParser) ParserFactory.create(model);
+    cachingParser.setEvaluationCaching(true);
+    
+    for (String sentence : ParserTestUtil.createTestSentences()) {
+      Parse tokens = ParserTestUtil.createTokenParse(sentence);
+      
+      Parse[] expected = parser.parse(tokens, 3);
+      Parse[] actual = cachingParser.parse(tokens, 3);
+      
+      assertEquals(expected.length, actual.length);
+      for (int i = 0; i < expected.length; i++) {
+        assertEquals(expected[i].getProb(), actual[i].getProb(), 0.0);
+        assertEquals(ParserTestUtil.show(expected[i]), ParserTestUtil.show(actual[i]));
+      }
+    }
+    
+    assertTrue(cachingParser.getNumberOfCacheHits() > 0);
+    assertTrue(cachingParser.getNumberOfCacheMisses() > 0);
+  }
+  
+  /**
+   * Verify that generating the events on multiple threads does not
+   * change the trained models.
+   */
+  @Test
+  public void testTrainingWithMultipleThreads() throws Exception {
+    
+    HeadRules headRules = ParserTestUtil.createTestHeadRules();
+    
+    TrainingParameters params = new TrainingParameters();
+    for (String namespace : new String[]{"dict", "tagger", "chunker", "build", "check", "attach"}) {
+      params.put(namespace, TrainingParameters.CUTOFF_PARAM, "0");
+      params.put(namespace, TrainingParameters.ITERATIONS_PARAM, "100");
+    }
+    
+    ParserModel model = Parser.train("en", ParserTestUtil.openTestTrainingData(),
+        headRules, params);
+    
+    for (String namespace : new String[]{"build", "check", "attach"}) {
+      params.put(namespace, TrainingParameters.THREADS_PARAM, "2");
+    }
+    
+    ParserModel parallelModel = Parser.train("en", ParserTestUtil.openTestTrainingData(),
+        headRules, params);
+    
+    chalk.tools.parser.Parser parser = ParserFactory.create(model);
+    chalk.tools.parser.Parser parallelParser = ParserFactory.create(parallelModel);
+    
+    for (String sentence : ParserTestUtil.createTestSentences()) {
+      Parse expected = parser.parse(ParserTestUtil.createTokenParse(sentence), 1)[0];
+      Parse actual = parallelParser.parse(ParserTestUtil.createTokenParse(sentence), 1)[0];
+      
+      assertEquals(expected.getProb(), actual.getProb(), 1e-9);
+      assertEquals(ParserTestUtil.show(expected), ParserTestUtil.show(actual));
+    }
+  }
 }
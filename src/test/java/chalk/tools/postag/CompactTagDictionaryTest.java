@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.postag;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import chalk.tools.util.InvalidFormatException;
+
+/**
+ * Tests for the {@link CompactTagDictionary} class.
+ */
+public class CompactTagDictionaryTest {
+
+  private static CompactTagDictionary createDictionary(boolean caseSensitive) {
+    CompactTagDictionary.Builder builder = new CompactTagDictionary.Builder(caseSensitive);
+
+    builder.add("Always", "RB");
+    builder.add("Always", "NNP");
+    builder.add("a", "DT");
+    builder.add("b", "DT");
+    builder.add("Über", "APPR");
+    builder.add("日本", "NE");
+
+    return builder.build();
+  }
+
+  private static void assertSameEntries(CompactTagDictionary expected, CompactTagDictionary actual) {
+    assertEquals(expected.size(), actual.size());
+    assertEquals(expected.isCaseSensitive(), actual.isCaseSensitive());
+
+    for (String word : expected) {
+      assertArrayEquals(expected.getTags(word), actual.getTags(word));
+    }
+  }
+
+  @Test
+  public void testCaseSensitiveLookup() {
+    CompactTagDictionary dict = createDictionary(true);
+
+    assertEquals(5, dict.size());
+    assertArrayEquals(new String[] {"RB", "NNP"}, dict.getTags("Always"));
+    assertNull(dict.getTags("always"));
+    assertArrayEquals(new String[] {"APPR"}, dict.getTags("Über"));
+    assertNull(dict.getTags("über"));
+    assertArrayEquals(new String[] {"NE"}, dict.getTags("日本"));
+    assertNull(dict.getTags("c"));
+    assertNull(dict.getTags(""));
+
+    // words with the same tags share the tags array
+    assertSame(dict.getTags("a"), dict.getTags("b"));
+  }
+
+  @Test
+  public void testCaseInsensitiveLookup() {
+    CompactTagDictionary dict = createDictionary(false);
+
+    assertArrayEquals(new String[] {"RB", "NNP"}, dict.getTags("always"));
+    assertArrayEquals(new String[] {"RB", "NNP"}, dict.getTags("ALWAYS"));
+    assertArrayEquals(new String[] {"APPR"}, dict.getTags("üBER"));
+    assertArrayEquals(new String[] {"DT"}, dict.getTags("A"));
+
+    Set<String> words = new HashSet<String>();
+    for (String word : dict) {
+      words.add(word);
+    }
+
+    assertTrue(words.contains("always"));
+    assertTrue(words.contains("über"));
+    assertFalse(words.contains("Always"));
+  }
+
+  @Test
+  public void testCutoff() {
+    CompactTagDictionary.Builder builder = new CompactTagDictionary.Builder();
+
+    builder.add("run", "VB", 3);
+    builder.add("run", "NN");
+    builder.add("walk", "NN");
+    builder.add("walk", "NN");
+    builder.add("the", "UNUSED");
+
+    assertTrue(builder.contains("the"));
+    assertFalse(builder.contains("a"));
+
+    CompactTagDictionary dict = builder.build(2);
+
+    assertEquals(2, dict.size());
+    assertArrayEquals(new String[] {"VB"}, dict.getTags("run"));
+    assertArrayEquals(new String[] {"NN"}, dict.getTags("walk"));
+    assertNull(dict.getTags("the"));
+    assertArrayEquals(new String[] {"VB", "NN"}, dict.getAllTags());
+  }
+
+  @Test
+  public void testManyWordsAndTags() {
+    CompactTagDictionary.Builder builder = new CompactTagDictionary.Builder();
+
+    for (int i = 0; i < 10000; i++) {
+      builder.add("word" + i, "T" + (i % 100));
+      builder.add("word" + i, "T" + (i % 7));
+    }
+
+    CompactTagDictionary dict = builder.build();
+
+    assertEquals(10000, dict.size());
+    assertEquals(100, dict.getAllTags().length);
+
+    for (int i = 0; i < 10000; i++) {
+      Set<String> tags = new HashSet<String>();
+      for (String tag : dict.getTags("word" + i)) {
+        tags.add(tag);
+      }
+
+      Set<String> expected = new HashSet<String>();
+      expected.add("T" + (i % 100));
+      expected.add("T" + (i % 7));
+
+      assertEquals(expected, tags);
+    }
+
+    assertNull(dict.getTags("word10000"));
+  }
+
+  @Test
+  public void testCreateFromPOSDictionary() {
+    POSDictionary posDict = new POSDictionary(false);
+    posDict.put("Always", "RB", "NNP");
+    posDict.put("the", "DT");
+
+    CompactTagDictionary dict = CompactTagDictionary.create(posDict);
+
+    assertFalse(dict.isCaseSensitive());
+    assertEquals(2, dict.size());
+    assertArrayEquals(posDict.getTags("always"), dict.getTags("ALWAYS"));
+    assertArrayEquals(posDict.getTags("the"), dict.getTags("The"));
+  }
+
+  @Test
+  public void testSerialization() throws IOException {
+    CompactTagDictionary dict = createDictionary(false);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    dict.serialize(out);
+
+    assertSameEntries(dict, CompactTagDictionary.create(
+        new ByteArrayInputStream(out.toByteArray())));
+  }
+
+  @Test
+  public void testMap() throws IOException {
+    CompactTagDictionary dict = createDictionary(true);
+
+    File file = File.createTempFile("tags", ".ctagdict");
+    try {
+      OutputStream out = new FileOutputStream(file);
+      try {
+        dict.serialize(out);
+      }
+      finally {
+        out.close();
+      }
+
+      assertSameEntries(dict, CompactTagDictionary.map(file));
+    }
+    finally {
+      file.delete();
+    }
+  }
+
+  @Test(expected = InvalidFormatException.class)
+  public void testCreateFromInvalidData() throws IOException {
+    CompactTagDictionary.create(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5}));
+  }
+}
@@ -17,6 +17,7 @@
 
 package chalk.tools.postag;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayInputStream;
@@ -121,6 +122,28 @@ public class POSTaggerFactoryTest {
     assertTrue(factory.getDictionary() instanceof Dictionary);
   }
   
+  @Test
+  public void testPOSTaggerWithCompactTagDictionary() throws IOException {
+    CompactTagDictionary posDict = CompactTagDictionary.create(
+        POSDictionary.create(POSDictionaryTest.class
+            .getResourceAsStream("TagDictionaryCaseSensitive.xml")));
+
+    POSModel posModel = trainPOSModel(ModelType.MAXENT,
+        new POSTaggerFactory(null, posDict));
+
+    assertTrue(posModel.getFactory().getTagDictionary() instanceof CompactTagDictionary);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    posModel.serialize(out);
+    ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+
+    POSModel fromSerialized = new POSModel(in);
+
+    TagDictionary tagDict = fromSerialized.getFactory().getTagDictionary();
+    assertTrue(tagDict instanceof CompactTagDictionary);
+    assertArrayEquals(new String[] {"NNP"}, tagDict.getTags("McKinsey"));
+  }
+
   @Test(expected = InvalidFormatException.class)
   public void testCreateWithInvalidName() throws InvalidFormatException {
     BaseToolFactory.create("X", null);
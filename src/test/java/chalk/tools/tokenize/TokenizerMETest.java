@@ -20,12 +20,24 @@ package chalk.tools.tokenize;
 
 import static org.junit.Assert.assertEquals;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.Test;
 
 import chalk.tools.tokenize.TokenizerME;
 import chalk.tools.tokenize.TokenizerModel;
+import chalk.tools.util.ObjectStream;
+import chalk.tools.util.PlainTextByLineStream;
+import chalk.tools.util.TrainingParameters;
+import chalk.tools.util.model.ModelUtil;
+import chalk.tools.util.metrics.TraceEvent;
+import chalk.tools.util.metrics.Tracer;
+import chalk.tools.util.metrics.Tracing;
 
 /**
  * Tests for the {@link TokenizerME} class.
@@ -71,4 +83,76 @@ public class TokenizerMETest {
     assertEquals("through", tokens[7]);
     assertEquals("!", tokens[8]);
   }
-}
\ No newline at end of file
+
+  /**
+   * Trains the tokenizer with two threads, the events are then
+   * generated by the {@link chalk.tools.util.ParallelEventStream}.
+   */
+  @Test
+  public void testTokenizerWithMultipleThreads() throws IOException {
+    ObjectStream<TokenSample> samples = new TokenSampleStream(new PlainTextByLineStream(
+        new InputStreamReader(getClass().getResourceAsStream("/chalk/tools/tokenize/token.train"),
+        "UTF-8")));
+
+    TrainingParameters params = ModelUtil.createTrainingParameters(100, 5);
+    params.put(TrainingParameters.THREADS_PARAM, Integer.toString(2));
+
+    TokenizerModel model = TokenizerME.train(samples,
+        new TokenizerFactory("en", null, true, null), params);
+
+    TokenizerME tokenizer = new TokenizerME(model);
+
+    String tokens[] = tokenizer.tokenize("Sounds like it's not properly thought through!");
+
+    assertEquals(9, tokens.length);
+    assertEquals("it", tokens[2]);
+    assertEquals("'s", tokens[3]);
+    assertEquals("through", tokens[7]);
+    assertEquals("!", tokens[8]);
+  }
+
+  @Test
+  public void testTracing() throws IOException {
+    final List<String> events = new ArrayList<String>();
+
+    Tracer tracer = new Tracer() {
+      public TraceEvent beginTool(final String tool, String model, final int inputLength,
+          int beamSize) {
+        return new TraceEvent() {
+          public void end(long count) {
+            events.add(tool + " " + inputLength + " " + count);
+          }
+        };
+      }
+
+      public TraceEvent beginModelLoad(final String model) {
+        return new TraceEvent() {
+          public void end(long count) {
+            events.add(model + " " + count);
+          }
+        };
+      }
+    };
+
+    TokenizerModel model = TokenizerTestUtil.createSimpleMaxentTokenModel();
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    model.serialize(out);
+
+    Tracer previous = Tracing.getTracer();
+    Tracing.setTracer(tracer);
+    try {
+      model = new TokenizerModel(new ByteArrayInputStream(out.toByteArray()));
+      new TokenizerME(model).tokenize("test,");
+    }
+    finally {
+      Tracing.setTracer(previous);
+    }
+
+    assertEquals(2, events.size());
+    assertEquals("TokenizerME 2", events.get(0));
+
+    // one evaluation per possible split inside "test,"
+    assertEquals("TokenizerME 5 4", events.get(1));
+  }
+}
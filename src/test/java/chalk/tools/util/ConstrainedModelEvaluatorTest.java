@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package chalk.tools.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import nak.maxent.GIS;
+import nak.model.Event;
+import nak.model.MaxentModel;
+import nak.model.OnePassDataIndexer;
+import nak.perceptron.PerceptronTrainer;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link ConstrainedModelEvaluator} class.
+ */
+public class ConstrainedModelEvaluatorTest {
+
+  private static final String[][] CONTEXTS = new String[][] {
+      {"w=the", "suf=he"}, {"w=dog", "suf=og", "p=the"}, {"w=runs", "suf=ns", "p=dog"},
+      {"w=a", "p=runs"}, {"w=cat", "suf=at", "p=a"}, {"w=sleeps", "suf=ps", "p=cat"},
+      {"w=run", "suf=un"}, {"w=the", "p=run"}, {"w=dogs", "suf=gs", "p=the"}
+  };
+
+  private static final String[] OUTCOMES = new String[] {
+      "DT", "NN", "VBZ", "DT", "NN", "VBZ", "VB", "DT", "NNS"
+  };
+
+  private static List<Event> createEvents() {
+    List<Event> events = new ArrayList<Event>();
+    for (int i = 0; i < CONTEXTS.length; i++) {
+      events.add(new Event(OUTCOMES[i], CONTEXTS[i]));
+    }
+    return events;
+  }
+
+  private static void testSubsets(MaxentModel model) {
+    ConstrainedModelEvaluator evaluator = new ConstrainedModelEvaluator(model);
+
+    int[] subset = new int[] {evaluator.getIndex("NN"), evaluator.getIndex("VB"),
+        evaluator.getIndex("DT")};
+
+    double[] subsetProbs = new double[subset.length];
+
+    for (String[] context : CONTEXTS) {
+      double[] probs = model.eval(context);
+
+      for (int numOutcomes = 1; numOutcomes <= subset.length; numOutcomes++) {
+        evaluator.eval(context, subset, numOutcomes, subsetProbs);
+
+        double normal = 0;
+        for (int i = 0; i < numOutcomes; i++) {
+          normal += probs[subset[i]];
+        }
+
+        for (int i = 0; i < numOutcomes; i++) {
+          assertEquals(probs[subset[i]] / normal, subsetProbs[i], 1e-10);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testMaxentModel() throws IOException {
+    MaxentModel model = GIS.trainModel(new CollectionEventStream(createEvents()), 50, 0);
+
+    testSubsets(model);
+
+    assertEquals(-1, new ConstrainedModelEvaluator(model).getIndex("JJ"));
+  }
+
+  @Test
+  public void testPerceptronModel() throws IOException {
+    MaxentModel model = new PerceptronTrainer().trainModel(10,
+        new OnePassDataIndexer(new CollectionEventStream(createEvents()), 0, false), 0);
+
+    testSubsets(model);
+  }
+}
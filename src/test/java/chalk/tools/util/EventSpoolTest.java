@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import nak.model.Event;
+import nak.model.EventStream;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link EventSpool} class.
+ */
+public class EventSpoolTest {
+
+  private static List<Event> readAll(EventSpool spool) throws IOException {
+    List<Event> events = new ArrayList<Event>();
+
+    for (EventStream stream = spool.openStream(); stream.hasNext();) {
+      events.add(stream.next());
+    }
+
+    return events;
+  }
+
+  @Test
+  public void testRoundTrip() throws IOException {
+    EventSpool spool = new EventSpool();
+
+    try {
+      spool.add(new Event("same", new String[] {"a", "b", "c"}));
+      spool.add(new Event("diff", new String[] {"b", "\u00e4\u00f6\u00fc", "c"}));
+      spool.add(new Event("same", new String[] {}));
+      spool.add(new Event("diff", new String[] {"a", "d"}, new float[] {0.5f, 2f}));
+
+      assertEquals(4, spool.size());
+
+      List<Event> events = readAll(spool);
+      assertEquals(4, events.size());
+
+      assertEquals("same", events.get(0).getOutcome());
+      assertArrayEquals(new String[] {"a", "b", "c"}, events.get(0).getContext());
+      assertNull(events.get(0).getValues());
+
+      assertEquals("diff", events.get(1).getOutcome());
+      assertArrayEquals(new String[] {"b", "\u00e4\u00f6\u00fc", "c"}, events.get(1).getContext());
+
+      assertEquals(0, events.get(2).getContext().length);
+
+      assertArrayEquals(new String[] {"a", "d"}, events.get(3).getContext());
+      assertArrayEquals(new float[] {0.5f, 2f}, events.get(3).getValues(), 0f);
+
+      // the events can be read again
+      assertEquals(4, readAll(spool).size());
+    }
+    finally {
+      spool.delete();
+    }
+  }
+
+  @Test
+  public void testManyStrings() throws IOException {
+    EventSpool spool = new EventSpool();
+
+    try {
+      for (int i = 0; i < 1000; i++) {
+        spool.add(new Event("o" + (i % 3), new String[] {"f=" + i, "g=" + (i % 7)}));
+      }
+
+      List<Event> events = readAll(spool);
+      assertEquals(1000, events.size());
+
+      for (int i = 0; i < 1000; i++) {
+        assertEquals("o" + (i % 3), events.get(i).getOutcome());
+        assertArrayEquals(new String[] {"f=" + i, "g=" + (i % 7)}, events.get(i).getContext());
+      }
+    }
+    finally {
+      spool.delete();
+    }
+  }
+
+  @Test
+  public void testLongString() throws IOException {
+    StringBuilder predicate = new StringBuilder();
+    while (predicate.length() < 70000) {
+      predicate.append("\u00e4bc");
+    }
+
+    EventSpool spool = new EventSpool();
+
+    try {
+      spool.add(new Event("o", new String[] {predicate.toString(), "a"}));
+
+      List<Event> events = readAll(spool);
+      assertEquals(1, events.size());
+      assertArrayEquals(new String[] {predicate.toString(), "a"}, events.get(0).getContext());
+    }
+    finally {
+      spool.delete();
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testAddAfterClose() throws IOException {
+    EventSpool spool = new EventSpool();
+
+    try {
+      spool.close();
+      spool.add(new Event("same", new String[] {"a"}));
+    }
+    finally {
+      spool.delete();
+    }
+  }
+
+  @Test
+  public void testDelete() throws IOException {
+    EventSpool spool = new EventSpool();
+    File file = spool.getFile();
+
+    assertTrue(file.exists());
+    spool.delete();
+    assertFalse(file.exists());
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package chalk.tools.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import nak.model.Event;
+import nak.model.EventStream;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link ParallelEventStream} class.
+ */
+public class ParallelEventStreamTest {
+
+  /**
+   * Creates one event per sample, the outcome contains the position of the
+   * sample in its document to simulate adaptive data.
+   */
+  static class DocumentPositionEventStream extends AbstractEventStream<String> {
+
+    private int position;
+
+    DocumentPositionEventStream(ObjectStream<String> samples) {
+      super(samples);
+    }
+
+    @Override
+    protected Iterator<Event> createEvents(String sample) {
+      if (sample.startsWith("doc")) {
+        position = 0;
+      }
+
+      List<Event> events = new ArrayList<Event>();
+      events.add(new Event(sample + "@" + position++, new String[]{sample}));
+
+      if (sample.endsWith("!")) {
+        events.add(new Event(sample, new String[]{sample}));
+      }
+
+      return events.iterator();
+    }
+  }
+
+  private static final ParallelEventStream.DocumentBoundary<String> BOUNDARY =
+      new ParallelEventStream.DocumentBoundary<String>() {
+    public boolean isDocumentStart(String sample) {
+      return sample.startsWith("doc");
+    }
+  };
+
+  private static final ParallelEventStream.EventStreamFactory<String> FACTORY =
+      new ParallelEventStream.EventStreamFactory<String>() {
+    public AbstractEventStream<String> createEventStream() {
+      return new DocumentPositionEventStream(ObjectStreamUtils.<String>createObjectStream());
+    }
+  };
+
+  private static List<String> outcomes(EventStream events) throws IOException {
+    List<String> outcomes = new ArrayList<String>();
+    while (events.hasNext()) {
+      outcomes.add(events.next().getOutcome());
+    }
+    return outcomes;
+  }
+
+  private static List<String> createSamples() {
+    List<String> samples = new ArrayList<String>();
+    for (int doc = 0; doc < 50; doc++) {
+      samples.add("doc" + doc);
+      for (int i = 0; i < doc % 7; i++) {
+        samples.add("s" + doc + "-" + i + (i % 3 == 0 ? "!" : ""));
+      }
+    }
+    return samples;
+  }
+
+  @Test
+  public void testSameEventsAsSequentialStream() throws IOException {
+    List<String> samples = createSamples();
+
+    List<String> expected = outcomes(new DocumentPositionEventStream(
+        new CollectionObjectStream<String>(samples)));
+
+    for (int threads = 1; threads <= 4; threads++) {
+      for (int readAhead = 1; readAhead <= 5; readAhead += 2) {
+        EventStream parallel = new ParallelEventStream<String>(
+            new CollectionObjectStream<String>(samples), FACTORY, BOUNDARY,
+            threads, readAhead);
+
+        assertEquals(expected, outcomes(parallel));
+      }
+    }
+  }
+
+  @Test
+  public void testWithoutDocumentBoundary() throws IOException {
+    List<String> samples = new ArrayList<String>();
+    samples.add("doc1");
+    samples.add("doc2!");
+    samples.add("doc3");
+
+    EventStream parallel = new ParallelEventStream<String>(
+        new CollectionObjectStream<String>(samples), FACTORY, null, 2);
+
+    List<String> expected = new ArrayList<String>();
+    expected.add("doc1@0");
+    expected.add("doc2!@0");
+    expected.add("doc2!");
+    expected.add("doc3@0");
+
+    assertEquals(expected, outcomes(parallel));
+  }
+
+  @Test
+  public void testEmptySampleStream() throws IOException {
+    EventStream parallel = new ParallelEventStream<String>(
+        ObjectStreamUtils.<String>createObjectStream(), FACTORY, BOUNDARY, 3);
+
+    assertFalse(parallel.hasNext());
+    assertFalse(parallel.hasNext());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testWorkerExceptionIsRethrown() throws IOException {
+    EventStream parallel = new ParallelEventStream<String>(
+        ObjectStreamUtils.createObjectStream("doc1", "fail"),
+        new ParallelEventStream.EventStreamFactory<String>() {
+          public AbstractEventStream<String> createEventStream() {
+            return new DocumentPositionEventStream(ObjectStreamUtils.<String>createObjectStream()) {
+              @Override
+              protected Iterator<Event> createEvents(String sample) {
+                if ("fail".equals(sample))
+                  throw new IllegalStateException();
+                return super.createEvents(sample);
+              }
+            };
+          }
+        }, null, 2);
+
+    outcomes(parallel);
+  }
+}
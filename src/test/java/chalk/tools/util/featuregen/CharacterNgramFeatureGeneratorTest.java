@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package chalk.tools.util.featuregen;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import chalk.tools.ngram.NGramModel;
+import chalk.tools.util.StringList;
+
+/**
+ * Tests for the {@link CharacterNgramFeatureGenerator} class.
+ */
+public class CharacterNgramFeatureGeneratorTest {
+
+  private static Set<String> expectedFeatures(String token, int min, int max) {
+    NGramModel model = new NGramModel();
+    model.add(token, min, max);
+
+    Set<String> features = new HashSet<String>();
+    for (StringList ngram : model) {
+      features.add("ng=" + ngram.getToken(0).toLowerCase());
+    }
+    return features;
+  }
+
+  private static void testToken(AdaptiveFeatureGenerator generator, String token, int min, int max) {
+    List<String> features = new ArrayList<String>();
+    generator.createFeatures(features, new String[] {token}, 0, null);
+
+    Set<String> expected = expectedFeatures(token, min, max);
+
+    assertEquals(expected.size(), features.size());
+    assertEquals(expected, new HashSet<String>(features));
+  }
+
+  @Test
+  public void testSameFeaturesAsNGramModel() {
+    String[] tokens = new String[] {"Banana", "ABab", "x", "", "2012-01-01",
+        "http://www.example.com/a/very/long/url/which/repeats/a/very/long/path",
+        "İstanbul", "ΟΔΥΣΣΕΥΣ"};
+
+    AdaptiveFeatureGenerator generator = new CharacterNgramFeatureGenerator();
+    AdaptiveFeatureGenerator cachingGenerator = new CharacterNgramFeatureGenerator(1, 3, 2);
+
+    for (int i = 0; i < 2; i++) {
+      for (String token : tokens) {
+        testToken(generator, token, 2, 5);
+        testToken(cachingGenerator, token, 1, 3);
+      }
+    }
+  }
+}
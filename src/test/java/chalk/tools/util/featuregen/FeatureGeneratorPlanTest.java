@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package chalk.tools.util.featuregen;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link FeatureGeneratorPlan} class.
+ */
+public class FeatureGeneratorPlanTest {
+
+  private static final String DESCRIPTOR =
+      "<generators>" +
+      "  <cache>" +
+      "    <generators>" +
+      "      <window prevLength=\"2\" nextLength=\"2\">" +
+      "        <tokenclass/>" +
+      "      </window>" +
+      "      <window prevLength=\"2\" nextLength=\"2\">" +
+      "        <token/>" +
+      "      </window>" +
+      "      <definition/>" +
+      "      <prevmap/>" +
+      "      <bigram/>" +
+      "      <sentence begin=\"true\" end=\"false\"/>" +
+      "    </generators>" +
+      "  </cache>" +
+      "  <window prevLength=\"1\" nextLength=\"1\">" +
+      "    <window prevLength=\"1\" nextLength=\"2\">" +
+      "      <prefix/>" +
+      "    </window>" +
+      "  </window>" +
+      "  <charngram min=\"2\" max=\"3\"/>" +
+      "</generators>";
+
+  private static AdaptiveFeatureGenerator createGenerator() throws Exception {
+    return new AggregatedFeatureGenerator(
+        GeneratorFactory.create(new ByteArrayInputStream(DESCRIPTOR.getBytes("UTF-8")), null),
+        new WindowFeatureGenerator(new IdentityFeatureGenerator(), 1, 1));
+  }
+
+  private static List<String> features(AdaptiveFeatureGenerator generator, String[] tokens,
+      int index, String[] previousOutcomes) {
+    List<String> features = new ArrayList<String>();
+    generator.createFeatures(features, tokens, index, previousOutcomes);
+    return features;
+  }
+
+  @Test
+  public void testSameFeaturesAsGeneratorTree() throws Exception {
+
+    AdaptiveFeatureGenerator tree = createGenerator();
+
+    FeatureGeneratorPlan plan = FeatureGeneratorPlan.compile(tree);
+
+    // one step per window offset of the token class, token, prefix and
+    // identity generators, plus the four other cached generators and charngram
+    assertEquals(5 + 5 + 4 + 3 * 4 + 1 + 3, plan.getNumberOfSteps());
+    assertEquals(9, plan.getNumberOfGenerators());
+
+    AdaptiveFeatureGenerator planned = plan.createFeatureGenerator(createGenerator());
+
+    String[][] sentences = new String[][] {
+        {"Mr", ".", "Smith", "lives", "in", "Washington", "."},
+        {"Smith", "was", "born", "in", "1960"},
+        {"Hi"}
+    };
+
+    for (int run = 0; run < 2; run++) {
+      for (String[] tokens : sentences) {
+        String[] outcomes = new String[tokens.length];
+
+        for (int i = 0; i < tokens.length; i++) {
+          // the beam search asks several times for the same index
+          for (int j = 0; j < 2; j++) {
+            assertEquals(features(tree, tokens, i, outcomes), features(planned, tokens, i, outcomes));
+          }
+          outcomes[i] = i % 2 == 0 ? "other" : "start";
+        }
+
+        tree.updateAdaptiveData(tokens, outcomes);
+        planned.updateAdaptiveData(tokens, outcomes);
+      }
+
+      tree.clearAdaptiveData();
+      planned.clearAdaptiveData();
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDifferentGeneratorTree() throws Exception {
+    FeatureGeneratorPlan plan = FeatureGeneratorPlan.compile(createGenerator());
+    plan.createFeatureGenerator(new TokenFeatureGenerator());
+  }
+}
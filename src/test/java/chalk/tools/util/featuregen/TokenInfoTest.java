@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package chalk.tools.util.featuregen;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import chalk.tools.tokenize.SimpleTokenizer;
+
+/**
+ * Tests for the {@link TokenInfo} class.
+ */
+public class TokenInfoTest {
+
+  @Test
+  public void testTokenProperties() {
+    TokenInfo info = TokenInfo.get("Hello");
+
+    assertEquals("Hello", info.getToken());
+    assertEquals("hello", info.getLowerCase());
+    assertEquals("ic", info.getTokenClass());
+    assertTrue(info.getPattern().isInitialCapitalLetter());
+    assertArrayEquals(PrefixFeatureGenerator.getPrefixes("Hello"), info.getPrefixes());
+    assertArrayEquals(SuffixFeatureGenerator.getSuffixes("Hello"), info.getSuffixes());
+
+    assertEquals("2d", TokenInfo.get("12").getTokenClass());
+  }
+
+  @Test
+  public void testSentenceTable() {
+    String[] tokens = new String[] {"a", "b", "a"};
+
+    TokenInfo info = TokenInfo.get(tokens, 0);
+    assertSame(info, TokenInfo.get(tokens, 0));
+    assertEquals("b", TokenInfo.get(tokens, 1).getToken());
+
+    // the array is modified after it was processed
+    tokens[0] = "C";
+    assertEquals("C", TokenInfo.get(tokens, 0).getToken());
+    assertEquals("c", TokenInfo.get(tokens, 0).getLowerCase());
+
+    String[] otherTokens = new String[] {"x"};
+    assertEquals("x", TokenInfo.get(otherTokens, 0).getToken());
+  }
+
+  @Test
+  public void testSubTokenFeatures() {
+    String token = "Chalk-1.0b";
+
+    String[] features = TokenInfo.get(token).getSubTokenFeatures();
+
+    assertArrayEquals(TokenPatternFeatureGenerator.createSubTokenFeatures(
+        SimpleTokenizer.INSTANCE, token), features);
+    assertEquals("stn=6", features[0]);
+    assertEquals("pta=icothernumothernumlc", features[features.length - 1]);
+
+    assertArrayEquals(new String[] {"st=chalk"}, TokenInfo.get("Chalk").getSubTokenFeatures());
+
+    List<String> generated = new ArrayList<String>();
+    new TokenPatternFeatureGenerator().createFeatures(generated, new String[] {token}, 0, null);
+    assertEquals(Arrays.asList(features), generated);
+  }
+
+  @Test
+  public void testSharedCache() {
+    int size = TokenInfo.getSharedCacheSize();
+
+    try {
+      TokenInfo.clearSharedCache();
+      TokenInfo.setSharedCacheSize(2);
+
+      TokenInfo a = TokenInfo.get("a");
+      TokenInfo b = TokenInfo.get("b");
+      assertSame(a, TokenInfo.get("a"));
+
+      // b is the least recently used token
+      TokenInfo.get("c");
+      assertSame(a, TokenInfo.get("a"));
+      assertNotSame(b, TokenInfo.get("b"));
+
+      TokenInfo.setSharedCacheSize(0);
+      assertNotSame(TokenInfo.get("a"), TokenInfo.get("a"));
+      assertEquals("a", TokenInfo.get("a").getToken());
+    }
+    finally {
+      TokenInfo.setSharedCacheSize(size);
+    }
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.tools.util.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import chalk.tools.util.featuregen.CachedFeatureGenerator;
+import chalk.tools.util.featuregen.TokenFeatureGenerator;
+
+/**
+ * Tests for the {@link Metrics} and the {@link JmxMetricsProvider} classes.
+ */
+public class JmxMetricsProviderTest {
+
+  private MBeanServer server;
+
+  private JmxMetricsProvider provider;
+
+  @Before
+  public void setUp() {
+    server = MBeanServerFactory.newMBeanServer();
+    provider = new JmxMetricsProvider(server);
+  }
+
+  @After
+  public void tearDown() {
+    Metrics.setProvider(Metrics.NOOP);
+    provider.unregister();
+  }
+
+  private Object getAttribute(String type, String name, String attribute) throws Exception {
+    return server.getAttribute(JmxMetricsProvider.getObjectName(type, name), attribute);
+  }
+
+  @Test
+  public void testMetrics() throws Exception {
+    Counter counter = provider.getCounter("test.counter");
+    counter.increment();
+    counter.increment(4);
+
+    assertSame(counter, provider.getCounter("test.counter"));
+    assertEquals(5L, getAttribute("Counter", "test.counter", "Count"));
+
+    Histogram histogram = provider.getHistogram("test.histogram");
+    histogram.record(2);
+    histogram.record(10);
+
+    assertEquals(2L, getAttribute("Histogram", "test.histogram", "Count"));
+    assertEquals(2L, getAttribute("Histogram", "test.histogram", "Min"));
+    assertEquals(10L, getAttribute("Histogram", "test.histogram", "Max"));
+    assertEquals(6d, getAttribute("Histogram", "test.histogram", "Mean"));
+
+    Timer timer = provider.getTimer("test.timer");
+    timer.stop(timer.start());
+
+    assertEquals(1L, getAttribute("Timer", "test.timer", "Count"));
+
+    provider.unregister();
+
+    assertFalse(server.isRegistered(JmxMetricsProvider.getObjectName("Counter", "test.counter")));
+  }
+
+  @Test
+  public void testDisabled() {
+    assertFalse(Metrics.isEnabled());
+    assertEquals(0, Metrics.timer("test.timer").start());
+
+    Metrics.setProvider(provider);
+
+    assertTrue(Metrics.isEnabled());
+    assertSame(provider.getTimer("test.timer"), Metrics.timer("test.timer"));
+  }
+
+  @Test
+  public void testFeatureCacheMetrics() throws Exception {
+    Metrics.setProvider(provider);
+
+    CachedFeatureGenerator generator = new CachedFeatureGenerator(new TokenFeatureGenerator());
+
+    String[] tokens = {"a", "b"};
+    generator.createFeatures(new ArrayList<String>(), tokens, 0, null);
+    generator.createFeatures(new ArrayList<String>(), tokens, 0, null);
+    generator.createFeatures(new ArrayList<String>(), tokens, 1, null);
+
+    assertEquals(1L, getAttribute("Counter", "featuregen.cache.hits", "Count"));
+    assertEquals(2L, getAttribute("Counter", "featuregen.cache.misses", "Count"));
+  }
+}
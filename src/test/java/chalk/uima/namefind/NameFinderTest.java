@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.uima.namefind;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.uima.analysis_engine.AnalysisEngine;
+import org.apache.uima.cas.CAS;
+import org.apache.uima.cas.Type;
+import org.apache.uima.cas.text.AnnotationFS;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import chalk.tools.namefind.NameFinderME;
+import chalk.tools.namefind.NameSample;
+import chalk.tools.namefind.NameSampleDataStream;
+import chalk.tools.namefind.TokenNameFinderModel;
+import chalk.tools.util.ObjectStream;
+import chalk.tools.util.ObjectStreamUtils;
+import chalk.tools.util.PlainTextByLineStream;
+import chalk.tools.util.Span;
+import chalk.tools.util.TrainingParameters;
+import chalk.tools.util.featuregen.AdaptiveFeatureGenerator;
+import chalk.uima.util.AnnotatorTestUtil;
+import chalk.uima.util.UimaUtil;
+
+/**
+ * Tests for the {@link NameFinder} annotator, the names are compared with the
+ * names of the name finder on the same sentences.
+ */
+public class NameFinderTest {
+
+  private static TokenNameFinderModel model;
+
+  private static File modelFile;
+
+  private static List<String> sentences = new ArrayList<String>();
+
+  @BeforeClass
+  public static void trainModel() throws Exception {
+    InputStream in = NameFinderTest.class.getClassLoader().getResourceAsStream(
+        "chalk/tools/namefind/AnnotatedSentences.txt");
+
+    ObjectStream<NameSample> sampleStream = new NameSampleDataStream(
+        new PlainTextByLineStream(new InputStreamReader(in, "ISO-8859-1")));
+
+    List<NameSample> samples = new ArrayList<NameSample>();
+
+    NameSample sample;
+    while ((sample = sampleStream.read()) != null) {
+      samples.add(sample);
+
+      StringBuilder sentence = new StringBuilder();
+      for (String token : sample.getSentence()) {
+        sentence.append(token).append(' ');
+      }
+      sentences.add(sentence.toString().trim());
+    }
+
+    sampleStream.close();
+
+    TrainingParameters params = new TrainingParameters();
+    params.put(TrainingParameters.ALGORITHM_PARAM, "MAXENT");
+    params.put(TrainingParameters.ITERATIONS_PARAM, "70");
+    params.put(TrainingParameters.CUTOFF_PARAM, "1");
+
+    model = NameFinderME.train("en", "default", ObjectStreamUtils.createObjectStream(samples),
+        params, (AdaptiveFeatureGenerator) null, Collections.<String, Object>emptyMap());
+
+    modelFile = AnnotatorTestUtil.writeModel(model);
+  }
+
+  private void testNameFinder(Integer threads) throws Exception {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put(UimaUtil.SENTENCE_TYPE_PARAMETER, AnnotatorTestUtil.SENTENCE_TYPE);
+    parameters.put(UimaUtil.TOKEN_TYPE_PARAMETER, AnnotatorTestUtil.TOKEN_TYPE);
+    parameters.put(NameFinder.NAME_TYPE_PARAMETER, AnnotatorTestUtil.NAME_TYPE);
+
+    if (threads != null)
+      parameters.put(UimaUtil.THREADS_PARAMETER, threads);
+
+    AnalysisEngine engine = AnnotatorTestUtil.createEngine(NameFinder.class,
+        TokenNameFinderModelResource.class, TokenNameFinderModelResourceImpl.class,
+        modelFile, parameters);
+
+    NameFinderME nameFinder = new NameFinderME(model);
+
+    List<String> expected = new ArrayList<String>();
+    for (String sentence : sentences) {
+      String tokens[] = sentence.split(" ");
+      for (Span name : nameFinder.find(tokens)) {
+        StringBuilder text = new StringBuilder();
+        for (int ti = name.getStart(); ti < name.getEnd(); ti++) {
+          text.append(tokens[ti]).append(' ');
+        }
+        expected.add(text.toString().trim());
+      }
+    }
+    nameFinder.clearAdaptiveData();
+
+    assertTrue(expected.size() > 0);
+
+    // the second CAS is processed by the released name finder of the first one,
+    // its adaptive data must have been cleared
+    CAS cas = engine.newCAS();
+    for (int i = 0; i < 2; i++) {
+      cas.reset();
+      AnnotatorTestUtil.createDocument(cas, sentences);
+
+      engine.process(cas);
+
+      Type nameType = cas.getTypeSystem().getType(AnnotatorTestUtil.NAME_TYPE);
+
+      List<String> actual = new ArrayList<String>();
+      for (AnnotationFS name : cas.getAnnotationIndex(nameType)) {
+        actual.add(name.getCoveredText());
+      }
+
+      assertEquals(expected, actual);
+    }
+
+    engine.destroy();
+  }
+
+  @Test
+  public void testProcess() throws Exception {
+    testNameFinder(null);
+  }
+
+  @Test
+  public void testProcessWithThreads() throws Exception {
+    testNameFinder(4);
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.uima.parser;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.uima.analysis_engine.AnalysisEngine;
+import org.apache.uima.cas.CAS;
+import org.apache.uima.cas.Feature;
+import org.apache.uima.cas.Type;
+import org.apache.uima.cas.text.AnnotationFS;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import chalk.tools.parser.Parse;
+import chalk.tools.parser.ParserFactory;
+import chalk.tools.parser.ParserModel;
+import chalk.tools.parser.ParserTestUtil;
+import chalk.tools.util.TrainingParameters;
+import chalk.uima.util.AnnotatorTestUtil;
+import chalk.uima.util.UimaUtil;
+
+/**
+ * Tests for the {@link Parser} annotator, the parse annotations are compared
+ * with the parses of the parser on the same sentences.
+ */
+public class ParserTest {
+
+  private static ParserModel model;
+
+  private static File modelFile;
+
+  @BeforeClass
+  public static void trainModel() throws Exception {
+    TrainingParameters params = new TrainingParameters();
+    for (String namespace : new String[] {"tagger", "chunker", "check", "build"}) {
+      params.put(namespace, TrainingParameters.ITERATIONS_PARAM, "100");
+      params.put(namespace, TrainingParameters.CUTOFF_PARAM, "0");
+    }
+    params.put("dict", TrainingParameters.CUTOFF_PARAM, "0");
+
+    model = chalk.tools.parser.chunking.Parser.train("en",
+        ParserTestUtil.openTestTrainingData(), ParserTestUtil.createTestHeadRules(), params);
+
+    modelFile = AnnotatorTestUtil.writeModel(model);
+  }
+
+  private static void addNodes(List<String> nodes, Parse parse, int offset) {
+    nodes.add(parse.getType() + " " + (offset + parse.getSpan().getStart()) + " " +
+        (offset + parse.getSpan().getEnd()));
+
+    for (Parse child : parse.getChildren()) {
+      addNodes(nodes, child, offset);
+    }
+  }
+
+  private void testParser(Integer threads) throws Exception {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put(UimaUtil.SENTENCE_TYPE_PARAMETER, AnnotatorTestUtil.SENTENCE_TYPE);
+    parameters.put(UimaUtil.TOKEN_TYPE_PARAMETER, AnnotatorTestUtil.TOKEN_TYPE);
+    parameters.put(Parser.PARSE_TYPE_PARAMETER, AnnotatorTestUtil.PARSE_TYPE);
+    parameters.put(Parser.TYPE_FEATURE_PARAMETER, "type");
+    parameters.put(Parser.CHILDREN_FEATURE_PARAMETER, "children");
+
+    if (threads != null)
+      parameters.put(UimaUtil.THREADS_PARAMETER, threads);
+
+    AnalysisEngine engine = AnnotatorTestUtil.createEngine(Parser.class,
+        ParserModelResource.class, ParserModelResourceImpl.class, modelFile, parameters);
+
+    List<String> sentences = ParserTestUtil.createTestSentences();
+
+    CAS cas = engine.newCAS();
+    AnnotatorTestUtil.createDocument(cas, sentences);
+
+    engine.process(cas);
+
+    chalk.tools.parser.Parser parser = ParserFactory.create(model);
+
+    List<String> expected = new ArrayList<String>();
+    int offset = 0;
+    for (String sentence : sentences) {
+      addNodes(expected, parser.parse(ParserTestUtil.createTokenParse(sentence)), offset);
+      offset += sentence.length() + 1;
+    }
+
+    Type parseType = cas.getTypeSystem().getType(AnnotatorTestUtil.PARSE_TYPE);
+    Feature typeFeature = parseType.getFeatureByBaseName("type");
+
+    List<String> actual = new ArrayList<String>();
+    for (AnnotationFS parse : cas.getAnnotationIndex(parseType)) {
+      actual.add(parse.getStringValue(typeFeature) + " " + parse.getBegin() + " " + parse.getEnd());
+    }
+
+    Collections.sort(expected);
+    Collections.sort(actual);
+    assertEquals(expected, actual);
+
+    engine.destroy();
+  }
+
+  @Test
+  public void testProcess() throws Exception {
+    testParser(null);
+  }
+
+  @Test
+  public void testProcessWithThreads() throws Exception {
+    testParser(4);
+  }
+}
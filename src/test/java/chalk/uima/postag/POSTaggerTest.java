@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.uima.postag;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.uima.analysis_engine.AnalysisEngine;
+import org.apache.uima.cas.CAS;
+import org.apache.uima.cas.Feature;
+import org.apache.uima.cas.Type;
+import org.apache.uima.cas.text.AnnotationFS;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import chalk.tools.postag.POSModel;
+import chalk.tools.postag.POSSample;
+import chalk.tools.postag.POSTaggerFactory;
+import chalk.tools.postag.POSTaggerME;
+import chalk.tools.postag.WordTagSampleStream;
+import chalk.tools.util.ObjectStream;
+import chalk.tools.util.ObjectStreamUtils;
+import chalk.tools.util.TrainingParameters;
+import chalk.uima.util.AnnotatorTestUtil;
+import chalk.uima.util.UimaUtil;
+
+/**
+ * Tests for the {@link POSTagger} annotator, the tags are compared with the
+ * tags of the tagger on the same sentences.
+ */
+public class POSTaggerTest {
+
+  private static POSModel model;
+
+  private static File modelFile;
+
+  private static List<String> sentences = new ArrayList<String>();
+
+  @BeforeClass
+  public static void trainModel() throws Exception {
+    InputStream in = POSTaggerTest.class.getClassLoader().getResourceAsStream(
+        "chalk/tools/postag/AnnotatedSentences.txt");
+
+    ObjectStream<POSSample> sampleStream = new WordTagSampleStream(new InputStreamReader(in));
+
+    List<POSSample> samples = new ArrayList<POSSample>();
+
+    POSSample sample;
+    while ((sample = sampleStream.read()) != null) {
+      samples.add(sample);
+
+      StringBuilder sentence = new StringBuilder();
+      for (String token : sample.getSentence()) {
+        sentence.append(token).append(' ');
+      }
+      sentences.add(sentence.toString().trim());
+    }
+
+    sampleStream.close();
+
+    model = POSTaggerME.train("en", ObjectStreamUtils.createObjectStream(samples),
+        TrainingParameters.defaultParams(), new POSTaggerFactory());
+
+    modelFile = AnnotatorTestUtil.writeModel(model);
+  }
+
+  private void testTagger(Integer threads) throws Exception {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put(UimaUtil.SENTENCE_TYPE_PARAMETER, AnnotatorTestUtil.SENTENCE_TYPE);
+    parameters.put(UimaUtil.TOKEN_TYPE_PARAMETER, AnnotatorTestUtil.TOKEN_TYPE);
+    parameters.put(UimaUtil.POS_FEATURE_PARAMETER, "pos");
+
+    if (threads != null)
+      parameters.put(UimaUtil.THREADS_PARAMETER, threads);
+
+    AnalysisEngine engine = AnnotatorTestUtil.createEngine(POSTagger.class,
+        POSModelResource.class, POSModelResourceImpl.class, modelFile, parameters);
+
+    POSTaggerME tagger = new POSTaggerME(model);
+
+    List<String> expected = new ArrayList<String>();
+    for (String sentence : sentences) {
+      for (String tag : tagger.tag(sentence.split(" "))) {
+        expected.add(tag);
+      }
+    }
+
+    // the second CAS is tagged with the pooled taggers of the first one
+    CAS cas = engine.newCAS();
+    for (int i = 0; i < 2; i++) {
+      cas.reset();
+      AnnotatorTestUtil.createDocument(cas, sentences);
+
+      engine.process(cas);
+
+      Type tokenType = cas.getTypeSystem().getType(AnnotatorTestUtil.TOKEN_TYPE);
+      Feature posFeature = tokenType.getFeatureByBaseName("pos");
+
+      List<String> actual = new ArrayList<String>();
+      for (AnnotationFS token : cas.getAnnotationIndex(tokenType)) {
+        actual.add(token.getStringValue(posFeature));
+      }
+
+      assertEquals(expected, actual);
+    }
+
+    engine.destroy();
+  }
+
+  @Test
+  public void testProcess() throws Exception {
+    testTagger(null);
+  }
+
+  @Test
+  public void testProcessWithThreads() throws Exception {
+    testTagger(4);
+  }
+}
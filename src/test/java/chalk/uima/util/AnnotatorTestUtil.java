@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.uima.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.uima.Constants;
+import org.apache.uima.ResourceSpecifierFactory;
+import org.apache.uima.UIMAFramework;
+import org.apache.uima.analysis_engine.AnalysisEngine;
+import org.apache.uima.analysis_engine.AnalysisEngineDescription;
+import org.apache.uima.analysis_engine.metadata.AnalysisEngineMetaData;
+import org.apache.uima.cas.CAS;
+import org.apache.uima.cas.Type;
+import org.apache.uima.resource.ExternalResourceDependency;
+import org.apache.uima.resource.ExternalResourceDescription;
+import org.apache.uima.resource.FileResourceSpecifier;
+import org.apache.uima.resource.metadata.ConfigurationParameter;
+import org.apache.uima.resource.metadata.ExternalResourceBinding;
+import org.apache.uima.resource.metadata.ResourceManagerConfiguration;
+import org.apache.uima.resource.metadata.TypeDescription;
+import org.apache.uima.resource.metadata.TypeSystemDescription;
+
+import chalk.tools.util.model.BaseModel;
+
+/**
+ * Creates primitive analysis engines for the annotators from a programmatic
+ * description, the model is bound as an external resource.
+ */
+public class AnnotatorTestUtil {
+
+  public static final String SENTENCE_TYPE = "test.Sentence";
+
+  public static final String TOKEN_TYPE = "test.Token";
+
+  public static final String NAME_TYPE = "test.Name";
+
+  public static final String PARSE_TYPE = "test.Parse";
+
+  /**
+   * Creates the type system of the test documents, the token has a pos
+   * feature and the parse a type and a children feature.
+   */
+  public static TypeSystemDescription createTypeSystem() {
+    TypeSystemDescription typeSystem =
+        UIMAFramework.getResourceSpecifierFactory().createTypeSystemDescription();
+
+    typeSystem.addType(SENTENCE_TYPE, "", CAS.TYPE_NAME_ANNOTATION);
+
+    TypeDescription token = typeSystem.addType(TOKEN_TYPE, "", CAS.TYPE_NAME_ANNOTATION);
+    token.addFeature("pos", "", CAS.TYPE_NAME_STRING);
+
+    typeSystem.addType(NAME_TYPE, "", CAS.TYPE_NAME_ANNOTATION);
+
+    TypeDescription parse = typeSystem.addType(PARSE_TYPE, "", CAS.TYPE_NAME_ANNOTATION);
+    parse.addFeature("type", "", CAS.TYPE_NAME_STRING);
+    parse.addFeature("children", "", CAS.TYPE_NAME_FS_ARRAY);
+
+    return typeSystem;
+  }
+
+  /**
+   * Writes the model to a temporary file which is deleted when the virtual
+   * machine exits.
+   */
+  public static File writeModel(BaseModel model) throws IOException {
+    File modelFile = File.createTempFile("model", ".bin");
+    modelFile.deleteOnExit();
+
+    OutputStream out = new FileOutputStream(modelFile);
+    try {
+      model.serialize(out);
+    }
+    finally {
+      out.close();
+    }
+
+    return modelFile;
+  }
+
+  /**
+   * Creates an analysis engine for the specified annotator.
+   *
+   * @param annotator the annotator class
+   * @param resourceInterface the interface of the model resource
+   * @param resourceImplementation the implementation of the model resource
+   * @param modelFile the model which is loaded by the model resource
+   * @param parameters the String and Integer configuration parameters
+   *
+   * @return the analysis engine
+   */
+  public static AnalysisEngine createEngine(Class<?> annotator, Class<?> resourceInterface,
+      Class<?> resourceImplementation, File modelFile, Map<String, Object> parameters)
+      throws Exception {
+
+    ResourceSpecifierFactory factory = UIMAFramework.getResourceSpecifierFactory();
+
+    AnalysisEngineDescription description = factory.createAnalysisEngineDescription();
+    description.setFrameworkImplementation(Constants.JAVA_FRAMEWORK_NAME);
+    description.setPrimitive(true);
+    description.setAnnotatorImplementationName(annotator.getName());
+
+    AnalysisEngineMetaData metaData = description.getAnalysisEngineMetaData();
+    metaData.setName(annotator.getSimpleName());
+    metaData.setTypeSystem(createTypeSystem());
+
+    for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+      ConfigurationParameter declaration = factory.createConfigurationParameter();
+      declaration.setName(parameter.getKey());
+      declaration.setType(parameter.getValue() instanceof Integer ?
+          ConfigurationParameter.TYPE_INTEGER : ConfigurationParameter.TYPE_STRING);
+
+      metaData.getConfigurationParameterDeclarations().addConfigurationParameter(declaration);
+      metaData.getConfigurationParameterSettings().setParameterValue(
+          parameter.getKey(), parameter.getValue());
+    }
+
+    ExternalResourceDependency dependency = factory.createExternalResourceDependency();
+    dependency.setKey(UimaUtil.MODEL_PARAMETER);
+    dependency.setInterfaceName(resourceInterface.getName());
+    description.setExternalResourceDependencies(new ExternalResourceDependency[] {dependency});
+
+    FileResourceSpecifier modelSpecifier = factory.createFileResourceSpecifier();
+    modelSpecifier.setFileUrl(modelFile.toURI().toURL().toString());
+
+    ExternalResourceDescription resource = factory.createExternalResourceDescription();
+    resource.setName("model");
+    resource.setResourceSpecifier(modelSpecifier);
+    resource.setImplementationName(resourceImplementation.getName());
+
+    ExternalResourceBinding binding = factory.createExternalResourceBinding();
+    binding.setKey(UimaUtil.MODEL_PARAMETER);
+    binding.setResourceName("model");
+
+    ResourceManagerConfiguration resources = factory.createResourceManagerConfiguration();
+    resources.addExternalResource(resource);
+    resources.addExternalResourceBinding(binding);
+    description.setResourceManagerConfiguration(resources);
+
+    return UIMAFramework.produceAnalysisEngine(description);
+  }
+
+  /**
+   * Creates a document of white space tokenized sentences which are separated
+   * by a space, with sentence and token annotations.
+   */
+  public static void createDocument(CAS cas, Iterable<String> sentences) {
+    StringBuilder text = new StringBuilder();
+    List<int[]> sentenceSpans = new ArrayList<int[]>();
+    List<int[]> tokenSpans = new ArrayList<int[]>();
+
+    for (String sentence : sentences) {
+      if (text.length() > 0)
+        text.append(' ');
+
+      int sentenceBegin = text.length();
+
+      for (String token : sentence.split(" ")) {
+        if (text.length() > sentenceBegin)
+          text.append(' ');
+
+        tokenSpans.add(new int[] {text.length(), text.length() + token.length()});
+        text.append(token);
+      }
+
+      sentenceSpans.add(new int[] {sentenceBegin, text.length()});
+    }
+
+    cas.setDocumentText(text.toString());
+
+    Type sentenceType = cas.getTypeSystem().getType(SENTENCE_TYPE);
+    for (int[] span : sentenceSpans) {
+      cas.addFsToIndexes(cas.createAnnotation(sentenceType, span[0], span[1]));
+    }
+
+    Type tokenType = cas.getTypeSystem().getType(TOKEN_TYPE);
+    for (int[] span : tokenSpans) {
+      cas.addFsToIndexes(cas.createAnnotation(tokenType, span[0], span[1]));
+    }
+  }
+}
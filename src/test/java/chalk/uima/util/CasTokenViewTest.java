@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.uima.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.uima.UIMAFramework;
+import org.apache.uima.cas.CAS;
+import org.apache.uima.cas.Feature;
+import org.apache.uima.cas.Type;
+import org.apache.uima.cas.text.AnnotationFS;
+import org.apache.uima.resource.metadata.TypeDescription;
+import org.apache.uima.resource.metadata.TypeSystemDescription;
+import org.apache.uima.util.CasCreationUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import chalk.tools.util.Span;
+
+/**
+ * Tests for the {@link CasTokenView} class, the view is compared with the
+ * {@link AnnotationComboIterator} on a generated CAS.
+ */
+public class CasTokenViewTest {
+
+  private CAS cas;
+
+  private Type sentenceType;
+
+  private Type tokenType;
+
+  private Feature posFeature;
+
+  @Before
+  public void createCas() throws Exception {
+    TypeSystemDescription typeSystem =
+        UIMAFramework.getResourceSpecifierFactory().createTypeSystemDescription();
+
+    typeSystem.addType("test.Sentence", "", CAS.TYPE_NAME_ANNOTATION);
+    TypeDescription token = typeSystem.addType("test.Token", "", CAS.TYPE_NAME_ANNOTATION);
+    token.addFeature("pos", "", CAS.TYPE_NAME_STRING);
+
+    cas = CasCreationUtils.createCas(typeSystem, null, null);
+
+    sentenceType = cas.getTypeSystem().getType("test.Sentence");
+    tokenType = cas.getTypeSystem().getType("test.Token");
+    posFeature = tokenType.getFeatureByBaseName("pos");
+  }
+
+  /**
+   * Creates a document with the specified number of sentences, every sentence
+   * has between one and ten tokens. A token at the end of a document is not
+   * covered by a sentence.
+   */
+  private void createDocument(int sentenceCount) {
+    StringBuilder text = new StringBuilder();
+    List<int[]> sentences = new ArrayList<int[]>();
+    List<int[]> tokens = new ArrayList<int[]>();
+
+    for (int s = 0; s < sentenceCount; s++) {
+      int sentenceBegin = text.length();
+
+      for (int t = 0; t <= s % 10; t++) {
+        int tokenBegin = text.length();
+        text.append("w").append(s).append('_').append(t);
+        tokens.add(new int[] {tokenBegin, text.length()});
+        text.append(' ');
+      }
+
+      sentences.add(new int[] {sentenceBegin, text.length() - 1});
+    }
+
+    tokens.add(new int[] {text.length(), text.length() + 4});
+    text.append("tail");
+
+    cas.setDocumentText(text.toString());
+
+    for (int[] sentence : sentences) {
+      cas.addFsToIndexes(cas.createAnnotation(sentenceType, sentence[0], sentence[1]));
+    }
+
+    for (int[] token : tokens) {
+      cas.addFsToIndexes(cas.createAnnotation(tokenType, token[0], token[1]));
+    }
+  }
+
+  @Test
+  public void testSameTokensAsComboIterator() {
+    createDocument(5000);
+
+    CasTokenView view = new CasTokenView(sentenceType, tokenType);
+    view.load(cas);
+
+    int si = 0;
+    for (AnnotationIteratorPair pair : new AnnotationComboIterator(cas, sentenceType, tokenType)) {
+      assertEquals(pair.getAnnotation().getBegin(), view.getSentence(si).getBegin());
+      assertEquals(pair.getAnnotation().getEnd(), view.getSentence(si).getEnd());
+
+      List<String> expected = new ArrayList<String>();
+      for (AnnotationFS token : pair.getSubIterator()) {
+        expected.add(token.getCoveredText());
+      }
+
+      assertArrayEquals(expected.toArray(new String[expected.size()]), view.getTokens(si));
+      si++;
+    }
+
+    assertEquals(si, view.getSentenceCount());
+  }
+
+  @Test
+  public void testWithoutSentenceType() {
+    createDocument(3);
+
+    CasTokenView view = new CasTokenView(null, tokenType);
+    view.load(cas);
+
+    assertEquals(1, view.getSentenceCount());
+    assertNull(view.getSentence(0));
+    assertArrayEquals(new String[] {"w0_0", "w1_0", "w1_1", "w2_0", "w2_1", "w2_2", "tail"},
+        view.getTokens(0));
+  }
+
+  @Test
+  public void testWriteBack() {
+    createDocument(3);
+
+    CasTokenView view = new CasTokenView(sentenceType, tokenType);
+    view.load(cas);
+
+    view.setStringValues(2, posFeature, new String[] {"A", "B", "C"});
+    assertArrayEquals(new String[] {"A", "B", "C"}, view.getStringValues(2, posFeature));
+    assertEquals("B", view.getToken(2, 1).getStringValue(posFeature));
+
+    Span[] spans = view.getTokenSpans(2);
+    assertEquals(new Span(0, 4), spans[0]);
+    assertEquals(new Span(5, 9), spans[1]);
+
+    AnnotationFS[] names = view.createAnnotations(cas, sentenceType, 2,
+        new Span[] {new Span(1, 3)});
+    assertEquals("w2_1 w2_2", names[0].getCoveredText());
+
+    view.clear();
+    assertEquals(0, view.getSentenceCount());
+
+    // the view can be loaded again, now with the additional annotation
+    view.load(cas);
+    assertEquals(4, view.getSentenceCount());
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package chalk.uima.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link SentenceBatch} and {@link ToolPool} classes.
+ */
+public class SentenceBatchTest {
+
+  private static class CountingPool extends ToolPool<StringBuilder> {
+
+    private final AtomicInteger created = new AtomicInteger();
+
+    @Override
+    protected StringBuilder create() {
+      created.incrementAndGet();
+      return new StringBuilder();
+    }
+  }
+
+  private static SentenceBatch<StringBuilder, String> createBatch(final String[] sentences) {
+    return new SentenceBatch<StringBuilder, String>() {
+      @Override
+      protected String process(StringBuilder tool, int sentence) {
+        tool.setLength(0);
+        return tool.append(sentences[sentence].toUpperCase()).toString();
+      }
+    };
+  }
+
+  private static String[] createSentences(int count) {
+    String[] sentences = new String[count];
+    for (int i = 0; i < count; i++) {
+      sentences[i] = "sentence " + i;
+    }
+    return sentences;
+  }
+
+  @Test
+  public void testSequential() {
+    String[] sentences = createSentences(100);
+    CountingPool pool = new CountingPool();
+
+    List<String> results = createBatch(sentences).run(pool, sentences.length, null);
+
+    assertEquals(100, results.size());
+    assertEquals("SENTENCE 42", results.get(42));
+    assertEquals(1, pool.created.get());
+  }
+
+  @Test
+  public void testConcurrent() {
+    String[] sentences = createSentences(1000);
+    CountingPool pool = new CountingPool();
+
+    ExecutorService executor = SentenceBatch.getSharedExecutor(4);
+
+    List<String> results = createBatch(sentences).run(pool, sentences.length, executor);
+
+    List<String> expected = new ArrayList<String>();
+    for (String sentence : sentences) {
+      expected.add(sentence.toUpperCase());
+    }
+
+    assertEquals(expected, results);
+
+    // at most one tool per worker thread
+    assertTrue(pool.created.get() <= 4);
+  }
+
+  @Test
+  public void testSharedExecutor() {
+    assertNull(SentenceBatch.getSharedExecutor(null));
+    assertNull(SentenceBatch.getSharedExecutor(1));
+    assertSame(SentenceBatch.getSharedExecutor(3), SentenceBatch.getSharedExecutor(3));
+  }
+
+  @Test
+  public void testPoolReusesTools() {
+    CountingPool pool = new CountingPool();
+
+    StringBuilder tool = pool.borrow();
+    pool.release(tool);
+
+    assertSame(tool, pool.borrow());
+    assertEquals(1, pool.created.get());
+  }
+}